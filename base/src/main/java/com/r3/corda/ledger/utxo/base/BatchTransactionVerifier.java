@@ -0,0 +1,181 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Provides a mechanism to verify many {@link UtxoLedgerTransaction} instances at once; for example, during backchain resolution or audit replay.
+ * <p>
+ * Each transaction is verified against the contracts of its input and output states, using a new contract instance per verification,
+ * which is created using the contract's public no-argument constructor. Transactions are verified in parallel on a shared, bounded pool.
+ * A single {@link TransactionIndex} is built per transaction and shared by all of its contracts, and the per-contract
+ * dispatch metadata and per-class state type metadata are shared by all transactions in the batch.
+ * <p>
+ * Verification does not stop at the first failure; instead, a {@link TransactionVerificationResult} is returned per transaction,
+ * capturing any exception or error thrown while verifying it. {@link VirtualMachineError} instances, such as {@link OutOfMemoryError},
+ * are not captured, and are rethrown to the caller.
+ */
+public final class BatchTransactionVerifier {
+
+    /**
+     * The public no-argument constructors of contracts.
+     */
+    private static final ClassValue<Constructor<?>> CONTRACT_CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(@NotNull final Class<?> type) {
+            if (!Modifier.isPublic(type.getModifiers())) {
+                throw new IllegalArgumentException("Contract type " + type.getName() + " must be public.");
+            }
+
+            try {
+                return type.getConstructor();
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalArgumentException("Contract type " + type.getName() + " must declare a public no-argument constructor.", exception);
+            }
+        }
+    };
+
+    /**
+     * Initializes a new instance of the {@link BatchTransactionVerifier} class.
+     * This constructor is private as this class only contains static members.
+     */
+    private BatchTransactionVerifier() {
+    }
+
+    /**
+     * Verifies the specified transactions in parallel.
+     *
+     * @param transactions The transactions to verify.
+     * @return Returns a {@link TransactionVerificationResult} per transaction, in the same order as the specified transactions.
+     */
+    @NotNull
+    public static List<TransactionVerificationResult> verify(@NotNull final Collection<? extends UtxoLedgerTransaction> transactions) {
+        final UtxoLedgerTransaction[] input = transactions.toArray(new UtxoLedgerTransaction[0]);
+        final TransactionVerificationResult[] results = new TransactionVerificationResult[input.length];
+
+        if (input.length > 0) VerificationPool.get().invoke(new VerifyAction(input, results, 0, input.length));
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Verifies a single transaction against the contracts of its input and output states.
+     *
+     * @param transaction The transaction to verify.
+     * @return Returns the result of verifying the specified transaction.
+     * @throws VirtualMachineError if the virtual machine fails while verifying the specified transaction.
+     */
+    @NotNull
+    private static TransactionVerificationResult verify(@NotNull final UtxoLedgerTransaction transaction) {
+        final TransactionIndex previousIndex = TransactionIndex.getCurrent();
+
+        try {
+            TransactionIndex.setCurrent(TransactionIndex.of(transaction));
+
+            for (final Class<?> contractType : getContractTypes(transaction)) {
+                ((Contract) CONTRACT_CONSTRUCTORS.get(contractType).newInstance()).verify(transaction);
+            }
+
+            return new TransactionVerificationResult(transaction, null);
+        } catch (VirtualMachineError error) {
+            throw error;
+        } catch (Throwable throwable) {
+            return new TransactionVerificationResult(transaction, throwable);
+        } finally {
+            TransactionIndex.setCurrent(previousIndex);
+        }
+    }
+
+    /**
+     * Gets the distinct contract types of the input and output states of the specified transaction.
+     *
+     * @param transaction The transaction from which to obtain contract types.
+     * @return Returns the distinct contract types of the input and output states of the specified transaction.
+     */
+    @NotNull
+    private static Set<Class<?>> getContractTypes(@NotNull final UtxoLedgerTransaction transaction) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+
+        for (final StateAndRef<?> stateAndRef : transaction.getInputStateAndRefs()) result.add(stateAndRef.getState().getContractType());
+        for (final StateAndRef<?> stateAndRef : transaction.getOutputStateAndRefs()) result.add(stateAndRef.getState().getContractType());
+
+        return result;
+    }
+
+    /**
+     * Represents a {@link RecursiveAction} that verifies a range of transactions, splitting the range until it contains a single transaction.
+     */
+    private static final class VerifyAction extends RecursiveAction {
+
+        /**
+         * The serialization version of the {@link VerifyAction} class.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The transactions of the batch being verified.
+         */
+        @NotNull
+        private final UtxoLedgerTransaction[] transactions;
+
+        /**
+         * The results of the batch being verified, at the same positions as their transactions.
+         */
+        @NotNull
+        private final TransactionVerificationResult[] results;
+
+        /**
+         * The position of the first transaction verified by the current action, inclusive.
+         */
+        private final int from;
+
+        /**
+         * The position of the last transaction verified by the current action, exclusive.
+         */
+        private final int to;
+
+        /**
+         * Initializes a new instance of the {@link VerifyAction} class.
+         *
+         * @param transactions The transactions of the batch being verified.
+         * @param results      The results of the batch being verified, at the same positions as their transactions.
+         * @param from         The position of the first transaction verified by the current action, inclusive.
+         * @param to           The position of the last transaction verified by the current action, exclusive.
+         */
+        private VerifyAction(
+                @NotNull final UtxoLedgerTransaction[] transactions,
+                @NotNull final TransactionVerificationResult[] results,
+                final int from,
+                final int to) {
+            this.transactions = transactions;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Verifies the range of transactions of the current action, splitting the range in two if it contains more than one transaction.
+         */
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = verify(transactions[from]);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new VerifyAction(transactions, results, from, middle), new VerifyAction(transactions, results, middle, to));
+        }
+    }
+}
@@ -5,13 +5,15 @@ import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.text.MessageFormat;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiPredicate;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
 
 /**
  * Provides functionality for contract verification checks.
@@ -33,9 +35,74 @@ public final class Check {
      * @throws IllegalStateException if the condition is false.
      */
     public static void isTrue(final boolean condition, @NotNull final String message) {
+        onRuleChecked(message, condition);
         if (!condition) throw new IllegalStateException(message);
     }
 
+    /**
+     * Checks whether the specified condition is true.
+     * The message is only obtained from the specified supplier in the event that the condition is false.
+     *
+     * @param condition The condition to test.
+     * @param rule      The rule that is checked, which is reported to the registered {@link VerificationListener}.
+     * @param message   The supplier of the message which will be thrown in the event that the condition is false.
+     * @throws IllegalStateException if the condition is false.
+     */
+    public static void isTrue(final boolean condition, @NotNull final String rule, @NotNull final Supplier<String> message) {
+        onRuleChecked(rule, condition);
+        if (!condition) throw new IllegalStateException(message.get());
+    }
+
+    /**
+     * Checks whether the specified condition is true.
+     * The message is only formatted in the event that the condition is false.
+     *
+     * @param condition The condition to test.
+     * @param pattern   The {@link MessageFormat} pattern of the message which will be thrown in the event that the condition is false.
+     * @param arg0      The first argument of the message pattern.
+     * @throws IllegalStateException if the condition is false.
+     */
+    public static void isTrue(final boolean condition, @NotNull final String pattern, @Nullable final Object arg0) {
+        onRuleChecked(pattern, condition);
+        if (!condition) throw new IllegalStateException(MessageFormat.format(pattern, arg0));
+    }
+
+    /**
+     * Checks whether the specified condition is true.
+     * The message is only formatted in the event that the condition is false.
+     *
+     * @param condition The condition to test.
+     * @param pattern   The {@link MessageFormat} pattern of the message which will be thrown in the event that the condition is false.
+     * @param arg0      The first argument of the message pattern.
+     * @param arg1      The second argument of the message pattern.
+     * @throws IllegalStateException if the condition is false.
+     */
+    public static void isTrue(final boolean condition, @NotNull final String pattern, @Nullable final Object arg0, @Nullable final Object arg1) {
+        onRuleChecked(pattern, condition);
+        if (!condition) throw new IllegalStateException(MessageFormat.format(pattern, arg0, arg1));
+    }
+
+    /**
+     * Checks whether the specified condition is true.
+     * The message is only formatted in the event that the condition is false.
+     *
+     * @param condition The condition to test.
+     * @param pattern   The {@link MessageFormat} pattern of the message which will be thrown in the event that the condition is false.
+     * @param arg0      The first argument of the message pattern.
+     * @param arg1      The second argument of the message pattern.
+     * @param arg2      The third argument of the message pattern.
+     * @throws IllegalStateException if the condition is false.
+     */
+    public static void isTrue(
+            final boolean condition,
+            @NotNull final String pattern,
+            @Nullable final Object arg0,
+            @Nullable final Object arg1,
+            @Nullable final Object arg2) {
+        onRuleChecked(pattern, condition);
+        if (!condition) throw new IllegalStateException(MessageFormat.format(pattern, arg0, arg1, arg2));
+    }
+
     /**
      * Checks whether the specified condition is false.
      *
@@ -44,7 +111,7 @@ public final class Check {
      * @throws IllegalStateException if the condition is true.
      */
     public static void isFalse(final boolean condition, @NotNull final String message) {
-        if (condition) throw new IllegalStateException(message);
+        isTrue(!condition, message);
     }
 
     /**
@@ -155,11 +222,16 @@ public final class Check {
      * @throws IllegalStateException if no elements match the specified predicate.
      */
     public static <T> void any(@NotNull final Iterable<T> iterable, @NotNull final Predicate<T> predicate, @NotNull final String message) {
+        boolean result = false;
+
         for (final T element : iterable) {
-            if (predicate.test(element)) return;
+            if (predicate.test(element)) {
+                result = true;
+                break;
+            }
         }
 
-        throw new IllegalStateException(message);
+        isTrue(result, message);
     }
 
     /**
@@ -172,9 +244,16 @@ public final class Check {
      * @throws IllegalStateException if some elements do not match the specified predicate.
      */
     public static <T> void all(@NotNull final Iterable<T> iterable, @NotNull final Predicate<T> predicate, @NotNull final String message) {
+        boolean result = true;
+
         for (final T element : iterable) {
-            isTrue(predicate.test(element), message);
+            if (!predicate.test(element)) {
+                result = false;
+                break;
+            }
         }
+
+        isTrue(result, message);
     }
 
     /**
@@ -187,9 +266,103 @@ public final class Check {
      * @throws IllegalStateException if some elements match the specified predicate.
      */
     public static <T> void none(@NotNull final Iterable<T> iterable, @NotNull final Predicate<T> predicate, @NotNull final String message) {
+        boolean result = true;
+
         for (final T element : iterable) {
-            isTrue(!predicate.test(element), message);
+            if (predicate.test(element)) {
+                result = false;
+                break;
+            }
         }
+
+        isTrue(result, message);
+    }
+
+    /**
+     * Checks whether any elements in the specified iterable match the specified predicate, given the specified argument.
+     * Passing state to the predicate via the argument allows the predicate to be non-capturing, and therefore allocation free.
+     *
+     * @param iterable  The iterable containing elements to test.
+     * @param argument  The argument to pass to the predicate alongside each element.
+     * @param predicate The condition to test each element and the argument against.
+     * @param message   The message which will be thrown in the event that no elements match the specified predicate.
+     * @param <T>       The underlying type of the iterable elements.
+     * @param <U>       The underlying type of the argument.
+     * @throws IllegalStateException if no elements match the specified predicate.
+     */
+    public static <T, U> void any(
+            @NotNull final Iterable<T> iterable,
+            final U argument,
+            @NotNull final BiPredicate<? super T, ? super U> predicate,
+            @NotNull final String message) {
+        boolean result = false;
+
+        for (final T element : iterable) {
+            if (predicate.test(element, argument)) {
+                result = true;
+                break;
+            }
+        }
+
+        isTrue(result, message);
+    }
+
+    /**
+     * Checks whether all elements in the specified iterable match the specified predicate, given the specified argument.
+     * Passing state to the predicate via the argument allows the predicate to be non-capturing, and therefore allocation free.
+     *
+     * @param iterable  The iterable containing elements to test.
+     * @param argument  The argument to pass to the predicate alongside each element.
+     * @param predicate The condition to test each element and the argument against.
+     * @param message   The message which will be thrown in the event that some elements do not match the specified predicate.
+     * @param <T>       The underlying type of the iterable elements.
+     * @param <U>       The underlying type of the argument.
+     * @throws IllegalStateException if some elements do not match the specified predicate.
+     */
+    public static <T, U> void all(
+            @NotNull final Iterable<T> iterable,
+            final U argument,
+            @NotNull final BiPredicate<? super T, ? super U> predicate,
+            @NotNull final String message) {
+        boolean result = true;
+
+        for (final T element : iterable) {
+            if (!predicate.test(element, argument)) {
+                result = false;
+                break;
+            }
+        }
+
+        isTrue(result, message);
+    }
+
+    /**
+     * Checks whether no elements in the specified iterable match the specified predicate, given the specified argument.
+     * Passing state to the predicate via the argument allows the predicate to be non-capturing, and therefore allocation free.
+     *
+     * @param iterable  The iterable containing elements to test.
+     * @param argument  The argument to pass to the predicate alongside each element.
+     * @param predicate The condition to test each element and the argument against.
+     * @param message   The message which will be thrown in the event that some elements match the specified predicate.
+     * @param <T>       The underlying type of the iterable elements.
+     * @param <U>       The underlying type of the argument.
+     * @throws IllegalStateException if some elements match the specified predicate.
+     */
+    public static <T, U> void none(
+            @NotNull final Iterable<T> iterable,
+            final U argument,
+            @NotNull final BiPredicate<? super T, ? super U> predicate,
+            @NotNull final String message) {
+        boolean result = true;
+
+        for (final T element : iterable) {
+            if (predicate.test(element, argument)) {
+                result = false;
+                break;
+            }
+        }
+
+        isTrue(result, message);
     }
 
     /**
@@ -222,14 +395,17 @@ public final class Check {
      * @throws IllegalStateException if the iterable does not contain distinct elements.
      */
     public static void isDistinct(@NotNull final Iterable<?> iterable, @NotNull final String message) {
-        final Set<?> distinctItems = StreamSupport
-                .stream(iterable.spliterator(), false)
-                .collect(Collectors.toSet());
+        final Set<Object> distinctItems = new HashSet<>();
+        boolean result = true;
 
-        final int originalCount = count(iterable);
-        final int distinctCount = count(distinctItems);
+        for (final Object element : iterable) {
+            if (!distinctItems.add(element)) {
+                result = false;
+                break;
+            }
+        }
 
-        isTrue(originalCount == distinctCount, message);
+        isTrue(result, message);
     }
 
     /**
@@ -250,6 +426,18 @@ public final class Check {
         return commands.get(0);
     }
 
+    /**
+     * Notifies the registered {@link VerificationListener} that the specified rule has been checked, if instrumentation is enabled,
+     * and emits a rule failure event if the rule check failed.
+     *
+     * @param rule   The rule that was checked.
+     * @param passed Determines whether the rule check passed.
+     */
+    private static void onRuleChecked(@NotNull final String rule, final boolean passed) {
+        final VerificationListener listener = VerificationInstrumentation.getListener();
+        if (listener != VerificationListener.NONE || !passed) ConstraintScope.onRuleChecked(listener, rule, passed);
+    }
+
     /**
      * Counts the number of elements in an iterable.
      *
@@ -0,0 +1,123 @@
+package com.r3.corda.ledger.utxo.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents a scope in which constraint rules are checked, which associates {@link Check} rule callbacks with the number of
+ * states being verified, and measures the time taken between rule checks.
+ * <p>
+ * Constraints should enter a scope, using try-with-resources, once they have obtained the states to verify; for example:
+ * <pre>{@code
+ * final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
+ *
+ * try (scope) {
+ *     Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
+ * }
+ * }</pre>
+ * While instrumentation is disabled and no verification events are enabled, entering a scope returns a shared, inert instance
+ * and does not read the clock.
+ */
+public final class ConstraintScope implements AutoCloseable {
+
+    /**
+     * The shared, inert scope returned while instrumentation is disabled.
+     */
+    private static final ConstraintScope DISABLED = new ConstraintScope(null, -1, -1);
+
+    /**
+     * The scope that is currently active on this thread, if any.
+     */
+    private static final ThreadLocal<ConstraintScope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The scope that was active when the current scope was entered, if any.
+     */
+    @Nullable
+    private final ConstraintScope parent;
+
+    /**
+     * The number of input states of the current scope, or -1 if unknown.
+     */
+    private final int inputStateCount;
+
+    /**
+     * The number of output states of the current scope, or -1 if unknown.
+     */
+    private final int outputStateCount;
+
+    /**
+     * The time, in nanoseconds, of the last rule check, or of entering the current scope.
+     */
+    private long checkpoint;
+
+    /**
+     * Initializes a new instance of the {@link ConstraintScope} class.
+     *
+     * @param parent           The scope that was active when the current scope was entered, if any.
+     * @param inputStateCount  The number of input states of the current scope, or -1 if unknown.
+     * @param outputStateCount The number of output states of the current scope, or -1 if unknown.
+     */
+    private ConstraintScope(@Nullable final ConstraintScope parent, final int inputStateCount, final int outputStateCount) {
+        this.parent = parent;
+        this.inputStateCount = inputStateCount;
+        this.outputStateCount = outputStateCount;
+        this.checkpoint = System.nanoTime();
+    }
+
+    /**
+     * Enters a new scope on the current thread.
+     *
+     * @param inputStateCount  The number of input states being verified, or -1 if unknown.
+     * @param outputStateCount The number of output states being verified, or -1 if unknown.
+     * @return Returns the new scope, which must be closed on the same thread.
+     */
+    @NotNull
+    public static ConstraintScope enter(final int inputStateCount, final int outputStateCount) {
+        if (!VerificationInstrumentation.isEnabled()) return DISABLED;
+
+        final ConstraintScope result = new ConstraintScope(CURRENT.get(), inputStateCount, outputStateCount);
+        CURRENT.set(result);
+        return result;
+    }
+
+    /**
+     * Exits the current scope, restoring the scope that was active when the current scope was entered.
+     */
+    @Override
+    public void close() {
+        if (this == DISABLED) return;
+
+        if (parent == null) {
+            CURRENT.remove();
+        } else {
+            parent.checkpoint = System.nanoTime();
+            CURRENT.set(parent);
+        }
+    }
+
+    /**
+     * Notifies the specified listener that a rule has been checked within the scope that is active on the current thread,
+     * and emits a rule failure event if the rule check failed.
+     *
+     * @param listener The listener to notify.
+     * @param rule     The rule that was checked.
+     * @param passed   Determines whether the rule check passed.
+     */
+    static void onRuleChecked(@NotNull final VerificationListener listener, @NotNull final String rule, final boolean passed) {
+        final ConstraintScope scope = CURRENT.get();
+
+        if (scope == null) {
+            listener.onRuleChecked(rule, -1, -1, 0, passed);
+            if (!passed) VerificationEvents.ruleFailed(rule, -1, -1, 0);
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final long elapsedNanos = now - scope.checkpoint;
+
+        scope.checkpoint = now;
+        listener.onRuleChecked(rule, scope.inputStateCount, scope.outputStateCount, elapsedNanos, passed);
+        if (!passed) VerificationEvents.ruleFailed(rule, scope.inputStateCount, scope.outputStateCount, elapsedNanos);
+    }
+}
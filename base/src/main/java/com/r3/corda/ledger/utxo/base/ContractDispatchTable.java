@@ -0,0 +1,253 @@
+package com.r3.corda.ledger.utxo.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the per-class dispatch table of a {@link DelegatedContract}, which caches whether command types are permitted by
+ * the contract, as well as the names used to format contract rule failures, so that they are only computed once per class.
+ * <p>
+ * Tables are keyed by {@link DelegatedContract} class and permitted command types, so that instances of the same class which
+ * permit different command types each obtain their own table, rather than replacing each other's table.
+ */
+final class ContractDispatchTable {
+
+    /**
+     * The cached {@link ContractDispatchTable} instances, keyed by {@link DelegatedContract} class.
+     */
+    private static final ClassValue<Holder> TABLES = new ClassValue<>() {
+        @Override
+        protected Holder computeValue(@NotNull final Class<?> type) {
+            return new Holder(type);
+        }
+    };
+
+    /**
+     * The cached determination of whether each command type, and its superclasses, declare no instance fields.
+     */
+    private static final ClassValue<Boolean> INSTANCE_FIELDLESS_TYPES = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull final Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (final Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) return false;
+                }
+            }
+
+            return true;
+        }
+    };
+
+    /**
+     * The permitted command types from which the current {@link ContractDispatchTable} was built.
+     */
+    @NotNull
+    private final List<Class<?>> permittedCommandTypes;
+
+    /**
+     * The cached permitted/not permitted resolution of each command type observed by the current {@link ContractDispatchTable}.
+     */
+    @NotNull
+    private final Map<Class<?>, Boolean> permitted = new ConcurrentHashMap<>();
+
+    /**
+     * The type name of the {@link DelegatedContract} class.
+     */
+    @NotNull
+    private final String contractTypeName;
+
+    /**
+     * The type name of the {@link DelegatedContract} class' generic {@link VerifiableCommand} type parameter.
+     */
+    @NotNull
+    private final String commandTypeName;
+
+    /**
+     * The comma separated simple names of the permitted command types.
+     */
+    @NotNull
+    private final String permittedCommandTypeNames;
+
+    /**
+     * Initializes a new instance of the {@link ContractDispatchTable} class.
+     *
+     * @param holder                The {@link Holder} of the {@link DelegatedContract} class.
+     * @param permittedCommandTypes The permitted command types from which to build the current {@link ContractDispatchTable}.
+     */
+    private ContractDispatchTable(@NotNull final Holder holder, @NotNull final List<? extends Class<?>> permittedCommandTypes) {
+        this.permittedCommandTypes = List.copyOf(permittedCommandTypes);
+        this.contractTypeName = holder.contractTypeName;
+        this.commandTypeName = holder.commandTypeName;
+
+        final StringBuilder builder = new StringBuilder();
+
+        for (final Class<?> permittedCommandType : permittedCommandTypes) {
+            if (builder.length() > 0) builder.append(", ");
+            builder.append(permittedCommandType.getSimpleName());
+        }
+
+        this.permittedCommandTypeNames = builder.toString();
+    }
+
+    /**
+     * Gets the {@link ContractDispatchTable} for the specified {@link DelegatedContract} class and permitted command types.
+     * The table is built once per class and distinct list of permitted command types.
+     *
+     * @param type                  The {@link DelegatedContract} class for which to obtain a {@link ContractDispatchTable}.
+     * @param permittedCommandTypes The permitted command types of the {@link DelegatedContract} instance.
+     * @return Returns the {@link ContractDispatchTable} for the specified {@link DelegatedContract} class and permitted command types.
+     */
+    @NotNull
+    static ContractDispatchTable of(@NotNull final Class<?> type, @NotNull final List<? extends Class<?>> permittedCommandTypes) {
+        final Holder holder = TABLES.get(type);
+        final ContractDispatchTable result = holder.tables.get(permittedCommandTypes);
+
+        if (result != null) {
+            return result;
+        }
+
+        return holder.tables.computeIfAbsent(List.copyOf(permittedCommandTypes), key -> new ContractDispatchTable(holder, key));
+    }
+
+    /**
+     * Determines whether the specified command type, and its superclasses, declare no instance fields.
+     * The result is computed once per class.
+     *
+     * @param type The command type to determine declares no instance fields.
+     * @return Returns true if the specified command type, and its superclasses, declare no instance fields; otherwise, false.
+     */
+    static boolean hasNoInstanceFields(@NotNull final Class<?> type) {
+        return INSTANCE_FIELDLESS_TYPES.get(type);
+    }
+
+    /**
+     * Gets the type name of the {@link DelegatedContract} class.
+     *
+     * @return Returns the type name of the {@link DelegatedContract} class.
+     */
+    @NotNull
+    String getContractTypeName() {
+        return contractTypeName;
+    }
+
+    /**
+     * Gets the type name of the {@link DelegatedContract} class' generic {@link VerifiableCommand} type parameter.
+     *
+     * @return Returns the type name of the {@link DelegatedContract} class' generic {@link VerifiableCommand} type parameter.
+     */
+    @NotNull
+    String getCommandTypeName() {
+        return commandTypeName;
+    }
+
+    /**
+     * Gets the comma separated simple names of the permitted command types.
+     *
+     * @return Returns the comma separated simple names of the permitted command types.
+     */
+    @NotNull
+    String getPermittedCommandTypeNames() {
+        return permittedCommandTypeNames;
+    }
+
+    /**
+     * Determines whether the current {@link ContractDispatchTable} has no permitted command types.
+     *
+     * @return Returns true if the current {@link ContractDispatchTable} has no permitted command types; otherwise, false.
+     */
+    boolean isEmpty() {
+        return permittedCommandTypes.isEmpty();
+    }
+
+    /**
+     * Determines whether the specified command type is permitted. A command is permitted if it is either directly one of the
+     * permitted command types, or if the command derives from one of the permitted command types.
+     *
+     * @param type The command type to determine is permitted.
+     * @return Returns true if the specified command type is permitted; otherwise, false.
+     */
+    boolean isPermitted(@NotNull final Class<?> type) {
+        final Boolean cached = permitted.get(type);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean result = false;
+
+        for (final Class<?> permittedCommandType : permittedCommandTypes) {
+            if (permittedCommandType.isAssignableFrom(type)) {
+                result = true;
+                break;
+            }
+        }
+
+        permitted.put(type, result);
+        return result;
+    }
+
+    /**
+     * Obtains the generic parameter type name of the specified {@link DelegatedContract} class by recursively looking up the type hierarchy.
+     *
+     * If the class hierarchy is raw, then the name of {@link VerifiableCommand} is returned.
+     *
+     * @param type The {@link Class} to begin looking for the generic parameter type.
+     * @return Returns the generic parameter type name of the specified {@link DelegatedContract} class.
+     */
+    @NotNull
+    private static String getGenericTypeParameterName(@NotNull final Class<?> type) {
+        final Type superClass = type.getGenericSuperclass();
+
+        if (superClass == null) {
+            return VerifiableCommand.class.getTypeName();
+        }
+
+        if (superClass instanceof ParameterizedType) {
+            final ParameterizedType parameterizedType = (ParameterizedType) superClass;
+            return parameterizedType.getActualTypeArguments()[0].getTypeName();
+        }
+
+        return getGenericTypeParameterName((Class<?>) superClass);
+    }
+
+    /**
+     * Represents the per-class state from which {@link ContractDispatchTable} instances are built.
+     */
+    private static final class Holder {
+
+        /**
+         * The type name of the {@link DelegatedContract} class.
+         */
+        @NotNull
+        private final String contractTypeName;
+
+        /**
+         * The type name of the {@link DelegatedContract} class' generic {@link VerifiableCommand} type parameter.
+         */
+        @NotNull
+        private final String commandTypeName;
+
+        /**
+         * The {@link ContractDispatchTable} instances built for the {@link DelegatedContract} class, keyed by permitted command types.
+         */
+        @NotNull
+        private final Map<List<? extends Class<?>>, ContractDispatchTable> tables = new ConcurrentHashMap<>();
+
+        /**
+         * Initializes a new instance of the {@link Holder} class.
+         *
+         * @param type The {@link DelegatedContract} class.
+         */
+        private Holder(@NotNull final Class<?> type) {
+            this.contractTypeName = type.getTypeName();
+            this.commandTypeName = getGenericTypeParameterName(type);
+        }
+    }
+}
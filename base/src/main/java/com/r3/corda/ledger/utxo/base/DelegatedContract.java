@@ -1,18 +1,19 @@
 package com.r3.corda.ledger.utxo.base;
 
 import net.corda.v5.base.annotations.Suspendable;
-import net.corda.v5.ledger.utxo.Command;
 import net.corda.v5.ledger.utxo.Contract;
 import net.corda.v5.ledger.utxo.ContractState;
 import net.corda.v5.ledger.utxo.VisibilityChecker;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents the base class for implementing delegated contracts.
@@ -31,6 +32,8 @@ public abstract class DelegatedContract<T extends VerifiableCommand> implements
 
     /**
      * Gets the permitted {@link VerifiableCommand} types that the current {@link DelegatedContract} is able to verify.
+     * <p>
+     * This is called each time a transaction is verified, so implementations should return a constant list rather than building a new one.
      *
      * @return the permitted {@link VerifiableCommand} types that the current {@link DelegatedContract} is able to verify.
      */
@@ -51,79 +54,157 @@ public abstract class DelegatedContract<T extends VerifiableCommand> implements
 
     /**
      * Verifies the specified transaction associated with the current contract.
+     * <p>
+     * A {@link TransactionIndex} of the specified transaction is built once and shared by {@link #onVerify(UtxoLedgerTransaction)},
+     * every permitted command and every constraint that obtains states via {@link TransactionIndex#of(UtxoLedgerTransaction)}.
+     * <p>
+     * When a {@link VerificationListener} is registered, it is notified of the time taken by the contract,
+     * by {@link #onVerify(UtxoLedgerTransaction)} and by each permitted command. When enabled by a recording,
+     * Java Flight Recorder events are emitted for the contract and each permitted command.
      *
      * @param transaction The transaction to verify.
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     @Override
     public final void verify(@NotNull final UtxoLedgerTransaction transaction) {
-        onVerify(transaction);
+        final VerificationListener listener = VerificationInstrumentation.getListener();
+        final TransactionIndex previousIndex = TransactionIndex.getCurrent();
+        TransactionIndex.setCurrent(TransactionIndex.of(transaction));
+
+        if (listener == VerificationListener.NONE && !VerificationEvents.isEnabled()) {
+            try {
+                verifyCommands(transaction, listener);
+            } finally {
+                TransactionIndex.setCurrent(previousIndex);
+            }
+
+            return;
+        }
+
+        final Object event = VerificationEvents.beginContract();
+        final long start = System.nanoTime();
+        Throwable failure = null;
+
+        try {
+            verifyCommands(transaction, listener);
+        } catch (RuntimeException | Error exception) {
+            failure = exception;
+            throw exception;
+        } finally {
+            TransactionIndex.setCurrent(previousIndex);
+            listener.onContractCompleted(getClass(), transaction, System.nanoTime() - start, failure);
+            VerificationEvents.endContract(event, getClass(), transaction, failure);
+        }
+    }
+
+    /**
+     * Verifies the specified transaction associated with the current contract, by delegating verification to each permitted command.
+     * Commands that are {@link VerifiableCommand#isInstanceIndependent() instance-independent} are verified once per distinct
+     * command type and {@link ContractStateType}. If {@link #isParallelVerificationEnabled()} returns true, independent commands are verified in parallel.
+     * The {@link TransactionIndex} of the specified transaction is bound to the current thread for the duration of this call.
+     *
+     * @param transaction The transaction to verify.
+     * @param listener    The registered {@link VerificationListener}.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    private void verifyCommands(@NotNull final UtxoLedgerTransaction transaction, @NotNull final VerificationListener listener) {
+        verifyOnVerify(transaction, listener);
 
-        final List<Class<? extends T>> permittedCommandTypes = getPermittedCommandTypes();
+        final ContractDispatchTable table = ContractDispatchTable.of(getClass(), getPermittedCommandTypes());
 
-        Check.isNotEmpty(permittedCommandTypes, MessageFormat.format(
-                CONTRACT_RULE_EMPTY_PERMITTED_COMMAND_TYPES,
-                getClass().getTypeName()
-        ));
+        Check.isTrue(!table.isEmpty(), CONTRACT_RULE_EMPTY_PERMITTED_COMMAND_TYPES, table.getContractTypeName());
 
         boolean hasExecutedAtLeastOnePermittedCommand = false;
+        Map<Class<?>, Set<Class<?>>> verifiedCommandTypes = null;
+        final List<VerifiableCommand> parallelCommands = isParallelVerificationEnabled() ? new ArrayList<>() : null;
 
         for (final VerifiableCommand command : transaction.getCommands(VerifiableCommand.class)) {
-            final Class<? extends Command> type = command.getClass();
-
-            if (isCommandPermitted(permittedCommandTypes, type)) {
+            if (table.isPermitted(command.getClass())) {
                 hasExecutedAtLeastOnePermittedCommand = true;
-                command.verify(transaction);
+
+                if (command.isInstanceIndependent()) {
+                    if (verifiedCommandTypes == null) verifiedCommandTypes = new HashMap<>();
+                    final Set<Class<?>> stateTypes = verifiedCommandTypes.computeIfAbsent(command.getClass(), key -> new HashSet<>());
+                    if (!stateTypes.add(getContractStateType(command))) continue;
+                }
+
+                if (parallelCommands != null) parallelCommands.add(command);
+                else VerificationInstrumentation.verifyCommand(getClass(), command, transaction);
             }
         }
 
-        Check.isTrue(hasExecutedAtLeastOnePermittedCommand, MessageFormat.format(
+        if (parallelCommands != null) {
+            ParallelCommandVerifier.verify(getClass(), transaction, TransactionIndex.getCurrent(), parallelCommands);
+        }
+
+        Check.isTrue(
+                hasExecutedAtLeastOnePermittedCommand,
                 CONTRACT_RULE_EXECUTE_PERMITTED_COMMANDS,
-                getClass().getTypeName(),
-                getGenericTypeParameterName(getClass()),
-                getPermittedCommandTypes().stream().map(Class::getSimpleName).collect(Collectors.joining(", "))
-        ));
+                table.getContractTypeName(),
+                table.getCommandTypeName(),
+                table.getPermittedCommandTypeNames()
+        );
     }
 
     /**
-     * Verifies the specified transaction associated with the current contract.
+     * Gets the {@link ContractState} type associated with the specified command.
      *
-     * @param transaction The transaction to verify.
-     * @throws IllegalStateException if the specified transaction fails verification.
+     * @param command The command from which to get the associated {@link ContractState} type.
+     * @return Returns the {@link ContractState} type associated with the specified command, or null if the command does not implement {@link ContractStateType}.
      */
-    @SuppressWarnings("unused")
-    protected void onVerify(@NotNull final UtxoLedgerTransaction transaction) {
+    @Nullable
+    private static Class<?> getContractStateType(@NotNull final VerifiableCommand command) {
+        return command instanceof ContractStateType ? ((ContractStateType<?>) command).getContractStateType() : null;
     }
 
     /**
-     * Obtains the generic parameter type of type {@link T} by recursively looking up the type hierarchy.
+     * Calls {@link #onVerify(UtxoLedgerTransaction)}, notifying the specified listener when instrumentation is enabled.
      *
-     * @param type The {@link Class} to begin looking for the generic parameter type of type {@link T}.
-     * @return Returns the generic parameter type of type {@link T} by recursively looking up the type hierarchy.
+     * @param transaction The transaction to verify.
+     * @param listener    The registered {@link VerificationListener}.
+     * @throws IllegalStateException if the specified transaction fails verification.
      */
-    private String getGenericTypeParameterName(Class<?> type) {
-        Type superClass = type.getGenericSuperclass();
+    private void verifyOnVerify(@NotNull final UtxoLedgerTransaction transaction, @NotNull final VerificationListener listener) {
+        if (listener == VerificationListener.NONE) {
+            onVerify(transaction);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        Throwable failure = null;
+
+        final ConstraintScope scope = ConstraintScope.enter(-1, -1);
 
-        if (superClass instanceof ParameterizedType) {
-            ParameterizedType parameterizedType = (ParameterizedType) superClass;
-            return parameterizedType.getActualTypeArguments()[0].getTypeName();
+        try (scope) {
+            onVerify(transaction);
+        } catch (RuntimeException | Error exception) {
+            failure = exception;
+            throw exception;
+        } finally {
+            listener.onVerifyCompleted(getClass(), System.nanoTime() - start, failure);
         }
+    }
 
-        return getGenericTypeParameterName((Class<?>) superClass);
+    /**
+     * Determines whether the permitted commands of a transaction should be verified in parallel.
+     * <p>
+     * When enabled, commands with different {@link ContractStateType} values are verified concurrently on a shared, bounded pool,
+     * and the failure of the command that appears earliest in the transaction is rethrown. Commands must therefore be safe to verify
+     * concurrently with each other. The default implementation returns false.
+     *
+     * @return Returns true if the permitted commands of a transaction should be verified in parallel; otherwise, false.
+     */
+    protected boolean isParallelVerificationEnabled() {
+        return false;
     }
 
     /**
-     * Determines whether the specified {@link Command} type is permissible by any of the current {@link DelegatedContract}'s permitted
-     * commands. A command is considered permissible by the current {@link DelegatedContract} if it is either directly one of the
-     * permitted commands, or if the command derives from one of the permitted commands.
+     * Verifies the specified transaction associated with the current contract.
      *
-     * @param permittedCommandTypes The list of {@link Command} types that are permissible by the current {@link DelegatedContract}.
-     * @param type                  The type of the {@link Command} to determine is permissible by the current {@link DelegatedContract}.
-     * @return Returns true if the specified {@link Command} is permissible by the current {@link DelegatedContract}; otherwise, false.
+     * @param transaction The transaction to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
      */
-    private boolean isCommandPermitted(
-            @NotNull final List<Class<? extends T>> permittedCommandTypes,
-            @NotNull final Class<? extends Command> type) {
-        return permittedCommandTypes.stream().anyMatch(it -> it.isAssignableFrom(type));
+    @SuppressWarnings("unused")
+    protected void onVerify(@NotNull final UtxoLedgerTransaction transaction) {
     }
 }
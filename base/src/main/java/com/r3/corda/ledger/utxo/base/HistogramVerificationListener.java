@@ -0,0 +1,131 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents a {@link VerificationListener} that collects a {@link TimingHistogram} per contract type, per contract {@code onVerify}
+ * method, per command type and per rule.
+ */
+public final class HistogramVerificationListener implements VerificationListener {
+
+    @NotNull
+    private final Map<Class<?>, TimingHistogram> contractTimings = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Map<Class<?>, TimingHistogram> onVerifyTimings = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Map<Class<?>, TimingHistogram> commandTimings = new ConcurrentHashMap<>();
+
+    @NotNull
+    private final Map<String, TimingHistogram> ruleTimings = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time taken by a {@link DelegatedContract} to verify a transaction.
+     */
+    @Override
+    public void onContractCompleted(
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final UtxoLedgerTransaction transaction,
+            final long elapsedNanos,
+            @Nullable final Throwable failure) {
+        getHistogram(contractTimings, contractType).record(elapsedNanos, failure != null);
+    }
+
+    /**
+     * Records the time taken by the {@code onVerify} method of a {@link DelegatedContract}.
+     */
+    @Override
+    public void onVerifyCompleted(@NotNull final Class<? extends Contract> contractType, final long elapsedNanos, @Nullable final Throwable failure) {
+        getHistogram(onVerifyTimings, contractType).record(elapsedNanos, failure != null);
+    }
+
+    /**
+     * Records the time taken by a {@link VerifiableCommand} to verify a transaction.
+     */
+    @Override
+    public void onCommandCompleted(
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final VerifiableCommand command,
+            final long elapsedNanos,
+            @Nullable final Throwable failure) {
+        getHistogram(commandTimings, command.getClass()).record(elapsedNanos, failure != null);
+    }
+
+    /**
+     * Records the time taken to check a rule.
+     */
+    @Override
+    public void onRuleChecked(
+            @NotNull final String rule,
+            final int inputStateCount,
+            final int outputStateCount,
+            final long elapsedNanos,
+            final boolean passed) {
+        getHistogram(ruleTimings, rule).record(elapsedNanos, !passed);
+    }
+
+    /**
+     * Gets the timings of each contract type.
+     *
+     * @return Returns the timings of each contract type.
+     */
+    @NotNull
+    public Map<Class<?>, TimingHistogram> getContractTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(contractTimings));
+    }
+
+    /**
+     * Gets the timings of the {@code onVerify} method of each contract type.
+     *
+     * @return Returns the timings of the {@code onVerify} method of each contract type.
+     */
+    @NotNull
+    public Map<Class<?>, TimingHistogram> getOnVerifyTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(onVerifyTimings));
+    }
+
+    /**
+     * Gets the timings of each command type.
+     *
+     * @return Returns the timings of each command type.
+     */
+    @NotNull
+    public Map<Class<?>, TimingHistogram> getCommandTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(commandTimings));
+    }
+
+    /**
+     * Gets the timings of each rule.
+     *
+     * @return Returns the timings of each rule.
+     */
+    @NotNull
+    public Map<String, TimingHistogram> getRuleTimings() {
+        return Collections.unmodifiableMap(new HashMap<>(ruleTimings));
+    }
+
+    /**
+     * Clears all collected timings.
+     */
+    public void clear() {
+        contractTimings.clear();
+        onVerifyTimings.clear();
+        commandTimings.clear();
+        ruleTimings.clear();
+    }
+
+    @NotNull
+    private static <K> TimingHistogram getHistogram(@NotNull final Map<K, TimingHistogram> histograms, @NotNull final K key) {
+        final TimingHistogram result = histograms.get(key);
+        return result != null ? result : histograms.computeIfAbsent(key, it -> new TimingHistogram());
+    }
+}
@@ -0,0 +1,191 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Represents a verifier that verifies independent {@link VerifiableCommand} instances of a transaction in parallel.
+ * <p>
+ * Commands are grouped by their {@link ContractStateType}; commands that do not specify a {@link ContractStateType} form a single group.
+ * Each group is verified sequentially, in transaction order, on the shared {@link VerificationPool}, and stops at its first failure.
+ * Once every group has completed, the failure of the command that appears earliest in the transaction is rethrown,
+ * which is the same failure that sequential verification would throw. {@link VirtualMachineError} instances, such as {@link OutOfMemoryError},
+ * are not captured, and are rethrown immediately.
+ */
+final class ParallelCommandVerifier {
+
+    /**
+     * Initializes a new instance of the {@link ParallelCommandVerifier} class.
+     * This constructor is private as this class only contains static members.
+     */
+    private ParallelCommandVerifier() {
+    }
+
+    /**
+     * Verifies the specified commands against the specified transaction.
+     * <p>
+     * The specified {@link TransactionIndex} is bound to each worker thread for the duration of its verification.
+     *
+     * @param contractType The type of the contract that delegated verification to the commands.
+     * @param transaction  The transaction to verify.
+     * @param index        The {@link TransactionIndex} of the transaction to verify, or null if no index is bound.
+     * @param commands     The commands to verify, in transaction order.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    static void verify(
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final UtxoLedgerTransaction transaction,
+            @Nullable final TransactionIndex index,
+            @NotNull final List<VerifiableCommand> commands) {
+        final List<List<Integer>> groups = getGroups(commands);
+
+        if (groups.size() < 2) {
+            for (final VerifiableCommand command : commands) VerificationInstrumentation.verifyCommand(contractType, command, transaction);
+            return;
+        }
+
+        final List<ForkJoinTask<Failure>> tasks = new ArrayList<>(groups.size() - 1);
+
+        for (final List<Integer> group : groups.subList(1, groups.size())) {
+            tasks.add(VerificationPool.get().submit(() -> verifyGroup(contractType, transaction, index, commands, group)));
+        }
+
+        Failure failure = verifyGroup(contractType, transaction, index, commands, groups.get(0));
+
+        for (final ForkJoinTask<Failure> task : tasks) {
+            failure = Failure.earliest(failure, task.join());
+        }
+
+        if (failure != null) failure.rethrow();
+    }
+
+    /**
+     * Groups the positions of the specified commands by their {@link ContractStateType}, in order of first appearance.
+     *
+     * @param commands The commands to group.
+     * @return Returns the positions of the specified commands, grouped by their {@link ContractStateType}.
+     */
+    @NotNull
+    private static List<List<Integer>> getGroups(@NotNull final List<VerifiableCommand> commands) {
+        final Map<Class<?>, List<Integer>> groups = new LinkedHashMap<>();
+
+        for (int position = 0; position < commands.size(); position++) {
+            final VerifiableCommand command = commands.get(position);
+            final Class<?> contractStateType = command instanceof ContractStateType<?>
+                    ? ((ContractStateType<?>) command).getContractStateType()
+                    : null;
+
+            groups.computeIfAbsent(contractStateType, it -> new ArrayList<>()).add(position);
+        }
+
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Verifies a single group of commands, binding the specified {@link TransactionIndex} to the current thread.
+     *
+     * @param contractType The type of the contract that delegated verification to the commands.
+     * @param transaction  The transaction to verify.
+     * @param index        The {@link TransactionIndex} of the transaction to verify, or null if no index is bound.
+     * @param commands     The commands of the transaction to verify.
+     * @param group        The positions of the commands in the group to verify.
+     * @return Returns the failure of the group, or null if every command in the group was verified successfully.
+     * @throws VirtualMachineError if the virtual machine fails while verifying the specified group.
+     */
+    @Nullable
+    private static Failure verifyGroup(
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final UtxoLedgerTransaction transaction,
+            @Nullable final TransactionIndex index,
+            @NotNull final List<VerifiableCommand> commands,
+            @NotNull final List<Integer> group) {
+        final TransactionIndex previousIndex = TransactionIndex.getCurrent();
+        TransactionIndex.setCurrent(index);
+
+        try {
+            for (final int position : group) {
+                try {
+                    VerificationInstrumentation.verifyCommand(contractType, commands.get(position), transaction);
+                } catch (VirtualMachineError error) {
+                    throw error;
+                } catch (Throwable throwable) {
+                    return new Failure(position, throwable);
+                }
+            }
+
+            return null;
+        } finally {
+            TransactionIndex.setCurrent(previousIndex);
+        }
+    }
+
+    /**
+     * Represents the failure of a command at a given position in the transaction.
+     */
+    private static final class Failure {
+
+        /**
+         * The position of the failed command in the transaction.
+         */
+        private final int position;
+
+        /**
+         * The exception or error thrown by the failed command.
+         */
+        @NotNull
+        private final Throwable throwable;
+
+        /**
+         * Initializes a new instance of the {@link Failure} class.
+         *
+         * @param position  The position of the failed command in the transaction.
+         * @param throwable The exception or error thrown by the failed command.
+         */
+        private Failure(final int position, @NotNull final Throwable throwable) {
+            this.position = position;
+            this.throwable = throwable;
+        }
+
+        /**
+         * Gets the failure of the command that appears earliest in the transaction.
+         *
+         * @param a The first failure to compare, or null.
+         * @param b The second failure to compare, or null.
+         * @return Returns the failure of the command that appears earliest in the transaction, or null if neither failed.
+         */
+        @Nullable
+        private static Failure earliest(@Nullable final Failure a, @Nullable final Failure b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            return a.position <= b.position ? a : b;
+        }
+
+        /**
+         * Rethrows the underlying exception or error of the current failure, including checked exceptions,
+         * which commands can only throw undeclared; for example, from Kotlin.
+         */
+        private void rethrow() {
+            Failure.<RuntimeException>rethrow(throwable);
+        }
+
+        /**
+         * Rethrows the specified throwable without wrapping it, as sequential verification would.
+         *
+         * @param throwable The throwable to rethrow.
+         * @param <E>       The type of throwable that the compiler treats the specified throwable as.
+         * @throws E always.
+         */
+        @SuppressWarnings("unchecked")
+        private static <E extends Throwable> void rethrow(@NotNull final Throwable throwable) throws E {
+            throw (E) throwable;
+        }
+    }
+}
@@ -8,7 +8,12 @@ import net.corda.v5.ledger.utxo.UtxoLedgerService;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Defines a mechanism for implementing pointers to other states on the ledger.
@@ -45,5 +50,68 @@ public interface StatePointer<T extends ContractState> {
      */
     @NotNull
     List<StateAndRef<T>> resolve(@NotNull UtxoLedgerTransaction transaction, @NotNull StatePosition position);
+
+    /**
+     * Resolves the specified pointers, which are instances of the same class as the current {@link StatePointer}, to the {@link List} of
+     * {@link StateAndRef} of type {@link T} resolved by each pointer.
+     * <p>
+     * This is called by {@link #resolveAll(Collection, UtxoLedgerService)} on the first pointer of each class. The default implementation
+     * resolves each pointer individually; implementations should override this to resolve every specified pointer in a single round trip.
+     *
+     * @param pointers The pointers to resolve, which are instances of the same class as the current {@link StatePointer}.
+     * @param service  The {@link UtxoLedgerService} that will be used to resolve {@link StateAndRef} instances of type {@link T} from the vault.
+     * @return Returns the {@link List} of {@link StateAndRef} of type {@link T} resolved by each of the specified pointers, keyed by pointer.
+     */
+    @NotNull
+    @Suspendable
+    default Map<StatePointer<T>, List<StateAndRef<T>>> resolveBatch(
+            @NotNull final List<? extends StatePointer<T>> pointers,
+            @NotNull final UtxoLedgerService service) {
+        final Map<StatePointer<T>, List<StateAndRef<T>>> result = new LinkedHashMap<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            result.put(pointer, pointer.resolve(service));
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the specified pointers to the {@link List} of {@link StateAndRef} of type {@link T} resolved by each pointer.
+     * <p>
+     * Pointers are grouped by class, and each group is resolved using {@link #resolveBatch(List, UtxoLedgerService)};
+     * therefore, the number of round trips depends on the number of classes of pointer, rather than the number of pointers.
+     *
+     * @param pointers The pointers to resolve.
+     * @param service  The {@link UtxoLedgerService} that will be used to resolve {@link StateAndRef} instances of type {@link T} from the vault.
+     * @param <T>      The underlying type of the {@link ContractState} instance(s) being pointed to.
+     * @return Returns the {@link List} of {@link StateAndRef} of type {@link T} resolved by each of the specified pointers,
+     * keyed by pointer, in the order in which each pointer was specified.
+     */
+    @NotNull
+    @Suspendable
+    static <T extends ContractState> Map<StatePointer<T>, List<StateAndRef<T>>> resolveAll(
+            @NotNull final Collection<? extends StatePointer<T>> pointers,
+            @NotNull final UtxoLedgerService service) {
+        final Map<Class<?>, List<StatePointer<T>>> groups = new LinkedHashMap<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            groups.computeIfAbsent(pointer.getClass(), key -> new ArrayList<>()).add(pointer);
+        }
+
+        final Map<StatePointer<T>, List<StateAndRef<T>>> resolved = new HashMap<>();
+
+        for (final List<StatePointer<T>> group : groups.values()) {
+            resolved.putAll(group.get(0).resolveBatch(group, service));
+        }
+
+        final Map<StatePointer<T>, List<StateAndRef<T>>> result = new LinkedHashMap<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            result.put(pointer, resolved.get(pointer));
+        }
+
+        return result;
+    }
 }
 
@@ -0,0 +1,310 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a cache of {@link StatePointer} resolutions, so that resolving the same pointer repeatedly does not query the vault each time.
+ * <p>
+ * Resolutions are keyed by pointer, and therefore by the pointer's class, value and type. The cache holds at most the maximum number of
+ * resolutions, evicting the least recently used resolution when full. By default, resolutions do not expire, and the cache is scoped to
+ * the flow that creates it; alternatively, a time-to-live can be specified, after which a resolution is resolved again.
+ * <p>
+ * A cached resolution becomes stale once a state that it resolved to is consumed. Flows should invalidate the resolutions affected by
+ * a transaction once it has been finalized, using {@link #invalidate(UtxoLedgerTransaction)}; for example:
+ * <pre>{@code
+ * StatePointerCache cache = new StatePointerCache(utxoLedgerService);
+ * List<StateAndRef<Asset>> resolved = cache.resolve(pointer);
+ * // Build, sign and finalize the transaction...
+ * cache.invalidate(finalizedTransaction);
+ * }</pre>
+ * Instances of {@link StatePointerCache} are not thread-safe, and are intended to be used by a single flow.
+ */
+public final class StatePointerCache {
+
+    /**
+     * The default maximum number of resolutions held by the cache.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 1_000;
+
+    @NotNull
+    private final UtxoLedgerService utxoLedgerService;
+
+    @NotNull
+    private final Clock clock;
+
+    @NotNull
+    private final Map<StatePointer<?>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    @Nullable
+    private Duration timeToLive;
+
+    /**
+     * Initializes a new instance of the {@link StatePointerCache} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} used to resolve pointers that are not cached.
+     */
+    public StatePointerCache(@NotNull final UtxoLedgerService utxoLedgerService) {
+        this(utxoLedgerService, Clock.systemUTC());
+    }
+
+    /**
+     * Initializes a new instance of the {@link StatePointerCache} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} used to resolve pointers that are not cached.
+     * @param clock             The {@link Clock} used to expire resolutions.
+     */
+    StatePointerCache(@NotNull final UtxoLedgerService utxoLedgerService, @NotNull final Clock clock) {
+        this.utxoLedgerService = utxoLedgerService;
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the maximum number of resolutions held by the cache, evicting the least recently used resolutions if the cache holds more.
+     *
+     * @param maximumSize The maximum number of resolutions held by the cache.
+     * @return Returns the current {@link StatePointerCache}.
+     * @throws IllegalArgumentException if the specified maximum size is not greater than zero.
+     */
+    @NotNull
+    public StatePointerCache setMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("The maximum size must be greater than zero.");
+        this.maximumSize = maximumSize;
+        evict();
+        return this;
+    }
+
+    /**
+     * Sets the time-to-live of resolutions cached from now on, or null if resolutions do not expire.
+     *
+     * @param timeToLive The time-to-live of resolutions cached from now on, or null if resolutions do not expire.
+     * @return Returns the current {@link StatePointerCache}.
+     * @throws IllegalArgumentException if the specified time-to-live is not positive.
+     */
+    @NotNull
+    public StatePointerCache setTimeToLive(@Nullable final Duration timeToLive) {
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("The time-to-live must be positive.");
+        }
+
+        this.timeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * Gets the number of resolutions held by the cache, including resolutions that have expired but have not yet been evicted.
+     *
+     * @return Returns the number of resolutions held by the cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Resolves the specified pointer, using the cached resolution if it exists and has not expired.
+     *
+     * @param pointer The pointer to resolve.
+     * @param <T>     The underlying type of the {@link ContractState} instance(s) being pointed to.
+     * @return Returns a {@link List} of {@link StateAndRef} of type {@link T} resolved by the specified pointer.
+     */
+    @NotNull
+    @Suspendable
+    public <T extends ContractState> List<StateAndRef<T>> resolve(@NotNull final StatePointer<T> pointer) {
+        final List<StateAndRef<T>> cached = get(pointer, clock.instant());
+        if (cached != null) return cached;
+
+        final List<StateAndRef<T>> result = pointer.resolve(utxoLedgerService);
+        put(pointer, result);
+        return result;
+    }
+
+    /**
+     * Resolves the specified pointers, using the cached resolutions that exist and have not expired,
+     * and resolving the remaining pointers using {@link StatePointer#resolveAll(Collection, UtxoLedgerService)}.
+     *
+     * @param pointers The pointers to resolve.
+     * @param <T>      The underlying type of the {@link ContractState} instance(s) being pointed to.
+     * @return Returns the {@link List} of {@link StateAndRef} of type {@link T} resolved by each of the specified pointers,
+     * keyed by pointer, in the order in which each pointer was specified.
+     */
+    @NotNull
+    @Suspendable
+    public <T extends ContractState> Map<StatePointer<T>, List<StateAndRef<T>>> resolveAll(@NotNull final Collection<? extends StatePointer<T>> pointers) {
+        final Instant now = clock.instant();
+        final Map<StatePointer<T>, List<StateAndRef<T>>> result = new LinkedHashMap<>();
+        final List<StatePointer<T>> misses = new ArrayList<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            final List<StateAndRef<T>> cached = get(pointer, now);
+            if (cached == null) misses.add(pointer);
+            result.put(pointer, cached);
+        }
+
+        if (!misses.isEmpty()) {
+            for (final Map.Entry<StatePointer<T>, List<StateAndRef<T>>> resolved : StatePointer.resolveAll(misses, utxoLedgerService).entrySet()) {
+                put(resolved.getKey(), resolved.getValue());
+                result.put(resolved.getKey(), resolved.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Invalidates the cached resolution of the specified pointer.
+     *
+     * @param pointer The pointer whose cached resolution to invalidate.
+     */
+    public void invalidate(@NotNull final StatePointer<?> pointer) {
+        entries.remove(pointer);
+    }
+
+    /**
+     * Invalidates the cached resolutions affected by the specified transaction, which should be called once the transaction has been finalized.
+     * <p>
+     * Resolutions to any state consumed by the specified transaction are invalidated, since those states are no longer unconsumed.
+     * Resolutions to no states are also invalidated, since the pointed to state may have been created by the specified transaction.
+     *
+     * @param transaction The transaction whose affected resolutions to invalidate.
+     */
+    public void invalidate(@NotNull final UtxoLedgerTransaction transaction) {
+        final Set<StateRef> consumed = new HashSet<>(transaction.getInputStateRefs());
+        final Iterator<Entry> iterator = entries.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().isAffectedBy(consumed)) iterator.remove();
+        }
+    }
+
+    /**
+     * Invalidates every cached resolution.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the cached resolution of the specified pointer, or null if the pointer is not cached, or its resolution has expired.
+     *
+     * @param pointer The pointer whose cached resolution to get.
+     * @param now     The current instant, used to determine whether the cached resolution has expired.
+     * @param <T>     The underlying type of the {@link ContractState} instance(s) being pointed to.
+     * @return Returns the cached resolution of the specified pointer, or null if the pointer is not cached, or its resolution has expired.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private <T extends ContractState> List<StateAndRef<T>> get(@NotNull final StatePointer<T> pointer, @NotNull final Instant now) {
+        final Entry entry = entries.get(pointer);
+        if (entry == null) return null;
+
+        if (entry.isExpired(now)) {
+            entries.remove(pointer);
+            return null;
+        }
+
+        return (List<StateAndRef<T>>) (List<?>) entry.getStates();
+    }
+
+    /**
+     * Caches the specified resolution of the specified pointer, evicting the least recently used resolution if the cache is full.
+     *
+     * @param pointer The pointer whose resolution to cache.
+     * @param states  The resolution to cache.
+     */
+    private void put(@NotNull final StatePointer<?> pointer, @NotNull final List<? extends StateAndRef<?>> states) {
+        final Instant expiresAt = timeToLive != null ? clock.instant().plus(timeToLive) : null;
+        entries.put(pointer, new Entry(List.copyOf(states), expiresAt));
+        evict();
+    }
+
+    /**
+     * Evicts the least recently used resolutions until the cache holds no more than the maximum number of resolutions.
+     */
+    private void evict() {
+        final Iterator<StatePointer<?>> iterator = entries.keySet().iterator();
+
+        while (entries.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Represents a cached resolution.
+     */
+    private static final class Entry {
+
+        @NotNull
+        private final List<StateAndRef<?>> states;
+
+        @Nullable
+        private final Instant expiresAt;
+
+        /**
+         * Initializes a new instance of the {@link Entry} class.
+         *
+         * @param states    The states resolved by the pointer.
+         * @param expiresAt The instant at which the resolution expires, or null if the resolution does not expire.
+         */
+        Entry(@NotNull final List<StateAndRef<?>> states, @Nullable final Instant expiresAt) {
+            this.states = states;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Gets the states resolved by the pointer.
+         *
+         * @return Returns the states resolved by the pointer.
+         */
+        @NotNull
+        List<StateAndRef<?>> getStates() {
+            return states;
+        }
+
+        /**
+         * Determines whether the resolution has expired at the specified instant.
+         *
+         * @param now The instant at which to determine whether the resolution has expired.
+         * @return Returns true if the resolution has expired at the specified instant; otherwise, false.
+         */
+        boolean isExpired(@NotNull final Instant now) {
+            return expiresAt != null && !now.isBefore(expiresAt);
+        }
+
+        /**
+         * Determines whether the resolution is affected by a transaction that consumes the specified states.
+         *
+         * @param consumed The states consumed by the transaction.
+         * @return Returns true if the resolution resolved to no states, or to any of the specified states; otherwise, false.
+         */
+        boolean isAffectedBy(@NotNull final Set<StateRef> consumed) {
+            if (states.isEmpty()) return true;
+
+            for (final StateAndRef<?> state : states) {
+                if (consumed.contains(state.getRef())) return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -10,8 +10,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.MessageFormat;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Represents a static pointer, which points to a specific {@link StateRef} on the ledger.
@@ -87,6 +92,48 @@ public final class StaticPointer<T extends ContractState> implements StatePointe
         return List.of(service.resolve(value));
     }
 
+    /**
+     * Resolves the specified {@link StaticPointer} instances to the {@link List} of {@link StateAndRef} of type {@link T} resolved by each pointer,
+     * using a single call to {@link UtxoLedgerService#resolve(Iterable)}.
+     *
+     * @param pointers The pointers to resolve, which must be instances of {@link StaticPointer}.
+     * @param service  The {@link UtxoLedgerService} that will be used to resolve {@link StateAndRef} instances of type {@link T} from the vault.
+     * @return Returns the {@link List} of {@link StateAndRef} of type {@link T} resolved by each of the specified pointers, keyed by pointer.
+     * @throws IllegalArgumentException if any of the specified pointers is not an instance of {@link StaticPointer}.
+     */
+    @NotNull
+    @Override
+    @Suspendable
+    @SuppressWarnings("unchecked")
+    public Map<StatePointer<T>, List<StateAndRef<T>>> resolveBatch(
+            @NotNull final List<? extends StatePointer<T>> pointers,
+            @NotNull final UtxoLedgerService service) {
+        final Set<StateRef> stateRefs = new LinkedHashSet<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            if (!(pointer instanceof StaticPointer<?>)) {
+                throw new IllegalArgumentException(MessageFormat.format("Cannot resolve {0} as a batch of StaticPointer instances.", pointer));
+            }
+
+            stateRefs.add(((StaticPointer<T>) pointer).getValue());
+        }
+
+        final Map<StateRef, StateAndRef<T>> resolved = new HashMap<>();
+
+        for (final StateAndRef<T> stateAndRef : service.<T>resolve(stateRefs)) {
+            resolved.put(stateAndRef.getRef(), stateAndRef);
+        }
+
+        final Map<StatePointer<T>, List<StateAndRef<T>>> result = new LinkedHashMap<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            final StateAndRef<T> stateAndRef = resolved.get(((StaticPointer<T>) pointer).getValue());
+            result.put(pointer, stateAndRef == null ? List.of() : List.of(stateAndRef));
+        }
+
+        return result;
+    }
+
     /**
      * Resolves the current {@link StatePointer} to a {@link List} of {@link StateAndRef} of type {@link T}.
      *
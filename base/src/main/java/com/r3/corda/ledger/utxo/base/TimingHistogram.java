@@ -0,0 +1,169 @@
+package com.r3.corda.ledger.utxo.base;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a concurrent histogram of nanosecond timings, with power-of-two bucket boundaries.
+ * <p>
+ * Bucket {@code n} counts timings in the range {@code [2^n, 2^(n+1))} nanoseconds; bucket zero also counts timings of zero nanoseconds.
+ * Recording a timing is lock-free and allocation free.
+ */
+public final class TimingHistogram {
+
+    /**
+     * The number of buckets in a {@link TimingHistogram}.
+     */
+    public static final int BUCKET_COUNT = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder failureCount = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Initializes a new instance of the {@link TimingHistogram} class.
+     */
+    public TimingHistogram() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            buckets[index] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the specified timing.
+     *
+     * @param elapsedNanos The timing to record, in nanoseconds. Negative timings are recorded as zero.
+     * @param failed       Determines whether the timed operation failed.
+     */
+    public void record(final long elapsedNanos, final boolean failed) {
+        final long value = Math.max(0, elapsedNanos);
+
+        buckets[getBucketIndex(value)].increment();
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+
+        if (failed) failureCount.increment();
+    }
+
+    /**
+     * Gets the number of recorded timings.
+     *
+     * @return Returns the number of recorded timings.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the number of recorded timings whose operation failed.
+     *
+     * @return Returns the number of recorded timings whose operation failed.
+     */
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    /**
+     * Gets the sum of the recorded timings, in nanoseconds.
+     *
+     * @return Returns the sum of the recorded timings, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Gets the maximum recorded timing, in nanoseconds.
+     *
+     * @return Returns the maximum recorded timing, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Gets the mean recorded timing, in nanoseconds, or zero if no timings have been recorded.
+     *
+     * @return Returns the mean recorded timing, in nanoseconds, or zero if no timings have been recorded.
+     */
+    public double getMeanNanos() {
+        final long currentCount = getCount();
+        return currentCount == 0 ? 0 : (double) getTotalNanos() / currentCount;
+    }
+
+    /**
+     * Gets the number of timings recorded in the specified bucket.
+     *
+     * @param index The index of the bucket, from zero to {@link #BUCKET_COUNT} - 1.
+     * @return Returns the number of timings recorded in the specified bucket.
+     */
+    public long getBucketCount(final int index) {
+        return buckets[index].sum();
+    }
+
+    /**
+     * Gets an upper bound of the specified percentile of the recorded timings, in nanoseconds.
+     * The result is the upper boundary of the bucket containing the percentile, limited to the maximum recorded timing.
+     *
+     * @param percentile The percentile to obtain, from 0 to 100.
+     * @return Returns an upper bound of the specified percentile of the recorded timings, in nanoseconds, or zero if no timings have been recorded.
+     * @throws IllegalArgumentException if the specified percentile is not in the range 0 to 100.
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The specified percentile must be in the range 0 to 100: " + percentile);
+        }
+
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            counts[index] = buckets[index].sum();
+            total += counts[index];
+        }
+
+        if (total == 0) return 0;
+
+        final long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long cumulative = 0;
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulative += counts[index];
+            if (cumulative >= target) return Math.min(getMaxNanos(), index == 62 ? Long.MAX_VALUE : (2L << index) - 1);
+        }
+
+        return getMaxNanos();
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return "TimingHistogram(count = " + getCount()
+                + ", failures = " + getFailureCount()
+                + ", mean = " + (long) getMeanNanos()
+                + "ns, p50 = " + getPercentileNanos(50)
+                + "ns, p99 = " + getPercentileNanos(99)
+                + "ns, max = " + getMaxNanos() + "ns)";
+    }
+
+    /**
+     * Gets the index of the bucket for the specified non-negative timing.
+     *
+     * @param nanos The timing for which to obtain a bucket index.
+     * @return Returns the index of the bucket for the specified timing.
+     */
+    private static int getBucketIndex(final long nanos) {
+        return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+}
@@ -0,0 +1,381 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an index of the input, output and reference states of a {@link UtxoLedgerTransaction}, bucketed by type.
+ * <p>
+ * Each state is bucketed by its concrete class, and by every {@link ContractState} superclass and interface that it implements,
+ * in a single pass over the transaction. Obtaining the states of a given type is then a single lookup, rather than a scan and
+ * filter of the whole transaction.
+ * <p>
+ * An index is built once per {@link DelegatedContract#verify(UtxoLedgerTransaction)} call and is shared by every command and
+ * constraint that verifies the same transaction. Outside of contract verification, {@link #of(UtxoLedgerTransaction)} builds a
+ * new index, so constraints can still be called directly.
+ */
+public final class TransactionIndex {
+
+    /**
+     * The {@link TransactionIndex} bound to the contract verification that is currently executing on this thread, if any.
+     */
+    private static final ThreadLocal<TransactionIndex> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The {@link ContractState} superclasses and interfaces of each concrete state class, including the class itself.
+     */
+    private static final ClassValue<Class<?>[]> STATE_TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(@NotNull final Class<?> type) {
+            return getStateTypes(type);
+        }
+    };
+
+    /**
+     * The {@link UtxoLedgerTransaction} that the current index was built from.
+     */
+    @NotNull
+    private final UtxoLedgerTransaction transaction;
+
+    /**
+     * The input states of the transaction, bucketed by type; lazily built on first access.
+     */
+    @Nullable
+    private volatile Buckets inputs;
+
+    /**
+     * The output states of the transaction, bucketed by type; lazily built on first access.
+     */
+    @Nullable
+    private volatile Buckets outputs;
+
+    /**
+     * The reference states of the transaction, bucketed by type; lazily built on first access.
+     */
+    @Nullable
+    private volatile Buckets references;
+
+    /**
+     * The signatories of the transaction; lazily built on first access.
+     */
+    @Nullable
+    private volatile Set<PublicKey> signatories;
+
+    /**
+     * Initializes a new instance of the {@link TransactionIndex} class.
+     *
+     * @param transaction The {@link UtxoLedgerTransaction} to index.
+     */
+    private TransactionIndex(@NotNull final UtxoLedgerTransaction transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * Obtains the {@link TransactionIndex} for the specified transaction.
+     * <p>
+     * If the specified transaction is currently being verified by a {@link DelegatedContract}, then the index shared by that
+     * verification is returned; otherwise, a new index is created.
+     *
+     * @param transaction The {@link UtxoLedgerTransaction} for which to obtain an index.
+     * @return Returns the {@link TransactionIndex} for the specified transaction.
+     */
+    @NotNull
+    public static TransactionIndex of(@NotNull final UtxoLedgerTransaction transaction) {
+        final TransactionIndex current = CURRENT.get();
+        return current != null && current.transaction == transaction ? current : new TransactionIndex(transaction);
+    }
+
+    /**
+     * Gets the {@link TransactionIndex} bound to the current thread, or null if no index is bound.
+     *
+     * @return Returns the {@link TransactionIndex} bound to the current thread, or null if no index is bound.
+     */
+    @Nullable
+    static TransactionIndex getCurrent() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the specified {@link TransactionIndex} to the current thread, or unbinds the current index if null.
+     *
+     * @param index The {@link TransactionIndex} to bind to the current thread, or null to unbind the current index.
+     */
+    static void setCurrent(@Nullable final TransactionIndex index) {
+        if (index == null) CURRENT.remove();
+        else CURRENT.set(index);
+    }
+
+    /**
+     * Gets the {@link UtxoLedgerTransaction} that the current index was built from.
+     *
+     * @return Returns the {@link UtxoLedgerTransaction} that the current index was built from.
+     */
+    @NotNull
+    public UtxoLedgerTransaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Gets the signatories of the indexed transaction.
+     *
+     * @return Returns the signatories of the indexed transaction.
+     */
+    @NotNull
+    public Set<PublicKey> getSignatories() {
+        Set<PublicKey> result = signatories;
+
+        if (result == null) {
+            result = Collections.unmodifiableSet(new HashSet<>(transaction.getSignatories()));
+            signatories = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the input {@link StateAndRef} instances of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the input {@link StateAndRef} instances of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<StateAndRef<T>> getInputStateAndRefs(@NotNull final Class<T> type) {
+        return getStateAndRefs(StatePosition.INPUT, type);
+    }
+
+    /**
+     * Gets the input states of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the input states of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<T> getInputStates(@NotNull final Class<T> type) {
+        return getStates(StatePosition.INPUT, type);
+    }
+
+    /**
+     * Gets the output {@link StateAndRef} instances of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the output {@link StateAndRef} instances of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<StateAndRef<T>> getOutputStateAndRefs(@NotNull final Class<T> type) {
+        return getStateAndRefs(StatePosition.OUTPUT, type);
+    }
+
+    /**
+     * Gets the output states of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the output states of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<T> getOutputStates(@NotNull final Class<T> type) {
+        return getStates(StatePosition.OUTPUT, type);
+    }
+
+    /**
+     * Gets the reference {@link StateAndRef} instances of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the reference {@link StateAndRef} instances of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<StateAndRef<T>> getReferenceStateAndRefs(@NotNull final Class<T> type) {
+        return getStateAndRefs(StatePosition.REFERENCE, type);
+    }
+
+    /**
+     * Gets the reference states of the specified type.
+     *
+     * @param type The {@link ContractState} type to obtain.
+     * @param <T>  The underlying {@link ContractState} type to obtain.
+     * @return Returns the reference states of the specified type.
+     */
+    @NotNull
+    public <T extends ContractState> List<T> getReferenceStates(@NotNull final Class<T> type) {
+        return getStates(StatePosition.REFERENCE, type);
+    }
+
+    /**
+     * Gets the {@link StateAndRef} instances of the specified type at the specified position in the transaction.
+     *
+     * @param position The position in the transaction from which to obtain {@link StateAndRef} instances.
+     * @param type     The {@link ContractState} type to obtain.
+     * @param <T>      The underlying {@link ContractState} type to obtain.
+     * @return Returns the {@link StateAndRef} instances of the specified type at the specified position in the transaction.
+     */
+    @NotNull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T extends ContractState> List<StateAndRef<T>> getStateAndRefs(@NotNull final StatePosition position, @NotNull final Class<T> type) {
+        final Bucket bucket = getBuckets(position).get(type);
+        return bucket == null ? Collections.emptyList() : (List) bucket.stateAndRefView;
+    }
+
+    /**
+     * Gets the states of the specified type at the specified position in the transaction.
+     *
+     * @param position The position in the transaction from which to obtain states.
+     * @param type     The {@link ContractState} type to obtain.
+     * @param <T>      The underlying {@link ContractState} type to obtain.
+     * @return Returns the states of the specified type at the specified position in the transaction.
+     */
+    @NotNull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T extends ContractState> List<T> getStates(@NotNull final StatePosition position, @NotNull final Class<T> type) {
+        final Bucket bucket = getBuckets(position).get(type);
+        return bucket == null ? Collections.emptyList() : (List) bucket.stateView;
+    }
+
+    /**
+     * Gets the {@link Buckets} for the specified position in the transaction, building them on first access.
+     *
+     * @param position The position in the transaction for which to obtain {@link Buckets}.
+     * @return Returns the {@link Buckets} for the specified position in the transaction.
+     */
+    @NotNull
+    private Buckets getBuckets(@NotNull final StatePosition position) {
+        Buckets result;
+
+        switch (position) {
+            case INPUT:
+                result = inputs;
+                if (result == null) inputs = result = new Buckets(transaction.getInputStateAndRefs());
+                return result;
+            case OUTPUT:
+                result = outputs;
+                if (result == null) outputs = result = new Buckets(transaction.getOutputStateAndRefs());
+                return result;
+            case REFERENCE:
+                result = references;
+                if (result == null) references = result = new Buckets(transaction.getReferenceStateAndRefs());
+                return result;
+        }
+
+        throw new IllegalArgumentException("The specified StatePosition value is invalid: " + position.name());
+    }
+
+    /**
+     * Gets the {@link ContractState} superclasses and interfaces of the specified type, including the type itself.
+     *
+     * @param type The type from which to obtain {@link ContractState} superclasses and interfaces.
+     * @return Returns the {@link ContractState} superclasses and interfaces of the specified type, including the type itself.
+     */
+    @NotNull
+    private static Class<?>[] getStateTypes(@NotNull final Class<?> type) {
+        final Set<Class<?>> result = new LinkedHashSet<>();
+        final List<Class<?>> pending = new ArrayList<>();
+
+        pending.add(type);
+
+        while (!pending.isEmpty()) {
+            final Class<?> current = pending.remove(pending.size() - 1);
+
+            if (current == null || !ContractState.class.isAssignableFrom(current) || !result.add(current)) continue;
+
+            pending.add(current.getSuperclass());
+            Collections.addAll(pending, current.getInterfaces());
+        }
+
+        return result.toArray(new Class<?>[0]);
+    }
+
+    /**
+     * Represents the states at a single position in a transaction, bucketed by type.
+     */
+    private static final class Buckets {
+
+        /**
+         * The bucketed states, keyed by each {@link ContractState} type that they implement.
+         */
+        @NotNull
+        private final Map<Class<?>, Bucket> buckets = new HashMap<>();
+
+        /**
+         * Initializes a new instance of the {@link Buckets} class.
+         *
+         * @param stateAndRefs The {@link StateAndRef} instances to bucket by type.
+         */
+        private Buckets(@NotNull final List<StateAndRef<?>> stateAndRefs) {
+            for (final StateAndRef<?> stateAndRef : stateAndRefs) {
+                final ContractState state = stateAndRef.getState().getContractState();
+
+                for (final Class<?> type : STATE_TYPES.get(state.getClass())) {
+                    buckets.computeIfAbsent(type, it -> new Bucket()).add(stateAndRef, state);
+                }
+            }
+        }
+
+        /**
+         * Gets the {@link Bucket} of the specified type, or null if no states of the specified type exist.
+         *
+         * @param type The {@link ContractState} type of the {@link Bucket} to obtain.
+         * @return Returns the {@link Bucket} of the specified type, or null if no states of the specified type exist.
+         */
+        @Nullable
+        private Bucket get(@NotNull final Class<?> type) {
+            return buckets.get(type);
+        }
+    }
+
+    /**
+     * Represents the states of a single type at a single position in a transaction, in transaction order.
+     */
+    private static final class Bucket {
+
+        /**
+         * The {@link StateAndRef} instances of the current bucket.
+         */
+        @NotNull
+        private final List<StateAndRef<?>> stateAndRefs = new ArrayList<>();
+
+        /**
+         * The states of the current bucket.
+         */
+        @NotNull
+        private final List<ContractState> states = new ArrayList<>();
+
+        /**
+         * An unmodifiable view of the {@link StateAndRef} instances of the current bucket.
+         */
+        @NotNull
+        private final List<StateAndRef<?>> stateAndRefView = Collections.unmodifiableList(stateAndRefs);
+
+        /**
+         * An unmodifiable view of the states of the current bucket.
+         */
+        @NotNull
+        private final List<ContractState> stateView = Collections.unmodifiableList(states);
+
+        /**
+         * Adds the specified {@link StateAndRef} and its state to the current bucket.
+         *
+         * @param stateAndRef The {@link StateAndRef} to add to the current bucket.
+         * @param state       The state of the specified {@link StateAndRef}.
+         */
+        private void add(@NotNull final StateAndRef<?> stateAndRef, @NotNull final ContractState state) {
+            stateAndRefs.add(stateAndRef);
+            states.add(state);
+        }
+    }
+}
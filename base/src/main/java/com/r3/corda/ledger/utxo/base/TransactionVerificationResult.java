@@ -0,0 +1,75 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the result of verifying a single {@link UtxoLedgerTransaction} as part of a batch.
+ */
+public final class TransactionVerificationResult {
+
+    /**
+     * The transaction that was verified.
+     */
+    @NotNull
+    private final UtxoLedgerTransaction transaction;
+
+    /**
+     * The exception or error thrown by verification, or null if verification succeeded.
+     */
+    @Nullable
+    private final Throwable exception;
+
+    /**
+     * Initializes a new instance of the {@link TransactionVerificationResult} class.
+     *
+     * @param transaction The transaction that was verified.
+     * @param exception   The exception or error thrown by verification, or null if verification succeeded.
+     */
+    TransactionVerificationResult(@NotNull final UtxoLedgerTransaction transaction, @Nullable final Throwable exception) {
+        this.transaction = transaction;
+        this.exception = exception;
+    }
+
+    /**
+     * Gets the transaction that was verified.
+     *
+     * @return Returns the transaction that was verified.
+     */
+    @NotNull
+    public UtxoLedgerTransaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Gets the exception or error thrown by verification, or null if verification succeeded.
+     *
+     * @return Returns the exception thrown by verification, or null if verification succeeded.
+     */
+    @Nullable
+    public Throwable getException() {
+        return exception;
+    }
+
+    /**
+     * Determines whether verification of the transaction succeeded.
+     *
+     * @return Returns true if verification of the transaction succeeded; otherwise, false.
+     */
+    public boolean isSuccessful() {
+        return exception == null;
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return isSuccessful()
+                ? "TransactionVerificationResult(transaction = " + transaction.getId() + ", successful)"
+                : "TransactionVerificationResult(transaction = " + transaction.getId() + ", exception = " + exception + ")";
+    }
+}
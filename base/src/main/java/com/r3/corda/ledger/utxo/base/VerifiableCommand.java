@@ -15,4 +15,18 @@ public interface VerifiableCommand extends Command {
      * @param transaction The transaction to verify.
      */
     void verify(@NotNull UtxoLedgerTransaction transaction);
+
+    /**
+     * Determines whether verification by the current command depends only on its type, and not on its instance state.
+     * <p>
+     * When this returns true, {@link DelegatedContract} verifies a transaction once per distinct command type and
+     * {@link ContractStateType}, regardless of how many commands of that type the transaction contains.
+     * The default implementation returns true if the command's class, and its superclasses, declare no instance fields.
+     * Commands whose verification depends on anything other than their type and the transaction should override this to return false.
+     *
+     * @return Returns true if verification by the current command is independent of its instance state; otherwise, false.
+     */
+    default boolean isInstanceIndependent() {
+        return ContractDispatchTable.hasNoInstanceFields(getClass());
+    }
 }
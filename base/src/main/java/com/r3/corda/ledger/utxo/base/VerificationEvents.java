@@ -0,0 +1,273 @@
+package com.r3.corda.ledger.utxo.base;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provides Java Flight Recorder events for contract verification.
+ * <p>
+ * An event is emitted per {@link DelegatedContract} verification, per {@link VerifiableCommand} verification, and per failed {@link Check} rule.
+ * Events are disabled unless enabled by a recording; for example, using a JFR configuration that enables the
+ * {@code com.r3.corda.ledger.utxo.*} events. While no events are enabled, verification does not create events or read the clock.
+ * <p>
+ * If the {@code jdk.jfr} module is not available at runtime, no events are emitted.
+ */
+final class VerificationEvents {
+
+    /**
+     * Determines whether the {@code jdk.jfr} module is available at runtime.
+     */
+    private static final boolean AVAILABLE = isJfrAvailable();
+
+    /**
+     * Initializes a new instance of the {@link VerificationEvents} class.
+     * This constructor is private as this class only contains static members.
+     */
+    private VerificationEvents() {
+    }
+
+    /**
+     * Determines whether any verification events are enabled.
+     *
+     * @return Returns true if any verification events are enabled; otherwise, false.
+     */
+    static boolean isEnabled() {
+        return AVAILABLE && (EventTypes.CONTRACT.isEnabled() || EventTypes.COMMAND.isEnabled() || EventTypes.RULE_FAILURE.isEnabled());
+    }
+
+    /**
+     * Begins a contract verification event.
+     *
+     * @return Returns the begun event, or null if contract verification events are disabled.
+     */
+    @Nullable
+    static Object beginContract() {
+        if (!AVAILABLE || !EventTypes.CONTRACT.isEnabled()) return null;
+
+        final ContractVerificationEvent event = new ContractVerificationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the specified contract verification event.
+     *
+     * @param event        The event returned by {@link #beginContract()}, or null.
+     * @param contractType The type of the contract that verified the transaction.
+     * @param transaction  The transaction that was verified.
+     * @param failure      The exception thrown by verification, or null if verification succeeded.
+     */
+    static void endContract(
+            @Nullable final Object event,
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final UtxoLedgerTransaction transaction,
+            @Nullable final Throwable failure) {
+        if (event == null) return;
+
+        final ContractVerificationEvent contractEvent = (ContractVerificationEvent) event;
+        contractEvent.end();
+
+        if (contractEvent.shouldCommit()) {
+            contractEvent.contractClass = contractType;
+            contractEvent.inputStateCount = transaction.getInputStateRefs().size();
+            contractEvent.outputStateCount = transaction.getOutputContractStates().size();
+            contractEvent.commandCount = transaction.getCommands().size();
+            contractEvent.failure = getMessage(failure);
+            contractEvent.commit();
+        }
+    }
+
+    /**
+     * Begins a command verification event.
+     *
+     * @return Returns the begun event, or null if command verification events are disabled.
+     */
+    @Nullable
+    static Object beginCommand() {
+        if (!AVAILABLE || !EventTypes.COMMAND.isEnabled()) return null;
+
+        final CommandVerificationEvent event = new CommandVerificationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the specified command verification event.
+     * <p>
+     * The input and output state counts are those of the command's {@link ContractStateType}, or of the transaction
+     * if the command does not implement {@link ContractStateType}.
+     *
+     * @param event        The event returned by {@link #beginCommand()}, or null.
+     * @param contractType The type of the contract that delegated verification to the command.
+     * @param command      The command that verified the transaction.
+     * @param transaction  The transaction that was verified.
+     * @param failure      The exception thrown by the command, or null if verification succeeded.
+     */
+    static void endCommand(
+            @Nullable final Object event,
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final VerifiableCommand command,
+            @NotNull final UtxoLedgerTransaction transaction,
+            @Nullable final Throwable failure) {
+        if (event == null) return;
+
+        final CommandVerificationEvent commandEvent = (CommandVerificationEvent) event;
+        commandEvent.end();
+
+        if (commandEvent.shouldCommit()) {
+            final Class<? extends ContractState> contractStateType = command instanceof ContractStateType<?>
+                    ? ((ContractStateType<?>) command).getContractStateType()
+                    : null;
+
+            commandEvent.contractClass = contractType;
+            commandEvent.commandClass = command.getClass();
+            commandEvent.contractStateClass = contractStateType;
+
+            if (contractStateType == null) {
+                commandEvent.inputStateCount = transaction.getInputStateRefs().size();
+                commandEvent.outputStateCount = transaction.getOutputContractStates().size();
+            } else {
+                final TransactionIndex index = TransactionIndex.of(transaction);
+                commandEvent.inputStateCount = index.getInputStates(contractStateType).size();
+                commandEvent.outputStateCount = index.getOutputStates(contractStateType).size();
+            }
+
+            commandEvent.failure = getMessage(failure);
+            commandEvent.commit();
+        }
+    }
+
+    /**
+     * Emits a rule failure event for the specified rule, if rule failure events are enabled.
+     *
+     * @param rule             The rule that failed.
+     * @param inputStateCount  The number of input states of the enclosing {@link ConstraintScope}, or -1 if unknown.
+     * @param outputStateCount The number of output states of the enclosing {@link ConstraintScope}, or -1 if unknown.
+     * @param elapsedNanos     The time, in nanoseconds, taken to check the rule, or zero if unknown.
+     */
+    static void ruleFailed(@NotNull final String rule, final int inputStateCount, final int outputStateCount, final long elapsedNanos) {
+        if (!AVAILABLE || !EventTypes.RULE_FAILURE.isEnabled()) return;
+
+        final RuleFailureEvent event = new RuleFailureEvent();
+
+        if (event.shouldCommit()) {
+            event.rule = rule;
+            event.inputStateCount = inputStateCount;
+            event.outputStateCount = outputStateCount;
+            event.ruleDuration = elapsedNanos;
+            event.commit();
+        }
+    }
+
+    @Nullable
+    private static String getMessage(@Nullable final Throwable failure) {
+        return failure == null ? null : failure.getClass().getName() + ": " + failure.getMessage();
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, VerificationEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Holds the event types of the verification events, so that they are only registered when the {@code jdk.jfr} module is available.
+     */
+    private static final class EventTypes {
+
+        private static final EventType CONTRACT = EventType.getEventType(ContractVerificationEvent.class);
+
+        private static final EventType COMMAND = EventType.getEventType(CommandVerificationEvent.class);
+
+        private static final EventType RULE_FAILURE = EventType.getEventType(RuleFailureEvent.class);
+    }
+
+    /**
+     * Represents a JFR event emitted per {@link DelegatedContract} verification.
+     */
+    @Name("com.r3.corda.ledger.utxo.ContractVerification")
+    @Label("Contract Verification")
+    @Category({"Corda", "UTXO Ledger Extensions"})
+    @Description("Verification of a transaction by a delegated contract.")
+    static final class ContractVerificationEvent extends Event {
+
+        @Label("Contract Class")
+        Class<?> contractClass;
+
+        @Label("Input State Count")
+        int inputStateCount;
+
+        @Label("Output State Count")
+        int outputStateCount;
+
+        @Label("Command Count")
+        int commandCount;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    /**
+     * Represents a JFR event emitted per {@link VerifiableCommand} verification.
+     */
+    @Name("com.r3.corda.ledger.utxo.CommandVerification")
+    @Label("Command Verification")
+    @Category({"Corda", "UTXO Ledger Extensions"})
+    @Description("Verification of a transaction by a command of a delegated contract.")
+    static final class CommandVerificationEvent extends Event {
+
+        @Label("Contract Class")
+        Class<?> contractClass;
+
+        @Label("Command Class")
+        Class<?> commandClass;
+
+        @Label("Contract State Class")
+        Class<?> contractStateClass;
+
+        @Label("Input State Count")
+        int inputStateCount;
+
+        @Label("Output State Count")
+        int outputStateCount;
+
+        @Label("Failure")
+        String failure;
+    }
+
+    /**
+     * Represents a JFR event emitted per failed {@link Check} rule.
+     */
+    @Name("com.r3.corda.ledger.utxo.RuleFailure")
+    @Label("Rule Failure")
+    @Category({"Corda", "UTXO Ledger Extensions"})
+    @Description("A contract verification rule that failed.")
+    static final class RuleFailureEvent extends Event {
+
+        @Label("Rule")
+        String rule;
+
+        @Label("Input State Count")
+        int inputStateCount;
+
+        @Label("Output State Count")
+        int outputStateCount;
+
+        @Label("Rule Duration")
+        @Timespan(Timespan.NANOSECONDS)
+        long ruleDuration;
+    }
+}
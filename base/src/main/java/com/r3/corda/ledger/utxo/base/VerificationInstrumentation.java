@@ -0,0 +1,94 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides the global registration of the {@link VerificationListener} that observes contract verification.
+ * <p>
+ * Instrumentation is disabled by default; that is, {@link VerificationListener#NONE} is registered.
+ * Independently of the registered listener, Java Flight Recorder events are emitted for contract verifications, command verifications
+ * and failed rules, when enabled by a recording.
+ */
+public final class VerificationInstrumentation {
+
+    /**
+     * The registered {@link VerificationListener}.
+     */
+    @NotNull
+    private static volatile VerificationListener listener = VerificationListener.NONE;
+
+    /**
+     * Initializes a new instance of the {@link VerificationInstrumentation} class.
+     * This constructor is private as this class only contains static members.
+     */
+    private VerificationInstrumentation() {
+    }
+
+    /**
+     * Gets the registered {@link VerificationListener}.
+     *
+     * @return Returns the registered {@link VerificationListener}.
+     */
+    @NotNull
+    public static VerificationListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Registers the specified {@link VerificationListener}, replacing the previously registered listener.
+     * Register {@link VerificationListener#NONE} to disable instrumentation.
+     *
+     * @param listener The {@link VerificationListener} to register.
+     */
+    public static void setListener(@NotNull final VerificationListener listener) {
+        VerificationInstrumentation.listener = listener;
+    }
+
+    /**
+     * Determines whether instrumentation is enabled; that is, whether a listener other than {@link VerificationListener#NONE} is registered,
+     * or Java Flight Recorder verification events are enabled.
+     *
+     * @return Returns true if instrumentation is enabled; otherwise, false.
+     */
+    public static boolean isEnabled() {
+        return listener != VerificationListener.NONE || VerificationEvents.isEnabled();
+    }
+
+    /**
+     * Verifies the specified transaction using the specified command, notifying the registered listener when instrumentation is enabled.
+     *
+     * @param contractType The type of the contract that delegated verification to the command.
+     * @param command      The command that will verify the transaction.
+     * @param transaction  The transaction to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    static void verifyCommand(
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final VerifiableCommand command,
+            @NotNull final UtxoLedgerTransaction transaction) {
+        final VerificationListener current = listener;
+
+        if (current == VerificationListener.NONE && !VerificationEvents.isEnabled()) {
+            command.verify(transaction);
+            return;
+        }
+
+        final Object event = VerificationEvents.beginCommand();
+        final long start = System.nanoTime();
+        Throwable failure = null;
+
+        final ConstraintScope scope = ConstraintScope.enter(-1, -1);
+
+        try (scope) {
+            command.verify(transaction);
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            current.onCommandCompleted(contractType, command, System.nanoTime() - start, failure);
+            VerificationEvents.endCommand(event, contractType, command, transaction, failure);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.r3.corda.ledger.utxo.base;
+
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Defines a mechanism for observing the verification of contracts, commands and individual constraint rules.
+ * <p>
+ * A listener is registered globally via {@link VerificationInstrumentation#setListener(VerificationListener)}.
+ * While the {@link #NONE} listener is registered, verification does not read the clock or invoke any callbacks.
+ * <p>
+ * Callbacks may be invoked concurrently from multiple threads, and must not throw exceptions.
+ * All callbacks have a default, empty implementation, so that implementations only need to override the callbacks they require.
+ */
+public interface VerificationListener {
+
+    /**
+     * A {@link VerificationListener} which ignores all callbacks, and disables instrumentation when registered.
+     */
+    VerificationListener NONE = new VerificationListener() {
+    };
+
+    /**
+     * Called when a {@link DelegatedContract} has verified a transaction.
+     *
+     * @param contractType The type of the contract that verified the transaction.
+     * @param transaction  The transaction that was verified.
+     * @param elapsedNanos The time, in nanoseconds, taken to verify the transaction.
+     * @param failure      The exception thrown by verification, or null if verification succeeded.
+     */
+    default void onContractCompleted(
+            @NotNull Class<? extends Contract> contractType,
+            @NotNull UtxoLedgerTransaction transaction,
+            long elapsedNanos,
+            @Nullable Throwable failure) {
+    }
+
+    /**
+     * Called when the {@code onVerify} method of a {@link DelegatedContract} has completed.
+     *
+     * @param contractType The type of the contract whose {@code onVerify} method was called.
+     * @param elapsedNanos The time, in nanoseconds, taken by the {@code onVerify} method.
+     * @param failure      The exception thrown by the {@code onVerify} method, or null if it succeeded.
+     */
+    default void onVerifyCompleted(
+            @NotNull Class<? extends Contract> contractType,
+            long elapsedNanos,
+            @Nullable Throwable failure) {
+    }
+
+    /**
+     * Called when a {@link VerifiableCommand} has verified a transaction on behalf of a {@link DelegatedContract}.
+     *
+     * @param contractType The type of the contract that delegated verification to the command.
+     * @param command      The command that verified the transaction.
+     * @param elapsedNanos The time, in nanoseconds, taken by the command to verify the transaction.
+     * @param failure      The exception thrown by the command, or null if verification succeeded.
+     */
+    default void onCommandCompleted(
+            @NotNull Class<? extends Contract> contractType,
+            @NotNull VerifiableCommand command,
+            long elapsedNanos,
+            @Nullable Throwable failure) {
+    }
+
+    /**
+     * Called when a {@link Check} rule has been checked.
+     * <p>
+     * The elapsed time is measured from the previous rule check, or from the start of the enclosing {@link ConstraintScope},
+     * and therefore includes the time taken to compute the checked condition.
+     *
+     * @param rule             The rule that was checked.
+     * @param inputStateCount  The number of input states of the enclosing {@link ConstraintScope}, or -1 if unknown.
+     * @param outputStateCount The number of output states of the enclosing {@link ConstraintScope}, or -1 if unknown.
+     * @param elapsedNanos     The time, in nanoseconds, taken to check the rule, or zero if no {@link ConstraintScope} is active.
+     * @param passed           Determines whether the rule check passed.
+     */
+    default void onRuleChecked(
+            @NotNull String rule,
+            int inputStateCount,
+            int outputStateCount,
+            long elapsedNanos,
+            boolean passed) {
+    }
+}
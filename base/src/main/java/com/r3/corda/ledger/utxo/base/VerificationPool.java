@@ -0,0 +1,38 @@
+package com.r3.corda.ledger.utxo.base;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents the shared {@link ForkJoinPool} used for parallel command and batch transaction verification.
+ * <p>
+ * The pool is bounded by the number of available processors, and is only created when parallel verification is first used.
+ */
+final class VerificationPool {
+
+    /**
+     * Initializes a new instance of the {@link VerificationPool} class.
+     * This constructor is private as this class only contains static members.
+     */
+    private VerificationPool() {
+    }
+
+    /**
+     * Gets the shared {@link ForkJoinPool} used for parallel verification.
+     *
+     * @return Returns the shared {@link ForkJoinPool} used for parallel verification.
+     */
+    @NotNull
+    static ForkJoinPool get() {
+        return Holder.POOL;
+    }
+
+    /**
+     * Holds the shared {@link ForkJoinPool}, so that it is lazily created.
+     */
+    private static final class Holder {
+
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,99 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.ContractState
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.TransactionState
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.security.PublicKey
+
+class BatchTransactionVerifierTests {
+
+    private class ExampleState(val isValid: Boolean) : ContractState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    class ExampleContract : Contract {
+        override fun verify(transaction: UtxoLedgerTransaction) {
+            val states = TransactionIndex.of(transaction).getOutputStates(ExampleState::class.java)
+            check(states.all { it.isValid }) { "Invalid state." }
+        }
+    }
+
+    class ErrorContract : Contract {
+        override fun verify(transaction: UtxoLedgerTransaction) {
+            throw AssertionError("Unexpected state.")
+        }
+    }
+
+    private fun transactionOf(state: ExampleState, contract: Class<out Contract> = ExampleContract::class.java): UtxoLedgerTransaction {
+        val transactionState = mock<TransactionState<ContractState>> {
+            on { contractState } doReturn state
+            on { contractType } doReturn contract
+        }
+        val stateAndRef = mock<StateAndRef<ContractState>> { on { this.state } doReturn transactionState }
+        return mock {
+            on { inputStateAndRefs } doReturn emptyList()
+            on { outputStateAndRefs } doReturn listOf(stateAndRef)
+        }
+    }
+
+    @Test
+    fun `BatchTransactionVerifier should return a result per transaction in order`() {
+
+        // Arrange
+        val transactions = (0 until 100).map { transactionOf(ExampleState(it % 10 != 3)) }
+
+        // Act
+        val results = BatchTransactionVerifier.verify(transactions)
+
+        // Assert
+        assertEquals(transactions.size, results.size)
+        results.forEachIndexed { index, result ->
+            assertSame(transactions[index], result.transaction)
+            assertEquals(index % 10 != 3, result.isSuccessful)
+        }
+    }
+
+    @Test
+    fun `BatchTransactionVerifier should capture the exception of a failed transaction`() {
+
+        // Arrange
+        val transaction = transactionOf(ExampleState(false))
+
+        // Act
+        val result = BatchTransactionVerifier.verify(listOf(transaction)).single()
+
+        // Assert
+        assertFalse(result.isSuccessful)
+        assertTrue(result.exception is IllegalStateException)
+        assertEquals("Invalid state.", result.exception?.message)
+    }
+
+    @Test
+    fun `BatchTransactionVerifier should capture an error thrown by a contract`() {
+
+        // Arrange
+        val transaction = transactionOf(ExampleState(true), ErrorContract::class.java)
+
+        // Act
+        val result = BatchTransactionVerifier.verify(listOf(transaction)).single()
+
+        // Assert
+        assertFalse(result.isSuccessful)
+        assertTrue(result.exception is AssertionError)
+        assertEquals("Unexpected state.", result.exception?.message)
+    }
+
+    @Test
+    fun `BatchTransactionVerifier should return an empty list for an empty batch`() {
+        assertTrue(BatchTransactionVerifier.verify(emptyList()).isEmpty())
+    }
+}
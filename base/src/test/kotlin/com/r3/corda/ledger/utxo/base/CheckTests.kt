@@ -0,0 +1,51 @@
+package com.r3.corda.ledger.utxo.base
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertDoesNotThrow
+import org.junit.jupiter.api.assertThrows
+import java.util.function.Supplier
+
+class CheckTests {
+
+    @Test
+    fun `isTrue should not format the message when the condition is true`() {
+        var supplierCalled = false
+
+        Check.isTrue(true, "RULE", Supplier { supplierCalled = true; "message" })
+        Check.isTrue(true, "''{0}'' is invalid.", Any())
+
+        assertEquals(false, supplierCalled)
+    }
+
+    @Test
+    fun `isTrue should format the message when the condition is false`() {
+        val exception = assertThrows<IllegalStateException> { Check.isTrue(false, "''{0}'' {1} {2}", "a", "b", "c") }
+        assertEquals("'a' b c", exception.message)
+    }
+
+    @Test
+    fun `isTrue should throw the supplied message when the condition is false`() {
+        val exception = assertThrows<IllegalStateException> { Check.isTrue(false, "RULE", Supplier { "message" }) }
+        assertEquals("message", exception.message)
+    }
+
+    @Test
+    fun `all, any and none should pass the argument to the predicate`() {
+        val permitted = setOf(1, 2, 3)
+
+        assertDoesNotThrow { Check.all(listOf(1, 2), permitted, { element, set -> element in set }, "all") }
+        assertDoesNotThrow { Check.any(listOf(4, 3), permitted, { element, set -> element in set }, "any") }
+        assertDoesNotThrow { Check.none(listOf(4, 5), permitted, { element, set -> element in set }, "none") }
+
+        assertEquals("all", assertThrows<IllegalStateException> { Check.all(listOf(1, 4), permitted, { element, set -> element in set }, "all") }.message)
+        assertEquals("any", assertThrows<IllegalStateException> { Check.any(listOf(4, 5), permitted, { element, set -> element in set }, "any") }.message)
+        assertEquals("none", assertThrows<IllegalStateException> { Check.none(listOf(4, 1), permitted, { element, set -> element in set }, "none") }.message)
+    }
+
+    @Test
+    fun `isDistinct should throw when the iterable contains duplicate elements`() {
+        assertDoesNotThrow { Check.isDistinct(listOf(1, 2, 3), "distinct") }
+        assertEquals("distinct", assertThrows<IllegalStateException> { Check.isDistinct(listOf(1, 2, 1), "distinct") }.message)
+    }
+}
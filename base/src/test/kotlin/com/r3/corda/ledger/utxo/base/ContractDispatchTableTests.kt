@@ -0,0 +1,137 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+class ContractDispatchTableTests {
+
+    @Test
+    fun `isPermitted should return true for a permitted command type`() {
+
+        // Arrange
+        val table = ContractDispatchTable.of(PermittedContract::class.java, listOf(MyCommand.One::class.java))
+
+        // Act
+        val result = table.isPermitted(MyCommand.One::class.java)
+
+        // Assert
+        assertTrue(result)
+    }
+
+    @Test
+    fun `isPermitted should return true for a command type that derives from a permitted command type`() {
+
+        // Arrange
+        val table = ContractDispatchTable.of(DerivedContract::class.java, listOf(MyCommand::class.java))
+
+        // Act
+        val result = table.isPermitted(MyCommand.Two::class.java)
+
+        // Assert
+        assertTrue(result)
+    }
+
+    @Test
+    fun `isPermitted should return false for a command type that is not permitted`() {
+
+        // Arrange
+        val table = ContractDispatchTable.of(RejectedContract::class.java, listOf(MyCommand.One::class.java))
+
+        // Act
+        val first = table.isPermitted(MyCommand.Two::class.java)
+        val second = table.isPermitted(MyCommand.Two::class.java)
+
+        // Assert
+        assertFalse(first)
+        assertFalse(second)
+    }
+
+    @Test
+    fun `of should return the same table for the same class and permitted command types`() {
+
+        // Arrange
+        val first = ContractDispatchTable.of(CachedContract::class.java, listOf(MyCommand.One::class.java))
+
+        // Act
+        val second = ContractDispatchTable.of(CachedContract::class.java, mutableListOf(MyCommand.One::class.java))
+
+        // Assert
+        assertSame(first, second)
+    }
+
+    @Test
+    fun `of should not rebuild tables when instances of the same class permit different command types`() {
+
+        // Arrange
+        val one = ContractDispatchTable.of(AlternatingContract::class.java, listOf(MyCommand.One::class.java))
+        val two = ContractDispatchTable.of(AlternatingContract::class.java, listOf(MyCommand.Two::class.java))
+
+        // Act
+        val oneAgain = ContractDispatchTable.of(AlternatingContract::class.java, listOf(MyCommand.One::class.java))
+        val twoAgain = ContractDispatchTable.of(AlternatingContract::class.java, listOf(MyCommand.Two::class.java))
+
+        // Assert
+        assertNotSame(one, two)
+        assertSame(one, oneAgain)
+        assertSame(two, twoAgain)
+        assertTrue(one.isPermitted(MyCommand.One::class.java))
+        assertFalse(one.isPermitted(MyCommand.Two::class.java))
+        assertTrue(two.isPermitted(MyCommand.Two::class.java))
+        assertFalse(two.isPermitted(MyCommand.One::class.java))
+    }
+
+    @Test
+    fun `of should not be affected by changes to the specified permitted command types`() {
+
+        // Arrange
+        val permittedCommandTypes = mutableListOf<Class<*>>(MyCommand.One::class.java)
+        val table = ContractDispatchTable.of(MutatedContract::class.java, permittedCommandTypes)
+
+        // Act
+        permittedCommandTypes.add(MyCommand.Two::class.java)
+
+        // Assert
+        assertFalse(table.isPermitted(MyCommand.Two::class.java))
+        assertEquals("One", table.getPermittedCommandTypeNames())
+    }
+
+    @Test
+    fun `of should format the contract, command and permitted command type names`() {
+
+        // Act
+        val table = ContractDispatchTable.of(PermittedContract::class.java, listOf(MyCommand.One::class.java, MyCommand.Two::class.java))
+
+        // Assert
+        assertEquals(PermittedContract::class.java.typeName, table.getContractTypeName())
+        assertEquals(MyCommand::class.java.typeName, table.getCommandTypeName())
+        assertEquals("One, Two", table.getPermittedCommandTypeNames())
+        assertFalse(table.isEmpty())
+    }
+
+    private abstract class MyContract : DelegatedContract<MyCommand>() {
+        override fun getPermittedCommandTypes(): List<Class<out MyCommand>> = emptyList()
+    }
+
+    private class PermittedContract : MyContract()
+    private class DerivedContract : MyContract()
+    private class RejectedContract : MyContract()
+    private class CachedContract : MyContract()
+    private class AlternatingContract : MyContract()
+    private class MutatedContract : MyContract()
+
+    private interface MyCommand : VerifiableCommand {
+
+        class One : MyCommand {
+            override fun verify(transaction: UtxoLedgerTransaction) = Unit
+        }
+
+        class Two : MyCommand {
+            override fun verify(transaction: UtxoLedgerTransaction) = Unit
+        }
+    }
+}
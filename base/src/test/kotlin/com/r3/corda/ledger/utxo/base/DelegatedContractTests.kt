@@ -5,10 +5,12 @@ import com.r3.corda.ledger.utxo.testing.buildTransaction
 import net.corda.v5.ledger.utxo.ContractState
 import net.corda.v5.ledger.utxo.VisibilityChecker
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
 import java.security.PublicKey
+import java.util.concurrent.atomic.AtomicInteger
 
 class DelegatedContractTests : ContractTest() {
 
@@ -89,6 +91,57 @@ class DelegatedContractTests : ContractTest() {
         assertThrows<IllegalArgumentException> { contract.verify(transaction) }
     }
 
+    @Test
+    fun `verify calls verify once for instance independent commands of the same type`() {
+        val contract = MyDelegatedContract(isVisible = true)
+        val verifications = AtomicInteger()
+        val transaction = buildTransaction {
+            addCommand(MyVerifiableCommand.Four(verifications))
+            addCommand(MyVerifiableCommand.Four(verifications))
+            addCommand(MyVerifiableCommand.Four(verifications))
+        }.toLedgerTransaction()
+        contract.verify(transaction)
+        assertEquals(1, verifications.get())
+    }
+
+    @Test
+    fun `verify calls verify on every command that is not instance independent`() {
+        val contract = MyDelegatedContract(isVisible = true)
+        val commandOne = MyVerifiableCommand.One()
+        val commandTwo = MyVerifiableCommand.One()
+        val transaction = buildTransaction {
+            addCommand(commandOne)
+            addCommand(commandTwo)
+        }.toLedgerTransaction()
+        contract.verify(transaction)
+        assertTrue(commandOne.hasVerifyBeenCalled)
+        assertTrue(commandTwo.hasVerifyBeenCalled)
+    }
+
+    @Test
+    fun `verify does not re-verify a second command without instance fields of the same type and contract state type`() {
+        val contract = MyDelegatedContract(isVisible = true)
+        MyVerifiableCommand.Move.verifications.set(0)
+        val transaction = buildTransaction {
+            addCommand(MyVerifiableCommand.Move())
+            addCommand(MyVerifiableCommand.Move())
+        }.toLedgerTransaction()
+        contract.verify(transaction)
+        assertEquals(1, MyVerifiableCommand.Move.verifications.get())
+    }
+
+    @Test
+    fun `verify calls verify on every command without instance fields that opts out of instance independence`() {
+        val contract = MyDelegatedContract(isVisible = true)
+        MyVerifiableCommand.Burn.verifications.set(0)
+        val transaction = buildTransaction {
+            addCommand(MyVerifiableCommand.Burn())
+            addCommand(MyVerifiableCommand.Burn())
+        }.toLedgerTransaction()
+        contract.verify(transaction)
+        assertEquals(2, MyVerifiableCommand.Burn.verifications.get())
+    }
+
     private fun createVisibleState(isVisible: Boolean): VisibleState {
         return object : VisibleState {
             override fun getParticipants(): List<PublicKey> = emptyList()
@@ -105,7 +158,10 @@ class DelegatedContractTests : ContractTest() {
         private val permittedCommands: List<Class<out MyVerifiableCommand>> = listOf(
             MyVerifiableCommand.One::class.java,
             MyVerifiableCommand.Two::class.java,
-            MyVerifiableCommand.Three::class.java
+            MyVerifiableCommand.Three::class.java,
+            MyVerifiableCommand.Four::class.java,
+            MyVerifiableCommand.Move::class.java,
+            MyVerifiableCommand.Burn::class.java
         )
     ) : DelegatedContract<MyVerifiableCommand>() {
 
@@ -144,6 +200,44 @@ class DelegatedContractTests : ContractTest() {
                 throw IllegalArgumentException("failed")
             }
         }
+
+        class Four(private val verifications: AtomicInteger) : MyVerifiableCommand {
+            override fun verify(transaction: UtxoLedgerTransaction) {
+                verifications.incrementAndGet()
+            }
+
+            override fun isInstanceIndependent(): Boolean {
+                return true
+            }
+        }
+
+        class Move : MyVerifiableCommand, ContractStateType<ContractState> {
+            companion object {
+                val verifications = AtomicInteger()
+            }
+
+            override fun getContractStateType(): Class<ContractState> {
+                return ContractState::class.java
+            }
+
+            override fun verify(transaction: UtxoLedgerTransaction) {
+                verifications.incrementAndGet()
+            }
+        }
+
+        class Burn : MyVerifiableCommand {
+            companion object {
+                val verifications = AtomicInteger()
+            }
+
+            override fun verify(transaction: UtxoLedgerTransaction) {
+                verifications.incrementAndGet()
+            }
+
+            override fun isInstanceIndependent(): Boolean {
+                return false
+            }
+        }
     }
 
     private class MyOtherCommand : VerifiableCommand {
@@ -0,0 +1,110 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.ContractState
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.mock
+import java.io.IOException
+import java.security.PublicKey
+import java.util.concurrent.ConcurrentLinkedQueue
+
+class ParallelCommandVerifierTests {
+
+    private class ExampleStateA : ContractState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    private class ExampleStateB : ContractState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    private class ExampleCommand<T : ContractState>(
+        private val contractStateType: Class<T>,
+        private val onVerify: (UtxoLedgerTransaction) -> Unit = {}
+    ) : VerifiableCommand, ContractStateType<T> {
+
+        override fun getContractStateType(): Class<T> = contractStateType
+
+        override fun verify(transaction: UtxoLedgerTransaction) = onVerify(transaction)
+    }
+
+    @Test
+    fun `ParallelCommandVerifier should verify every command`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction>()
+        val verified = ConcurrentLinkedQueue<Int>()
+        val commands = (0 until 8).map { position ->
+            val type = if (position % 2 == 0) ExampleStateA::class.java else ExampleStateB::class.java
+            ExampleCommand(type) { verified.add(position) }
+        }
+
+        // Act
+        ParallelCommandVerifier.verify(Contract::class.java, transaction, null, commands)
+
+        // Assert
+        assertEquals((0 until 8).toSet(), verified.toSet())
+    }
+
+    @Test
+    fun `ParallelCommandVerifier should bind the transaction index on every thread`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction>()
+        val index = TransactionIndex.of(transaction)
+        val indexes = ConcurrentLinkedQueue<TransactionIndex>()
+        val commands = listOf(
+            ExampleCommand(ExampleStateA::class.java) { indexes.add(TransactionIndex.of(it)) },
+            ExampleCommand(ExampleStateB::class.java) { indexes.add(TransactionIndex.of(it)) }
+        )
+
+        // Act
+        ParallelCommandVerifier.verify(Contract::class.java, transaction, index, commands)
+
+        // Assert
+        assertEquals(2, indexes.size)
+        indexes.forEach { assertSame(index, it) }
+    }
+
+    @Test
+    fun `ParallelCommandVerifier should throw the failure of the earliest failing command`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction>()
+        val commands = listOf(
+            ExampleCommand(ExampleStateA::class.java),
+            ExampleCommand(ExampleStateB::class.java) {
+                Thread.sleep(100)
+                throw IllegalStateException("B")
+            },
+            ExampleCommand(ExampleStateA::class.java) { throw IllegalStateException("A") }
+        )
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { ParallelCommandVerifier.verify(Contract::class.java, transaction, null, commands) }
+
+        // Assert
+        assertEquals("B", exception.message)
+    }
+
+    @Test
+    fun `ParallelCommandVerifier should throw undeclared checked exceptions without wrapping them`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction>()
+        val commands = listOf(
+            ExampleCommand(ExampleStateA::class.java),
+            ExampleCommand(ExampleStateB::class.java) { throw IOException("B") }
+        )
+
+        // Act
+        val exception = assertThrows<IOException> { ParallelCommandVerifier.verify(Contract::class.java, transaction, null, commands) }
+
+        // Assert
+        assertEquals("B", exception.message)
+    }
+}
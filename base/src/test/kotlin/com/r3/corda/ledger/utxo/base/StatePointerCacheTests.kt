@@ -0,0 +1,125 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.crypto.SecureHash
+import net.corda.v5.ledger.utxo.ContractState
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.StateRef
+import net.corda.v5.ledger.utxo.UtxoLedgerService
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+class StatePointerCacheTests {
+
+    private class MutableClock(var now: Instant) : Clock() {
+        override fun getZone() = ZoneOffset.UTC
+        override fun withZone(zone: java.time.ZoneId?) = this
+        override fun instant() = now
+    }
+
+    private val transactionId = mock<SecureHash> { on { toString() } doReturn "SHA-256:0123" }
+    private val stateRefs = (0..3).map { StateRef(transactionId, it) }
+    private val stateAndRefs = stateRefs.associateWith { ref -> mock<StateAndRef<ContractState>> { on { this.ref } doReturn ref } }
+    private val pointers = stateRefs.map { StaticPointer(it, ContractState::class.java) }
+
+    private val service = mock<UtxoLedgerService> {
+        on { resolve<ContractState>(any<StateRef>()) } doAnswer { stateAndRefs.getValue(it.getArgument(0)) }
+        on { resolve<ContractState>(any<Iterable<StateRef>>()) } doAnswer { invocation ->
+            invocation.getArgument<Iterable<StateRef>>(0).map { stateAndRefs.getValue(it) }
+        }
+    }
+
+    private val clock = MutableClock(Instant.parse("2024-01-01T00:00:00Z"))
+    private val cache = StatePointerCache(service, clock)
+
+    @Test
+    fun `resolve should resolve each pointer once until it is invalidated`() {
+
+        // Act
+        repeat(3) { cache.resolve(pointers[0]) }
+        cache.invalidate(pointers[0])
+        val actual = cache.resolve(pointers[0])
+
+        // Assert
+        assertEquals(listOf(stateAndRefs.getValue(stateRefs[0])), actual)
+        verify(service, times(2)).resolve<ContractState>(stateRefs[0])
+    }
+
+    @Test
+    fun `resolveAll should resolve only the pointers that are not cached, in a single batch`() {
+
+        // Arrange
+        cache.resolve(pointers[1])
+
+        // Act
+        val actual = cache.resolveAll(pointers)
+
+        // Assert
+        assertEquals(pointers, actual.keys.toList())
+        assertEquals(stateRefs.map { listOf(stateAndRefs.getValue(it)) }, actual.values.toList())
+        verify(service, times(1)).resolve<ContractState>(listOf(stateRefs[0], stateRefs[2], stateRefs[3]).toSet())
+    }
+
+    @Test
+    fun `resolve should evict the least recently used resolution when the cache is full`() {
+
+        // Arrange
+        cache.setMaximumSize(2)
+        cache.resolve(pointers[0])
+        cache.resolve(pointers[1])
+        cache.resolve(pointers[0])
+
+        // Act
+        cache.resolve(pointers[2])
+        cache.resolve(pointers[0])
+        cache.resolve(pointers[1])
+
+        // Assert
+        assertEquals(2, cache.size())
+        verify(service, times(1)).resolve<ContractState>(stateRefs[0])
+        verify(service, times(2)).resolve<ContractState>(stateRefs[1])
+    }
+
+    @Test
+    fun `resolve should resolve a pointer again once its resolution has expired`() {
+
+        // Arrange
+        cache.setTimeToLive(Duration.ofMinutes(1))
+        cache.resolve(pointers[0])
+
+        // Act
+        clock.now = clock.now.plusSeconds(59)
+        cache.resolve(pointers[0])
+        clock.now = clock.now.plusSeconds(1)
+        cache.resolve(pointers[0])
+
+        // Assert
+        verify(service, times(2)).resolve<ContractState>(stateRefs[0])
+    }
+
+    @Test
+    fun `invalidate should invalidate the resolutions of states consumed by the specified transaction`() {
+
+        // Arrange
+        pointers.take(2).forEach { cache.resolve(it) }
+        val transaction = mock<UtxoLedgerTransaction> { on { inputStateRefs } doReturn listOf(stateRefs[0]) }
+
+        // Act
+        cache.invalidate(transaction)
+        pointers.take(2).forEach { cache.resolve(it) }
+
+        // Assert
+        verify(service, times(2)).resolve<ContractState>(stateRefs[0])
+        verify(service, times(1)).resolve<ContractState>(stateRefs[1])
+    }
+}
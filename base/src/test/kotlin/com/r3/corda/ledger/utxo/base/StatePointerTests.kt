@@ -0,0 +1,71 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.crypto.SecureHash
+import net.corda.v5.ledger.utxo.ContractState
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.StateRef
+import net.corda.v5.ledger.utxo.UtxoLedgerService
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.security.PublicKey
+
+class StatePointerTests {
+
+    private class ExampleState : ContractState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    private data class ExamplePointer(val value: StateAndRef<ExampleState>) : StatePointer<ExampleState> {
+        override fun isPointingTo(stateAndRef: StateAndRef<ExampleState>): Boolean = stateAndRef == value
+        override fun resolve(service: UtxoLedgerService): List<StateAndRef<ExampleState>> = listOf(value)
+        override fun resolve(transaction: UtxoLedgerTransaction, position: StatePosition): List<StateAndRef<ExampleState>> = emptyList()
+    }
+
+    private val transactionId = mock<SecureHash> { on { toString() } doReturn "SHA-256:0123" }
+    private val stateRefs = (0..2).map { StateRef(transactionId, it) }
+    private val stateAndRefs = stateRefs.associateWith { ref -> mock<StateAndRef<ExampleState>> { on { this.ref } doReturn ref } }
+
+    private val service = mock<UtxoLedgerService> {
+        on { resolve<ExampleState>(any<Iterable<StateRef>>()) } doAnswer { invocation ->
+            invocation.getArgument<Iterable<StateRef>>(0).reversed().map { stateAndRefs.getValue(it) }
+        }
+    }
+
+    @Test
+    fun `resolveAll should resolve every StaticPointer with a single batched resolve`() {
+
+        // Arrange
+        val pointers = stateRefs.map { StaticPointer(it, ExampleState::class.java) }
+
+        // Act
+        val actual = StatePointer.resolveAll(pointers, service)
+
+        // Assert
+        assertEquals(pointers, actual.keys.toList())
+        assertEquals(stateRefs.map { listOf(stateAndRefs.getValue(it)) }, actual.values.toList())
+        verify(service, times(1)).resolve<ExampleState>(any<Iterable<StateRef>>())
+    }
+
+    @Test
+    fun `resolveAll should resolve pointers of each kind separately and return results in the order specified`() {
+
+        // Arrange
+        val other = ExamplePointer(stateAndRefs.getValue(stateRefs[2]))
+        val pointers = listOf(StaticPointer(stateRefs[0], ExampleState::class.java), other, StaticPointer(stateRefs[1], ExampleState::class.java))
+
+        // Act
+        val actual = StatePointer.resolveAll(pointers, service)
+
+        // Assert
+        assertEquals(pointers, actual.keys.toList())
+        assertEquals(listOf(stateAndRefs.getValue(stateRefs[2])), actual[other])
+        verify(service, times(1)).resolve<ExampleState>(any<Iterable<StateRef>>())
+    }
+}
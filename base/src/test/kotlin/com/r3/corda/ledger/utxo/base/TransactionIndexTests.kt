@@ -0,0 +1,95 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.ledger.utxo.ContractState
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.TransactionState
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.security.PublicKey
+
+class TransactionIndexTests {
+
+    private interface ExampleState : ContractState
+
+    private class ExampleStateA : ExampleState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    private class ExampleStateB : ExampleState {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+    }
+
+    private fun stateAndRefOf(state: ContractState): StateAndRef<ContractState> {
+        val transactionState = mock<TransactionState<ContractState>> { on { contractState } doReturn state }
+        return mock { on { this.state } doReturn transactionState }
+    }
+
+    @Test
+    fun `TransactionIndex should bucket states by class and interface in transaction order`() {
+
+        // Arrange
+        val a1 = ExampleStateA()
+        val b1 = ExampleStateB()
+        val a2 = ExampleStateA()
+        val inputs = listOf(stateAndRefOf(a1), stateAndRefOf(b1), stateAndRefOf(a2))
+        val transaction = mock<UtxoLedgerTransaction> {
+            on { inputStateAndRefs } doReturn inputs
+            on { outputStateAndRefs } doReturn emptyList()
+        }
+
+        // Act
+        val index = TransactionIndex.of(transaction)
+
+        // Assert
+        assertEquals(listOf(a1, a2), index.getInputStates(ExampleStateA::class.java))
+        assertEquals(listOf(b1), index.getInputStates(ExampleStateB::class.java))
+        assertEquals(listOf(a1, b1, a2), index.getInputStates(ExampleState::class.java))
+        assertEquals(listOf(a1, b1, a2), index.getInputStates(ContractState::class.java))
+        assertEquals(inputs, index.getInputStateAndRefs(ContractState::class.java))
+        assertTrue(index.getOutputStates(ExampleState::class.java).isEmpty())
+    }
+
+    @Test
+    fun `TransactionIndex should only read the transaction states once`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction> {
+            on { inputStateAndRefs } doReturn listOf(stateAndRefOf(ExampleStateA()))
+        }
+        val index = TransactionIndex.of(transaction)
+
+        // Act
+        index.getInputStates(ExampleStateA::class.java)
+        index.getInputStates(ExampleStateB::class.java)
+        index.getInputStateAndRefs(ExampleState::class.java)
+
+        // Assert
+        verify(transaction, times(1)).inputStateAndRefs
+    }
+
+    @Test
+    fun `TransactionIndex of should return the index bound to the current thread for the same transaction`() {
+
+        // Arrange
+        val transaction = mock<UtxoLedgerTransaction>()
+        val index = TransactionIndex.of(transaction)
+
+        // Act
+        TransactionIndex.setCurrent(index)
+
+        // Assert
+        try {
+            assertSame(index, TransactionIndex.of(transaction))
+            assertTrue(index !== TransactionIndex.of(mock()))
+        } finally {
+            TransactionIndex.setCurrent(null)
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.r3.corda.ledger.utxo.base
+
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordingFile
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.nio.file.Files
+
+class VerificationEventsTests {
+
+    private class ExampleContract : DelegatedContract<ExampleCommand>() {
+
+        override fun getPermittedCommandTypes(): List<Class<out ExampleCommand>> {
+            return listOf(ExampleCommand::class.java)
+        }
+    }
+
+    private class ExampleCommand(private val isValid: Boolean) : VerifiableCommand {
+        override fun verify(transaction: UtxoLedgerTransaction) {
+            ConstraintScope.enter(1, 2).use {
+                Check.isTrue(isValid, "EXAMPLE_RULE")
+            }
+        }
+    }
+
+    private fun transactionOf(vararg commands: VerifiableCommand): UtxoLedgerTransaction {
+        return mock {
+            on { getCommands(VerifiableCommand::class.java) } doReturn commands.toList()
+            on { getCommands() } doReturn commands.toList()
+            on { inputStateRefs } doReturn listOf(mock())
+            on { outputContractStates } doReturn listOf(mock(), mock())
+        }
+    }
+
+    @Test
+    fun `DelegatedContract should emit contract, command and rule failure events when enabled`() {
+
+        // Arrange
+        val file = Files.createTempFile("verification", ".jfr")
+
+        // Act
+        Recording().use { recording ->
+            recording.enable("com.r3.corda.ledger.utxo.ContractVerification")
+            recording.enable("com.r3.corda.ledger.utxo.CommandVerification")
+            recording.enable("com.r3.corda.ledger.utxo.RuleFailure")
+            recording.start()
+
+            ExampleContract().verify(transactionOf(ExampleCommand(true)))
+            assertThrows<IllegalStateException> { ExampleContract().verify(transactionOf(ExampleCommand(false))) }
+
+            recording.stop()
+            recording.dump(file)
+        }
+
+        // Assert
+        val events = RecordingFile.readAllEvents(file).filter { it.eventType.name.startsWith("com.r3.corda.ledger.utxo") }
+        val ruleFailures = events.filter { it.eventType.name == "com.r3.corda.ledger.utxo.RuleFailure" }
+        val commands = events.filter { it.eventType.name == "com.r3.corda.ledger.utxo.CommandVerification" }
+
+        assertEquals(2, events.count { it.eventType.name == "com.r3.corda.ledger.utxo.ContractVerification" })
+        assertEquals(2, commands.size)
+        assertEquals(listOf(1, 1), commands.map { it.getInt("inputStateCount") })
+        assertEquals(listOf(2, 2), commands.map { it.getInt("outputStateCount") })
+        assertEquals(1, ruleFailures.size)
+        assertEquals("EXAMPLE_RULE", ruleFailures.single().getString("rule"))
+        assertEquals(1, ruleFailures.single().getInt("inputStateCount"))
+        assertEquals(2, ruleFailures.single().getInt("outputStateCount"))
+
+        Files.delete(file)
+    }
+}
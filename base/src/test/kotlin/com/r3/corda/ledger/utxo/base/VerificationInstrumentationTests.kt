@@ -0,0 +1,137 @@
+package com.r3.corda.ledger.utxo.base
+
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.util.function.Supplier
+
+class VerificationInstrumentationTests {
+
+    private class ExampleContract : DelegatedContract<ExampleCommand>() {
+
+        override fun getPermittedCommandTypes(): List<Class<out ExampleCommand>> {
+            return listOf(ExampleCommand::class.java)
+        }
+
+        override fun onVerify(transaction: UtxoLedgerTransaction) {
+            Check.isTrue(true, "ON_VERIFY_RULE")
+        }
+    }
+
+    private class ExampleCommand(private val isValid: Boolean) : VerifiableCommand {
+        override fun verify(transaction: UtxoLedgerTransaction) {
+            ConstraintScope.enter(2, 3).use {
+                Check.isTrue(true, "FIRST_RULE")
+                Check.isTrue(isValid, "SECOND_RULE", Supplier { "The second rule failed." })
+            }
+        }
+    }
+
+    private class RecordingListener : VerificationListener {
+
+        val events = mutableListOf<String>()
+
+        override fun onContractCompleted(
+            contractType: Class<out Contract>,
+            transaction: UtxoLedgerTransaction,
+            elapsedNanos: Long,
+            failure: Throwable?
+        ) {
+            events.add("contract:${contractType.simpleName}:${failure == null}")
+        }
+
+        override fun onVerifyCompleted(contractType: Class<out Contract>, elapsedNanos: Long, failure: Throwable?) {
+            events.add("onVerify:${contractType.simpleName}")
+        }
+
+        override fun onCommandCompleted(
+            contractType: Class<out Contract>,
+            command: VerifiableCommand,
+            elapsedNanos: Long,
+            failure: Throwable?
+        ) {
+            events.add("command:${command.javaClass.simpleName}:${failure == null}")
+        }
+
+        override fun onRuleChecked(rule: String, inputStateCount: Int, outputStateCount: Int, elapsedNanos: Long, passed: Boolean) {
+            assertTrue(elapsedNanos >= 0)
+            events.add("rule:$rule:$inputStateCount:$outputStateCount:$passed")
+        }
+    }
+
+    private fun transactionOf(vararg commands: VerifiableCommand): UtxoLedgerTransaction {
+        return mock { on { getCommands(VerifiableCommand::class.java) } doReturn commands.toList() }
+    }
+
+    @AfterEach
+    fun resetListener() {
+        VerificationInstrumentation.setListener(VerificationListener.NONE)
+    }
+
+    @Test
+    fun `DelegatedContract should notify the listener of contract, onVerify, command and rule timings`() {
+
+        // Arrange
+        val listener = RecordingListener()
+        VerificationInstrumentation.setListener(listener)
+
+        // Act
+        ExampleContract().verify(transactionOf(ExampleCommand(true)))
+
+        // Assert
+        val expected = listOf(
+            "rule:ON_VERIFY_RULE:-1:-1:true",
+            "onVerify:ExampleContract",
+            "rule:FIRST_RULE:2:3:true",
+            "rule:SECOND_RULE:2:3:true",
+            "command:ExampleCommand:true",
+            "contract:ExampleContract:true"
+        )
+
+        assertEquals(expected, listener.events.filterNot { it.startsWith("rule:On ") })
+    }
+
+    @Test
+    fun `DelegatedContract should notify the listener of failed rules and commands`() {
+
+        // Arrange
+        val listener = RecordingListener()
+        VerificationInstrumentation.setListener(listener)
+
+        // Act
+        assertThrows<IllegalStateException> { ExampleContract().verify(transactionOf(ExampleCommand(false))) }
+
+        // Assert
+        assertTrue(listener.events.contains("rule:SECOND_RULE:2:3:false"))
+        assertTrue(listener.events.contains("command:ExampleCommand:false"))
+        assertTrue(listener.events.contains("contract:ExampleContract:false"))
+    }
+
+    @Test
+    fun `HistogramVerificationListener should collect a histogram per rule`() {
+
+        // Arrange
+        val listener = HistogramVerificationListener()
+        VerificationInstrumentation.setListener(listener)
+
+        // Act
+        repeat(10) { ExampleContract().verify(transactionOf(ExampleCommand(true))) }
+
+        // Assert
+        assertEquals(10, listener.ruleTimings["FIRST_RULE"]?.count)
+        assertEquals(10, listener.commandTimings[ExampleCommand::class.java]?.count)
+        assertEquals(10, listener.contractTimings[ExampleContract::class.java]?.count)
+        assertEquals(0, listener.contractTimings[ExampleContract::class.java]?.failureCount)
+    }
+
+    @Test
+    fun `ConstraintScope should return an inert scope when instrumentation is disabled`() {
+        assertTrue(ConstraintScope.enter(1, 1) === ConstraintScope.enter(2, 2))
+    }
+}
@@ -0,0 +1,142 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.base.StaticPointer;
+import com.r3.corda.ledger.utxo.chainable.ChainableState;
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.NumericInteger;
+import com.r3.corda.ledger.utxo.identifiable.IdentifiableState;
+import com.r3.corda.ledger.utxo.issuable.IssuableState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.ledger.utxo.StateRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Provides synthetic states for each of the ledger extension state types.
+ */
+final class BenchmarkStates {
+
+    /**
+     * Prevents instance of {@link BenchmarkStates} from being initialized.
+     */
+    private BenchmarkStates() {
+    }
+
+    /**
+     * Represents a synthetic fungible state, which is fungible with other tokens of the same group.
+     * Keyed tokens expose their group as their fungibility key, whereas unkeyed tokens are only grouped by {@link #isFungibleWith(FungibleState)}.
+     */
+    static final class Token implements FungibleState<NumericInteger>, OwnableState, IssuableState {
+
+        @NotNull
+        private final NumericInteger quantity;
+
+        private final int group;
+
+        private final boolean keyed;
+
+        @NotNull
+        private final PublicKey key;
+
+        Token(final long quantity, final int group, @NotNull final PublicKey key) {
+            this(quantity, group, false, key);
+        }
+
+        Token(final long quantity, final int group, final boolean keyed, @NotNull final PublicKey key) {
+            this.quantity = new NumericInteger(BigInteger.valueOf(quantity));
+            this.group = group;
+            this.keyed = keyed;
+            this.key = key;
+        }
+
+        @NotNull
+        @Override
+        public NumericInteger getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public boolean isFungibleWith(@NotNull final FungibleState<NumericInteger> other) {
+            return other instanceof Token && ((Token) other).group == group;
+        }
+
+        @Nullable
+        @Override
+        public Object getFungibilityKey() {
+            return keyed ? group : null;
+        }
+
+        @NotNull
+        @Override
+        public PublicKey getOwner() {
+            return key;
+        }
+
+        @NotNull
+        @Override
+        public PublicKey getIssuer() {
+            return key;
+        }
+
+        @NotNull
+        @Override
+        public List<PublicKey> getParticipants() {
+            return Collections.singletonList(key);
+        }
+    }
+
+    /**
+     * Represents a synthetic chainable state.
+     */
+    static final class Link implements ChainableState<Link> {
+
+        @Nullable
+        private final StaticPointer<Link> previousStatePointer;
+
+        Link(@Nullable final StateRef previousStateRef) {
+            this.previousStatePointer = previousStateRef == null ? null : new StaticPointer<>(previousStateRef, Link.class);
+        }
+
+        @Nullable
+        @Override
+        public StaticPointer<Link> getPreviousStatePointer() {
+            return previousStatePointer;
+        }
+
+        @NotNull
+        @Override
+        public List<PublicKey> getParticipants() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Represents a synthetic identifiable state.
+     */
+    static final class Identity implements IdentifiableState {
+
+        @Nullable
+        private final StateRef id;
+
+        Identity(@Nullable final StateRef id) {
+            this.id = id;
+        }
+
+        @Nullable
+        @Override
+        public StateRef getId() {
+            return id;
+        }
+
+        @NotNull
+        @Override
+        public List<PublicKey> getParticipants() {
+            return Collections.emptyList();
+        }
+    }
+}
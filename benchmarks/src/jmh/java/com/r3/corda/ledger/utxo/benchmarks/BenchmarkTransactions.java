@@ -0,0 +1,268 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import net.corda.v5.crypto.SecureHash;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.TransactionState;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Provides synthetic, in-memory stand-ins for ledger types, so that constraints can be benchmarked without a Corda runtime.
+ * <p>
+ * Stand-ins are implemented as dynamic proxies which answer only the methods that the ledger extensions call.
+ * Each proxy method returns a precomputed value, so the cost of a call is constant and identical across benchmark variants.
+ */
+final class BenchmarkTransactions {
+
+    /**
+     * Prevents instance of {@link BenchmarkTransactions} from being initialized.
+     */
+    private BenchmarkTransactions() {
+    }
+
+    /**
+     * Creates a {@link UtxoLedgerTransaction} stand-in.
+     *
+     * @param inputs      The input states of the transaction.
+     * @param outputs     The output states of the transaction.
+     * @param signatories The signatories of the transaction.
+     * @param commands    The commands of the transaction.
+     * @return Returns a {@link UtxoLedgerTransaction} stand-in.
+     */
+    @NotNull
+    static UtxoLedgerTransaction transaction(
+            @NotNull final List<? extends ContractState> inputs,
+            @NotNull final List<? extends ContractState> outputs,
+            @NotNull final List<PublicKey> signatories,
+            @NotNull final List<? extends Command> commands) {
+        final List<StateAndRef<?>> inputStateAndRefs = stateAndRefs(inputs, 0);
+        final List<StateAndRef<?>> outputStateAndRefs = stateAndRefs(outputs, 1);
+        final List<StateAndRef<?>> referenceStateAndRefs = Collections.emptyList();
+
+        return (UtxoLedgerTransaction) Proxy.newProxyInstance(
+                UtxoLedgerTransaction.class.getClassLoader(),
+                new Class<?>[]{UtxoLedgerTransaction.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInputStateAndRefs":
+                            return args == null ? inputStateAndRefs : filterStateAndRefs(inputStateAndRefs, (Class<?>) args[0]);
+                        case "getOutputStateAndRefs":
+                            return args == null ? outputStateAndRefs : filterStateAndRefs(outputStateAndRefs, (Class<?>) args[0]);
+                        case "getReferenceStateAndRefs":
+                            return args == null ? referenceStateAndRefs : filterStateAndRefs(referenceStateAndRefs, (Class<?>) args[0]);
+                        case "getInputStates":
+                            return filterStates(inputs, (Class<?>) args[0]);
+                        case "getOutputStates":
+                            return filterStates(outputs, (Class<?>) args[0]);
+                        case "getReferenceStates":
+                            return Collections.emptyList();
+                        case "getSignatories":
+                            return signatories;
+                        case "getCommands":
+                            return args == null ? commands : filterStates(commands, (Class<?>) args[0]);
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "BenchmarkTransaction";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+
+    /**
+     * Creates a {@link StateAndRef} stand-in.
+     *
+     * @param state The state of the {@link StateAndRef}.
+     * @param ref   The {@link StateRef} of the {@link StateAndRef}.
+     * @param <T>   The underlying {@link ContractState} type.
+     * @return Returns a {@link StateAndRef} stand-in.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    static <T extends ContractState> StateAndRef<T> stateAndRef(@NotNull final T state, @NotNull final StateRef ref) {
+        final TransactionState<T> transactionState = (TransactionState<T>) Proxy.newProxyInstance(
+                TransactionState.class.getClassLoader(),
+                new Class<?>[]{TransactionState.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getContractState")) return state;
+                    throw new UnsupportedOperationException(method.getName());
+                }
+        );
+
+        return (StateAndRef<T>) Proxy.newProxyInstance(
+                StateAndRef.class.getClassLoader(),
+                new Class<?>[]{StateAndRef.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getState":
+                            return transactionState;
+                        case "getRef":
+                            return ref;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                }
+        );
+    }
+
+    /**
+     * Creates a {@link StateRef} from the specified transaction and output index.
+     *
+     * @param transaction The numeric identifier of the transaction.
+     * @param index       The index of the output in the transaction.
+     * @return Returns a {@link StateRef} from the specified transaction and output index.
+     */
+    @NotNull
+    static StateRef stateRef(final int transaction, final int index) {
+        return new StateRef(new BenchmarkSecureHash(transaction), index);
+    }
+
+    /**
+     * Creates the specified number of distinct public keys.
+     *
+     * @param count The number of public keys to create.
+     * @return Returns the specified number of distinct public keys.
+     */
+    @NotNull
+    static List<PublicKey> keys(final int count) {
+        try {
+            final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            final List<PublicKey> result = new ArrayList<>(count);
+
+            for (int index = 0; index < count; index++) {
+                result.add(generator.generateKeyPair().getPublic());
+            }
+
+            return result;
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Creates {@link StateAndRef} stand-ins for the specified states, where each state is an output of the specified transaction.
+     *
+     * @param states      The states from which to create {@link StateAndRef} stand-ins.
+     * @param transaction The numeric identifier of the transaction that created the states.
+     * @return Returns {@link StateAndRef} stand-ins for the specified states.
+     */
+    @NotNull
+    private static List<StateAndRef<?>> stateAndRefs(@NotNull final List<? extends ContractState> states, final int transaction) {
+        final List<StateAndRef<?>> result = new ArrayList<>(states.size());
+
+        for (int index = 0; index < states.size(); index++) {
+            result.add(stateAndRef(states.get(index), stateRef(transaction, index)));
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Filters the specified {@link StateAndRef} instances to those whose state is of the specified type.
+     *
+     * @param stateAndRefs The {@link StateAndRef} instances to filter.
+     * @param type         The type of state to retain.
+     * @return Returns the {@link StateAndRef} instances whose state is of the specified type.
+     */
+    @NotNull
+    private static List<StateAndRef<?>> filterStateAndRefs(@NotNull final List<StateAndRef<?>> stateAndRefs, @NotNull final Class<?> type) {
+        final List<StateAndRef<?>> result = new ArrayList<>();
+
+        for (final StateAndRef<?> stateAndRef : stateAndRefs) {
+            if (type.isInstance(stateAndRef.getState().getContractState())) result.add(stateAndRef);
+        }
+
+        return result;
+    }
+
+    /**
+     * Filters the specified values to those of the specified type.
+     *
+     * @param values The values to filter.
+     * @param type   The type of value to retain.
+     * @return Returns the values of the specified type.
+     */
+    @NotNull
+    private static List<Object> filterStates(@NotNull final List<?> values, @NotNull final Class<?> type) {
+        final List<Object> result = new ArrayList<>();
+
+        for (final Object value : values) {
+            if (type.isInstance(value)) result.add(value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Represents a synthetic {@link SecureHash} derived from a numeric transaction identifier.
+     */
+    private static final class BenchmarkSecureHash implements SecureHash {
+
+        /**
+         * The bytes of the current {@link BenchmarkSecureHash}.
+         */
+        @NotNull
+        private final byte[] bytes;
+
+        /**
+         * Initializes a new instance of the {@link BenchmarkSecureHash} class.
+         *
+         * @param value The numeric transaction identifier from which to derive the hash.
+         */
+        private BenchmarkSecureHash(final int value) {
+            this.bytes = ByteBuffer.allocate(32).putInt(28, value).array();
+        }
+
+        @NotNull
+        @Override
+        public String getAlgorithm() {
+            return "SHA-256";
+        }
+
+        @NotNull
+        @Override
+        public byte[] getBytes() {
+            return bytes.clone();
+        }
+
+        @NotNull
+        @Override
+        public String toHexString() {
+            final StringBuilder builder = new StringBuilder();
+            for (final byte value : bytes) builder.append(String.format("%02X", value));
+            return builder.toString();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return this == obj || obj instanceof BenchmarkSecureHash && Arrays.equals(bytes, ((BenchmarkSecureHash) obj).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public String toString() {
+            return getAlgorithm() + ":" + toHexString();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.benchmarks.BenchmarkStates.Link;
+import com.r3.corda.ledger.utxo.chainable.ChainableConstraints;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ChainableConstraints#verifyUpdate(UtxoLedgerTransaction, Class)} where each output points to exactly one input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ChainableConstraintsBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int count;
+
+    private UtxoLedgerTransaction updateTransaction;
+
+    @Setup
+    public void setup() {
+        final List<Link> inputs = new ArrayList<>(count);
+        final List<Link> outputs = new ArrayList<>(count);
+
+        // Inputs are the outputs of transaction 0; see BenchmarkTransactions.transaction.
+        for (int index = 0; index < count; index++) {
+            inputs.add(new Link(null));
+            outputs.add(new Link(BenchmarkTransactions.stateRef(0, index)));
+        }
+
+        updateTransaction = BenchmarkTransactions.transaction(inputs, outputs, Collections.emptyList(), Collections.emptyList());
+    }
+
+    @Benchmark
+    public void verifyUpdate() {
+        ChainableConstraints.verifyUpdate(updateTransaction, Link.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.base.Check;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the allocation rate of passing {@link Check} calls using eagerly formatted messages and capturing predicates,
+ * against the lazily formatted message and argument-passing overloads.
+ * <p>
+ * The interesting metric is gc.alloc.rate.norm (bytes allocated per operation), reported by the gc profiler.
+ * The lazy and argument-passing variants are expected to report zero bytes per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CheckBenchmark {
+
+    private static final String RULE = "On ''{0}'' contract executing, at least one command of type ''{1}'' must be included in the transaction.\nThe permitted commands include [{2}].";
+
+    private static final String MESSAGE = "On benchmark executing, every element must be permitted.";
+
+    @Param({"1", "100", "10000"})
+    public int count;
+
+    private List<Integer> elements;
+
+    private Set<Integer> permitted;
+
+    private String contractName;
+
+    private String commandName;
+
+    private String permittedNames;
+
+    @Setup
+    public void setup() {
+        elements = new ArrayList<>(count);
+        permitted = new HashSet<>(count);
+
+        for (int index = 0; index < count; index++) {
+            elements.add(index);
+            permitted.add(index);
+        }
+
+        contractName = CheckBenchmark.class.getTypeName();
+        commandName = Runnable.class.getTypeName();
+        permittedNames = "Create, Update, Delete";
+    }
+
+    @Benchmark
+    public void eagerMessage() {
+        Check.isTrue(!elements.isEmpty(), MessageFormat.format(RULE, contractName, commandName, permittedNames));
+    }
+
+    @Benchmark
+    public void lazyMessage() {
+        Check.isTrue(!elements.isEmpty(), RULE, contractName, commandName, permittedNames);
+    }
+
+    @Benchmark
+    public void capturingPredicate() {
+        final Set<Integer> permitted = this.permitted;
+        Check.all(elements, it -> permitted.contains(it), MESSAGE);
+    }
+
+    @Benchmark
+    public void argumentPredicate() {
+        Check.all(elements, permitted, (it, permitted) -> permitted.contains(it), MESSAGE);
+    }
+}
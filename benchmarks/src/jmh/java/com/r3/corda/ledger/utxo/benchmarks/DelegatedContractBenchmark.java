@@ -0,0 +1,111 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.benchmarks.BenchmarkStates.Token;
+import com.r3.corda.ledger.utxo.fungible.FungibleContract;
+import com.r3.corda.ledger.utxo.fungible.FungibleContractCommand;
+import com.r3.corda.ledger.utxo.fungible.FungibleContractCreateCommand;
+import com.r3.corda.ledger.utxo.fungible.FungibleContractDeleteCommand;
+import com.r3.corda.ledger.utxo.fungible.FungibleContractUpdateCommand;
+import com.r3.corda.ledger.utxo.ownable.OwnableConstraints;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link com.r3.corda.ledger.utxo.base.DelegatedContract#verify(UtxoLedgerTransaction)} end to end,
+ * for a token contract whose update command verifies both fungible and ownable constraints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DelegatedContractBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int count;
+
+    @Param({"1", "10", "100"})
+    public int groups;
+
+    private final TokenContract contract = new TokenContract();
+
+    private UtxoLedgerTransaction transaction;
+
+    @Setup
+    public void setup() {
+        final List<PublicKey> keys = BenchmarkTransactions.keys(1);
+        final List<Token> states = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            states.add(new Token(1, index % groups, keys.get(0)));
+        }
+
+        transaction = BenchmarkTransactions.transaction(states, states, keys, List.of(new TokenContract.Update()));
+    }
+
+    @Benchmark
+    public void verify() {
+        contract.verify(transaction);
+    }
+
+    /**
+     * Represents a token contract, similar to the fungible demo contract.
+     */
+    public static final class TokenContract extends FungibleContract {
+
+        @NotNull
+        @Override
+        public List<Class<? extends FungibleContractCommand<?>>> getPermittedCommandTypes() {
+            return List.of(Create.class, Update.class, Delete.class);
+        }
+
+        public static final class Create extends FungibleContractCreateCommand<Token> {
+
+            @NotNull
+            @Override
+            public Class<Token> getContractStateType() {
+                return Token.class;
+            }
+        }
+
+        public static final class Update extends FungibleContractUpdateCommand<Token> {
+
+            @NotNull
+            @Override
+            public Class<Token> getContractStateType() {
+                return Token.class;
+            }
+
+            @Override
+            protected void onVerify(@NotNull final UtxoLedgerTransaction transaction) {
+                OwnableConstraints.verifyUpdate(transaction, Token.class);
+            }
+        }
+
+        public static final class Delete extends FungibleContractDeleteCommand<Token> {
+
+            @NotNull
+            @Override
+            public Class<Token> getContractStateType() {
+                return Token.class;
+            }
+        }
+    }
+}
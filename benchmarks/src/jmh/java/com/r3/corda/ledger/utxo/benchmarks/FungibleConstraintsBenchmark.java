@@ -0,0 +1,84 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.benchmarks.BenchmarkStates.Token;
+import com.r3.corda.ledger.utxo.fungible.FungibleConstraints;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link FungibleConstraints} with the specified number of input and output states, spread across the specified number of fungible groups.
+ * Tokens are grouped either by their fungibility key, or by {@link com.r3.corda.ledger.utxo.fungible.FungibleState#isFungibleWith} when unkeyed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FungibleConstraintsBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int count;
+
+    @Param({"1", "10", "100"})
+    public int groups;
+
+    @Param({"false", "true"})
+    public boolean keyed;
+
+    private UtxoLedgerTransaction createTransaction;
+
+    private UtxoLedgerTransaction updateTransaction;
+
+    private UtxoLedgerTransaction deleteTransaction;
+
+    @Setup
+    public void setup() {
+        final List<PublicKey> keys = BenchmarkTransactions.keys(1);
+
+        createTransaction = BenchmarkTransactions.transaction(Collections.emptyList(), tokens(1, keys.get(0)), keys, Collections.emptyList());
+        updateTransaction = BenchmarkTransactions.transaction(tokens(2, keys.get(0)), tokens(2, keys.get(0)), keys, Collections.emptyList());
+        deleteTransaction = BenchmarkTransactions.transaction(tokens(2, keys.get(0)), tokens(1, keys.get(0)), keys, Collections.emptyList());
+    }
+
+    @Benchmark
+    public void verifyCreate() {
+        FungibleConstraints.verifyCreate(createTransaction, Token.class);
+    }
+
+    @Benchmark
+    public void verifyUpdate() {
+        FungibleConstraints.verifyUpdate(updateTransaction, Token.class);
+    }
+
+    @Benchmark
+    public void verifyDelete() {
+        FungibleConstraints.verifyDelete(deleteTransaction, Token.class);
+    }
+
+    private List<Token> tokens(final long quantity, final PublicKey key) {
+        final List<Token> result = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            result.add(new Token(quantity, index % groups, keyed, key));
+        }
+
+        return result;
+    }
+}
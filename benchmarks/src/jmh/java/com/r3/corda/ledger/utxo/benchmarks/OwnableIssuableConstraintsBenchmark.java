@@ -0,0 +1,70 @@
+package com.r3.corda.ledger.utxo.benchmarks;
+
+import com.r3.corda.ledger.utxo.benchmarks.BenchmarkStates.Token;
+import com.r3.corda.ledger.utxo.issuable.IssuableConstraints;
+import com.r3.corda.ledger.utxo.ownable.OwnableConstraints;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link OwnableConstraints} and {@link IssuableConstraints}, where the states are owned and issued by the specified number of signatories.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OwnableIssuableConstraintsBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int count;
+
+    @Param({"1", "10", "100"})
+    public int signatories;
+
+    private UtxoLedgerTransaction transaction;
+
+    @Setup
+    public void setup() {
+        final List<PublicKey> keys = BenchmarkTransactions.keys(signatories);
+        final List<Token> states = new ArrayList<>(count);
+
+        for (int index = 0; index < count; index++) {
+            states.add(new Token(1, 0, keys.get(index % signatories)));
+        }
+
+        transaction = BenchmarkTransactions.transaction(states, states, keys, Collections.emptyList());
+    }
+
+    @Benchmark
+    public void ownableVerifyUpdate() {
+        OwnableConstraints.verifyUpdate(transaction, Token.class);
+    }
+
+    @Benchmark
+    public void issuableVerifyCreate() {
+        IssuableConstraints.verifyCreate(transaction, Token.class);
+    }
+
+    @Benchmark
+    public void issuableVerifyDelete() {
+        IssuableConstraints.verifyDelete(transaction, Token.class);
+    }
+}
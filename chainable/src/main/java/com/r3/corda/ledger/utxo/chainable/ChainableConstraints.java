@@ -1,7 +1,9 @@
 package com.r3.corda.ledger.utxo.chainable;
 
 import com.r3.corda.ledger.utxo.base.Check;
+import com.r3.corda.ledger.utxo.base.ConstraintScope;
 import com.r3.corda.ledger.utxo.base.StaticPointer;
+import com.r3.corda.ledger.utxo.base.TransactionIndex;
 import net.corda.v5.ledger.utxo.StateAndRef;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
@@ -60,10 +62,15 @@ public final class ChainableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends ChainableState<?>> void verifyCreate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> outputs = index.getOutputStates(type);
 
-        Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
-        Check.all(outputs, it -> it.getPreviousStatePointer() == null, CONTRACT_RULE_CREATE_POINTERS);
+        final ConstraintScope scope = ConstraintScope.enter(-1, outputs.size());
+
+        try (scope) {
+            Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
+            Check.all(outputs, it -> it.getPreviousStatePointer() == null, CONTRACT_RULE_CREATE_POINTERS);
+        }
     }
 
     /**
@@ -100,16 +107,21 @@ public final class ChainableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends ChainableState<?>> void verifyUpdate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<StateAndRef<T>> inputs = transaction.getInputStateAndRefs(type);
-        final List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<StateAndRef<T>> inputs = index.getInputStateAndRefs(type);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
 
-        Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
-        Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
-        Check.all(outputs, it -> it.getPreviousStatePointer() != null, CONTRACT_RULE_UPDATE_POINTERS);
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
+            Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
+            Check.all(outputs, it -> it.getPreviousStatePointer() != null, CONTRACT_RULE_UPDATE_POINTERS);
 
-        final Map<StaticPointer<T>, List<StaticPointer<T>>> mappedInputsToOutputs = mapInputsToOutputs(inputs, outputs);
+            final Map<StaticPointer<T>, List<StaticPointer<T>>> mappedInputsToOutputs = mapInputsToOutputs(inputs, outputs);
 
-        Check.all(mappedInputsToOutputs.values(), it -> it.size() == OUTPUTS_PER_INPUT, CONTRACT_RULE_UPDATE_EXCLUSIVE_POINTERS);
+            Check.all(mappedInputsToOutputs.values(), it -> it.size() == OUTPUTS_PER_INPUT, CONTRACT_RULE_UPDATE_EXCLUSIVE_POINTERS);
+        }
     }
 
     /**
@@ -144,9 +156,14 @@ public final class ChainableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends ChainableState<?>> void verifyDelete(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> inputs = transaction.getInputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), -1);
 
-        Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
+        }
     }
 
     /**
@@ -10,5 +10,5 @@ internal fun Iterable<BigDecimal>.sum(): BigDecimal {
 
 internal fun Iterable<NumericDecimal>.sum(): NumericDecimal {
     val scale = map { it.value.scale() }.distinct().single()
-    return fold(NumericDecimal.ZERO.setScale(scale), NumericDecimal::plus)
+    return fold(NumericDecimal.of(0, scale), NumericDecimal::plus)
 }
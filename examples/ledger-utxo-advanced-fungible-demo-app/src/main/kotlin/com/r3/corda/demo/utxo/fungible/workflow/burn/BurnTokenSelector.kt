@@ -36,10 +36,11 @@ class BurnTokenSelector(
             digestService
         )
         val inputTokens = mutableListOf<StateAndRef<Token>>()
+        val zero = NumericDecimal.of(0, 2)
         var remainder = targetQuantity
 
         for (availableToken in availableTokens) {
-            if (remainder <= NumericDecimal.ZERO.setScale(2)) break
+            if (remainder <= zero) break
             inputTokens.add(availableToken)
             remainder -= availableToken.state.contractState.quantity
         }
@@ -52,7 +53,7 @@ class BurnTokenSelector(
         val targetQuantity = NumericDecimal(request.quantity, 2)
         val changeQuantity = inputTokens.map { it.state.contractState.quantity }.sum() - targetQuantity
 
-        return if (changeQuantity == NumericDecimal.ZERO.setScale(2)) null
+        return if (changeQuantity == NumericDecimal.of(0, 2)) null
         else Token(
             issuerMemberInfo.name,
             issuerMemberInfo.firstLedgerKey,
@@ -36,10 +36,11 @@ class MoveTokenSelector(
             targetQuantity,
             digestService
         )
+        val zero = NumericDecimal.of(0, 2)
         var remainder = targetQuantity
 
         for (availableToken in availableTokens) {
-            if (remainder <= NumericDecimal.ZERO.setScale(2)) break
+            if (remainder <= zero) break
             inputTokens.add(availableToken)
             remainder -= availableToken.state.contractState.quantity
         }
@@ -66,7 +67,7 @@ class MoveTokenSelector(
             )
         }
 
-        if (changeQuantity > NumericDecimal.ZERO.setScale(2)) {
+        if (changeQuantity > NumericDecimal.of(0, 2)) {
             outputTokens.add(
                 Token(
                     issuerMemberInfo.name,
@@ -1,13 +1,12 @@
 package com.r3.corda.ledger.utxo.fungible;
 
 import com.r3.corda.ledger.utxo.base.Check;
+import com.r3.corda.ledger.utxo.base.ConstraintScope;
+import com.r3.corda.ledger.utxo.base.TransactionIndex;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Represents verification constraints for creating, updating and deleting {@link FungibleState} instances.
@@ -35,6 +34,9 @@ public final class FungibleConstraints {
     final static String CONTRACT_RULE_UPDATE_GROUP_SUM =
             "On fungible state(s) updating, the sum of the consumed states that are fungible with each other must be equal to the sum of the created states that are fungible with each other.";
 
+    final static String CONTRACT_RULE_CONSOLIDATE_GROUP_COUNT =
+            "On fungible state(s) consolidating, fewer states must be created than are consumed for every group of states that are fungible with each other.";
+
     final static String CONTRACT_RULE_DELETE_INPUTS =
             "On fungible state(s) deleting, at least one fungible state input must be consumed.";
 
@@ -68,10 +70,15 @@ public final class FungibleConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends FungibleState<?>> void verifyCreate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(-1, outputs.size());
 
-        Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
-        Check.all(outputs, it -> it.getQuantity().getUnscaledValue().compareTo(BigInteger.ZERO) > 0, CONTRACT_RULE_CREATE_POSITIVE_QUANTITIES);
+        try (scope) {
+            Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
+            Check.all(outputs, FungibleUtils::isPositive, CONTRACT_RULE_CREATE_POSITIVE_QUANTITIES);
+        }
     }
 
     /**
@@ -109,32 +116,48 @@ public final class FungibleConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends FungibleState<?>> void verifyUpdate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> inputs = transaction.getInputStates(type);
-        final List<T> outputs = transaction.getOutputStates(type);
-
-        Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
-        Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
-        Check.all(outputs, it -> it.getQuantity().getUnscaledValue().compareTo(BigInteger.ZERO) > 0, CONTRACT_RULE_UPDATE_POSITIVE_QUANTITIES);
-
-        BigInteger inputsSum = FungibleUtils.sum(inputs);
-        BigInteger outputsSum = FungibleUtils.sum(outputs);
-
-        Check.isEqual(inputsSum, outputsSum, CONTRACT_RULE_UPDATE_SUM);
-
-        for (final T input : inputs) {
-
-            // 1. We need to obtain all the inputs that are fungible with the current input.
-            final List<T> fungibleInputs = filterByFungibleWith(inputs, input);
-
-            // 2. We need to obtain all the outputs that are fungible with the current input.
-            final List<T> fungibleOutputs = filterByFungibleWith(outputs, input);
-
-            // 3. Generate the sum of all fungible inputs and outputs.
-            final BigInteger inputSum = FungibleUtils.sum(fungibleInputs);
-            final BigInteger outputSum = FungibleUtils.sum(fungibleOutputs);
+        verifyUpdate(transaction, type, FungibleSumMode.GLOBAL);
+    }
 
-            // 4. Check that the sum of each input group is equal to the sum of each output group.
-            Check.isEqual(inputSum, outputSum, CONTRACT_RULE_UPDATE_GROUP_SUM);
+    /**
+     * Verifies the {@link FungibleContract} update constraints, summing quantities using the specified {@link FungibleSumMode}.
+     * <p>
+     * In {@link FungibleSumMode#GLOBAL} mode, this verifies the same constraints as {@link #verifyUpdate(UtxoLedgerTransaction, Class)}.
+     * In {@link FungibleSumMode#GROUPED} mode, the sum of the unscaled values of every state is not verified; instead, the sums of every group,
+     * including groups that only contain created states, must be equal, where quantities are normalized to the greatest scale of their group.
+     *
+     * @param transaction The transaction to verify.
+     * @param type        The type of {@link FungibleState} to verify.
+     * @param mode        The {@link FungibleSumMode} used to sum quantities.
+     * @param <T>         The underlying type of {@link FungibleState} to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    public static <T extends FungibleState<?>> void verifyUpdate(
+            @NotNull final UtxoLedgerTransaction transaction,
+            @NotNull final Class<T> type,
+            @NotNull final FungibleSumMode mode) {
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
+
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
+            Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
+            Check.all(outputs, FungibleUtils::isPositive, CONTRACT_RULE_UPDATE_POSITIVE_QUANTITIES);
+
+            if (mode == FungibleSumMode.GLOBAL) {
+                Check.isEqual(FungibleUtils.sum(inputs), FungibleUtils.sum(outputs), CONTRACT_RULE_UPDATE_SUM);
+            }
+
+            // Each group of consumed states that are fungible with each other is summed once, along with the created states that are fungible with it.
+            // Without the global sum, groups of created states only must also be checked, since nothing else prevents them from being created.
+            for (final FungibleGroup group : FungibleUtils.group(inputs, outputs, mode)) {
+                if (group.hasInputs() || mode == FungibleSumMode.GROUPED) {
+                    Check.isEqual(group.getInputSum(), group.getOutputSum(), CONTRACT_RULE_UPDATE_GROUP_SUM);
+                }
+            }
         }
     }
 
@@ -158,6 +181,80 @@ public final class FungibleConstraints {
         verifyUpdate(transaction, FungibleState.class);
     }
 
+    /**
+     * Verifies the {@link FungibleContract} consolidate constraints.
+     * <p>
+     * This should be implemented by commands intended to merge existing ledger instances of {@link FungibleState} into fewer instances,
+     * and will verify the update constraints, as well as the following constraints:
+     * <ol>
+     *  <li>On fungible state(s) consolidating, fewer states must be created than are consumed for every group of states that are fungible with each other.</li>
+     * </ol>
+     *
+     * @param transaction The transaction to verify.
+     * @param type        The type of {@link FungibleState} to verify.
+     * @param <T>         The underlying type of {@link FungibleState} to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    public static <T extends FungibleState<?>> void verifyConsolidate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
+        verifyConsolidate(transaction, type, FungibleSumMode.GLOBAL);
+    }
+
+    /**
+     * Verifies the {@link FungibleContract} consolidate constraints, summing quantities using the specified {@link FungibleSumMode}.
+     * <p>
+     * In {@link FungibleSumMode#GROUPED} mode, the sum of the unscaled values of every state is not verified,
+     * and the quantities of each group are normalized to the greatest scale of the group.
+     *
+     * @param transaction The transaction to verify.
+     * @param type        The type of {@link FungibleState} to verify.
+     * @param mode        The {@link FungibleSumMode} used to sum quantities.
+     * @param <T>         The underlying type of {@link FungibleState} to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    public static <T extends FungibleState<?>> void verifyConsolidate(
+            @NotNull final UtxoLedgerTransaction transaction,
+            @NotNull final Class<T> type,
+            @NotNull final FungibleSumMode mode) {
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
+
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
+            Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
+            Check.all(outputs, FungibleUtils::isPositive, CONTRACT_RULE_UPDATE_POSITIVE_QUANTITIES);
+
+            if (mode == FungibleSumMode.GLOBAL) {
+                Check.isEqual(FungibleUtils.sum(inputs), FungibleUtils.sum(outputs), CONTRACT_RULE_UPDATE_SUM);
+            }
+
+            // Every group is checked, since a group of created states only can neither balance, nor create fewer states than it consumes.
+            for (final FungibleGroup group : FungibleUtils.group(inputs, outputs, mode)) {
+                Check.isEqual(group.getInputSum(), group.getOutputSum(), CONTRACT_RULE_UPDATE_GROUP_SUM);
+                Check.isLessThan(group.getOutputCount(), group.getInputCount(), CONTRACT_RULE_CONSOLIDATE_GROUP_COUNT);
+            }
+        }
+    }
+
+    /**
+     * Verifies the {@link FungibleContract} consolidate constraints.
+     * <p>
+     * This should be implemented by commands intended to merge existing ledger instances of {@link FungibleState} into fewer instances,
+     * and will verify the update constraints, as well as the following constraints:
+     * <ol>
+     *  <li>On fungible state(s) consolidating, fewer states must be created than are consumed for every group of states that are fungible with each other.</li>
+     * </ol>
+     *
+     * @param transaction The transaction to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    @SuppressWarnings("unused")
+    public static void verifyConsolidate(@NotNull final UtxoLedgerTransaction transaction) {
+        verifyConsolidate(transaction, FungibleState.class);
+    }
+
     /**
      * Verifies the {@link FungibleContract} delete constraints.
      * This should be implemented by commands intended to delete existing ledger instances of {@link FungibleState} and will verify the following constraints:
@@ -173,31 +270,43 @@ public final class FungibleConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends FungibleState<?>> void verifyDelete(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> inputs = transaction.getInputStates(type);
-        final List<T> outputs = transaction.getOutputStates(type);
-
-        Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
-        Check.all(outputs, it -> it.getQuantity().getUnscaledValue().compareTo(BigInteger.ZERO) > 0, CONTRACT_RULE_DELETE_POSITIVE_QUANTITIES);
-
-        Check.isGreaterThan(FungibleUtils.sum(inputs), FungibleUtils.sum(outputs), CONTRACT_RULE_DELETE_SUM);
-
-        // We have to check all inputs and outputs, because we might create an extra output for which there is no input.
-        final List<T> states = Stream.concat(inputs.stream(), outputs.stream()).collect(Collectors.toList());
-
-        for (final T state : states) {
-
-            // 1. We need to obtain all the inputs that are fungible with the current state.
-            final List<T> fungibleInputs = filterByFungibleWith(inputs, state);
-
-            // 2. We need to obtain all the outputs that are fungible with the current state.
-            final List<T> fungibleOutputs = filterByFungibleWith(outputs, state);
-
-            // 3. Generate the sum of all fungible inputs and outputs.
-            final BigInteger inputSum = FungibleUtils.sum(fungibleInputs);
-            final BigInteger outputSum = FungibleUtils.sum(fungibleOutputs);
+        verifyDelete(transaction, type, FungibleSumMode.GLOBAL);
+    }
 
-            // 4. Check that the sum of each input group is greater than the sum of each output group.
-            Check.isGreaterThan(inputSum, outputSum, CONTRACT_RULE_DELETE_GROUP_SUM);
+    /**
+     * Verifies the {@link FungibleContract} delete constraints, summing quantities using the specified {@link FungibleSumMode}.
+     * <p>
+     * In {@link FungibleSumMode#GROUPED} mode, the sum of the unscaled values of every state is not verified,
+     * and the quantities of each group are normalized to the greatest scale of the group.
+     *
+     * @param transaction The transaction to verify.
+     * @param type        The type of {@link FungibleState} to verify.
+     * @param mode        The {@link FungibleSumMode} used to sum quantities.
+     * @param <T>         The underlying type of {@link FungibleState} to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    public static <T extends FungibleState<?>> void verifyDelete(
+            @NotNull final UtxoLedgerTransaction transaction,
+            @NotNull final Class<T> type,
+            @NotNull final FungibleSumMode mode) {
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
+
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
+            Check.all(outputs, FungibleUtils::isPositive, CONTRACT_RULE_DELETE_POSITIVE_QUANTITIES);
+
+            if (mode == FungibleSumMode.GLOBAL) {
+                Check.isGreaterThan(FungibleUtils.sum(inputs), FungibleUtils.sum(outputs), CONTRACT_RULE_DELETE_SUM);
+            }
+
+            // We have to check every group, including groups of created states only, because we might create an extra output for which there is no input.
+            for (final FungibleGroup group : FungibleUtils.group(inputs, outputs, mode)) {
+                Check.isGreaterThan(group.getInputSum(), group.getOutputSum(), CONTRACT_RULE_DELETE_GROUP_SUM);
+            }
         }
     }
 
@@ -217,17 +326,4 @@ public final class FungibleConstraints {
     public static void verifyDelete(@NotNull final UtxoLedgerTransaction transaction) {
         verifyDelete(transaction, FungibleState.class);
     }
-
-    /**
-     * Gets a {@link List} of {@link FungibleState} that are fungible with the specified {@link FungibleState}.
-     *
-     * @param states The {@link FungibleState} states to filter that are fungible with the specified {@link FungibleState}.
-     * @param state  The {@link FungibleState} state to determine is fungible with any of the specified {@link FungibleState} states.
-     * @return Returns a {@link List} of {@link FungibleState} that are fungible with the specified {@link FungibleState}.
-     */
-    @NotNull
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    private static <T extends FungibleState<?>> List<T> filterByFungibleWith(@NotNull final List<T> states, @NotNull final FungibleState state) {
-        return states.stream().filter(it -> state.isFungibleWith(it)).collect(Collectors.toList());
-    }
 }
@@ -2,6 +2,7 @@ package com.r3.corda.ledger.utxo.fungible;
 
 import com.r3.corda.ledger.utxo.base.ContractStateType;
 import com.r3.corda.ledger.utxo.base.VerifiableCommand;
+import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents the base class for implementing {@link FungibleContract} commands.
@@ -23,4 +24,18 @@ public abstract class FungibleContractCommand<T extends FungibleState<?>> implem
      */
     FungibleContractCommand() {
     }
+
+    /**
+     * Gets the {@link FungibleSumMode} used to sum the quantities of consumed and created {@link FungibleState} instances.
+     * <p>
+     * The default implementation returns {@link FungibleSumMode#GLOBAL}. Commands whose transactions contain states with different scales,
+     * or states of different assets, should override this method to return {@link FungibleSumMode#GROUPED}.
+     * Creation does not sum quantities, therefore this has no effect on {@link FungibleContractCreateCommand}.
+     *
+     * @return Returns the {@link FungibleSumMode} used to sum the quantities of consumed and created {@link FungibleState} instances.
+     */
+    @NotNull
+    protected FungibleSumMode getSumMode() {
+        return FungibleSumMode.GLOBAL;
+    }
 }
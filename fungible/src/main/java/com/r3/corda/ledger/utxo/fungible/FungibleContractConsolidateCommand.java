@@ -0,0 +1,43 @@
+package com.r3.corda.ledger.utxo.fungible;
+
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents the base class for implementing {@link FungibleContract} commands that are intended to merge existing ledger instances of
+ * {@link FungibleState} into fewer instances, in order to reduce the fragmentation of an owner's states.
+ * <p>
+ * This is a stricter form of {@link FungibleContractUpdateCommand}, and will verify the following constraints:
+ * <ol>
+ *  <li>On fungible state(s) updating, at least one fungible state must be consumed.</li>
+ *  <li>On fungible state(s) updating, at least one fungible state must be created.</li>
+ *  <li>On fungible state(s) updating, the quantity of every created fungible state must be greater than zero.</li>
+ *  <li>On fungible state(s) updating, the sum of the unscaled values of the consumed states must be equal to the sum of the unscaled values of the created states.</li>
+ *  <li>On fungible state(s) updating, the sum of the consumed states that are fungible with each other must be equal to the sum of the created states that are fungible with each other.</li>
+ *  <li>On fungible state(s) consolidating, fewer states must be created than are consumed for every group of states that are fungible with each other.</li>
+ * </ol>
+ */
+public abstract class FungibleContractConsolidateCommand<T extends FungibleState<?>> extends FungibleContractCommand<T> {
+
+    /**
+     * Verifies the specified transaction associated with the current contract.
+     *
+     * @param transaction The transaction to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    @Override
+    public final void verify(@NotNull final UtxoLedgerTransaction transaction) {
+        FungibleConstraints.verifyConsolidate(transaction, getContractStateType(), getSumMode());
+        onVerify(transaction);
+    }
+
+    /**
+     * Verifies the specified transaction associated with the current contract.
+     *
+     * @param transaction The transaction to verify.
+     * @throws IllegalStateException if the specified transaction fails verification.
+     */
+    @SuppressWarnings("unused")
+    protected void onVerify(@NotNull final UtxoLedgerTransaction transaction) {
+    }
+}
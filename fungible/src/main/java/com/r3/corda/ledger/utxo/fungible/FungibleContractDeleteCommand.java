@@ -24,7 +24,7 @@ public abstract class FungibleContractDeleteCommand<T extends FungibleState<?>>
      */
     @Override
     public final void verify(@NotNull final UtxoLedgerTransaction transaction) {
-        FungibleConstraints.verifyDelete(transaction, getContractStateType());
+        FungibleConstraints.verifyDelete(transaction, getContractStateType(), getSumMode());
         onVerify(transaction);
     }
 
@@ -26,7 +26,7 @@ public abstract class FungibleContractUpdateCommand<T extends FungibleState<?>>
      */
     @Override
     public final void verify(@NotNull final UtxoLedgerTransaction transaction) {
-        FungibleConstraints.verifyUpdate(transaction, getContractStateType());
+        FungibleConstraints.verifyUpdate(transaction, getContractStateType(), getSumMode());
         onVerify(transaction);
     }
 
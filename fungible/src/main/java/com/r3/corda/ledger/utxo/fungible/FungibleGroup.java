@@ -0,0 +1,115 @@
+package com.r3.corda.ledger.utxo.fungible;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a group of consumed and created {@link FungibleState} instances that are fungible with each other.
+ */
+final class FungibleGroup {
+
+    @NotNull
+    @SuppressWarnings("rawtypes")
+    private final FungibleState representative;
+
+    @NotNull
+    private final FungibleSumMode mode;
+
+    @NotNull
+    private final FungibleSum inputSum = new FungibleSum();
+
+    @NotNull
+    private final FungibleSum outputSum = new FungibleSum();
+
+    private int inputCount;
+
+    private int outputCount;
+
+    /**
+     * Initializes a new instance of the {@link FungibleGroup} class.
+     *
+     * @param representative The first {@link FungibleState} of the group, against which the fungibility of other states is determined.
+     * @param mode           The {@link FungibleSumMode} used to sum the quantities of the group.
+     */
+    FungibleGroup(@NotNull final FungibleState<?> representative, @NotNull final FungibleSumMode mode) {
+        this.representative = representative;
+        this.mode = mode;
+    }
+
+    /**
+     * Determines whether the specified {@link FungibleState} is fungible with the representative state of the current group.
+     *
+     * @param state The {@link FungibleState} to determine is fungible with the current group.
+     * @return Returns true if the specified {@link FungibleState} is fungible with the current group; otherwise, false.
+     */
+    @SuppressWarnings("unchecked")
+    boolean isFungibleWith(@NotNull final FungibleState<?> state) {
+        return representative.isFungibleWith(state);
+    }
+
+    /**
+     * Adds the quantity of the specified consumed {@link FungibleState} to the current group.
+     *
+     * @param state The consumed {@link FungibleState} to add to the current group.
+     */
+    void addInput(@NotNull final FungibleState<?> state) {
+        mode.add(inputSum, state.getQuantity());
+        inputCount++;
+    }
+
+    /**
+     * Adds the quantity of the specified created {@link FungibleState} to the current group.
+     *
+     * @param state The created {@link FungibleState} to add to the current group.
+     */
+    void addOutput(@NotNull final FungibleState<?> state) {
+        mode.add(outputSum, state.getQuantity());
+        outputCount++;
+    }
+
+    /**
+     * Gets the sum of the unscaled values of the consumed states in the current group.
+     *
+     * @return Returns the sum of the unscaled values of the consumed states in the current group.
+     */
+    @NotNull
+    FungibleSum getInputSum() {
+        return inputSum;
+    }
+
+    /**
+     * Gets the sum of the unscaled values of the created states in the current group.
+     *
+     * @return Returns the sum of the unscaled values of the created states in the current group.
+     */
+    @NotNull
+    FungibleSum getOutputSum() {
+        return outputSum;
+    }
+
+    /**
+     * Determines whether the current group contains any consumed states.
+     *
+     * @return Returns true if the current group contains any consumed states; otherwise, false.
+     */
+    boolean hasInputs() {
+        return inputCount > 0;
+    }
+
+    /**
+     * Gets the number of consumed states in the current group.
+     *
+     * @return Returns the number of consumed states in the current group.
+     */
+    int getInputCount() {
+        return inputCount;
+    }
+
+    /**
+     * Gets the number of created states in the current group.
+     *
+     * @return Returns the number of created states in the current group.
+     */
+    int getOutputCount() {
+        return outputCount;
+    }
+}
@@ -2,6 +2,7 @@ package com.r3.corda.ledger.utxo.fungible;
 
 import net.corda.v5.ledger.utxo.ContractState;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Defines a mechanism for implementing fungible states.
@@ -26,4 +27,21 @@ public interface FungibleState<T extends Numeric<?>> extends ContractState {
      * @return Returns true if the current {@link FungibleState} is fungible with the specified other {@link FungibleState}; otherwise, false.
      */
     boolean isFungibleWith(@NotNull FungibleState<T> other);
+
+    /**
+     * Gets the fungibility key of the current {@link FungibleState}, or null if the current {@link FungibleState} does not specify a fungibility key.
+     * <p>
+     * Fungibility keys allow fungible states to be grouped by hashing, rather than by comparing each state with every other state.
+     * Implementations that return a non-null fungibility key must ensure that two {@link FungibleState} instances are fungible with each other
+     * if, and only if, their fungibility keys are equal, and that fungibility keys implement {@link Object#equals(Object)} and {@link Object#hashCode()}.
+     * A {@link FungibleState} with a fungibility key is never fungible with a {@link FungibleState} without one.
+     * <p>
+     * The default implementation returns null, in which case fungibility is determined by {@link #isFungibleWith(FungibleState)}.
+     *
+     * @return Returns the fungibility key of the current {@link FungibleState}, or null if the current {@link FungibleState} does not specify a fungibility key.
+     */
+    @Nullable
+    default Object getFungibilityKey() {
+        return null;
+    }
 }
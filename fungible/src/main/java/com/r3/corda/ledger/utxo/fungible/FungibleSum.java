@@ -0,0 +1,212 @@
+package com.r3.corda.ledger.utxo.fungible;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Represents a mutable sum of the unscaled values of {@link Numeric} quantities.
+ * <p>
+ * The sum is accumulated as a {@code long} for as long as every added quantity, and the running total, fit in 63 bits.
+ * On the first overflow, or the first quantity that does not fit in a {@code long}, the sum is promoted to a {@link BigInteger}.
+ * Summing realistic quantities therefore does not allocate.
+ * <p>
+ * Quantities added using {@link #add(Numeric)} are summed regardless of their scale. Quantities added using {@link #addNormalized(Numeric)}
+ * are summed at the greatest scale added so far, whereby the running total, or the added quantity, is multiplied by a power of ten,
+ * rather than converted to a {@link BigDecimal}. Sums at different scales are compared at the greater of their scales.
+ */
+final class FungibleSum implements Comparable<FungibleSum> {
+
+    /**
+     * The powers of ten that fit in a {@code long}, indexed by exponent.
+     */
+    private static final long[] LONG_POWERS_OF_TEN = createLongPowersOfTen();
+
+    /**
+     * The sum, while it fits in a {@code long}.
+     */
+    private long longValue;
+
+    /**
+     * The sum, once it has been promoted to a {@link BigInteger}; otherwise, null.
+     */
+    @Nullable
+    private BigInteger bigValue;
+
+    /**
+     * The scale of the sum, which is the greatest scale of the quantities added using {@link #addNormalized(Numeric)}, or zero.
+     */
+    private int scale;
+
+    /**
+     * Adds the unscaled value of the specified quantity to the current sum.
+     *
+     * @param quantity The quantity to add to the current sum.
+     * @return Returns the current sum.
+     */
+    @NotNull
+    FungibleSum add(@NotNull final Numeric<?> quantity) {
+        if (bigValue == null && quantity.fitsInLong()) {
+            final long value = quantity.getUnscaledLongValue();
+
+            try {
+                longValue = Math.addExact(longValue, value);
+                return this;
+            } catch (ArithmeticException exception) {
+                bigValue = BigInteger.valueOf(longValue).add(BigInteger.valueOf(value));
+                return this;
+            }
+        }
+
+        bigValue = toBigInteger().add(quantity.getUnscaledValue());
+        return this;
+    }
+
+    /**
+     * Adds the specified quantity to the current sum, normalizing the scale of the quantity and the current sum to the greater of their scales.
+     *
+     * @param quantity The quantity to add to the current sum.
+     * @return Returns the current sum.
+     */
+    @NotNull
+    FungibleSum addNormalized(@NotNull final Numeric<?> quantity) {
+        final int quantityScale = quantity.getScale();
+
+        if (quantityScale > scale) rescale(quantityScale);
+        if (quantityScale == scale) return add(quantity);
+
+        final int exponent = scale - quantityScale;
+
+        if (bigValue == null && quantity.fitsInLong()) {
+            try {
+                longValue = Math.addExact(longValue, multiplyByPowerOfTen(quantity.getUnscaledLongValue(), exponent));
+                return this;
+            } catch (ArithmeticException exception) {
+                // The sum is promoted below.
+            }
+        }
+
+        bigValue = toBigInteger().add(quantity.getUnscaledValue().multiply(BigInteger.TEN.pow(exponent)));
+        return this;
+    }
+
+    /**
+     * Gets the current sum as a {@link BigInteger}.
+     *
+     * @return Returns the current sum as a {@link BigInteger}.
+     */
+    @NotNull
+    BigInteger toBigInteger() {
+        return bigValue != null ? bigValue : BigInteger.valueOf(longValue);
+    }
+
+    /**
+     * Compares the current sum with the specified sum for order.
+     *
+     * @param other The sum to be compared.
+     * @return Returns a negative, zero, or positive value indicating the relative order of the current sum, compared to the specified sum.
+     */
+    @Override
+    public int compareTo(@NotNull final FungibleSum other) {
+        if (scale != other.scale) return toBigInteger(other.scale).compareTo(other.toBigInteger(scale));
+        if (bigValue == null && other.bigValue == null) return Long.compare(longValue, other.longValue);
+        return toBigInteger().compareTo(other.toBigInteger());
+    }
+
+    /**
+     * Determines whether the specified object is equal to the current object.
+     *
+     * @param obj The object to compare with the current object.
+     * @return Returns true if the specified object is equal to the current object; otherwise, false.
+     */
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+        return this == obj || obj instanceof FungibleSum && compareTo((FungibleSum) obj) == 0;
+    }
+
+    /**
+     * Serves as the default hash function.
+     *
+     * @return Returns a hash code for the current object.
+     */
+    @Override
+    public int hashCode() {
+        return new BigDecimal(toBigInteger(), scale).stripTrailingZeros().hashCode();
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return scale == 0 ? toBigInteger().toString() : new BigDecimal(toBigInteger(), scale).toPlainString();
+    }
+
+    /**
+     * Gets the current sum as a {@link BigInteger}, normalized to the greater of the current scale and the specified scale.
+     *
+     * @param otherScale The scale to which the current sum is normalized, if it is greater than the current scale.
+     * @return Returns the current sum as a {@link BigInteger}, normalized to the greater of the current scale and the specified scale.
+     */
+    @NotNull
+    private BigInteger toBigInteger(final int otherScale) {
+        final BigInteger result = toBigInteger();
+        return otherScale > scale ? result.multiply(BigInteger.TEN.pow(otherScale - scale)) : result;
+    }
+
+    /**
+     * Rescales the current sum to the specified scale, which must be greater than the current scale.
+     *
+     * @param newScale The scale to which the current sum is rescaled.
+     */
+    private void rescale(final int newScale) {
+        final int exponent = newScale - scale;
+        scale = newScale;
+
+        if (bigValue == null) {
+            try {
+                longValue = multiplyByPowerOfTen(longValue, exponent);
+                return;
+            } catch (ArithmeticException exception) {
+                bigValue = BigInteger.valueOf(longValue);
+            }
+        }
+
+        bigValue = bigValue.multiply(BigInteger.TEN.pow(exponent));
+    }
+
+    /**
+     * Multiplies the specified value by ten raised to the specified exponent.
+     *
+     * @param value    The value to multiply.
+     * @param exponent The exponent of the power of ten by which to multiply the specified value.
+     * @return Returns the specified value, multiplied by ten raised to the specified exponent.
+     * @throws ArithmeticException if the result does not fit in a {@code long}.
+     */
+    private static long multiplyByPowerOfTen(final long value, final int exponent) {
+        if (value == 0) return 0;
+        if (exponent >= LONG_POWERS_OF_TEN.length) throw new ArithmeticException("long overflow");
+        return Math.multiplyExact(value, LONG_POWERS_OF_TEN[exponent]);
+    }
+
+    /**
+     * Creates the powers of ten that fit in a {@code long}.
+     *
+     * @return Returns the powers of ten that fit in a {@code long}, indexed by exponent.
+     */
+    @NotNull
+    private static long[] createLongPowersOfTen() {
+        final long[] result = new long[19];
+        result[0] = 1;
+
+        for (int exponent = 1; exponent < result.length; exponent++) {
+            result[exponent] = result[exponent - 1] * 10;
+        }
+
+        return result;
+    }
+}
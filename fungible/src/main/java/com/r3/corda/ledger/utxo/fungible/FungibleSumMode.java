@@ -0,0 +1,45 @@
+package com.r3.corda.ledger.utxo.fungible;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Specifies how {@link FungibleConstraints} sums the quantities of consumed and created {@link FungibleState} instances.
+ */
+public enum FungibleSumMode {
+
+    /**
+     * Verifies that the sum of the unscaled values of every consumed state balances against the sum of the unscaled values of every created state,
+     * and then verifies the sums of each group of states that are fungible with each other, again using unscaled values.
+     * <p>
+     * This is the default mode, which is suitable for transactions whose states all have the same scale.
+     */
+    GLOBAL {
+        @Override
+        void add(@NotNull final FungibleSum sum, @NotNull final Numeric<?> quantity) {
+            sum.add(quantity);
+        }
+    },
+
+    /**
+     * Verifies the sums of each group of states that are fungible with each other only, including groups that only contain created states,
+     * and skips the sum of the unscaled values of every state, which is redundant once every group balances.
+     * <p>
+     * Quantities are normalized to the greatest scale of their group as they are summed, so that states with different scales
+     * (for example, 1.5 and 1.50) are summed by value. This mode is suitable for multi-asset transactions, such as atomic swaps,
+     * where the unscaled values of states in different groups are not comparable.
+     */
+    GROUPED {
+        @Override
+        void add(@NotNull final FungibleSum sum, @NotNull final Numeric<?> quantity) {
+            sum.addNormalized(quantity);
+        }
+    };
+
+    /**
+     * Adds the specified quantity to the specified sum.
+     *
+     * @param sum      The sum to which the specified quantity will be added.
+     * @param quantity The quantity to add to the specified sum.
+     */
+    abstract void add(@NotNull FungibleSum sum, @NotNull Numeric<?> quantity);
+}
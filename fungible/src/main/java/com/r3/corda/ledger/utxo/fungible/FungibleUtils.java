@@ -2,8 +2,11 @@ package com.r3.corda.ledger.utxo.fungible;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents fungible utilities.
@@ -17,20 +20,118 @@ final class FungibleUtils {
     }
 
     /**
-     * Computes the sum of all the specified {@link FungibleState} instances.
+     * Computes the sum of the unscaled values of all the specified {@link FungibleState} instances.
      *
      * @param states The {@link FungibleState} instances to sum.
-     * @return Returns the sum of all the specified {@link FungibleState} instances.
+     * @return Returns the sum of the unscaled values of all the specified {@link FungibleState} instances.
      */
     @NotNull
-    @SuppressWarnings("rawtypes")
-    public static <T extends FungibleState<?>> BigInteger sum(@NotNull final List<T> states) {
-        BigInteger result = BigInteger.ZERO;
+    static <T extends FungibleState<?>> FungibleSum sum(@NotNull final List<T> states) {
+        final FungibleSum result = new FungibleSum();
 
-        for (final FungibleState state : states) {
-            result = result.add(state.getQuantity().getUnscaledValue());
+        for (final T state : states) {
+            result.add(state.getQuantity());
         }
 
         return result;
     }
+
+    /**
+     * Determines whether the quantity of the specified {@link FungibleState} is greater than zero.
+     *
+     * @param state The {@link FungibleState} whose quantity to check.
+     * @return Returns true if the quantity of the specified {@link FungibleState} is greater than zero; otherwise, false.
+     */
+    static boolean isPositive(@NotNull final FungibleState<?> state) {
+        final Numeric<?> quantity = state.getQuantity();
+        return quantity.fitsInLong() ? quantity.getUnscaledLongValue() > 0 : quantity.getUnscaledValue().signum() > 0;
+    }
+
+    /**
+     * Groups the specified consumed and created {@link FungibleState} instances into groups of states that are fungible with each other,
+     * summing the quantities of each group as it is formed.
+     * <p>
+     * States that specify a {@link FungibleState#getFungibilityKey()} are grouped by hashing their fungibility keys.
+     * The remaining states are partitioned in a single pass, whereby each state is compared with the first state of each existing group,
+     * using {@link FungibleState#isFungibleWith(FungibleState)}, and forms a new group if it is not fungible with any of them.
+     * Groups of consumed states are formed before groups that only contain created states.
+     *
+     * @param inputs  The consumed {@link FungibleState} instances to group.
+     * @param outputs The created {@link FungibleState} instances to group.
+     * @return Returns the groups of the specified {@link FungibleState} instances that are fungible with each other.
+     */
+    @NotNull
+    static <T extends FungibleState<?>> Collection<FungibleGroup> group(@NotNull final List<T> inputs, @NotNull final List<T> outputs) {
+        return group(inputs, outputs, FungibleSumMode.GLOBAL);
+    }
+
+    /**
+     * Groups the specified consumed and created {@link FungibleState} instances into groups of states that are fungible with each other,
+     * summing the quantities of each group as it is formed, using the specified {@link FungibleSumMode}.
+     *
+     * @param inputs  The consumed {@link FungibleState} instances to group.
+     * @param outputs The created {@link FungibleState} instances to group.
+     * @param mode    The {@link FungibleSumMode} used to sum the quantities of each group.
+     * @return Returns the groups of the specified {@link FungibleState} instances that are fungible with each other.
+     */
+    @NotNull
+    static <T extends FungibleState<?>> Collection<FungibleGroup> group(
+            @NotNull final List<T> inputs,
+            @NotNull final List<T> outputs,
+            @NotNull final FungibleSumMode mode) {
+        final Map<Object, FungibleGroup> keyedGroups = new HashMap<>();
+        final List<FungibleGroup> groups = new ArrayList<>();
+        final List<FungibleGroup> unkeyedGroups = new ArrayList<>();
+
+        for (final T input : inputs) {
+            getGroup(input, mode, keyedGroups, groups, unkeyedGroups).addInput(input);
+        }
+
+        for (final T output : outputs) {
+            getGroup(output, mode, keyedGroups, groups, unkeyedGroups).addOutput(output);
+        }
+
+        return groups;
+    }
+
+    /**
+     * Gets the group that the specified {@link FungibleState} is fungible with, or creates a new group if it is not fungible with any existing group.
+     *
+     * @param state         The {@link FungibleState} for which to get a group.
+     * @param mode          The {@link FungibleSumMode} used to sum the quantities of a new group.
+     * @param keyedGroups   The existing groups of states that specify a fungibility key, keyed by fungibility key.
+     * @param groups        All existing groups, in order of creation.
+     * @param unkeyedGroups The existing groups of states that do not specify a fungibility key.
+     * @return Returns the group that the specified {@link FungibleState} is fungible with.
+     */
+    @NotNull
+    private static FungibleGroup getGroup(
+            @NotNull final FungibleState<?> state,
+            @NotNull final FungibleSumMode mode,
+            @NotNull final Map<Object, FungibleGroup> keyedGroups,
+            @NotNull final List<FungibleGroup> groups,
+            @NotNull final List<FungibleGroup> unkeyedGroups) {
+        final Object key = state.getFungibilityKey();
+
+        if (key != null) {
+            FungibleGroup group = keyedGroups.get(key);
+
+            if (group == null) {
+                group = new FungibleGroup(state, mode);
+                keyedGroups.put(key, group);
+                groups.add(group);
+            }
+
+            return group;
+        }
+
+        for (final FungibleGroup group : unkeyedGroups) {
+            if (group.isFungibleWith(state)) return group;
+        }
+
+        final FungibleGroup group = new FungibleGroup(state, mode);
+        unkeyedGroups.add(group);
+        groups.add(group);
+        return group;
+    }
 }
@@ -31,6 +31,38 @@ public interface Numeric<T extends Number> extends Comparable<Numeric<T>> {
     @NotNull
     BigInteger getUnscaledValue();
 
+    /**
+     * Gets the scale of {@link #getUnscaledValue()}, which is the number of digits to the right of the decimal point.
+     * <p>
+     * The default implementation returns zero, which is correct for integral types.
+     *
+     * @return Returns the scale of {@link #getUnscaledValue()}.
+     */
+    default int getScale() {
+        return 0;
+    }
+
+    /**
+     * Determines whether {@link #getUnscaledValue()} can be represented as a {@code long} without loss of information.
+     *
+     * @return Returns true if {@link #getUnscaledValue()} can be represented as a {@code long}; otherwise, false.
+     */
+    default boolean fitsInLong() {
+        return getUnscaledValue().bitLength() < Long.SIZE;
+    }
+
+    /**
+     * Gets the unscaled equivalent of {@link #getValue()} as a {@code long}.
+     * <p>
+     * This should only be called when {@link #fitsInLong()} returns true.
+     *
+     * @return Returns the unscaled equivalent of {@link #getValue()} as a {@code long}.
+     * @throws ArithmeticException if {@link #getUnscaledValue()} cannot be represented as a {@code long}.
+     */
+    default long getUnscaledLongValue() {
+        return getUnscaledValue().longValueExact();
+    }
+
     /**
      * Computes the sum of specified value, added to the current value.
      *
@@ -14,20 +14,35 @@ import java.util.Objects;
  */
 public final class NumericDecimal implements Numeric<BigDecimal> {
 
+    /**
+     * The largest unscaled value of the shared instances returned by {@link #of(long, int)}.
+     */
+    private static final int MAX_CACHED_UNSCALED_VALUE = 10;
+
+    /**
+     * The largest scale of the shared instances returned by {@link #of(long, int)}.
+     */
+    private static final int MAX_CACHED_SCALE = 18;
+
+    /**
+     * The shared instances returned by {@link #of(long, int)}, indexed by scale and then by unscaled value.
+     */
+    private static final NumericDecimal[][] CACHE = createCache();
+
     /**
      * Gets a {@link NumericDecimal} representing the value zero (0).
      */
-    public static final NumericDecimal ZERO = new NumericDecimal(BigDecimal.ZERO, 0);
+    public static final NumericDecimal ZERO = of(0, 0);
 
     /**
      * Gets a {@link NumericDecimal} representing the value one (1).
      */
-    public static final NumericDecimal ONE = new NumericDecimal(BigDecimal.ONE, 0);
+    public static final NumericDecimal ONE = of(1, 0);
 
     /**
      * Gets a {@link NumericDecimal} representing the value ten (10).
      */
-    public static final NumericDecimal TEN = new NumericDecimal(BigDecimal.TEN, 0);
+    public static final NumericDecimal TEN = of(10, 0);
 
     /**
      * The underlying {@link BigDecimal} value.
@@ -35,6 +50,12 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
     @NotNull
     private final BigDecimal value;
 
+    /**
+     * The unscaled equivalent of the underlying {@link BigDecimal} value, which is computed on first use.
+     */
+    @Nullable
+    private transient BigInteger unscaledValue;
+
     /**
      * Initializes a new instance of the {@link NumericDecimal} class.
      *
@@ -67,6 +88,25 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
         this.value = value;
     }
 
+    /**
+     * Gets a {@link NumericDecimal} representing the specified unscaled value and scale.
+     * <p>
+     * Shared instances are returned for unscaled values from zero to ten, with scales from zero to eighteen;
+     * for example, {@code NumericDecimal.of(0, 2)} always returns the same instance representing 0.00.
+     *
+     * @param unscaledValue The unscaled value of the {@link NumericDecimal}.
+     * @param scale         The scale of the {@link NumericDecimal}.
+     * @return Returns a {@link NumericDecimal} representing the specified unscaled value and scale.
+     */
+    @NotNull
+    public static NumericDecimal of(final long unscaledValue, final int scale) {
+        if (unscaledValue >= 0 && unscaledValue <= MAX_CACHED_UNSCALED_VALUE && scale >= 0 && scale <= MAX_CACHED_SCALE) {
+            return CACHE[scale][(int) unscaledValue];
+        }
+
+        return new NumericDecimal(BigDecimal.valueOf(unscaledValue, scale));
+    }
+
     /**
      * Gets the underlying {@link BigDecimal} value.
      *
@@ -86,7 +126,24 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
     @NotNull
     @Override
     public BigInteger getUnscaledValue() {
-        return getValue().unscaledValue();
+        BigInteger result = unscaledValue;
+
+        if (result == null) {
+            result = getValue().unscaledValue();
+            unscaledValue = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the scale of the underlying {@link BigDecimal} value.
+     *
+     * @return Returns the scale of the underlying {@link BigDecimal} value.
+     */
+    @Override
+    public int getScale() {
+        return getValue().scale();
     }
 
     /**
@@ -94,7 +151,7 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
      *
      * @param scale The scale of the underlying {@link BigDecimal} value.
      *              The default {@link RoundingMode} when setting the scale is {@link RoundingMode#UNNECESSARY}.
-     * @return Returns a new {@link NumericDecimal} with the specified scale.
+     * @return Returns a {@link NumericDecimal} with the specified scale, which is the current instance if its scale is already the specified scale.
      */
     @NotNull
     @SuppressWarnings("unused")
@@ -107,12 +164,15 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
      *
      * @param scale The scale of the underlying {@link BigDecimal} value.
      * @param mode  The {@link RoundingMode} to use when setting the scale of the underlying {@link BigDecimal} value.
-     * @return Returns a new {@link NumericDecimal} with the specified scale.
+     * @return Returns a {@link NumericDecimal} with the specified scale, which is the current instance if its scale is already the specified scale.
      */
     @NotNull
     @SuppressWarnings("unused")
     public NumericDecimal setScale(final int scale, RoundingMode mode) {
-        return new NumericDecimal(getValue(), scale, mode);
+        if (getValue().scale() == scale) return this;
+        if (getValue().signum() == 0) return of(0, scale);
+
+        return new NumericDecimal(getValue().setScale(scale, mode));
     }
 
     /**
@@ -198,4 +258,22 @@ public final class NumericDecimal implements Numeric<BigDecimal> {
     public String toString() {
         return getValue().toString();
     }
+
+    /**
+     * Creates the shared instances returned by {@link #of(long, int)}.
+     *
+     * @return Returns the shared instances returned by {@link #of(long, int)}, indexed by scale and then by unscaled value.
+     */
+    @NotNull
+    private static NumericDecimal[][] createCache() {
+        final NumericDecimal[][] result = new NumericDecimal[MAX_CACHED_SCALE + 1][MAX_CACHED_UNSCALED_VALUE + 1];
+
+        for (int scale = 0; scale <= MAX_CACHED_SCALE; scale++) {
+            for (int unscaledValue = 0; unscaledValue <= MAX_CACHED_UNSCALED_VALUE; unscaledValue++) {
+                result[scale][unscaledValue] = new NumericDecimal(BigDecimal.valueOf(unscaledValue, scale));
+            }
+        }
+
+        return result;
+    }
 }
@@ -0,0 +1,221 @@
+package com.r3.corda.ledger.utxo.fungible;
+
+import net.corda.v5.base.annotations.ConstructorForDeserialization;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Represents a fixed-scale {@link Numeric} backed by a {@code long} unscaled value.
+ * <p>
+ * A {@link NumericLong} is interoperable with {@link NumericDecimal}, since both represent {@link BigDecimal} values.
+ * Unlike {@link NumericDecimal}, arithmetic and comparison between instances with equal scales is performed on primitive values,
+ * and only the unscaled value and the scale are serialized.
+ * Arithmetic that overflows a {@code long} throws an {@link ArithmeticException}, rather than losing information.
+ */
+public final class NumericLong implements Numeric<BigDecimal> {
+
+    /**
+     * Gets a {@link NumericLong} representing the value zero (0).
+     */
+    public static final NumericLong ZERO = new NumericLong(0, 0);
+
+    /**
+     * Gets a {@link NumericLong} representing the value one (1).
+     */
+    public static final NumericLong ONE = new NumericLong(1, 0);
+
+    /**
+     * Gets a {@link NumericLong} representing the value ten (10).
+     */
+    public static final NumericLong TEN = new NumericLong(10, 0);
+
+    /**
+     * The underlying, unscaled {@code long} value.
+     */
+    private final long unscaledLongValue;
+
+    /**
+     * The scale of the underlying value.
+     */
+    private final int scale;
+
+    /**
+     * Initializes a new instance of the {@link NumericLong} class.
+     *
+     * @param unscaledLongValue The underlying, unscaled {@code long} value.
+     * @param scale             The scale of the underlying value.
+     */
+    @ConstructorForDeserialization
+    public NumericLong(final long unscaledLongValue, final int scale) {
+        this.unscaledLongValue = unscaledLongValue;
+        this.scale = scale;
+    }
+
+    /**
+     * Initializes a new instance of the {@link NumericLong} class.
+     *
+     * @param value The underlying {@link BigDecimal} value, whose unscaled value must fit in a {@code long}.
+     * @throws ArithmeticException if the unscaled value of the specified {@link BigDecimal} does not fit in a {@code long}.
+     */
+    public NumericLong(@NotNull final BigDecimal value) {
+        this(value.unscaledValue().longValueExact(), value.scale());
+    }
+
+    /**
+     * Gets the underlying {@link BigDecimal} value.
+     *
+     * @return Returns the underlying {@link BigDecimal} value.
+     */
+    @NotNull
+    @Override
+    public BigDecimal getValue() {
+        return BigDecimal.valueOf(unscaledLongValue, scale);
+    }
+
+    /**
+     * Gets the underlying, unscaled {@link BigInteger} value.
+     *
+     * @return Returns the underlying, unscaled {@link BigInteger} value.
+     */
+    @NotNull
+    @Override
+    public BigInteger getUnscaledValue() {
+        return BigInteger.valueOf(unscaledLongValue);
+    }
+
+    /**
+     * Determines whether the underlying, unscaled value can be represented as a {@code long}, which is always true.
+     *
+     * @return Returns true.
+     */
+    @Override
+    public boolean fitsInLong() {
+        return true;
+    }
+
+    /**
+     * Gets the underlying, unscaled {@code long} value.
+     *
+     * @return Returns the underlying, unscaled {@code long} value.
+     */
+    @Override
+    public long getUnscaledLongValue() {
+        return unscaledLongValue;
+    }
+
+    /**
+     * Gets the scale of the underlying value.
+     *
+     * @return Returns the scale of the underlying value.
+     */
+    @Override
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Computes the sum of specified value, added to the current value.
+     *
+     * @param other The other value to add to the current value.
+     * @return Returns the sum of specified value, added to the current value.
+     * @throws IllegalArgumentException if the specified value has a different scale to the current value.
+     * @throws ArithmeticException      if the sum overflows a {@code long}.
+     */
+    @NotNull
+    @Override
+    public NumericLong plus(@NotNull final Numeric<BigDecimal> other) {
+        if (scale != getScale(other)) {
+            throw new IllegalArgumentException("Cannot add values with different scales.");
+        }
+
+        return new NumericLong(Math.addExact(unscaledLongValue, other.getUnscaledLongValue()), scale);
+    }
+
+    /**
+     * Computes the difference of the specified value, subtracted from the current value.
+     *
+     * @param other The other value to subtract from the current value.
+     * @return Returns the difference of the specified value, subtracted from the current value.
+     * @throws IllegalArgumentException if the specified value has a different scale to the current value.
+     * @throws ArithmeticException      if the difference overflows a {@code long}.
+     */
+    @NotNull
+    @Override
+    public NumericLong minus(@NotNull final Numeric<BigDecimal> other) {
+        if (scale != getScale(other)) {
+            throw new IllegalArgumentException("Cannot subtract values with different scales.");
+        }
+
+        return new NumericLong(Math.subtractExact(unscaledLongValue, other.getUnscaledLongValue()), scale);
+    }
+
+    /**
+     * Compares this object with the specified object for order.
+     *
+     * @param other the object to be compared.
+     * @return Returns a negative, zero, or positive value indicating the relative order of the current instance, compared to the specified value.
+     */
+    @Override
+    public int compareTo(@NotNull final Numeric<BigDecimal> other) {
+        if (other instanceof NumericLong && ((NumericLong) other).scale == scale) {
+            return Long.compare(unscaledLongValue, ((NumericLong) other).unscaledLongValue);
+        }
+
+        return getValue().compareTo(other.getValue());
+    }
+
+    /**
+     * Determines whether the specified object is equal to the current object.
+     *
+     * @param other The object to compare with the current object.
+     * @return Returns true if the specified object is equal to the current object; otherwise, false.
+     */
+    public boolean equals(@NotNull final NumericLong other) {
+        return compareTo(other) == 0;
+    }
+
+    /**
+     * Determines whether the specified object is equal to the current object.
+     *
+     * @param obj The object to compare with the current object.
+     * @return Returns true if the specified object is equal to the current object; otherwise, false.
+     */
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+        return this == obj || obj instanceof NumericLong && equals((NumericLong) obj);
+    }
+
+    /**
+     * Serves as the default hash function.
+     * Values that are numerically equal, but have different scales, have the same hash code.
+     *
+     * @return Returns a hash code for the current object.
+     */
+    @Override
+    public int hashCode() {
+        return getValue().stripTrailingZeros().hashCode();
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return getValue().toString();
+    }
+
+    /**
+     * Gets the scale of the specified value, without creating a {@link BigDecimal} if the specified value is a {@link NumericLong}.
+     *
+     * @param value The value for which to get the scale.
+     * @return Returns the scale of the specified value.
+     */
+    private static int getScale(@NotNull final Numeric<BigDecimal> value) {
+        return value instanceof NumericLong ? ((NumericLong) value).scale : value.getValue().scale();
+    }
+}
@@ -0,0 +1,18 @@
+package com.r3.corda.ledger.utxo.fungible.query;
+
+public class FungibleStateQueries {
+
+    /**
+     * Gets unconsumed states of the specified type, owned by the specified owner, whose quantity has the specified scale, and whose unscaled
+     * quantity is greater than or equal to the specified minimum, so that states too small to be useful are discarded by the database rather than by the flow.
+     * Unscaled quantities are only comparable at the same scale, so states of any other scale are excluded.
+     * <p>
+     * Parameters: {@code owner} (the SHA-256 hash of the owner's public key), {@code stateType}, {@code scale}
+     * and {@code minimumQuantity} (an unscaled quantity at the specified scale).
+     * Vault named queries cannot specify an order; results are returned in vault order, and callers that require quantity order should sort each page.
+     * Requires the {@code OwnableStateVaultJsonFactory} and {@code FungibleStateVaultJsonFactory} to be registered.
+     */
+    public static final String GET_BY_OWNER_WITH_MINIMUM_QUANTITY = "FUNGIBLE_STATE_GET_BY_OWNER_WITH_MINIMUM_QUANTITY";
+
+    private FungibleStateQueries() {}
+}
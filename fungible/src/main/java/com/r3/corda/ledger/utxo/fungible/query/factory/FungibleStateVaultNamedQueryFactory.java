@@ -0,0 +1,23 @@
+package com.r3.corda.ledger.utxo.fungible.query.factory;
+
+import com.r3.corda.ledger.utxo.fungible.query.FungibleStateQueries;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryFactory;
+import net.corda.v5.ledger.utxo.query.registration.VaultNamedQueryBuilderFactory;
+import org.jetbrains.annotations.NotNull;
+
+public class FungibleStateVaultNamedQueryFactory implements VaultNamedQueryFactory {
+
+    @Override
+    public void create(@NotNull VaultNamedQueryBuilderFactory vaultNamedQueryBuilderFactory) {
+        vaultNamedQueryBuilderFactory
+                .create(FungibleStateQueries.GET_BY_OWNER_WITH_MINIMUM_QUANTITY)
+                .whereJson(
+                        "WHERE visible_states.custom_representation -> 'com.r3.corda.ledger.utxo.ownable.OwnableState' ->> 'owner' = :owner " +
+                                "AND (visible_states.custom_representation -> 'com.r3.corda.ledger.utxo.fungible.FungibleState' ->> 'quantity')::numeric >= :minimumQuantity " +
+                                "AND (visible_states.custom_representation -> 'com.r3.corda.ledger.utxo.fungible.FungibleState' ->> 'scale')::numeric = :scale " +
+                                "AND visible_States.custom_representation ? :stateType " +
+                                "AND visible_states.consumed IS NULL"
+                )
+                .register();
+    }
+}
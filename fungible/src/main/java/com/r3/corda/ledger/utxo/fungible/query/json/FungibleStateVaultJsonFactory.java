@@ -1,9 +1,13 @@
 package com.r3.corda.ledger.utxo.fungible.query.json;
 
 import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.Numeric;
 import net.corda.v5.application.marshalling.JsonMarshallingService;
 import net.corda.v5.ledger.utxo.query.json.ContractStateVaultJsonFactory;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
 
 public class FungibleStateVaultJsonFactory implements ContractStateVaultJsonFactory<FungibleState<?>> {
 
@@ -17,6 +21,44 @@ public class FungibleStateVaultJsonFactory implements ContractStateVaultJsonFact
     @NotNull
     @Override
     public String create(@NotNull FungibleState<?> state, @NotNull JsonMarshallingService jsonMarshallingService) {
-        return "{}";
+        final Numeric<?> quantity = state.getQuantity();
+        final Object fungibilityKey = state.getFungibilityKey();
+
+        return jsonMarshallingService.format(new FungibleStateJson(
+                quantity.getUnscaledValue(),
+                quantity.getScale(),
+                fungibilityKey == null ? null : fungibilityKey.toString()
+        ));
+    }
+
+    static class FungibleStateJson {
+
+        @NotNull
+        private final BigInteger quantity;
+
+        private final int scale;
+
+        @Nullable
+        private final String fungibilityKey;
+
+        public FungibleStateJson(@NotNull BigInteger quantity, int scale, @Nullable String fungibilityKey) {
+            this.quantity = quantity;
+            this.scale = scale;
+            this.fungibilityKey = fungibilityKey;
+        }
+
+        @NotNull
+        public BigInteger getQuantity() {
+            return quantity;
+        }
+
+        public int getScale() {
+            return scale;
+        }
+
+        @Nullable
+        public String getFungibilityKey() {
+            return fungibilityKey;
+        }
     }
 }
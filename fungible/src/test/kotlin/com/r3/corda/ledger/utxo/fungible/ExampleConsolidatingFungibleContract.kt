@@ -0,0 +1,14 @@
+package com.r3.corda.ledger.utxo.fungible
+
+class ExampleConsolidatingFungibleContract : FungibleContract() {
+
+    override fun getPermittedCommandTypes(): List<Class<out FungibleContractCommand<*>>> {
+        return listOf(Consolidate::class.java)
+    }
+
+    class Consolidate : FungibleContractConsolidateCommand<ExampleConsolidatingFungibleState>() {
+        override fun getContractStateType(): Class<ExampleConsolidatingFungibleState> {
+            return ExampleConsolidatingFungibleState::class.java
+        }
+    }
+}
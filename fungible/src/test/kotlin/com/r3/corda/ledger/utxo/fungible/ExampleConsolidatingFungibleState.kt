@@ -0,0 +1,25 @@
+package com.r3.corda.ledger.utxo.fungible
+
+import net.corda.v5.ledger.utxo.BelongsToContract
+import java.security.PublicKey
+
+@BelongsToContract(ExampleConsolidatingFungibleContract::class)
+data class ExampleConsolidatingFungibleState(
+    val alice: PublicKey,
+    val bob: PublicKey,
+    val denomination: String,
+    private val quantity: NumericDecimal
+) : FungibleState<NumericDecimal> {
+
+    override fun getParticipants(): List<PublicKey> {
+        return listOf(alice, bob)
+    }
+
+    override fun getQuantity(): NumericDecimal {
+        return quantity
+    }
+
+    override fun isFungibleWith(other: FungibleState<NumericDecimal>): Boolean {
+        return other is ExampleConsolidatingFungibleState && denomination == other.denomination
+    }
+}
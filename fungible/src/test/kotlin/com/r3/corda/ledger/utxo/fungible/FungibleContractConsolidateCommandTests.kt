@@ -0,0 +1,71 @@
+package com.r3.corda.ledger.utxo.fungible
+
+import com.r3.corda.ledger.utxo.testing.ContractTest
+import com.r3.corda.ledger.utxo.testing.buildTransaction
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+
+class FungibleContractConsolidateCommandTests : ContractTest() {
+
+    private val stateA = ExampleConsolidatingFungibleState(aliceKey, bobKey, "A", NumericDecimal.TEN)
+    private val stateB = ExampleConsolidatingFungibleState(aliceKey, bobKey, "B", NumericDecimal.TEN)
+
+    @Test
+    fun `On fungible state(s) consolidating, the transaction should verify successfully`() {
+
+        // Arrange
+        val transaction1 = buildTransaction {
+            addOutputState(stateA)
+            addOutputState(stateA)
+            addOutputState(stateB)
+            addOutputState(stateB)
+        }
+        val transaction2 = buildTransaction {
+            addInputStates(transaction1.outputStateAndRefs.map { it.ref })
+            addOutputState(stateA.copy(quantity = NumericDecimal(BigDecimal.valueOf(20))))
+            addOutputState(stateB.copy(quantity = NumericDecimal(BigDecimal.valueOf(20))))
+            addCommand(ExampleConsolidatingFungibleContract.Consolidate())
+        }
+
+        // Assert
+        assertVerifies(transaction2)
+    }
+
+    @Test
+    fun `On fungible state(s) consolidating, fewer states must be created than are consumed for every group of states that are fungible with each other`() {
+
+        // Arrange
+        val transaction1 = buildTransaction {
+            addOutputState(stateA)
+            addOutputState(stateA)
+            addOutputState(stateB)
+        }
+        val transaction2 = buildTransaction {
+            addInputStates(transaction1.outputStateAndRefs.map { it.ref })
+            addOutputState(stateA.copy(quantity = NumericDecimal(BigDecimal.valueOf(20))))
+            addOutputState(stateB)
+            addCommand(ExampleConsolidatingFungibleContract.Consolidate())
+        }
+
+        // Assert
+        assertFailsWith(transaction2, FungibleConstraints.CONTRACT_RULE_CONSOLIDATE_GROUP_COUNT)
+    }
+
+    @Test
+    fun `On fungible state(s) consolidating, the sum of the consumed states that are fungible with each other must be equal to the sum of the created states that are fungible with each other`() {
+
+        // Arrange
+        val transaction1 = buildTransaction {
+            addOutputState(stateA)
+            addOutputState(stateA)
+        }
+        val transaction2 = buildTransaction {
+            addInputStates(transaction1.outputStateAndRefs.map { it.ref })
+            addOutputState(stateB.copy(quantity = NumericDecimal(BigDecimal.valueOf(20))))
+            addCommand(ExampleConsolidatingFungibleContract.Consolidate())
+        }
+
+        // Assert
+        assertFailsWith(transaction2, FungibleConstraints.CONTRACT_RULE_UPDATE_GROUP_SUM)
+    }
+}
@@ -0,0 +1,105 @@
+package com.r3.corda.ledger.utxo.fungible
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.math.BigInteger
+
+class FungibleSumTests {
+
+    @Test
+    fun `FungibleSum should sum quantities that fit in a long`() {
+
+        // Arrange
+        val sum = FungibleSum()
+
+        // Act
+        sum.add(NumericInteger.TEN).add(NumericDecimal(BigDecimal("1.25"))).add(NumericInteger(BigInteger.valueOf(-5)))
+
+        // Assert
+        assertEquals(BigInteger.valueOf(130), sum.toBigInteger())
+    }
+
+    @Test
+    fun `FungibleSum should promote to BigInteger when the sum overflows a long`() {
+
+        // Arrange
+        val sum = FungibleSum()
+        val max = NumericInteger(BigInteger.valueOf(Long.MAX_VALUE))
+
+        // Act
+        sum.add(max).add(max).add(NumericInteger.ONE)
+
+        // Assert
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1).add(BigInteger.ONE), sum.toBigInteger())
+    }
+
+    @Test
+    fun `FungibleSum should sum quantities that do not fit in a long`() {
+
+        // Arrange
+        val sum = FungibleSum()
+        val large = NumericInteger(BigInteger.TWO.pow(100))
+
+        // Act
+        sum.add(NumericInteger.ONE).add(large).add(NumericInteger.ONE)
+
+        // Assert
+        assertEquals(BigInteger.TWO.pow(100).add(BigInteger.TWO), sum.toBigInteger())
+    }
+
+    @Test
+    fun `FungibleSum should compare and equate sums regardless of representation`() {
+
+        // Arrange
+        val max = NumericInteger(BigInteger.valueOf(Long.MAX_VALUE))
+        val promoted = FungibleSum().add(max).add(max).add(NumericInteger(BigInteger.valueOf(-Long.MAX_VALUE)))
+        val unpromoted = FungibleSum().add(max)
+
+        // Assert
+        assertEquals(promoted, unpromoted)
+        assertEquals(promoted.hashCode(), unpromoted.hashCode())
+        assertTrue(FungibleSum().add(NumericInteger.TEN) > unpromoted.add(NumericInteger(BigInteger.valueOf(-Long.MAX_VALUE))))
+    }
+
+    @Test
+    fun `FungibleSum should normalize quantities with different scales to the greatest scale`() {
+
+        // Arrange
+        val sum = FungibleSum()
+
+        // Act
+        sum.addNormalized(NumericDecimal(BigDecimal("1.5"))).addNormalized(NumericInteger.TEN).addNormalized(NumericDecimal(BigDecimal("0.25")))
+
+        // Assert
+        assertEquals(BigInteger.valueOf(1175), sum.toBigInteger())
+        assertEquals("11.75", sum.toString())
+    }
+
+    @Test
+    fun `FungibleSum should promote to BigInteger when normalizing overflows a long`() {
+
+        // Arrange
+        val sum = FungibleSum().addNormalized(NumericInteger(BigInteger.valueOf(Long.MAX_VALUE)))
+
+        // Act
+        sum.addNormalized(NumericDecimal(BigDecimal("0.1")))
+
+        // Assert
+        assertEquals(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.TEN).add(BigInteger.ONE), sum.toBigInteger())
+    }
+
+    @Test
+    fun `FungibleSum should compare and equate normalized sums with different scales by value`() {
+
+        // Arrange
+        val tenths = FungibleSum().addNormalized(NumericDecimal(BigDecimal("3.7")))
+        val thousandths = FungibleSum().addNormalized(NumericDecimal(BigDecimal("1.250"))).addNormalized(NumericDecimal(BigDecimal("2.450")))
+
+        // Assert
+        assertEquals(tenths, thousandths)
+        assertEquals(tenths.hashCode(), thousandths.hashCode())
+        assertTrue(FungibleSum().addNormalized(NumericInteger.TEN) > thousandths)
+    }
+}
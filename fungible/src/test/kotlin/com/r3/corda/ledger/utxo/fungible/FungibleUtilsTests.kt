@@ -0,0 +1,82 @@
+package com.r3.corda.ledger.utxo.fungible
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.security.PublicKey
+
+class FungibleUtilsTests {
+
+    private data class KeyedState(private val quantity: NumericInteger, private val key: String) : FungibleState<NumericInteger> {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+        override fun getQuantity(): NumericInteger = quantity
+        override fun isFungibleWith(other: FungibleState<NumericInteger>): Boolean = other.fungibilityKey == key
+        override fun getFungibilityKey(): Any = key
+    }
+
+    private data class UnkeyedState(private val quantity: NumericInteger, private val group: Int) : FungibleState<NumericInteger> {
+        override fun getParticipants(): List<PublicKey> = emptyList()
+        override fun getQuantity(): NumericInteger = quantity
+        override fun isFungibleWith(other: FungibleState<NumericInteger>): Boolean = other is UnkeyedState && other.group == group
+    }
+
+    private data class DecimalState(private val quantity: NumericDecimal, private val key: String) : FungibleState<NumericDecimal> {
+        constructor(quantity: BigDecimal, key: String) : this(NumericDecimal(quantity), key)
+        override fun getParticipants(): List<PublicKey> = emptyList()
+        override fun getQuantity(): NumericDecimal = quantity
+        override fun isFungibleWith(other: FungibleState<NumericDecimal>): Boolean = other.fungibilityKey == key
+        override fun getFungibilityKey(): Any = key
+    }
+
+    private fun quantity(value: Long) = NumericInteger(BigInteger.valueOf(value))
+
+    @Test
+    fun `group should sum states with equal fungibility keys once per group`() {
+
+        // Arrange
+        val inputs = listOf(KeyedState(quantity(1), "A"), KeyedState(quantity(2), "B"), KeyedState(quantity(3), "A"))
+        val outputs = listOf(KeyedState(quantity(4), "A"), KeyedState(quantity(5), "C"))
+
+        // Act
+        val groups = FungibleUtils.group(inputs, outputs).toList()
+
+        // Assert
+        assertEquals(3, groups.size)
+        assertEquals(listOf(4L, 2L, 0L), groups.map { it.inputSum.toBigInteger().toLong() })
+        assertEquals(listOf(4L, 0L, 5L), groups.map { it.outputSum.toBigInteger().toLong() })
+        assertEquals(listOf(true, true, false), groups.map { it.hasInputs() })
+    }
+
+    @Test
+    fun `group should partition states without fungibility keys using isFungibleWith`() {
+
+        // Arrange
+        val inputs = listOf(UnkeyedState(quantity(1), 1), UnkeyedState(quantity(2), 2), UnkeyedState(quantity(3), 1))
+        val outputs = listOf(UnkeyedState(quantity(6), 2), KeyedState(quantity(7), "A"))
+
+        // Act
+        val groups = FungibleUtils.group<FungibleState<NumericInteger>>(inputs, outputs).toList()
+
+        // Assert
+        assertEquals(3, groups.size)
+        assertEquals(listOf(4L, 2L, 0L), groups.map { it.inputSum.toBigInteger().toLong() })
+        assertEquals(listOf(0L, 6L, 7L), groups.map { it.outputSum.toBigInteger().toLong() })
+    }
+
+    @Test
+    fun `group should normalize the scales of each group when using the GROUPED mode`() {
+
+        // Arrange
+        val inputs = listOf(DecimalState(BigDecimal("1.5"), "GBP"), DecimalState(BigDecimal("2"), "USD"))
+        val outputs = listOf(DecimalState(BigDecimal("1.50"), "GBP"), DecimalState(BigDecimal("2.000"), "USD"))
+
+        // Act
+        val groups = FungibleUtils.group(inputs, outputs, FungibleSumMode.GROUPED).toList()
+
+        // Assert
+        assertEquals(2, groups.size)
+        assertEquals(groups.map { it.inputSum }, groups.map { it.outputSum })
+        assertEquals(listOf("1.50", "2.000"), groups.map { it.outputSum.toString() })
+    }
+}
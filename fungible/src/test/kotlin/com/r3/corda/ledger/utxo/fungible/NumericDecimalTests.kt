@@ -5,6 +5,8 @@ import org.junit.jupiter.api.assertThrows
 import java.math.BigInteger
 import kotlin.test.assertEquals
 import kotlin.test.assertFalse
+import kotlin.test.assertNotSame
+import kotlin.test.assertSame
 import kotlin.test.assertTrue
 
 class NumericDecimalTests {
@@ -227,4 +229,42 @@ class NumericDecimalTests {
         // Assert
         assertFalse(actual)
     }
+
+    @Test
+    fun `NumericDecimal_of should return shared instances for small values`() {
+
+        // Arrange / Act
+        val left = NumericDecimal.of(0, 2)
+        val right = NumericDecimal.of(0, 2)
+
+        // Assert
+        assertSame(left, right)
+        assertSame(NumericDecimal.ZERO, NumericDecimal.of(0, 0))
+        assertEquals("0.00", left.toString())
+    }
+
+    @Test
+    fun `NumericDecimal_of should return new instances for values that are not cached`() {
+
+        // Arrange / Act
+        val left = NumericDecimal.of(12345, 2)
+        val right = NumericDecimal.of(12345, 2)
+
+        // Assert
+        assertNotSame(left, right)
+        assertEquals(left, right)
+        assertEquals("123.45", left.toString())
+    }
+
+    @Test
+    fun `NumericDecimal_setScale should return the current instance when the scale is unchanged`() {
+
+        // Arrange
+        val value = NumericDecimal(123.45.toBigDecimal(), 2)
+
+        // Act / Assert
+        assertSame(value, value.setScale(2))
+        assertSame(NumericDecimal.of(0, 2), NumericDecimal.ZERO.setScale(2))
+        assertEquals("123.4500", value.setScale(4).toString())
+    }
 }
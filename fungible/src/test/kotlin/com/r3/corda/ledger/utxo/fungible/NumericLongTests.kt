@@ -0,0 +1,147 @@
+package com.r3.corda.ledger.utxo.fungible
+
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.math.BigInteger
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+class NumericLongTests {
+
+    @Test
+    fun `NumericLong initialization with a BigDecimal should create the expected value`() {
+
+        // Arrange / Act
+        val value = NumericLong(123.450.toBigDecimal().setScale(3))
+
+        // Assert
+        assertEquals("123.450", value.toString())
+        assertEquals(123450, value.unscaledLongValue)
+        assertEquals(3, value.scale)
+    }
+
+    @Test
+    fun `NumericLong initialization with a BigDecimal that does not fit in a long should throw an exception`() {
+
+        // Arrange
+        val value = BigInteger.TWO.pow(64).toBigDecimal()
+
+        // Act / Assert
+        assertThrows<ArithmeticException> { NumericLong(value) }
+    }
+
+    @Test
+    fun `NumericLong_getValue and getUnscaledValue should return the expected results`() {
+
+        // Arrange
+        val value = NumericLong(12345, 2)
+
+        // Act / Assert
+        assertEquals(123.45.toBigDecimal(), value.value)
+        assertEquals(BigInteger.valueOf(12345), value.unscaledValue)
+    }
+
+    @Test
+    fun `NumericLong_plus should return the expected result`() {
+
+        // Arrange
+        val left = NumericLong(12345, 2)
+        val right = NumericLong(67899, 2)
+        val expected = NumericLong(80244, 2)
+
+        // Act
+        val actual = left.plus(right)
+
+        // Assert
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    fun `NumericLong_plus should accept a NumericDecimal with the same scale`() {
+
+        // Arrange
+        val left = NumericLong(12345, 2)
+        val right = NumericDecimal(678.99.toBigDecimal(), 2)
+        val expected = NumericLong(80244, 2)
+
+        // Act
+        val actual = left.plus(right)
+
+        // Assert
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    fun `NumericLong_plus should throw an exception when the scales are different`() {
+
+        // Arrange
+        val left = NumericLong(12345, 2)
+        val right = NumericLong(12345, 3)
+
+        // Act
+        val exception = assertThrows<IllegalArgumentException> { left.plus(right) }
+
+        // Assert
+        assertEquals("Cannot add values with different scales.", exception.message)
+    }
+
+    @Test
+    fun `NumericLong_plus should throw an exception when the sum overflows`() {
+
+        // Arrange
+        val left = NumericLong(Long.MAX_VALUE, 0)
+
+        // Act / Assert
+        assertThrows<ArithmeticException> { left.plus(NumericLong.ONE) }
+    }
+
+    @Test
+    fun `NumericLong_minus should return the expected result`() {
+
+        // Arrange
+        val left = NumericLong(67899, 2)
+        val right = NumericLong(12345, 2)
+        val expected = NumericLong(55554, 2)
+
+        // Act
+        val actual = left.minus(right)
+
+        // Assert
+        assertEquals(expected, actual)
+    }
+
+    @Test
+    fun `NumericLong_minus should throw an exception when the difference overflows`() {
+
+        // Arrange
+        val left = NumericLong(Long.MIN_VALUE, 0)
+
+        // Act / Assert
+        assertThrows<ArithmeticException> { left.minus(NumericLong.ONE) }
+    }
+
+    @Test
+    fun `NumericLong_compareTo should compare values regardless of scale`() {
+
+        // Arrange
+        val value = NumericLong(100, 2)
+
+        // Act / Assert
+        assertEquals(0, value.compareTo(NumericLong(1000, 3)))
+        assertEquals(0, value.compareTo(NumericDecimal.ONE))
+        assertTrue(value < NumericLong(101, 2))
+        assertTrue(value > NumericLong(-100, 2))
+    }
+
+    @Test
+    fun `NumericLong_equals should return true for values that are numerically equal`() {
+
+        // Arrange
+        val left = NumericLong(100, 2)
+        val right = NumericLong(1, 0)
+
+        // Act / Assert
+        assertEquals(left, right)
+        assertEquals(left.hashCode(), right.hashCode())
+    }
+}
@@ -0,0 +1,108 @@
+package com.r3.corda.ledger.utxo.fungible.query.factory
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState
+import com.r3.corda.ledger.utxo.fungible.NumericDecimal
+import com.r3.corda.ledger.utxo.fungible.query.FungibleStateQueries
+import com.r3.corda.ledger.utxo.fungible.query.json.FungibleStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.ownable.OwnableState
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.simulator.SimulatedLedger
+import net.corda.v5.application.marshalling.JsonMarshallingService
+import net.corda.v5.ledger.utxo.BelongsToContract
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.query.json.ContractStateVaultJsonFactory
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.math.BigDecimal
+import java.security.KeyPairGenerator
+import java.security.MessageDigest
+import java.security.PublicKey
+import java.time.Instant
+
+class FungibleStateVaultNamedQueryFactoryTests {
+
+    class QueryTokenContract : Contract {
+        override fun verify(transaction: UtxoLedgerTransaction) = Unit
+    }
+
+    @BelongsToContract(QueryTokenContract::class)
+    data class QueryToken(
+        private val owner: PublicKey,
+        private val quantity: NumericDecimal
+    ) : FungibleState<NumericDecimal>, OwnableState {
+        override fun getOwner(): PublicKey = owner
+        override fun getQuantity(): NumericDecimal = quantity
+        override fun getParticipants(): List<PublicKey> = listOf(owner)
+        override fun isFungibleWith(other: FungibleState<NumericDecimal>): Boolean = other is QueryToken
+    }
+
+    class QueryTokenVaultJsonFactory : ContractStateVaultJsonFactory<QueryToken> {
+        override fun getStateType(): Class<QueryToken> = QueryToken::class.java
+        override fun create(state: QueryToken, jsonMarshallingService: JsonMarshallingService): String = "{}"
+    }
+
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val bobKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(FungibleStateVaultJsonFactory())
+        .register(QueryTokenVaultJsonFactory())
+        .register(FungibleStateVaultNamedQueryFactory())
+
+    private fun issue(vararg tokens: QueryToken) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(tokens.toList())
+            .addSignatories(aliceKey)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun token(owner: PublicKey, quantity: String) = QueryToken(owner, NumericDecimal(BigDecimal(quantity)))
+
+    private fun hash(key: PublicKey): String {
+        return "SHA-256:" + MessageDigest.getInstance("SHA-256").digest(key.encoded).joinToString("") { "%02X".format(it) }
+    }
+
+    @Suppress("UNCHECKED_CAST")
+    private fun query(owner: PublicKey, scale: Int, minimumQuantity: Long): List<String> {
+        return ledger.ledgerService.query(FungibleStateQueries.GET_BY_OWNER_WITH_MINIMUM_QUANTITY, StateAndRef::class.java)
+            .setCreatedTimestampLimit(Instant.now())
+            .setParameter("owner", hash(owner))
+            .setParameter("stateType", QueryToken::class.java.name)
+            .setParameter("scale", scale)
+            .setParameter("minimumQuantity", minimumQuantity)
+            .execute()
+            .results
+            .map { (it as StateAndRef<QueryToken>).state.contractState.quantity.value.toPlainString() }
+    }
+
+    @Test
+    fun `GET_BY_OWNER_WITH_MINIMUM_QUANTITY should get the states of the owner with the specified scale and at least the minimum unscaled quantity`() {
+
+        // Arrange
+        issue(token(aliceKey, "1.00"), token(aliceKey, "5.00"), token(aliceKey, "7.50"), token(bobKey, "9.00"))
+
+        // Act
+        val actual = query(aliceKey, 2, 500)
+
+        // Assert
+        assertEquals(setOf("5.00", "7.50"), actual.toSet())
+    }
+
+    @Test
+    fun `GET_BY_OWNER_WITH_MINIMUM_QUANTITY should not compare unscaled quantities of states with a different scale`() {
+
+        // Arrange
+        issue(token(aliceKey, "6"), token(aliceKey, "6.0"), token(aliceKey, "6.00"))
+
+        // Act
+        val actual = query(aliceKey, 2, 5)
+
+        // Assert
+        assertEquals(listOf("6.00"), actual)
+    }
+}
@@ -0,0 +1,82 @@
+package com.r3.corda.ledger.utxo.fungible.query.json
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState
+import com.r3.corda.ledger.utxo.fungible.NumericDecimal
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import com.r3.corda.ledger.utxo.fungible.NumericLong
+import net.corda.v5.application.marshalling.JsonMarshallingService
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.verify
+import java.math.BigDecimal
+import java.math.BigInteger
+
+class FungibleStateVaultJsonFactoryTests {
+
+    private val factory = FungibleStateVaultJsonFactory()
+
+    @Test
+    fun `FungibleStateVaultJsonFactory should emit the unscaled quantity, scale and fungibility key of a decimal quantity`() {
+
+        // Arrange
+        val state = mock<FungibleState<NumericDecimal>> {
+            on { quantity } doReturn NumericDecimal(BigDecimal("123.45"))
+            on { fungibilityKey } doReturn "GBP"
+        }
+
+        // Act
+        val json = create(state)
+
+        // Assert
+        assertEquals(BigInteger.valueOf(12345), json.quantity)
+        assertEquals(2, json.scale)
+        assertEquals("GBP", json.fungibilityKey)
+    }
+
+    @Test
+    fun `FungibleStateVaultJsonFactory should emit a zero scale and no fungibility key for an unkeyed integer quantity`() {
+
+        // Arrange
+        val state = mock<FungibleState<NumericInteger>> {
+            on { quantity } doReturn NumericInteger.TEN
+        }
+
+        // Act
+        val json = create(state)
+
+        // Assert
+        assertEquals(BigInteger.TEN, json.quantity)
+        assertEquals(0, json.scale)
+        assertNull(json.fungibilityKey)
+    }
+
+    @Test
+    fun `FungibleStateVaultJsonFactory should emit the unscaled quantity and scale of a long quantity`() {
+
+        // Arrange
+        val state = mock<FungibleState<NumericLong>> {
+            on { quantity } doReturn NumericLong(12345, 3)
+        }
+
+        // Act
+        val json = create(state)
+
+        // Assert
+        assertEquals(BigInteger.valueOf(12345), json.quantity)
+        assertEquals(3, json.scale)
+    }
+
+    private fun create(state: FungibleState<*>): FungibleStateVaultJsonFactory.FungibleStateJson {
+        val jsonMarshallingService = mock<JsonMarshallingService>()
+        val captor = argumentCaptor<Any>()
+
+        factory.create(state, jsonMarshallingService)
+        verify(jsonMarshallingService).format(captor.capture())
+
+        return captor.firstValue as FungibleStateVaultJsonFactory.FungibleStateJson
+    }
+}
@@ -1,6 +1,8 @@
 package com.r3.corda.ledger.utxo.identifiable;
 
 import com.r3.corda.ledger.utxo.base.Check;
+import com.r3.corda.ledger.utxo.base.ConstraintScope;
+import com.r3.corda.ledger.utxo.base.TransactionIndex;
 import net.corda.v5.ledger.utxo.StateAndRef;
 import net.corda.v5.ledger.utxo.StateRef;
 import net.corda.v5.ledger.utxo.TransactionState;
@@ -58,9 +60,14 @@ public final class IdentifiableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends IdentifiableState> void verifyCreate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> outputs = index.getOutputStates(type);
 
-        Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
+        final ConstraintScope scope = ConstraintScope.enter(-1, outputs.size());
+
+        try (scope) {
+            Check.isNotEmpty(outputs, CONTRACT_RULE_CREATE_OUTPUTS);
+        }
     }
 
     /**
@@ -97,19 +104,24 @@ public final class IdentifiableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends IdentifiableState> void verifyUpdate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<StateAndRef<T>> inputs = transaction.getInputStateAndRefs(type);
-        final List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<StateAndRef<T>> inputs = index.getInputStateAndRefs(type);
+        final List<T> outputs = index.getOutputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), outputs.size());
 
-        Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
-        Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_UPDATE_INPUTS);
+            Check.isNotEmpty(outputs, CONTRACT_RULE_UPDATE_OUTPUTS);
 
-        final List<StateRef> inputIds = getInputIdentifiers(inputs);
-        final List<StateRef> outputIds = getNonNullOutputIdentifiers(outputs);
+            final List<StateRef> inputIds = getInputIdentifiers(inputs);
+            final List<StateRef> outputIds = getNonNullOutputIdentifiers(outputs);
 
-        Check.isDistinct(outputIds, CONTRACT_RULE_UPDATE_OUTPUT_IDENTIFIER_EXCLUSIVITY);
-        Check.isDistinct(inputIds, CONTRACT_RULE_UPDATE_INPUT_IDENTIFIER_EXCLUSIVITY);
+            Check.isDistinct(outputIds, CONTRACT_RULE_UPDATE_OUTPUT_IDENTIFIER_EXCLUSIVITY);
+            Check.isDistinct(inputIds, CONTRACT_RULE_UPDATE_INPUT_IDENTIFIER_EXCLUSIVITY);
 
-        Check.all(outputIds, inputIds::contains, CONTRACT_RULE_UPDATE_IDENTIFIERS);
+            Check.all(outputIds, inputIds, (it, ids) -> ids.contains(it), CONTRACT_RULE_UPDATE_IDENTIFIERS);
+        }
     }
 
     /**
@@ -144,9 +156,14 @@ public final class IdentifiableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends IdentifiableState> void verifyDelete(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        final List<T> inputs = transaction.getInputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), -1);
 
-        Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
+        try (scope) {
+            Check.isNotEmpty(inputs, CONTRACT_RULE_DELETE_INPUTS);
+        }
     }
 
     /**
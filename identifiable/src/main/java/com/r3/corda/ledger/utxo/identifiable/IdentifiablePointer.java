@@ -16,8 +16,12 @@ import org.jetbrains.annotations.Nullable;
 import java.text.MessageFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Represents an identifiable pointer, which points to a specific {@link StateRef},
@@ -89,30 +93,66 @@ public final class IdentifiablePointer<T extends IdentifiableState> implements S
      *
      * @param service The {@link UtxoLedgerService} that will be used to resolve {@link StateAndRef} instances of type {@link T} from the vault.
      * @return Returns a {@link List} of {@link StateAndRef} of type {@link T} resolved by this pointer.
+     * @throws IllegalStateException if more than one unconsumed state is resolved by this pointer.
      */
     @Override
     @Suspendable
     public @NotNull List<StateAndRef<T>> resolve(@NotNull UtxoLedgerService service) {
+        return resolveBatch(List.of(this), service).get(this);
+    }
 
-        @SuppressWarnings("UNCHECKED_CAST")
-        PagedQuery<StateAndRef<T>> query = (PagedQuery<StateAndRef<T>>) (PagedQuery<?>) service
-                .query(IdentifiableStateQueries.GET_BY_IDS, StateAndRef.class)
-                .setCreatedTimestampLimit(Instant.now())
-                .setLimit(50)
-                .setParameter("ids", List.of(value.toString()));
+    /**
+     * Resolves the specified {@link IdentifiablePointer} instances to the {@link List} of {@link StateAndRef} of type {@link T} resolved by each pointer,
+     * using a single {@link IdentifiableStateQueries#GET_BY_IDS} query for every specified pointer.
+     *
+     * @param pointers The pointers to resolve, which must be instances of {@link IdentifiablePointer}.
+     * @param service  The {@link UtxoLedgerService} that will be used to resolve {@link StateAndRef} instances of type {@link T} from the vault.
+     * @return Returns the {@link List} of {@link StateAndRef} of type {@link T} resolved by each of the specified pointers, keyed by pointer.
+     * @throws IllegalArgumentException if any of the specified pointers is not an instance of {@link IdentifiablePointer}.
+     * @throws IllegalStateException    if more than one unconsumed state is resolved by any of the specified pointers.
+     */
+    @NotNull
+    @Override
+    @Suspendable
+    @SuppressWarnings("unchecked")
+    public Map<StatePointer<T>, List<StateAndRef<T>>> resolveBatch(
+            @NotNull final List<? extends StatePointer<T>> pointers,
+            @NotNull final UtxoLedgerService service) {
+        final Map<StatePointer<T>, List<StateAndRef<T>>> result = new LinkedHashMap<>();
+        final Map<String, List<IdentifiablePointer<T>>> pointersByValue = new LinkedHashMap<>();
+
+        for (final StatePointer<T> pointer : pointers) {
+            if (!(pointer instanceof IdentifiablePointer<?>)) {
+                throw new IllegalArgumentException(MessageFormat.format("Cannot resolve {0} as a batch of IdentifiablePointer instances.", pointer));
+            }
+
+            final IdentifiablePointer<T> identifiablePointer = (IdentifiablePointer<T>) pointer;
+            pointersByValue.computeIfAbsent(identifiablePointer.getValue().toString(), key -> new ArrayList<>()).add(identifiablePointer);
+            result.put(pointer, new ArrayList<>());
+        }
 
-        PagedQuery.ResultSet<StateAndRef<T>> resultSet = query.execute();
+        if (result.isEmpty()) return result;
 
-        List<StateAndRef<T>> resolved = new ArrayList<>(resultSet.getResults());
-        while (resultSet.hasNext()) {
-            resolved.addAll(resultSet.next());
+        for (final StateAndRef<T> stateAndRef : IdentifiablePointer.<T>queryByIds(pointersByValue.keySet(), service)) {
+            // The query matches either the state's ID, or its state reference, so a state may be pointed to by pointers with either value.
+            final Set<IdentifiablePointer<T>> candidates = new LinkedHashSet<>();
+            final StateRef id = stateAndRef.getState().getContractState().getId();
+
+            candidates.addAll(pointersByValue.getOrDefault(stateAndRef.getRef().toString(), List.of()));
+            if (id != null) candidates.addAll(pointersByValue.getOrDefault(id.toString(), List.of()));
+
+            for (final IdentifiablePointer<T> candidate : candidates) {
+                result.get(candidate).add(stateAndRef);
+            }
         }
 
-        if (resolved.size() > 1) {
-            throw new IllegalStateException("There should only be a single unconsumed state for the pointer " + value);
+        for (final Map.Entry<StatePointer<T>, List<StateAndRef<T>>> entry : result.entrySet()) {
+            if (entry.getValue().size() > 1) {
+                throw new IllegalStateException("There should only be a single unconsumed state for the pointer " + ((IdentifiablePointer<T>) entry.getKey()).getValue());
+            }
         }
 
-        return resolved;
+        return result;
     }
 
     /**
@@ -130,6 +170,35 @@ public final class IdentifiablePointer<T extends IdentifiableState> implements S
         return position.getStateAndRefs(transaction, getType());
     }
 
+    /**
+     * Queries the unconsumed {@link StateAndRef} instances whose ID or state reference is one of the specified IDs, reading every page.
+     * <p>
+     * Each ID resolves at most one unconsumed state, therefore the page size is the number of IDs, so that every state is read in one round trip.
+     *
+     * @param ids     The IDs of the states to query.
+     * @param service The {@link UtxoLedgerService} that will be used to query {@link StateAndRef} instances from the vault.
+     * @return Returns the unconsumed {@link StateAndRef} instances whose ID or state reference is one of the specified IDs.
+     */
+    @NotNull
+    @Suspendable
+    @SuppressWarnings("unchecked")
+    private static <T extends IdentifiableState> List<StateAndRef<T>> queryByIds(@NotNull final Set<String> ids, @NotNull final UtxoLedgerService service) {
+        final PagedQuery<StateAndRef<T>> query = (PagedQuery<StateAndRef<T>>) (PagedQuery<?>) service
+                .query(IdentifiableStateQueries.GET_BY_IDS, StateAndRef.class)
+                .setCreatedTimestampLimit(Instant.now())
+                .setLimit(ids.size())
+                .setParameter("ids", new ArrayList<>(ids));
+
+        final PagedQuery.ResultSet<StateAndRef<T>> resultSet = query.execute();
+
+        final List<StateAndRef<T>> result = new ArrayList<>(resultSet.getResults());
+        while (resultSet.hasNext()) {
+            result.addAll(resultSet.next());
+        }
+
+        return result;
+    }
+
     /**
      * Determines whether the specified object is equal to the current object.
      *
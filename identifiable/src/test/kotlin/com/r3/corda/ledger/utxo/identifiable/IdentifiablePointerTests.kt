@@ -0,0 +1,94 @@
+package com.r3.corda.ledger.utxo.identifiable
+
+import com.r3.corda.ledger.utxo.base.StatePointer
+import com.r3.corda.ledger.utxo.identifiable.query.IdentifiableStateQueries
+import net.corda.v5.application.persistence.PagedQuery
+import net.corda.v5.crypto.SecureHash
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.StateRef
+import net.corda.v5.ledger.utxo.TransactionState
+import net.corda.v5.ledger.utxo.UtxoLedgerService
+import net.corda.v5.ledger.utxo.query.VaultNamedParameterizedQuery
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.any
+import org.mockito.kotlin.anyOrNull
+import org.mockito.kotlin.argumentCaptor
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import org.mockito.kotlin.times
+import org.mockito.kotlin.verify
+import java.security.KeyPairGenerator
+
+class IdentifiablePointerTests {
+
+    private val key = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val transactionId = mock<SecureHash> { on { toString() } doReturn "SHA-256:0123" }
+    private val stateRefs = (0..3).map { StateRef(transactionId, it) }
+
+    private lateinit var idsQuery: VaultNamedParameterizedQuery<StateAndRef<*>>
+
+    private fun stateAndRef(ref: StateRef, id: StateRef?): StateAndRef<ExampleIdentifiableState> {
+        val transactionState = mock<TransactionState<ExampleIdentifiableState>> {
+            on { contractState } doReturn ExampleIdentifiableState(key, key, id)
+        }
+
+        return mock {
+            on { this.ref } doReturn ref
+            on { state } doReturn transactionState
+        }
+    }
+
+    private fun service(vararg results: StateAndRef<ExampleIdentifiableState>): UtxoLedgerService {
+        val resultSet = mock<PagedQuery.ResultSet<StateAndRef<*>>> {
+            on { this.results } doReturn results.toList()
+            on { hasNext() } doReturn false
+        }
+
+        idsQuery = mock {
+            on { setCreatedTimestampLimit(any()) } doReturn it
+            on { setLimit(any()) } doReturn it
+            on { setParameter(any(), anyOrNull()) } doReturn it
+            on { execute() } doReturn resultSet
+        }
+
+        return mock { on { query(IdentifiableStateQueries.GET_BY_IDS, StateAndRef::class.java) } doReturn idsQuery }
+    }
+
+    @Test
+    fun `resolveAll should resolve every IdentifiablePointer with a single query for every id`() {
+
+        // Arrange
+        val evolved = stateAndRef(stateRefs[3], stateRefs[0])
+        val unchanged = stateAndRef(stateRefs[1], null)
+        val service = service(evolved, unchanged)
+        val pointers = stateRefs.take(3).map { IdentifiablePointer(it, ExampleIdentifiableState::class.java) }
+
+        // Act
+        val actual = StatePointer.resolveAll(pointers, service)
+
+        // Assert
+        assertEquals(listOf(listOf(evolved), listOf(unchanged), emptyList()), pointers.map { actual[it] })
+        verify(service, times(1)).query(IdentifiableStateQueries.GET_BY_IDS, StateAndRef::class.java)
+
+        val ids = argumentCaptor<Any>()
+        verify(idsQuery).setParameter(eq("ids"), ids.capture())
+        assertEquals(stateRefs.take(3).map { it.toString() }, ids.firstValue)
+    }
+
+    @Test
+    fun `resolve should throw an exception when more than one unconsumed state is resolved by the pointer`() {
+
+        // Arrange
+        val service = service(stateAndRef(stateRefs[1], stateRefs[0]), stateAndRef(stateRefs[2], stateRefs[0]))
+        val pointer = IdentifiablePointer(stateRefs[0], ExampleIdentifiableState::class.java)
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { pointer.resolve(service) }
+
+        // Assert
+        assertEquals("There should only be a single unconsumed state for the pointer ${stateRefs[0]}", exception.message)
+    }
+}
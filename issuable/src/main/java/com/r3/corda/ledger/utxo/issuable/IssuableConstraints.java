@@ -1,6 +1,8 @@
 package com.r3.corda.ledger.utxo.issuable;
 
 import com.r3.corda.ledger.utxo.base.Check;
+import com.r3.corda.ledger.utxo.base.ConstraintScope;
+import com.r3.corda.ledger.utxo.base.TransactionIndex;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
 
@@ -38,9 +40,14 @@ public final class IssuableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends IssuableState> void verifyCreate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        List<T> outputs = transaction.getOutputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> outputs = index.getOutputStates(type);
 
-        Check.all(outputs, it -> transaction.getSignatories().contains(it.getIssuer()), CONTRACT_RULE_CREATE_SIGNATORIES);
+        final ConstraintScope scope = ConstraintScope.enter(-1, outputs.size());
+
+        try (scope) {
+            Check.all(outputs, index.getSignatories(), (it, signatories) -> signatories.contains(it.getIssuer()), CONTRACT_RULE_CREATE_SIGNATORIES);
+        }
     }
 
     /**
@@ -75,9 +82,14 @@ public final class IssuableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends IssuableState> void verifyDelete(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        List<T> inputs = transaction.getInputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
+
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), -1);
 
-        Check.all(inputs, it -> transaction.getSignatories().contains(it.getIssuer()), CONTRACT_RULE_DELETE_SIGNATORIES);
+        try (scope) {
+            Check.all(inputs, index.getSignatories(), (it, signatories) -> signatories.contains(it.getIssuer()), CONTRACT_RULE_DELETE_SIGNATORIES);
+        }
     }
 
     /**
@@ -0,0 +1,78 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+
+/**
+ * Represents the net position of an owner in a group of {@link FungibleState} instances that are fungible with each other,
+ * after every transfer instruction of a batch has been applied.
+ *
+ * @param <T> The underlying type of {@link FungibleState} of the position.
+ */
+public final class NetPosition<T extends FungibleState<?>> {
+
+    @NotNull
+    private final T template;
+
+    @NotNull
+    private final PublicKey owner;
+
+    @NotNull
+    private final BigInteger quantity;
+
+    /**
+     * Initializes a new instance of the {@link NetPosition} class.
+     *
+     * @param template A {@link FungibleState} that is fungible with the states of the position.
+     * @param owner    The owner of the position.
+     * @param quantity The unscaled net quantity of the position.
+     */
+    NetPosition(@NotNull final T template, @NotNull final PublicKey owner, @NotNull final BigInteger quantity) {
+        this.template = template;
+        this.owner = owner;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets a {@link FungibleState} that is fungible with the states of the position.
+     *
+     * @return Returns a {@link FungibleState} that is fungible with the states of the position.
+     */
+    @NotNull
+    public T getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the owner of the position.
+     *
+     * @return Returns the owner of the position.
+     */
+    @NotNull
+    public PublicKey getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gets the unscaled net quantity of the position, which is negative if the owner pays more than it receives.
+     *
+     * @return Returns the unscaled net quantity of the position.
+     */
+    @NotNull
+    public BigInteger getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return "NetPosition(owner = " + owner + ", quantity = " + quantity + ")";
+    }
+}
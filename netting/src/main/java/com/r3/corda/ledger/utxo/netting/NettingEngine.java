@@ -0,0 +1,205 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleConstraints;
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.base.types.MemberX500Name;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents a multilateral netting engine, which nets a batch of pending transfer instructions into a single transaction.
+ * <p>
+ * Instructions are grouped by the fungibility of their templates, and each owner's net position is computed per group.
+ * Each payer, whose net position is negative, consumes its largest available states in the group until they cover its position,
+ * and receives any excess as change. Each receiver, whose net position is positive, receives a single new state.
+ * Owners whose net position is zero consume and receive nothing.
+ * <p>
+ * The sum of the consumed states is equal to the sum of the created states for every group;
+ * therefore, the result satisfies {@link FungibleConstraints#verifyUpdate}, and can be settled by a single update command,
+ * signed by every payer.
+ *
+ * @param <T> The underlying type of the netted {@link FungibleState} instances.
+ */
+public final class NettingEngine<T extends FungibleState<?> & OwnableState> {
+
+    @NotNull
+    private final NettingStateFactory<T> factory;
+
+    /**
+     * Initializes a new instance of the {@link NettingEngine} class.
+     *
+     * @param factory The {@link NettingStateFactory} used to create the output states.
+     */
+    public NettingEngine(@NotNull final NettingStateFactory<T> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Nets the specified transfer instructions, consuming states from the specified available states.
+     *
+     * @param instructions The transfer instructions to net.
+     * @param available    The unconsumed states from which payers' states are selected; typically, the unconsumed states of every sender.
+     * @return Returns the inputs, outputs and signatories of a single transaction that settles every net position.
+     * @throws IllegalStateException if the available states of a payer do not cover its net position,
+     *                               or if the selected states are not all governed by the same notary.
+     */
+    @NotNull
+    public NettingResult<T> net(@NotNull final Collection<TransferInstruction<T>> instructions, @NotNull final Collection<StateAndRef<T>> available) {
+        final List<StateAndRef<T>> inputs = new ArrayList<>();
+        final List<T> outputs = new ArrayList<>();
+        final Set<PublicKey> signatories = new LinkedHashSet<>();
+        final List<NetPosition<T>> positions = new ArrayList<>();
+
+        for (final NettingGroup<T> group : group(instructions)) {
+            if (group.isSettled()) continue;
+
+            final List<T> change = new ArrayList<>();
+
+            for (final Map.Entry<PublicKey, BigInteger> position : group.getPositions().entrySet()) {
+                final PublicKey owner = position.getKey();
+                final BigInteger quantity = position.getValue();
+
+                if (quantity.signum() == 0) continue;
+                positions.add(new NetPosition<>(group.getTemplate(), owner, quantity));
+
+                if (quantity.signum() > 0) {
+                    outputs.add(factory.create(group.getTemplate(), owner, quantity));
+                } else {
+                    final BigInteger excess = select(group, owner, quantity.negate(), available, inputs);
+                    if (excess.signum() > 0) change.add(factory.create(group.getTemplate(), owner, excess));
+                    signatories.add(owner);
+                }
+            }
+
+            outputs.addAll(change);
+        }
+
+        checkNotary(inputs);
+        return new NettingResult<>(inputs, outputs, new ArrayList<>(signatories), positions);
+    }
+
+    /**
+     * Groups the specified transfer instructions by the fungibility of their templates, and applies them to each group's net positions.
+     *
+     * @param instructions The transfer instructions to group.
+     * @return Returns the groups of the specified transfer instructions, in the order in which each group was first encountered.
+     */
+    @NotNull
+    private List<NettingGroup<T>> group(@NotNull final Collection<TransferInstruction<T>> instructions) {
+        final List<NettingGroup<T>> result = new ArrayList<>();
+
+        for (final TransferInstruction<T> instruction : instructions) {
+            NettingGroup<T> group = find(result, instruction.getTemplate());
+
+            if (group == null) {
+                group = new NettingGroup<>(instruction.getTemplate());
+                result.add(group);
+            }
+
+            group.apply(instruction);
+        }
+
+        return result;
+    }
+
+    /**
+     * Selects the largest available states of the specified owner in the specified group until they cover the specified quantity.
+     *
+     * @param group     The group of the states to select.
+     * @param owner     The owner of the states to select.
+     * @param quantity  The unscaled quantity to cover.
+     * @param available The unconsumed states from which to select.
+     * @param inputs    The list to which the selected states will be added.
+     * @return Returns the unscaled amount by which the selected states exceed the specified quantity.
+     * @throws IllegalStateException if the available states of the specified owner do not cover the specified quantity.
+     */
+    @NotNull
+    private BigInteger select(
+            @NotNull final NettingGroup<T> group,
+            @NotNull final PublicKey owner,
+            @NotNull final BigInteger quantity,
+            @NotNull final Collection<StateAndRef<T>> available,
+            @NotNull final List<StateAndRef<T>> inputs) {
+        final List<StateAndRef<T>> candidates = new ArrayList<>();
+
+        for (final StateAndRef<T> state : available) {
+            final T contractState = state.getState().getContractState();
+            if (contractState.getOwner().equals(owner) && group.contains(contractState)) candidates.add(state);
+        }
+
+        candidates.sort(Comparator.comparing(NettingEngine::getQuantity, Comparator.reverseOrder()));
+
+        BigInteger sum = BigInteger.ZERO;
+
+        for (final StateAndRef<T> candidate : candidates) {
+            if (sum.compareTo(quantity) >= 0) break;
+            inputs.add(candidate);
+            sum = sum.add(getQuantity(candidate));
+        }
+
+        if (sum.compareTo(quantity) < 0) {
+            throw new IllegalStateException(
+                    "Insufficient balance available to settle the net position of " + owner + ": Required = " + quantity + ", Available = " + sum + ".");
+        }
+
+        return sum.subtract(quantity);
+    }
+
+    /**
+     * Finds the group to which the specified template belongs.
+     *
+     * @param groups   The groups to search.
+     * @param template The template whose group to find.
+     * @return Returns the group to which the specified template belongs, or null if no such group exists.
+     */
+    @Nullable
+    private static <T extends FungibleState<?>> NettingGroup<T> find(@NotNull final List<NettingGroup<T>> groups, @NotNull final T template) {
+        for (final NettingGroup<T> group : groups) {
+            if (group.contains(template)) return group;
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks that the specified states are all governed by the same notary.
+     *
+     * @param inputs The states to check.
+     * @throws IllegalStateException if the specified states are not all governed by the same notary.
+     */
+    private static <T extends FungibleState<?>> void checkNotary(@NotNull final List<StateAndRef<T>> inputs) {
+        if (inputs.isEmpty()) return;
+
+        final MemberX500Name notaryName = inputs.get(0).getState().getNotaryName();
+
+        for (final StateAndRef<T> input : inputs) {
+            if (!input.getState().getNotaryName().equals(notaryName)) {
+                throw new IllegalStateException("The netted states must all be governed by the same notary, but were governed by "
+                        + notaryName + " and " + input.getState().getNotaryName() + ".");
+            }
+        }
+    }
+
+    /**
+     * Gets the unscaled quantity of the specified state.
+     *
+     * @param state The state for which to get the unscaled quantity.
+     * @return Returns the unscaled quantity of the specified state.
+     */
+    @NotNull
+    private static BigInteger getQuantity(@NotNull final StateAndRef<? extends FungibleState<?>> state) {
+        return state.getState().getContractState().getQuantity().getUnscaledValue();
+    }
+}
@@ -0,0 +1,91 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents a group of transfer instructions whose {@link FungibleState} templates are fungible with each other,
+ * and the net positions of the owners in that group.
+ *
+ * @param <T> The underlying type of {@link FungibleState} of the group.
+ */
+final class NettingGroup<T extends FungibleState<?>> {
+
+    @NotNull
+    private final T template;
+
+    @NotNull
+    private final Map<PublicKey, BigInteger> positions = new LinkedHashMap<>();
+
+    /**
+     * Initializes a new instance of the {@link NettingGroup} class.
+     *
+     * @param template The {@link FungibleState} that represents the group.
+     */
+    NettingGroup(@NotNull final T template) {
+        this.template = template;
+    }
+
+    /**
+     * Gets the {@link FungibleState} that represents the group.
+     *
+     * @return Returns the {@link FungibleState} that represents the group.
+     */
+    @NotNull
+    T getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the net positions of the owners in the group, in the order in which each owner was first encountered.
+     *
+     * @return Returns the net positions of the owners in the group.
+     */
+    @NotNull
+    Map<PublicKey, BigInteger> getPositions() {
+        return positions;
+    }
+
+    /**
+     * Applies the specified transfer instruction to the net positions of the group.
+     *
+     * @param instruction The transfer instruction to apply.
+     */
+    void apply(@NotNull final TransferInstruction<T> instruction) {
+        positions.merge(instruction.getSender(), instruction.getQuantity().negate(), BigInteger::add);
+        positions.merge(instruction.getRecipient(), instruction.getQuantity(), BigInteger::add);
+    }
+
+    /**
+     * Determines whether the specified state belongs to the group.
+     * <p>
+     * States that specify a fungibility key belong to the group if their key is equal to the key of the group's template;
+     * otherwise, they belong to the group if they are fungible with the group's template, consistent with the fungible contract constraints.
+     *
+     * @param state The state to determine belongs to the group.
+     * @return Returns true if the specified state belongs to the group; otherwise, false.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    boolean contains(@NotNull final FungibleState<?> state) {
+        final Object key = state.getFungibilityKey();
+        final Object templateKey = template.getFungibilityKey();
+
+        if (key != null || templateKey != null) return Objects.equals(key, templateKey);
+        return ((FungibleState) template).isFungibleWith(state);
+    }
+
+    /**
+     * Determines whether every net position in the group is zero, in which case the group requires no settlement.
+     *
+     * @return Returns true if every net position in the group is zero; otherwise, false.
+     */
+    boolean isSettled() {
+        return positions.values().stream().allMatch(quantity -> quantity.signum() == 0);
+    }
+}
@@ -0,0 +1,98 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the result of netting a batch of transfer instructions, which is the inputs, outputs and signatories of a single
+ * transaction that settles every net position of the batch.
+ *
+ * @param <T> The underlying type of the netted {@link FungibleState} instances.
+ */
+public final class NettingResult<T extends FungibleState<?>> {
+
+    @NotNull
+    private final List<StateAndRef<T>> inputs;
+
+    @NotNull
+    private final List<T> outputs;
+
+    @NotNull
+    private final List<PublicKey> signatories;
+
+    @NotNull
+    private final List<NetPosition<T>> positions;
+
+    /**
+     * Initializes a new instance of the {@link NettingResult} class.
+     *
+     * @param inputs      The {@link FungibleState} instances to consume.
+     * @param outputs     The {@link FungibleState} instances to create.
+     * @param signatories The owners whose states are consumed, and who must therefore sign the transaction.
+     * @param positions   The non-zero net positions of the batch.
+     */
+    NettingResult(
+            @NotNull final List<StateAndRef<T>> inputs,
+            @NotNull final List<T> outputs,
+            @NotNull final List<PublicKey> signatories,
+            @NotNull final List<NetPosition<T>> positions) {
+        this.inputs = Collections.unmodifiableList(inputs);
+        this.outputs = Collections.unmodifiableList(outputs);
+        this.signatories = Collections.unmodifiableList(signatories);
+        this.positions = Collections.unmodifiableList(positions);
+    }
+
+    /**
+     * Gets the {@link FungibleState} instances to consume.
+     *
+     * @return Returns the {@link FungibleState} instances to consume.
+     */
+    @NotNull
+    public List<StateAndRef<T>> getInputs() {
+        return inputs;
+    }
+
+    /**
+     * Gets the {@link FungibleState} instances to create.
+     *
+     * @return Returns the {@link FungibleState} instances to create.
+     */
+    @NotNull
+    public List<T> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Gets the owners whose states are consumed, and who must therefore sign the transaction.
+     *
+     * @return Returns the owners whose states are consumed.
+     */
+    @NotNull
+    public List<PublicKey> getSignatories() {
+        return signatories;
+    }
+
+    /**
+     * Gets the non-zero net positions of the batch, in the order in which each owner was first encountered per group.
+     *
+     * @return Returns the non-zero net positions of the batch.
+     */
+    @NotNull
+    public List<NetPosition<T>> getPositions() {
+        return positions;
+    }
+
+    /**
+     * Determines whether the batch nets to zero for every owner, in which case no transaction is required.
+     *
+     * @return Returns true if the batch nets to zero for every owner; otherwise, false.
+     */
+    public boolean isEmpty() {
+        return inputs.isEmpty() && outputs.isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+
+/**
+ * Defines a mechanism for creating the {@link FungibleState} outputs of a netted settlement.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to create.
+ */
+@FunctionalInterface
+public interface NettingStateFactory<T extends FungibleState<?>> {
+
+    /**
+     * Creates a new {@link FungibleState} that is fungible with the specified template, and has the specified owner and unscaled quantity.
+     *
+     * @param template The {@link FungibleState} from which to copy every property except the owner and quantity.
+     * @param owner    The owner of the {@link FungibleState} to create.
+     * @param quantity The unscaled quantity of the {@link FungibleState} to create, which has the same scale as the template's quantity.
+     * @return Returns a new {@link FungibleState} that is fungible with the specified template, and has the specified owner and unscaled quantity.
+     */
+    @NotNull
+    T create(@NotNull T template, @NotNull PublicKey owner, @NotNull BigInteger quantity);
+}
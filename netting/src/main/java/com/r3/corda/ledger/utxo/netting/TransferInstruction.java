@@ -0,0 +1,91 @@
+package com.r3.corda.ledger.utxo.netting;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.Numeric;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+
+/**
+ * Represents a pending instruction to transfer a quantity of {@link FungibleState} from one owner to another.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to transfer.
+ */
+public final class TransferInstruction<T extends FungibleState<?>> {
+
+    @NotNull
+    private final PublicKey sender;
+
+    @NotNull
+    private final PublicKey recipient;
+
+    @NotNull
+    private final T template;
+
+    @NotNull
+    private final BigInteger quantity;
+
+    /**
+     * Initializes a new instance of the {@link TransferInstruction} class.
+     *
+     * @param sender    The owner from which to transfer the quantity.
+     * @param recipient The owner to which to transfer the quantity.
+     * @param template  A {@link FungibleState} that is fungible with the states to transfer, which determines the group of the transfer.
+     * @param quantity  The quantity to transfer, which must have the same scale as the quantities of the states to transfer.
+     * @throws IllegalArgumentException if the specified quantity is not greater than zero.
+     */
+    public TransferInstruction(
+            @NotNull final PublicKey sender,
+            @NotNull final PublicKey recipient,
+            @NotNull final T template,
+            @NotNull final Numeric<?> quantity) {
+        final BigInteger unscaledQuantity = quantity.getUnscaledValue();
+        if (unscaledQuantity.signum() <= 0) throw new IllegalArgumentException("The quantity to transfer must be greater than zero.");
+
+        this.sender = sender;
+        this.recipient = recipient;
+        this.template = template;
+        this.quantity = unscaledQuantity;
+    }
+
+    /**
+     * Gets the owner from which to transfer the quantity.
+     *
+     * @return Returns the owner from which to transfer the quantity.
+     */
+    @NotNull
+    public PublicKey getSender() {
+        return sender;
+    }
+
+    /**
+     * Gets the owner to which to transfer the quantity.
+     *
+     * @return Returns the owner to which to transfer the quantity.
+     */
+    @NotNull
+    public PublicKey getRecipient() {
+        return recipient;
+    }
+
+    /**
+     * Gets a {@link FungibleState} that is fungible with the states to transfer, which determines the group of the transfer.
+     *
+     * @return Returns a {@link FungibleState} that is fungible with the states to transfer.
+     */
+    @NotNull
+    public T getTemplate() {
+        return template;
+    }
+
+    /**
+     * Gets the unscaled quantity to transfer.
+     *
+     * @return Returns the unscaled quantity to transfer.
+     */
+    @NotNull
+    public BigInteger getQuantity() {
+        return quantity;
+    }
+}
@@ -0,0 +1,161 @@
+package com.r3.corda.ledger.utxo.netting
+
+import com.r3.corda.ledger.utxo.fungible.FungibleConstraints
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import net.corda.v5.base.types.MemberX500Name
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.TransactionState
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertDoesNotThrow
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.math.BigInteger
+import java.security.KeyPairGenerator
+import java.security.PublicKey
+
+class NettingEngineTests {
+
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val bobKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val charlieKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val notaryName = MemberX500Name.parse("O=Notary, L=London, C=GB")
+    private val otherNotaryName = MemberX500Name.parse("O=Other Notary, L=London, C=GB")
+
+    private val engine = NettingEngine(NettingToken::withOwnerAndQuantity)
+
+    private fun stateAndRef(token: NettingToken, notary: MemberX500Name = notaryName): StateAndRef<NettingToken> {
+        val transactionState = mock<TransactionState<NettingToken>> {
+            on { contractState } doReturn token
+            on { notaryName } doReturn notary
+        }
+
+        return mock { on { state } doReturn transactionState }
+    }
+
+    private fun transfer(from: PublicKey, to: PublicKey, currency: String, quantity: Long): TransferInstruction<NettingToken> {
+        return TransferInstruction(from, to, NettingToken(currency, from, 0), NumericInteger(BigInteger.valueOf(quantity)))
+    }
+
+    private fun holdings(states: List<NettingToken>): Set<Triple<String, PublicKey, Long>> {
+        return states.map { Triple(it.currency, it.owner, it.quantity.value.toLong()) }.toSet()
+    }
+
+    @Test
+    fun `net should settle a cycle of transfers with the minimal inputs and outputs`() {
+
+        // Arrange
+        val instructions = listOf(
+            transfer(aliceKey, bobKey, "GBP", 10),
+            transfer(bobKey, charlieKey, "GBP", 10),
+            transfer(charlieKey, aliceKey, "GBP", 5)
+        )
+
+        val available = listOf(
+            stateAndRef(NettingToken("GBP", aliceKey, 3)),
+            stateAndRef(NettingToken("GBP", aliceKey, 4)),
+            stateAndRef(NettingToken("GBP", bobKey, 100))
+        )
+
+        // Act
+        val result = engine.net(instructions, available)
+
+        // Assert
+        assertEquals(listOf(available[1], available[0]), result.inputs)
+        assertEquals(setOf(Triple("GBP", charlieKey, 5L), Triple("GBP", aliceKey, 2L)), holdings(result.outputs))
+        assertEquals(listOf(aliceKey), result.signatories)
+        assertEquals(listOf(BigInteger.valueOf(-5), BigInteger.valueOf(5)), result.positions.map { it.quantity })
+    }
+
+    @Test
+    fun `net should produce a result that satisfies the fungible update constraints`() {
+
+        // Arrange
+        val instructions = listOf(
+            transfer(aliceKey, bobKey, "GBP", 10),
+            transfer(bobKey, aliceKey, "USD", 7),
+            transfer(charlieKey, bobKey, "GBP", 2)
+        )
+
+        val available = listOf(
+            stateAndRef(NettingToken("GBP", aliceKey, 15)),
+            stateAndRef(NettingToken("GBP", charlieKey, 2)),
+            stateAndRef(NettingToken("USD", bobKey, 8))
+        )
+
+        val result = engine.net(instructions, available)
+        val outputs = result.outputs.map { stateAndRef(it) }
+
+        val transaction = mock<UtxoLedgerTransaction> {
+            on { inputStateAndRefs } doReturn result.inputs
+            on { outputStateAndRefs } doReturn outputs
+        }
+
+        // Act / Assert
+        assertEquals(listOf(aliceKey, charlieKey, bobKey), result.signatories)
+        assertEquals(
+            setOf(Triple("GBP", bobKey, 12L), Triple("GBP", aliceKey, 5L), Triple("USD", aliceKey, 7L), Triple("USD", bobKey, 1L)),
+            holdings(result.outputs)
+        )
+        assertDoesNotThrow { FungibleConstraints.verifyUpdate(transaction, NettingToken::class.java) }
+    }
+
+    @Test
+    fun `net should return an empty result when every position nets to zero`() {
+
+        // Arrange
+        val instructions = listOf(transfer(aliceKey, bobKey, "GBP", 10), transfer(bobKey, aliceKey, "GBP", 10))
+
+        // Act
+        val result = engine.net(instructions, emptyList())
+
+        // Assert
+        assertTrue(result.isEmpty)
+        assertTrue(result.positions.isEmpty())
+    }
+
+    @Test
+    fun `net should throw an exception when a payer's available states do not cover its position`() {
+
+        // Arrange
+        val instructions = listOf(transfer(aliceKey, bobKey, "GBP", 10))
+        val available = listOf(stateAndRef(NettingToken("GBP", aliceKey, 4)), stateAndRef(NettingToken("USD", aliceKey, 100)))
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { engine.net(instructions, available) }
+
+        // Assert
+        assertEquals("Insufficient balance available to settle the net position of $aliceKey: Required = 10, Available = 4.", exception.message)
+    }
+
+    @Test
+    fun `net should throw an exception when the selected states are governed by different notaries`() {
+
+        // Arrange
+        val instructions = listOf(transfer(aliceKey, bobKey, "GBP", 10), transfer(bobKey, aliceKey, "USD", 10))
+        val available = listOf(stateAndRef(NettingToken("GBP", aliceKey, 10)), stateAndRef(NettingToken("USD", bobKey, 10), otherNotaryName))
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { engine.net(instructions, available) }
+
+        // Assert
+        assertEquals(
+            "The netted states must all be governed by the same notary, but were governed by $notaryName and $otherNotaryName.",
+            exception.message
+        )
+    }
+
+    @Test
+    fun `TransferInstruction should throw an exception when the quantity is not greater than zero`() {
+
+        // Act
+        val exception = assertThrows<IllegalArgumentException> { transfer(aliceKey, bobKey, "GBP", 0) }
+
+        // Assert
+        assertEquals("The quantity to transfer must be greater than zero.", exception.message)
+    }
+}
@@ -0,0 +1,48 @@
+package com.r3.corda.ledger.utxo.netting
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import com.r3.corda.ledger.utxo.ownable.OwnableState
+import net.corda.v5.ledger.utxo.BelongsToContract
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import java.math.BigInteger
+import java.security.PublicKey
+
+class NettingTokenContract : Contract {
+    override fun verify(transaction: UtxoLedgerTransaction) = Unit
+}
+
+@BelongsToContract(NettingTokenContract::class)
+data class NettingToken(
+    val currency: String,
+    private val owner: PublicKey,
+    private val quantity: NumericInteger
+) : FungibleState<NumericInteger>, OwnableState {
+
+    constructor(currency: String, owner: PublicKey, quantity: Long) : this(currency, owner, NumericInteger(BigInteger.valueOf(quantity)))
+
+    override fun getOwner(): PublicKey {
+        return owner
+    }
+
+    override fun getQuantity(): NumericInteger {
+        return quantity
+    }
+
+    override fun getParticipants(): List<PublicKey> {
+        return listOf(owner)
+    }
+
+    override fun getFungibilityKey(): Any {
+        return currency
+    }
+
+    fun withOwnerAndQuantity(owner: PublicKey, quantity: BigInteger): NettingToken {
+        return copy(owner = owner, quantity = NumericInteger(quantity))
+    }
+
+    override fun isFungibleWith(other: FungibleState<NumericInteger>): Boolean {
+        return other is NettingToken && other.currency == currency
+    }
+}
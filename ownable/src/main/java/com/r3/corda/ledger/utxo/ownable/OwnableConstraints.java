@@ -1,6 +1,8 @@
 package com.r3.corda.ledger.utxo.ownable;
 
 import com.r3.corda.ledger.utxo.base.Check;
+import com.r3.corda.ledger.utxo.base.ConstraintScope;
+import com.r3.corda.ledger.utxo.base.TransactionIndex;
 import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
 import org.jetbrains.annotations.NotNull;
 
@@ -35,9 +37,14 @@ public final class OwnableConstraints {
      * @throws IllegalStateException if the specified transaction fails verification.
      */
     public static <T extends OwnableState> void verifyUpdate(@NotNull final UtxoLedgerTransaction transaction, @NotNull final Class<T> type) {
-        List<T> inputs = transaction.getInputStates(type);
+        final TransactionIndex index = TransactionIndex.of(transaction);
+        final List<T> inputs = index.getInputStates(type);
 
-        Check.all(inputs, it -> transaction.getSignatories().contains(it.getOwner()), CONTRACT_RULE_UPDATE_SIGNATORIES);
+        final ConstraintScope scope = ConstraintScope.enter(inputs.size(), -1);
+
+        try (scope) {
+            Check.all(inputs, index.getSignatories(), (it, signatories) -> signatories.contains(it.getOwner()), CONTRACT_RULE_UPDATE_SIGNATORIES);
+        }
     }
 
     /**
@@ -0,0 +1,170 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents the standard {@link TokenSelectionStrategy} implementations.
+ */
+public enum StandardTokenSelectionStrategy implements TokenSelectionStrategy {
+
+    /**
+     * Selects candidates in vault order, and stops reading candidates from the vault as soon as the target quantity is covered.
+     * This is the cheapest strategy, since it reads no more candidates than it selects.
+     */
+    FIRST_AVAILABLE {
+        @Override
+        public <T extends FungibleState<?>> boolean isComplete(
+                @NotNull final List<StateAndRef<T>> candidates,
+                @NotNull final BigInteger candidatesSum,
+                @NotNull final BigInteger target) {
+            return candidatesSum.compareTo(target) >= 0;
+        }
+
+        @NotNull
+        @Override
+        public <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+            return takeUntilCovered(candidates, target);
+        }
+    },
+
+    /**
+     * Selects the smallest candidates first, which consumes small states, at the cost of selecting more inputs.
+     */
+    SMALLEST_FIRST {
+        @NotNull
+        @Override
+        public <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+            return takeUntilCovered(sort(candidates, Comparator.naturalOrder()), target);
+        }
+    },
+
+    /**
+     * Selects the largest candidates first, which selects the fewest inputs, at the cost of creating larger change.
+     */
+    LARGEST_FIRST {
+        @NotNull
+        @Override
+        public <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+            return takeUntilCovered(sort(candidates, Comparator.reverseOrder()), target);
+        }
+    },
+
+    /**
+     * Selects a single candidate whose quantity is exactly the target quantity, so that no change is created,
+     * and stops reading candidates from the vault as soon as such a candidate is found.
+     * If no such candidate exists, candidates are selected using {@link #MINIMUM_INPUT_COUNT}.
+     */
+    EXACT_MATCH {
+        @Override
+        public <T extends FungibleState<?>> boolean isComplete(
+                @NotNull final List<StateAndRef<T>> candidates,
+                @NotNull final BigInteger candidatesSum,
+                @NotNull final BigInteger target) {
+            return getQuantity(candidates.get(candidates.size() - 1)).equals(target);
+        }
+
+        @NotNull
+        @Override
+        public <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+            for (final StateAndRef<T> candidate : candidates) {
+                if (getQuantity(candidate).equals(target)) {
+                    final List<StateAndRef<T>> result = new ArrayList<>(1);
+                    result.add(candidate);
+                    return result;
+                }
+            }
+
+            return MINIMUM_INPUT_COUNT.select(candidates, target);
+        }
+    },
+
+    /**
+     * Selects the fewest candidates that cover the target quantity and, of those, minimizes the change created.
+     * <p>
+     * The largest candidates are selected until the remaining quantity can be covered by a single candidate,
+     * which is then the smallest of the remaining candidates that covers it.
+     */
+    MINIMUM_INPUT_COUNT {
+        @NotNull
+        @Override
+        public <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+            final List<StateAndRef<T>> sorted = sort(candidates, Comparator.reverseOrder());
+            final List<StateAndRef<T>> result = new ArrayList<>();
+            BigInteger remainder = target;
+
+            for (int index = 0; index < sorted.size() && remainder.signum() > 0; index++) {
+                final BigInteger quantity = getQuantity(sorted.get(index));
+
+                if (quantity.compareTo(remainder) >= 0) {
+
+                    // Since candidates are sorted in descending order, the last candidate that covers the remainder is the smallest.
+                    int smallest = index;
+                    while (smallest + 1 < sorted.size() && getQuantity(sorted.get(smallest + 1)).compareTo(remainder) >= 0) smallest++;
+
+                    result.add(sorted.get(smallest));
+                    return result;
+                }
+
+                result.add(sorted.get(index));
+                remainder = remainder.subtract(quantity);
+            }
+
+            return result;
+        }
+    };
+
+    /**
+     * Gets the unscaled quantity of the specified candidate.
+     *
+     * @param candidate The candidate for which to get the unscaled quantity.
+     * @return Returns the unscaled quantity of the specified candidate.
+     */
+    @NotNull
+    static BigInteger getQuantity(@NotNull final StateAndRef<? extends FungibleState<?>> candidate) {
+        return candidate.getState().getContractState().getQuantity().getUnscaledValue();
+    }
+
+    /**
+     * Takes candidates, in the specified order, until their sum covers the specified target quantity.
+     *
+     * @param candidates The candidates from which to take.
+     * @param target     The unscaled target quantity.
+     * @param <T>        The underlying type of the {@link FungibleState} candidates.
+     * @return Returns the candidates taken.
+     */
+    @NotNull
+    private static <T extends FungibleState<?>> List<StateAndRef<T>> takeUntilCovered(@NotNull final List<StateAndRef<T>> candidates, @NotNull final BigInteger target) {
+        final List<StateAndRef<T>> result = new ArrayList<>();
+        BigInteger sum = BigInteger.ZERO;
+
+        for (final StateAndRef<T> candidate : candidates) {
+            if (sum.compareTo(target) >= 0) break;
+            result.add(candidate);
+            sum = sum.add(getQuantity(candidate));
+        }
+
+        return result;
+    }
+
+    /**
+     * Sorts the specified candidates by their unscaled quantities.
+     *
+     * @param candidates The candidates to sort.
+     * @param order      The order in which to sort the unscaled quantities.
+     * @param <T>        The underlying type of the {@link FungibleState} candidates.
+     * @return Returns a new list containing the sorted candidates.
+     */
+    @NotNull
+    private static <T extends FungibleState<?>> List<StateAndRef<T>> sort(@NotNull final List<StateAndRef<T>> candidates, @NotNull final Comparator<BigInteger> order) {
+        final List<StateAndRef<T>> result = new ArrayList<>(candidates);
+        result.sort(Comparator.comparing(StandardTokenSelectionStrategy::getQuantity, order));
+        return result;
+    }
+}
@@ -0,0 +1,196 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.base.annotations.CordaSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents the balance of unconsumed {@link FungibleState} instances of the same state type, owner, issuer, fungibility key and scale.
+ * <p>
+ * The quantity of a balance is the sum of the unscaled quantities of its states, which are only comparable because they share the same scale.
+ */
+@CordaSerializable
+public final class TokenBalance {
+
+    @NotNull
+    private final String stateType;
+
+    @NotNull
+    private final PublicKey owner;
+
+    @Nullable
+    private final PublicKey issuer;
+
+    @Nullable
+    private final String fungibilityKey;
+
+    private final int scale;
+
+    @NotNull
+    private final BigInteger quantity;
+
+    /**
+     * Initializes a new instance of the {@link TokenBalance} class.
+     *
+     * @param stateType      The name of the state type of the balance.
+     * @param owner          The owner of the balance.
+     * @param issuer         The issuer of the balance, or null if the states of the balance are not issuable.
+     * @param fungibilityKey The string representation of the fungibility key of the balance, or null if the states of the balance have no fungibility key.
+     * @param scale          The scale of the quantities of the states of the balance.
+     * @param quantity       The sum of the unscaled quantities of the states of the balance.
+     */
+    public TokenBalance(
+            @NotNull final String stateType,
+            @NotNull final PublicKey owner,
+            @Nullable final PublicKey issuer,
+            @Nullable final String fungibilityKey,
+            final int scale,
+            @NotNull final BigInteger quantity) {
+        this.stateType = stateType;
+        this.owner = owner;
+        this.issuer = issuer;
+        this.fungibilityKey = fungibilityKey;
+        this.scale = scale;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Gets the name of the state type of the balance.
+     *
+     * @return Returns the name of the state type of the balance.
+     */
+    @NotNull
+    public String getStateType() {
+        return stateType;
+    }
+
+    /**
+     * Gets the owner of the balance.
+     *
+     * @return Returns the owner of the balance.
+     */
+    @NotNull
+    public PublicKey getOwner() {
+        return owner;
+    }
+
+    /**
+     * Gets the issuer of the balance.
+     *
+     * @return Returns the issuer of the balance, or null if the states of the balance are not issuable.
+     */
+    @Nullable
+    public PublicKey getIssuer() {
+        return issuer;
+    }
+
+    /**
+     * Gets the string representation of the fungibility key of the balance.
+     *
+     * @return Returns the string representation of the fungibility key of the balance, or null if the states of the balance have no fungibility key.
+     */
+    @Nullable
+    public String getFungibilityKey() {
+        return fungibilityKey;
+    }
+
+    /**
+     * Gets the scale of the quantities of the states of the balance.
+     *
+     * @return Returns the scale of the quantities of the states of the balance.
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the states of the balance.
+     *
+     * @return Returns the sum of the unscaled quantities of the states of the balance.
+     */
+    @NotNull
+    public BigInteger getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Merges the specified balances, such that balances of the same state type, owner, issuer, fungibility key and scale are summed.
+     *
+     * @param balances The balances to merge.
+     * @return Returns the merged balances, in the order in which each group was first encountered.
+     */
+    @NotNull
+    static List<TokenBalance> merge(@NotNull final Iterable<TokenBalance> balances) {
+        final Map<List<Object>, TokenBalance> groups = new LinkedHashMap<>();
+
+        for (final TokenBalance balance : balances) {
+            groups.merge(balance.getGroup(), balance, TokenBalance::plus);
+        }
+
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Determines whether the specified object is equal to the current object.
+     *
+     * @param obj The object to compare with the current object.
+     * @return Returns true if the specified object is equal to the current object; otherwise, false.
+     */
+    @Override
+    public boolean equals(@Nullable final Object obj) {
+        return this == obj || obj instanceof TokenBalance
+                && getGroup().equals(((TokenBalance) obj).getGroup())
+                && quantity.equals(((TokenBalance) obj).quantity);
+    }
+
+    /**
+     * Serves as the default hash function.
+     *
+     * @return Returns a hash code for the current object.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(stateType, owner, issuer, fungibilityKey, scale, quantity);
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return "TokenBalance(stateType = " + stateType + ", issuer = " + issuer + ", fungibilityKey = " + fungibilityKey + ", scale = " + scale + ", quantity = " + quantity + ")";
+    }
+
+    /**
+     * Gets the values that identify the group of the current balance.
+     *
+     * @return Returns the values that identify the group of the current balance.
+     */
+    @NotNull
+    private List<Object> getGroup() {
+        return Arrays.asList(stateType, owner, issuer, fungibilityKey, scale);
+    }
+
+    /**
+     * Adds the specified balance, which must be of the same group, to the current balance.
+     *
+     * @param other The balance to add to the current balance.
+     * @return Returns a new balance whose quantity is the sum of the current and specified balances.
+     */
+    @NotNull
+    private TokenBalance plus(@NotNull final TokenBalance other) {
+        return new TokenBalance(stateType, owner, issuer, fungibilityKey, scale, quantity.add(other.quantity));
+    }
+}
@@ -0,0 +1,52 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.issuable.IssuableState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryCollector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a vault named query collector that groups a page of {@link FungibleState} instances into {@link TokenBalance} instances
+ * by state type, owner, issuer, fungibility key and scale, so that one value per group, rather than every state, is returned to the flow.
+ * <p>
+ * States that are not {@link OwnableState} instances are ignored.
+ */
+public final class TokenBalanceCollector implements VaultNamedQueryCollector<StateAndRef<FungibleState<?>>, TokenBalance> {
+
+    /**
+     * Groups the specified page of {@link FungibleState} instances into {@link TokenBalance} instances.
+     *
+     * @param resultSet  The page of {@link FungibleState} instances to group.
+     * @param parameters The named parameters of the query.
+     * @return Returns a result containing one {@link TokenBalance} per group in the specified page.
+     */
+    @NotNull
+    @Override
+    public Result<TokenBalance> collect(@NotNull final List<StateAndRef<FungibleState<?>>> resultSet, @NotNull final Map<String, Object> parameters) {
+        final List<TokenBalance> balances = new ArrayList<>(resultSet.size());
+
+        for (final StateAndRef<FungibleState<?>> stateAndRef : resultSet) {
+            final FungibleState<?> state = stateAndRef.getState().getContractState();
+            if (!(state instanceof OwnableState)) continue;
+
+            final Object fungibilityKey = state.getFungibilityKey();
+
+            balances.add(new TokenBalance(
+                    state.getClass().getName(),
+                    ((OwnableState) state).getOwner(),
+                    state instanceof IssuableState ? ((IssuableState) state).getIssuer() : null,
+                    fungibilityKey == null ? null : fungibilityKey.toString(),
+                    state.getQuantity().getScale(),
+                    state.getQuantity().getUnscaledValue()
+            ));
+        }
+
+        return new Result<>(TokenBalance.merge(balances), false);
+    }
+}
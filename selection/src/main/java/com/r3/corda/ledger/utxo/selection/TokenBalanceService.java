@@ -0,0 +1,241 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import com.r3.corda.ledger.utxo.selection.query.TokenBalanceQueries;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.application.persistence.PagedQuery;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.crypto.DigestAlgorithmName;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Represents a service that gets the balances of unconsumed {@link FungibleState} instances, grouped by state type, owner, issuer, fungibility key and scale.
+ * <p>
+ * Balances are queried using the {@link TokenBalanceQueries#GET_BALANCES_BY_OWNER} query, whose collector groups each page of states
+ * into one {@link TokenBalance} per group before the page is returned, so that the flow receives those groups rather than every state.
+ * The groups of each page are then merged by the current service. Balances are not aggregated by the database across pages, so a balance check
+ * still reads every unconsumed state of the owner, and costs one round trip per page; that is, ceil(states / page size) round trips.
+ * <p>
+ * The balances of each owner are cached by the current service, which is typically scoped to a flow, until they are invalidated;
+ * flows should invalidate the balances affected by a transaction once it has been finalized, using {@link #invalidate(UtxoLedgerTransaction)}.
+ */
+public final class TokenBalanceService {
+
+    /**
+     * The default number of states aggregated per page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1_000;
+
+    @NotNull
+    private final UtxoLedgerService utxoLedgerService;
+
+    @NotNull
+    private final DigestService digestService;
+
+    @NotNull
+    private final Map<PublicKey, List<TokenBalance>> balances = new HashMap<>();
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    /**
+     * Initializes a new instance of the {@link TokenBalanceService} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to query balances.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     */
+    public TokenBalanceService(@NotNull final UtxoLedgerService utxoLedgerService, @NotNull final DigestService digestService) {
+        this.utxoLedgerService = utxoLedgerService;
+        this.digestService = digestService;
+    }
+
+    /**
+     * Sets the number of states aggregated per page, where each page is a single round trip to the database.
+     *
+     * @param pageSize The number of states aggregated per page.
+     * @return Returns the current {@link TokenBalanceService}.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    @NotNull
+    public TokenBalanceService setPageSize(final int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("The page size must be greater than zero.");
+        this.pageSize = pageSize;
+        return this;
+    }
+
+    /**
+     * Gets the balances of the unconsumed {@link FungibleState} instances owned by the specified owner.
+     * The balances are queried if they are not cached.
+     *
+     * @param owner The owner of the balances to get.
+     * @return Returns the balances of the unconsumed {@link FungibleState} instances owned by the specified owner.
+     */
+    @NotNull
+    @Suspendable
+    public List<TokenBalance> getBalances(@NotNull final PublicKey owner) {
+        List<TokenBalance> result = balances.get(owner);
+
+        if (result == null) {
+            result = Collections.unmodifiableList(queryBalances(owner));
+            balances.put(owner, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the unconsumed {@link FungibleState} instances of the specified type,
+     * owned by the specified owner, and issued by the specified issuer, regardless of their fungibility key.
+     *
+     * @param owner     The owner of the balance to get.
+     * @param issuer    The issuer of the balance to get, or null to get the balance of every issuer.
+     * @param stateType The type of {@link FungibleState} of the balance to get.
+     * @return Returns the sum of the unscaled quantities of the matching {@link FungibleState} instances.
+     * @throws IllegalStateException if the matching {@link FungibleState} instances have more than one fungibility key or scale.
+     */
+    @NotNull
+    @Suspendable
+    public BigInteger getBalance(
+            @NotNull final PublicKey owner,
+            @Nullable final PublicKey issuer,
+            @NotNull final Class<? extends FungibleState<?>> stateType) {
+        return getBalance(owner, issuer, stateType, balance -> true);
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the unconsumed {@link FungibleState} instances of the specified type,
+     * owned by the specified owner, issued by the specified issuer, and with the specified fungibility key.
+     *
+     * @param owner          The owner of the balance to get.
+     * @param issuer         The issuer of the balance to get, or null to get the balance of every issuer.
+     * @param stateType      The type of {@link FungibleState} of the balance to get.
+     * @param fungibilityKey The string representation of the fungibility key of the balance to get, or null to get the balance of states with no fungibility key.
+     * @return Returns the sum of the unscaled quantities of the matching {@link FungibleState} instances.
+     * @throws IllegalStateException if the matching {@link FungibleState} instances have more than one scale.
+     */
+    @NotNull
+    @Suspendable
+    public BigInteger getBalance(
+            @NotNull final PublicKey owner,
+            @Nullable final PublicKey issuer,
+            @NotNull final Class<? extends FungibleState<?>> stateType,
+            @Nullable final String fungibilityKey) {
+        return getBalance(owner, issuer, stateType, balance -> Objects.equals(fungibilityKey, balance.getFungibilityKey()));
+    }
+
+    /**
+     * Invalidates the cached balances of the specified owner.
+     *
+     * @param owner The owner whose cached balances to invalidate.
+     */
+    public void invalidate(@NotNull final PublicKey owner) {
+        balances.remove(owner);
+    }
+
+    /**
+     * Invalidates the cached balances of every owner of the input and output states of the specified transaction,
+     * since their balances change when the transaction is finalized.
+     *
+     * @param transaction The transaction whose owners' cached balances to invalidate.
+     */
+    public void invalidate(@NotNull final UtxoLedgerTransaction transaction) {
+        invalidate(transaction.getInputContractStates());
+        invalidate(transaction.getOutputContractStates());
+    }
+
+    /**
+     * Invalidates every cached balance.
+     */
+    public void invalidateAll() {
+        balances.clear();
+    }
+
+    /**
+     * Invalidates the cached balances of every owner of the specified states.
+     *
+     * @param states The states whose owners' cached balances to invalidate.
+     */
+    private void invalidate(@NotNull final List<ContractState> states) {
+        for (final ContractState state : states) {
+            if (state instanceof OwnableState) invalidate(((OwnableState) state).getOwner());
+        }
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the balances of the specified type, owner and issuer that match the specified predicate.
+     * Unscaled quantities are only summed if every matching balance has the same fungibility key and scale.
+     *
+     * @param owner     The owner of the balance to get.
+     * @param issuer    The issuer of the balance to get, or null to get the balance of every issuer.
+     * @param stateType The type of {@link FungibleState} of the balance to get.
+     * @param predicate The predicate that the balances to sum must match.
+     * @return Returns the sum of the unscaled quantities of the matching balances.
+     * @throws IllegalStateException if the matching balances have more than one fungibility key or scale.
+     */
+    @NotNull
+    @Suspendable
+    private BigInteger getBalance(
+            @NotNull final PublicKey owner,
+            @Nullable final PublicKey issuer,
+            @NotNull final Class<? extends FungibleState<?>> stateType,
+            @NotNull final Predicate<TokenBalance> predicate) {
+        TokenBalance first = null;
+        BigInteger result = BigInteger.ZERO;
+
+        for (final TokenBalance balance : getBalances(owner)) {
+            if (!balance.getStateType().equals(stateType.getName())) continue;
+            if (issuer != null && !issuer.equals(balance.getIssuer())) continue;
+            if (!predicate.test(balance)) continue;
+
+            if (first == null) {
+                first = balance;
+            } else if (!Objects.equals(first.getFungibilityKey(), balance.getFungibilityKey()) || first.getScale() != balance.getScale()) {
+                throw new IllegalStateException("The balances of " + stateType.getName() + " have more than one fungibility key or scale, and cannot be summed.");
+            }
+
+            result = result.add(balance.getQuantity());
+        }
+
+        return result;
+    }
+
+    /**
+     * Queries the balances of the unconsumed {@link FungibleState} instances owned by the specified owner, merging the balances of every page.
+     *
+     * @param owner The owner of the balances to query.
+     * @return Returns the balances of the unconsumed {@link FungibleState} instances owned by the specified owner.
+     */
+    @NotNull
+    @Suspendable
+    private List<TokenBalance> queryBalances(@NotNull final PublicKey owner) {
+        final PagedQuery.ResultSet<TokenBalance> resultSet = utxoLedgerService
+                .query(TokenBalanceQueries.GET_BALANCES_BY_OWNER, TokenBalance.class)
+                .setCreatedTimestampLimit(Instant.now())
+                .setLimit(pageSize)
+                .setParameter("owner", digestService.hash(owner.getEncoded(), DigestAlgorithmName.SHA2_256).toString())
+                .execute();
+
+        final List<TokenBalance> result = new ArrayList<>(resultSet.getResults());
+
+        while (resultSet.hasNext()) {
+            result.addAll(resultSet.next());
+        }
+
+        return TokenBalance.merge(result);
+    }
+}
@@ -0,0 +1,142 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.application.flows.CordaInject;
+import net.corda.v5.application.flows.SubFlow;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Represents a sub-flow that consolidates the fragmented groups of unconsumed {@link FungibleState} instances owned by a given owner,
+ * using a {@link TokenConsolidator}; for example:
+ * <pre>{@code
+ * flowEngine.subFlow(new TokenConsolidationFlow<>(owner, Token.class, Token::withQuantity, new TokenContract.Consolidate())
+ *         .setFragmentationThreshold(100)
+ *         .setOutputCount(2));
+ * }</pre>
+ * Since every batch is signed by the owner only, this should be called by the owner's node.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to consolidate.
+ */
+public final class TokenConsolidationFlow<T extends FungibleState<?> & OwnableState> implements SubFlow<List<UtxoSignedTransaction>> {
+
+    @CordaInject
+    private UtxoLedgerService utxoLedgerService;
+
+    @CordaInject
+    private DigestService digestService;
+
+    @NotNull
+    private final PublicKey owner;
+
+    @NotNull
+    private final Class<T> stateType;
+
+    @NotNull
+    private final TokenFactory<T> factory;
+
+    @NotNull
+    private final Command command;
+
+    private int fragmentationThreshold = TokenConsolidator.DEFAULT_FRAGMENTATION_THRESHOLD;
+
+    private int outputCount = TokenConsolidator.DEFAULT_OUTPUT_COUNT;
+
+    private int batchSize = TokenConsolidator.DEFAULT_BATCH_SIZE;
+
+    private int maximumBatches = TokenConsolidator.DEFAULT_MAXIMUM_BATCHES;
+
+    /**
+     * Initializes a new instance of the {@link TokenConsolidationFlow} class.
+     *
+     * @param owner     The owner of the {@link FungibleState} instances to consolidate.
+     * @param stateType The type of {@link FungibleState} to consolidate.
+     * @param factory   The {@link TokenFactory} used to create the outputs of each batch.
+     * @param command   The command added to each batch.
+     */
+    public TokenConsolidationFlow(
+            @NotNull final PublicKey owner,
+            @NotNull final Class<T> stateType,
+            @NotNull final TokenFactory<T> factory,
+            @NotNull final Command command) {
+        this.owner = owner;
+        this.stateType = stateType;
+        this.factory = factory;
+        this.command = command;
+    }
+
+    /**
+     * Sets the minimum number of states in a group before the group is consolidated.
+     *
+     * @param fragmentationThreshold The minimum number of states in a group before the group is consolidated.
+     * @return Returns the current {@link TokenConsolidationFlow}.
+     */
+    @NotNull
+    public TokenConsolidationFlow<T> setFragmentationThreshold(final int fragmentationThreshold) {
+        this.fragmentationThreshold = fragmentationThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the number of states created by each batch.
+     *
+     * @param outputCount The number of states created by each batch.
+     * @return Returns the current {@link TokenConsolidationFlow}.
+     */
+    @NotNull
+    public TokenConsolidationFlow<T> setOutputCount(final int outputCount) {
+        this.outputCount = outputCount;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of states consumed by each batch.
+     *
+     * @param batchSize The maximum number of states consumed by each batch.
+     * @return Returns the current {@link TokenConsolidationFlow}.
+     */
+    @NotNull
+    public TokenConsolidationFlow<T> setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches recorded by the current {@link TokenConsolidationFlow}.
+     *
+     * @param maximumBatches The maximum number of batches recorded by the current {@link TokenConsolidationFlow}.
+     * @return Returns the current {@link TokenConsolidationFlow}.
+     */
+    @NotNull
+    public TokenConsolidationFlow<T> setMaximumBatches(final int maximumBatches) {
+        this.maximumBatches = maximumBatches;
+        return this;
+    }
+
+    /**
+     * Consolidates the fragmented groups of unconsumed {@link FungibleState} instances owned by the owner.
+     *
+     * @return Returns the finalized transactions of the recorded batches, or an empty list if no group is fragmented.
+     * @throws IllegalArgumentException if any of the specified settings are invalid.
+     * @throws IllegalStateException    if a batch fails finalization.
+     */
+    @NotNull
+    @Override
+    @Suspendable
+    public List<UtxoSignedTransaction> call() {
+        return new TokenConsolidator<>(utxoLedgerService, digestService, stateType, factory, command)
+                .setFragmentationThreshold(fragmentationThreshold)
+                .setOutputCount(outputCount)
+                .setBatchSize(batchSize)
+                .setMaximumBatches(maximumBatches)
+                .consolidate(owner);
+    }
+}
@@ -0,0 +1,220 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleContractConsolidateCommand;
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a token consolidator, which merges the smallest unconsumed {@link FungibleState} instances owned by a given owner into fewer states,
+ * so that later selections read fewer candidates, and later transactions consume fewer inputs.
+ * <p>
+ * States are grouped by notary and by fungibility. Each group that contains at least the fragmentation threshold number of states is consolidated
+ * in batches: each batch consumes up to the batch size number of the group's smallest states, and creates the output count number of states
+ * of the same total quantity, created by the specified {@link TokenFactory}. Batches are recorded as separate transactions, until the group
+ * falls below the fragmentation threshold, or the maximum number of batches has been recorded.
+ * <p>
+ * The specified command is expected to be a {@link FungibleContractConsolidateCommand} of the states' contract, or another command that permits
+ * states to be merged by their owner.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to consolidate.
+ */
+public final class TokenConsolidator<T extends FungibleState<?> & OwnableState> {
+
+    /**
+     * The default minimum number of states in a group before the group is consolidated.
+     */
+    public static final int DEFAULT_FRAGMENTATION_THRESHOLD = 20;
+
+    /**
+     * The default number of states created by each batch.
+     */
+    public static final int DEFAULT_OUTPUT_COUNT = 1;
+
+    /**
+     * The default maximum number of states consumed by each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 50;
+
+    /**
+     * The default maximum number of batches recorded per consolidation.
+     */
+    public static final int DEFAULT_MAXIMUM_BATCHES = 10;
+
+    @NotNull
+    private final TokenWallet<T> wallet;
+
+    private int fragmentationThreshold = DEFAULT_FRAGMENTATION_THRESHOLD;
+
+    private int outputCount = DEFAULT_OUTPUT_COUNT;
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private int maximumBatches = DEFAULT_MAXIMUM_BATCHES;
+
+    /**
+     * Initializes a new instance of the {@link TokenConsolidator} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to read states, and with which to record batches.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     * @param stateType         The type of {@link FungibleState} to consolidate.
+     * @param factory           The {@link TokenFactory} used to create the outputs of each batch.
+     * @param command           The command added to each batch.
+     */
+    public TokenConsolidator(
+            @NotNull final UtxoLedgerService utxoLedgerService,
+            @NotNull final DigestService digestService,
+            @NotNull final Class<T> stateType,
+            @NotNull final TokenFactory<T> factory,
+            @NotNull final Command command) {
+        this.wallet = new TokenWallet<>(utxoLedgerService, digestService, stateType, factory, command);
+    }
+
+    /**
+     * Sets the minimum number of states in a group before the group is consolidated.
+     *
+     * @param fragmentationThreshold The minimum number of states in a group before the group is consolidated.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified threshold is not greater than one.
+     */
+    @NotNull
+    public TokenConsolidator<T> setFragmentationThreshold(final int fragmentationThreshold) {
+        if (fragmentationThreshold <= 1) throw new IllegalArgumentException("The fragmentation threshold must be greater than one.");
+        this.fragmentationThreshold = fragmentationThreshold;
+        return this;
+    }
+
+    /**
+     * Sets the number of states created by each batch.
+     *
+     * @param outputCount The number of states created by each batch.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified output count is not greater than zero.
+     */
+    @NotNull
+    public TokenConsolidator<T> setOutputCount(final int outputCount) {
+        if (outputCount <= 0) throw new IllegalArgumentException("The output count must be greater than zero.");
+        this.outputCount = outputCount;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of states consumed by each batch.
+     *
+     * @param batchSize The maximum number of states consumed by each batch.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified batch size is not greater than one.
+     */
+    @NotNull
+    public TokenConsolidator<T> setBatchSize(final int batchSize) {
+        if (batchSize <= 1) throw new IllegalArgumentException("The batch size must be greater than one.");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches recorded per consolidation.
+     *
+     * @param maximumBatches The maximum number of batches recorded per consolidation.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified maximum number of batches is not greater than zero.
+     */
+    @NotNull
+    public TokenConsolidator<T> setMaximumBatches(final int maximumBatches) {
+        if (maximumBatches <= 0) throw new IllegalArgumentException("The maximum number of batches must be greater than zero.");
+        this.maximumBatches = maximumBatches;
+        return this;
+    }
+
+    /**
+     * Sets the number of states read from the vault per page.
+     *
+     * @param pageSize The number of states read from the vault per page.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    @NotNull
+    public TokenConsolidator<T> setPageSize(final int pageSize) {
+        wallet.setPageSize(pageSize);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of states read from the vault per consolidation.
+     *
+     * @param maximumCandidates The maximum number of states read from the vault per consolidation.
+     * @return Returns the current {@link TokenConsolidator}.
+     * @throws IllegalArgumentException if the specified maximum number of states is not greater than zero.
+     */
+    @NotNull
+    public TokenConsolidator<T> setMaximumCandidates(final int maximumCandidates) {
+        wallet.setMaximumCandidates(maximumCandidates);
+        return this;
+    }
+
+    /**
+     * Sets the {@link TokenReservationService} used to skip states reserved by other flows, and to reserve the states of each batch.
+     *
+     * @param reservations  The {@link TokenReservationService} used to skip and reserve states.
+     * @param reservationId The ID of the reservation that reserves the states of each batch, which is typically unique per flow.
+     * @param ttl           The time-to-live of the reservation.
+     * @return Returns the current {@link TokenConsolidator}.
+     */
+    @NotNull
+    public TokenConsolidator<T> setReservations(
+            @NotNull final TokenReservationService reservations,
+            @NotNull final String reservationId,
+            @NotNull final Duration ttl) {
+        wallet.setReservations(reservations, reservationId, ttl);
+        return this;
+    }
+
+    /**
+     * Consolidates the fragmented groups of unconsumed {@link FungibleState} instances owned by the specified owner.
+     *
+     * @param owner The owner of the {@link FungibleState} instances to consolidate.
+     * @return Returns the finalized transactions of the recorded batches, or an empty list if no group is fragmented.
+     * @throws IllegalStateException if the output count is not less than the batch size, or if a batch fails finalization.
+     */
+    @NotNull
+    @Suspendable
+    public List<UtxoSignedTransaction> consolidate(@NotNull final PublicKey owner) {
+        if (outputCount >= batchSize) throw new IllegalStateException("The output count must be less than the batch size.");
+
+        final List<UtxoSignedTransaction> result = new ArrayList<>();
+
+        for (final List<StateAndRef<T>> group : TokenGroups.group(wallet.read(owner))) {
+            group.sort(Comparator.comparing(StandardTokenSelectionStrategy::getQuantity));
+
+            int remaining = group.size();
+            int index = 0;
+
+            while (remaining >= fragmentationThreshold && result.size() < maximumBatches) {
+                final int count = Math.min(batchSize, group.size() - index);
+                if (count <= outputCount) break;
+
+                final List<StateAndRef<T>> batch = group.subList(index, index + count);
+                final List<BigInteger> quantities = TokenQuantities.split(TokenWallet.sum(batch), outputCount);
+
+                result.add(wallet.record(owner, batch, quantities));
+                index += count;
+                remaining -= count - quantities.size();
+            }
+        }
+
+        return result;
+    }
+}
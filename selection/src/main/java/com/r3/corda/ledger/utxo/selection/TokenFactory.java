@@ -0,0 +1,26 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+
+/**
+ * Defines a mechanism for creating {@link FungibleState} instances that differ from an existing instance only by quantity,
+ * which is used to create the outputs of transactions that restructure an owner's states without changing their balance.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to create.
+ */
+@FunctionalInterface
+public interface TokenFactory<T extends FungibleState<?>> {
+
+    /**
+     * Creates a new {@link FungibleState} that is fungible with the specified template, and has the specified unscaled quantity.
+     *
+     * @param template The {@link FungibleState} from which to copy every property except the quantity.
+     * @param quantity The unscaled quantity of the {@link FungibleState} to create, which has the same scale as the template's quantity.
+     * @return Returns a new {@link FungibleState} that is fungible with the specified template, and has the specified unscaled quantity.
+     */
+    @NotNull
+    T create(@NotNull T template, @NotNull BigInteger quantity);
+}
@@ -0,0 +1,93 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Provides utility functions for grouping {@link FungibleState} instances that can be consumed together into the same output.
+ */
+final class TokenGroups {
+
+    /**
+     * Prevents instances of {@link TokenGroups} from being created.
+     */
+    private TokenGroups() {
+    }
+
+    /**
+     * Determines whether the specified state is fungible with the specified template.
+     * <p>
+     * States that specify a fungibility key are fungible with the template if their key is equal to the template's key;
+     * otherwise, they are fungible with the template if the template's {@link FungibleState#isFungibleWith(FungibleState)} returns true,
+     * consistent with the fungible contract constraints.
+     *
+     * @param template The template with which the state must be fungible.
+     * @param state    The state to determine is fungible with the template.
+     * @return Returns true if the specified state is fungible with the specified template; otherwise, false.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static boolean isFungibleWith(@NotNull final FungibleState<?> template, @NotNull final FungibleState<?> state) {
+        final Object key = state.getFungibilityKey();
+        final Object templateKey = template.getFungibilityKey();
+
+        if (key != null || templateKey != null) return Objects.equals(key, templateKey);
+        return ((FungibleState) template).isFungibleWith(state);
+    }
+
+    /**
+     * Groups the specified states by notary, and by fungibility.
+     * <p>
+     * States that specify a fungibility key are grouped by key; other states are grouped by comparing them with the first state of each group,
+     * consistent with the fungible contract constraints.
+     *
+     * @param states The states to group.
+     * @param <T>    The underlying type of the {@link FungibleState} instances to group.
+     * @return Returns the groups of the specified states, in the order in which each group was first encountered.
+     */
+    @NotNull
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static <T extends FungibleState<?>> List<List<StateAndRef<T>>> group(@NotNull final List<StateAndRef<T>> states) {
+        final List<List<StateAndRef<T>>> result = new ArrayList<>();
+        final Map<List<Object>, List<StateAndRef<T>>> keyedGroups = new HashMap<>();
+
+        for (final StateAndRef<T> state : states) {
+            final FungibleState contractState = state.getState().getContractState();
+            final Object key = contractState.getFungibilityKey();
+
+            List<StateAndRef<T>> group = null;
+
+            if (key != null) {
+                group = keyedGroups.get(Arrays.asList(state.getState().getNotaryName(), key));
+            } else {
+                for (final List<StateAndRef<T>> candidate : result) {
+                    final StateAndRef<T> representative = candidate.get(0);
+
+                    if (representative.getState().getContractState().getFungibilityKey() == null
+                            && representative.getState().getNotaryName().equals(state.getState().getNotaryName())
+                            && ((FungibleState) representative.getState().getContractState()).isFungibleWith(contractState)) {
+                        group = candidate;
+                        break;
+                    }
+                }
+            }
+
+            if (group == null) {
+                group = new ArrayList<>();
+                result.add(group);
+                if (key != null) keyedGroups.put(Arrays.asList(state.getState().getNotaryName(), key), group);
+            }
+
+            group.add(state);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Provides utility functions for dividing unscaled quantities.
+ */
+final class TokenQuantities {
+
+    /**
+     * Prevents instances of {@link TokenQuantities} from being created.
+     */
+    private TokenQuantities() {
+    }
+
+    /**
+     * Splits the specified unscaled quantity into the specified number of positive parts, whose sizes differ by at most one.
+     * If the quantity is smaller than the number of parts, it is split into as many parts as it has units.
+     *
+     * @param quantity The unscaled quantity to split, which must be greater than zero.
+     * @param count    The number of parts into which to split the quantity, which must be greater than zero.
+     * @return Returns the parts of the specified quantity, largest first, whose sum is the specified quantity.
+     */
+    @NotNull
+    static List<BigInteger> split(@NotNull final BigInteger quantity, final int count) {
+        final int parts = quantity.compareTo(BigInteger.valueOf(count)) < 0 ? quantity.intValueExact() : count;
+        final BigInteger[] quotientAndRemainder = quantity.divideAndRemainder(BigInteger.valueOf(parts));
+        final int remainder = quotientAndRemainder[1].intValueExact();
+        final List<BigInteger> result = new ArrayList<>(parts);
+
+        for (int index = 0; index < parts; index++) {
+            result.add(index < remainder ? quotientAndRemainder[0].add(BigInteger.ONE) : quotientAndRemainder[0]);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,205 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import com.r3.corda.ledger.utxo.ownable.query.OwnableStateQueries;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.application.persistence.PagedQuery;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.crypto.DigestAlgorithmName;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a reader of the unconsumed {@link FungibleState} instances of a given type owned by a single owner,
+ * which reads states from the vault a page at a time, using the {@link OwnableStateQueries#GET_BY_OWNER} query.
+ * <p>
+ * If a {@link TokenReservationService} is specified, states reserved by other flows are skipped.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to read.
+ */
+final class TokenReader<T extends FungibleState<?> & OwnableState> {
+
+    @NotNull
+    private final UtxoLedgerService utxoLedgerService;
+
+    @NotNull
+    private final DigestService digestService;
+
+    @NotNull
+    private final Class<T> stateType;
+
+    private int pageSize = TokenSelector.DEFAULT_PAGE_SIZE;
+
+    private int maximumCandidates = TokenSelector.DEFAULT_MAXIMUM_CANDIDATES;
+
+    @Nullable
+    private TokenReservationService reservations;
+
+    @Nullable
+    private String reservationId;
+
+    /**
+     * Initializes a new instance of the {@link TokenReader} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to read states.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     * @param stateType         The type of {@link FungibleState} to read.
+     */
+    TokenReader(@NotNull final UtxoLedgerService utxoLedgerService, @NotNull final DigestService digestService, @NotNull final Class<T> stateType) {
+        this.utxoLedgerService = utxoLedgerService;
+        this.digestService = digestService;
+        this.stateType = stateType;
+    }
+
+    /**
+     * Sets the number of states read from the vault per page.
+     *
+     * @param pageSize The number of states read from the vault per page.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    void setPageSize(final int pageSize) {
+        if (pageSize <= 0) throw new IllegalArgumentException("The page size must be greater than zero.");
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Sets the maximum number of states read from the vault.
+     *
+     * @param maximumCandidates The maximum number of states read from the vault.
+     * @throws IllegalArgumentException if the specified maximum number of states is not greater than zero.
+     */
+    void setMaximumCandidates(final int maximumCandidates) {
+        if (maximumCandidates <= 0) throw new IllegalArgumentException("The maximum number of candidates must be greater than zero.");
+        this.maximumCandidates = maximumCandidates;
+    }
+
+    /**
+     * Sets the {@link TokenReservationService} used to skip states reserved by other flows.
+     *
+     * @param reservations  The {@link TokenReservationService} used to skip states.
+     * @param reservationId The ID of the reservation whose own reservations are not skipped.
+     */
+    void setReservations(@NotNull final TokenReservationService reservations, @NotNull final String reservationId) {
+        this.reservations = reservations;
+        this.reservationId = reservationId;
+    }
+
+    /**
+     * Reads the unconsumed states owned by the specified owner from the vault, a page at a time, excluding states reserved by other flows,
+     * until the vault is exhausted, or the maximum number of candidates has been read.
+     *
+     * @param owner The owner of the states to read.
+     * @return Returns the unconsumed states owned by the specified owner.
+     */
+    @NotNull
+    @Suspendable
+    List<StateAndRef<T>> read(@NotNull final PublicKey owner) {
+        return read(owner, state -> true, (candidates, sum) -> false);
+    }
+
+    /**
+     * Reads the unconsumed states owned by the specified owner that match the specified filter from the vault, a page at a time,
+     * excluding states reserved by other flows, until the specified completion predicate is satisfied, the vault is exhausted,
+     * or the maximum number of candidates has been read.
+     *
+     * @param owner      The owner of the states to read.
+     * @param filter     The filter that the states to read must match.
+     * @param isComplete The predicate, given the states read so far and the sum of their unscaled quantities, that determines whether to stop reading.
+     * @return Returns the unconsumed states owned by the specified owner that match the specified filter.
+     */
+    @NotNull
+    @Suspendable
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    List<StateAndRef<T>> read(
+            @NotNull final PublicKey owner,
+            @NotNull final Predicate<? super T> filter,
+            @NotNull final BiPredicate<? super List<StateAndRef<T>>, ? super BigInteger> isComplete) {
+        final PagedQuery.ResultSet<StateAndRef> resultSet = utxoLedgerService
+                .query(OwnableStateQueries.GET_BY_OWNER, StateAndRef.class)
+                .setCreatedTimestampLimit(Instant.now())
+                .setLimit(pageSize)
+                .setParameter("owner", digestService.hash(owner.getEncoded(), DigestAlgorithmName.SHA2_256).toString())
+                .setParameter("stateType", stateType.getName())
+                .execute();
+
+        final List<StateAndRef<T>> result = new ArrayList<>();
+        BigInteger sum = BigInteger.ZERO;
+        List<StateAndRef> page = resultSet.getResults();
+
+        while (true) {
+            final List<StateAndRef<T>> pageCandidates = new ArrayList<>(page.size());
+
+            for (final StateAndRef stateAndRef : page) {
+                if (isCandidate(stateAndRef.getState().getContractState(), owner, filter)) pageCandidates.add((StateAndRef<T>) stateAndRef);
+            }
+
+            final Set<StateRef> reserved = getReservedStateRefs(pageCandidates);
+
+            for (final StateAndRef<T> candidate : pageCandidates) {
+                if (reserved.contains(candidate.getRef())) continue;
+
+                result.add(candidate);
+                sum = sum.add(StandardTokenSelectionStrategy.getQuantity(candidate));
+
+                if (result.size() >= maximumCandidates || isComplete.test(result, sum)) return result;
+            }
+
+            if (!resultSet.hasNext()) return result;
+            page = resultSet.next();
+        }
+    }
+
+    /**
+     * Gets the state references of the specified states.
+     *
+     * @param states The states whose state references to get.
+     * @return Returns the state references of the specified states.
+     */
+    @NotNull
+    static <T extends FungibleState<?>> List<StateRef> getStateRefs(@NotNull final List<StateAndRef<T>> states) {
+        return states.stream().map(StateAndRef::getRef).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the specified candidates that are reserved by other flows, or an empty set if no {@link TokenReservationService} is specified.
+     *
+     * @param candidates The candidates to check.
+     * @return Returns the specified candidates that are reserved by other flows.
+     */
+    @NotNull
+    @Suspendable
+    private Set<StateRef> getReservedStateRefs(@NotNull final List<StateAndRef<T>> candidates) {
+        if (reservations == null || candidates.isEmpty()) return Collections.emptySet();
+        return reservations.getReservedStateRefs(getStateRefs(candidates), reservationId);
+    }
+
+    /**
+     * Determines whether the specified state is of the current state type, owned by the specified owner, and matches the specified filter.
+     *
+     * @param state  The state to determine is a candidate.
+     * @param owner  The owner of the states to read.
+     * @param filter The filter that the states to read must match.
+     * @return Returns true if the specified state is a candidate; otherwise, false.
+     */
+    private boolean isCandidate(@NotNull final Object state, @NotNull final PublicKey owner, @NotNull final Predicate<? super T> filter) {
+        if (!stateType.isInstance(state)) return false;
+
+        final T candidate = stateType.cast(state);
+        return candidate.getOwner().equals(owner) && filter.test(candidate);
+    }
+}
@@ -0,0 +1,158 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+import javax.persistence.Table;
+import javax.persistence.Version;
+import java.time.Instant;
+
+/**
+ * Represents a persisted reservation of an unconsumed state, which prevents concurrent flows from selecting the same state.
+ * <p>
+ * Reservations are versioned, so that merging or removing a reservation that has been changed by another flow since it was read fails.
+ */
+@Entity
+@Table(name = "utxo_token_reservation")
+@NamedQueries({
+        @NamedQuery(
+                name = TokenReservationEntity.FIND_BY_RESERVATION_ID,
+                query = "FROM TokenReservationEntity WHERE reservationId = :reservationId"
+        ),
+        @NamedQuery(
+                name = TokenReservationEntity.FIND_EXPIRED,
+                query = "FROM TokenReservationEntity WHERE expiresAt <= :now"
+        )
+})
+public class TokenReservationEntity {
+
+    /**
+     * The name of the named query that finds the reservations with a given reservation ID.
+     */
+    static final String FIND_BY_RESERVATION_ID = "TokenReservationEntity.findByReservationId";
+
+    /**
+     * The name of the named query that finds the reservations that expired at, or before, a given instant.
+     */
+    static final String FIND_EXPIRED = "TokenReservationEntity.findExpired";
+
+    @Id
+    @Column(name = "state_ref", nullable = false)
+    private String stateRef;
+
+    @Column(name = "reservation_id", nullable = false)
+    private String reservationId;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Integer version;
+
+    /**
+     * Initializes a new instance of the {@link TokenReservationEntity} class.
+     * This constructor is required by JPA.
+     */
+    protected TokenReservationEntity() {
+    }
+
+    /**
+     * Initializes a new instance of the {@link TokenReservationEntity} class.
+     *
+     * @param stateRef      The reserved state reference, formatted as {@code <transaction id>:<index>}.
+     * @param reservationId The ID of the reservation that reserves the state.
+     * @param expiresAt     The instant at which the reservation expires.
+     */
+    public TokenReservationEntity(@NotNull final String stateRef, @NotNull final String reservationId, @NotNull final Instant expiresAt) {
+        this(stateRef, reservationId, expiresAt, null);
+    }
+
+    /**
+     * Initializes a new instance of the {@link TokenReservationEntity} class.
+     *
+     * @param stateRef      The reserved state reference, formatted as {@code <transaction id>:<index>}.
+     * @param reservationId The ID of the reservation that reserves the state.
+     * @param expiresAt     The instant at which the reservation expires.
+     * @param version       The version of the persisted reservation, or null if the reservation has not been persisted.
+     */
+    TokenReservationEntity(
+            @NotNull final String stateRef,
+            @NotNull final String reservationId,
+            @NotNull final Instant expiresAt,
+            @Nullable final Integer version) {
+        this.stateRef = stateRef;
+        this.reservationId = reservationId;
+        this.expiresAt = expiresAt;
+        this.version = version;
+    }
+
+    /**
+     * Gets the reserved state reference, formatted as {@code <transaction id>:<index>}.
+     *
+     * @return Returns the reserved state reference.
+     */
+    @NotNull
+    public String getStateRef() {
+        return stateRef;
+    }
+
+    /**
+     * Gets the ID of the reservation that reserves the state.
+     *
+     * @return Returns the ID of the reservation that reserves the state.
+     */
+    @NotNull
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    /**
+     * Gets the instant at which the reservation expires.
+     *
+     * @return Returns the instant at which the reservation expires.
+     */
+    @NotNull
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Gets the version of the persisted reservation, or null if the reservation has not been persisted.
+     *
+     * @return Returns the version of the persisted reservation, or null if the reservation has not been persisted.
+     */
+    @Nullable
+    public Integer getVersion() {
+        return version;
+    }
+
+    /**
+     * Creates a reservation of the same state, at the same version, for the specified reservation until the specified instant.
+     * Merging the created reservation fails if the persisted reservation has been changed since the current reservation was read.
+     *
+     * @param reservationId The ID of the reservation that reserves the state.
+     * @param expiresAt     The instant at which the reservation expires.
+     * @return Returns a reservation of the same state, at the same version, for the specified reservation until the specified instant.
+     */
+    @NotNull
+    TokenReservationEntity renew(@NotNull final String reservationId, @NotNull final Instant expiresAt) {
+        return new TokenReservationEntity(stateRef, reservationId, expiresAt, version);
+    }
+
+    /**
+     * Determines whether the current reservation prevents the specified reservation from reserving the state at the specified instant.
+     *
+     * @param reservationId The ID of the reservation that would reserve the state.
+     * @param now           The instant at which the state would be reserved.
+     * @return Returns true if the current reservation is held by a different reservation and has not expired; otherwise, false.
+     */
+    boolean isHeldByOtherThan(@NotNull final String reservationId, @NotNull final Instant now) {
+        return !this.reservationId.equals(reservationId) && expiresAt.isAfter(now);
+    }
+}
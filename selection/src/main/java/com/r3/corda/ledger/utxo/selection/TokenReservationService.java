@@ -0,0 +1,166 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import net.corda.v5.application.persistence.PersistenceService;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.StateRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a service that soft-locks unconsumed states, so that concurrent flows selecting states for the same owner do not select the same states.
+ * <p>
+ * Reservations are persisted using the specified {@link PersistenceService}, and are identified by a reservation ID,
+ * which is typically unique per flow. A reservation expires after its time-to-live, so that states reserved by a flow that
+ * failed without releasing its reservation become selectable again. Flows should release their reservation once their transaction
+ * has been finalized, or has failed; for example:
+ * <pre>{@code
+ * try {
+ *     TokenSelection<Token> selection = selector.setReservations(reservations, reservationId, ttl).select(owner, template, target);
+ *     // Build, sign and finalize the transaction...
+ * } finally {
+ *     reservations.release(reservationId);
+ * }
+ * }</pre>
+ * Reservations are advisory, and only prevent selection by flows that use a {@link TokenReservationService}; notarization remains
+ * the authority on double spends. If two flows reserve the same state concurrently, persisting one of the reservations fails,
+ * and that flow can select again. New reservations conflict on the state's primary key, and reservations that are renewed or taken over
+ * after expiry conflict on the reservation's version, since each renewed reservation is merged at the version at which it was read.
+ */
+public final class TokenReservationService {
+
+    @NotNull
+    private final PersistenceService persistenceService;
+
+    /**
+     * Initializes a new instance of the {@link TokenReservationService} class.
+     *
+     * @param persistenceService The {@link PersistenceService} used to persist reservations.
+     */
+    public TokenReservationService(@NotNull final PersistenceService persistenceService) {
+        this.persistenceService = persistenceService;
+    }
+
+    /**
+     * Gets the specified states that are reserved by a reservation other than the specified reservation, and that have not expired.
+     *
+     * @param stateRefs     The states to check.
+     * @param reservationId The ID of the reservation whose own reservations are ignored.
+     * @return Returns the specified states that are reserved by a reservation other than the specified reservation.
+     */
+    @NotNull
+    @Suspendable
+    public Set<StateRef> getReservedStateRefs(@NotNull final Collection<StateRef> stateRefs, @NotNull final String reservationId) {
+        final Set<StateRef> result = new HashSet<>();
+        if (stateRefs.isEmpty()) return result;
+
+        final Instant now = Instant.now();
+        final Map<String, TokenReservationEntity> reservations = findReservations(stateRefs);
+
+        for (final StateRef stateRef : stateRefs) {
+            final TokenReservationEntity reservation = reservations.get(stateRef.toString());
+            if (reservation != null && reservation.isHeldByOtherThan(reservationId, now)) result.add(stateRef);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reserves the specified states for the specified reservation, until the specified time-to-live has elapsed.
+     * <p>
+     * States that are already reserved by the specified reservation, or whose reservations have expired, are reserved again.
+     * Reserving them fails if another flow changes their reservations after they are read by this call.
+     *
+     * @param stateRefs     The states to reserve.
+     * @param reservationId The ID of the reservation that reserves the states.
+     * @param ttl           The time-to-live of the reservation.
+     * @throws IllegalArgumentException if the specified time-to-live is not positive.
+     * @throws IllegalStateException    if any of the specified states are reserved by another reservation that has not expired.
+     */
+    @Suspendable
+    public void reserve(@NotNull final Collection<StateRef> stateRefs, @NotNull final String reservationId, @NotNull final Duration ttl) {
+        if (ttl.isNegative() || ttl.isZero()) throw new IllegalArgumentException("The reservation time-to-live must be positive.");
+        if (stateRefs.isEmpty()) return;
+
+        final Instant now = Instant.now();
+        final Instant expiresAt = now.plus(ttl);
+        final Map<String, TokenReservationEntity> existing = findReservations(stateRefs);
+        final List<TokenReservationEntity> created = new ArrayList<>();
+        final List<TokenReservationEntity> renewed = new ArrayList<>();
+
+        for (final StateRef stateRef : stateRefs) {
+            final String id = stateRef.toString();
+            final TokenReservationEntity reservation = existing.get(id);
+
+            if (reservation == null) {
+                created.add(new TokenReservationEntity(id, reservationId, expiresAt));
+            } else if (reservation.isHeldByOtherThan(reservationId, now)) {
+                throw new IllegalStateException("The state " + id + " is reserved by another reservation until " + reservation.getExpiresAt() + ".");
+            } else {
+                renewed.add(reservation.renew(reservationId, expiresAt));
+            }
+        }
+
+        if (!renewed.isEmpty()) persistenceService.merge(renewed);
+        if (!created.isEmpty()) persistenceService.persist(created);
+    }
+
+    /**
+     * Releases every state reserved by the specified reservation.
+     *
+     * @param reservationId The ID of the reservation to release.
+     */
+    @Suspendable
+    public void release(@NotNull final String reservationId) {
+        final List<TokenReservationEntity> reservations = persistenceService
+                .query(TokenReservationEntity.FIND_BY_RESERVATION_ID, TokenReservationEntity.class)
+                .setParameter("reservationId", reservationId)
+                .execute()
+                .getResults();
+
+        if (!reservations.isEmpty()) persistenceService.remove(reservations);
+    }
+
+    /**
+     * Releases every reservation that has expired.
+     *
+     * @return Returns the number of reservations released.
+     */
+    @Suspendable
+    public int releaseExpired() {
+        final List<TokenReservationEntity> reservations = persistenceService
+                .query(TokenReservationEntity.FIND_EXPIRED, TokenReservationEntity.class)
+                .setParameter("now", Instant.now())
+                .execute()
+                .getResults();
+
+        if (!reservations.isEmpty()) persistenceService.remove(reservations);
+        return reservations.size();
+    }
+
+    /**
+     * Finds the persisted reservations of the specified states, keyed by state reference.
+     *
+     * @param stateRefs The states whose reservations to find.
+     * @return Returns the persisted reservations of the specified states, keyed by state reference.
+     */
+    @NotNull
+    @Suspendable
+    private Map<String, TokenReservationEntity> findReservations(@NotNull final Collection<StateRef> stateRefs) {
+        final List<String> ids = stateRefs.stream().map(StateRef::toString).collect(Collectors.toList());
+
+        return persistenceService
+                .find(TokenReservationEntity.class, ids)
+                .stream()
+                .collect(Collectors.toMap(TokenReservationEntity::getStateRef, Function.identity()));
+    }
+}
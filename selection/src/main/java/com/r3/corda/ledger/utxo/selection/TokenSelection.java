@@ -0,0 +1,84 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the result of a token selection.
+ *
+ * @param <T> The underlying type of the selected {@link FungibleState} instances.
+ */
+public final class TokenSelection<T extends FungibleState<?>> {
+
+    @NotNull
+    private final List<StateAndRef<T>> states;
+
+    @NotNull
+    private final BigInteger target;
+
+    @NotNull
+    private final BigInteger sum;
+
+    /**
+     * Initializes a new instance of the {@link TokenSelection} class.
+     *
+     * @param states The selected {@link FungibleState} instances.
+     * @param target The unscaled target quantity.
+     */
+    TokenSelection(@NotNull final List<StateAndRef<T>> states, @NotNull final BigInteger target) {
+        BigInteger sum = BigInteger.ZERO;
+
+        for (final StateAndRef<T> state : states) {
+            sum = sum.add(StandardTokenSelectionStrategy.getQuantity(state));
+        }
+
+        this.states = Collections.unmodifiableList(states);
+        this.target = target;
+        this.sum = sum;
+    }
+
+    /**
+     * Gets the selected {@link FungibleState} instances.
+     *
+     * @return Returns the selected {@link FungibleState} instances.
+     */
+    @NotNull
+    public List<StateAndRef<T>> getStates() {
+        return states;
+    }
+
+    /**
+     * Gets the unscaled target quantity.
+     *
+     * @return Returns the unscaled target quantity.
+     */
+    @NotNull
+    public BigInteger getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the selected {@link FungibleState} instances.
+     *
+     * @return Returns the sum of the unscaled quantities of the selected {@link FungibleState} instances.
+     */
+    @NotNull
+    public BigInteger getSum() {
+        return sum;
+    }
+
+    /**
+     * Gets the unscaled change quantity, which is the amount by which the selected {@link FungibleState} instances exceed the target quantity.
+     *
+     * @return Returns the unscaled change quantity.
+     */
+    @NotNull
+    public BigInteger getChange() {
+        return sum.subtract(target);
+    }
+}
@@ -0,0 +1,51 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Defines a mechanism for selecting {@link FungibleState} instances whose quantities cover a target quantity.
+ * <p>
+ * Quantities are compared using their unscaled values; therefore, every candidate and the target are expected to have the same scale.
+ * Standard strategies are provided by {@link StandardTokenSelectionStrategy}.
+ */
+public interface TokenSelectionStrategy {
+
+    /**
+     * Determines whether the specified candidates are sufficient for selection, such that no further candidates need to be read from the vault.
+     * This is called each time a candidate is read from the vault, where the specified candidates end with the candidate that was read.
+     * <p>
+     * The default implementation returns false, in which case candidates are read until the vault is exhausted,
+     * or until the maximum number of candidates has been read.
+     *
+     * @param candidates    The candidates that have been read from the vault, in vault order.
+     * @param candidatesSum The sum of the unscaled quantities of the specified candidates.
+     * @param target        The unscaled target quantity.
+     * @param <T>           The underlying type of the {@link FungibleState} candidates.
+     * @return Returns true if the specified candidates are sufficient for selection; otherwise, false.
+     */
+    default <T extends FungibleState<?>> boolean isComplete(
+            @NotNull final List<StateAndRef<T>> candidates,
+            @NotNull final BigInteger candidatesSum,
+            @NotNull final BigInteger target) {
+        return false;
+    }
+
+    /**
+     * Selects the candidates whose quantities cover the specified target quantity.
+     * <p>
+     * This is only called when the sum of the specified candidates is greater than or equal to the specified target quantity,
+     * and must return candidates whose sum is greater than or equal to the specified target quantity.
+     *
+     * @param candidates The candidates from which to select, in vault order.
+     * @param target     The unscaled target quantity.
+     * @param <T>        The underlying type of the {@link FungibleState} candidates.
+     * @return Returns the selected candidates.
+     */
+    @NotNull
+    <T extends FungibleState<?>> List<StateAndRef<T>> select(@NotNull List<StateAndRef<T>> candidates, @NotNull BigInteger target);
+}
@@ -0,0 +1,218 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.Numeric;
+import com.r3.corda.ledger.utxo.issuable.IssuableState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import com.r3.corda.ledger.utxo.ownable.query.OwnableStateQueries;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents a token selector, which selects unconsumed {@link FungibleState} instances owned by a given owner that cover a target quantity.
+ * <p>
+ * Candidates are read from the vault a page at a time, using the {@link OwnableStateQueries#GET_BY_OWNER} query,
+ * filtered by issuer, by fungibility with a template state and by scale, and passed to the specified {@link TokenSelectionStrategy}.
+ * Only states that are fungible with each other are therefore selected, consistent with the fungible contract constraints.
+ * Reading stops when the strategy is complete, the vault is exhausted, or the maximum number of candidates has been read.
+ * <p>
+ * If a {@link TokenReservationService} is specified, candidates reserved by other flows are skipped, and the selected states are reserved.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to select.
+ */
+public final class TokenSelector<T extends FungibleState<?> & OwnableState & IssuableState> {
+
+    /**
+     * The default number of candidates read from the vault per page.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 200;
+
+    /**
+     * The default maximum number of candidates read from the vault per selection.
+     */
+    public static final int DEFAULT_MAXIMUM_CANDIDATES = 10_000;
+
+    @NotNull
+    private final TokenReader<T> reader;
+
+    @NotNull
+    private final Set<PublicKey> issuers = new HashSet<>();
+
+    @NotNull
+    private TokenSelectionStrategy strategy = StandardTokenSelectionStrategy.MINIMUM_INPUT_COUNT;
+
+    @Nullable
+    private TokenReservationService reservations;
+
+    @Nullable
+    private String reservationId;
+
+    @Nullable
+    private Duration reservationTtl;
+
+    /**
+     * Initializes a new instance of the {@link TokenSelector} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to read candidates.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     * @param stateType         The type of {@link FungibleState} to select.
+     */
+    public TokenSelector(
+            @NotNull final UtxoLedgerService utxoLedgerService,
+            @NotNull final DigestService digestService,
+            @NotNull final Class<T> stateType) {
+        this.reader = new TokenReader<>(utxoLedgerService, digestService, stateType);
+    }
+
+    /**
+     * Sets the {@link TokenSelectionStrategy} of the current {@link TokenSelector}.
+     * The default strategy is {@link StandardTokenSelectionStrategy#MINIMUM_INPUT_COUNT}.
+     *
+     * @param strategy The {@link TokenSelectionStrategy} of the current {@link TokenSelector}.
+     * @return Returns the current {@link TokenSelector}.
+     */
+    @NotNull
+    public TokenSelector<T> setStrategy(@NotNull final TokenSelectionStrategy strategy) {
+        this.strategy = strategy;
+        return this;
+    }
+
+    /**
+     * Sets the issuers whose {@link FungibleState} instances can be selected.
+     * If no issuers are specified, {@link FungibleState} instances of any issuer can be selected.
+     *
+     * @param issuers The issuers whose {@link FungibleState} instances can be selected.
+     * @return Returns the current {@link TokenSelector}.
+     */
+    @NotNull
+    public TokenSelector<T> setIssuers(@NotNull final Collection<PublicKey> issuers) {
+        this.issuers.clear();
+        this.issuers.addAll(issuers);
+        return this;
+    }
+
+    /**
+     * Sets the number of candidates read from the vault per page.
+     *
+     * @param pageSize The number of candidates read from the vault per page.
+     * @return Returns the current {@link TokenSelector}.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    @NotNull
+    public TokenSelector<T> setPageSize(final int pageSize) {
+        reader.setPageSize(pageSize);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of candidates read from the vault per selection.
+     *
+     * @param maximumCandidates The maximum number of candidates read from the vault per selection.
+     * @return Returns the current {@link TokenSelector}.
+     * @throws IllegalArgumentException if the specified maximum number of candidates is not greater than zero.
+     */
+    @NotNull
+    public TokenSelector<T> setMaximumCandidates(final int maximumCandidates) {
+        reader.setMaximumCandidates(maximumCandidates);
+        return this;
+    }
+
+    /**
+     * Sets the {@link TokenReservationService} used to skip states reserved by other flows, and to reserve the selected states.
+     *
+     * @param reservations  The {@link TokenReservationService} used to skip and reserve states.
+     * @param reservationId The ID of the reservation that reserves the selected states, which is typically unique per flow.
+     * @param ttl           The time-to-live of the reservation.
+     * @return Returns the current {@link TokenSelector}.
+     */
+    @NotNull
+    public TokenSelector<T> setReservations(
+            @NotNull final TokenReservationService reservations,
+            @NotNull final String reservationId,
+            @NotNull final Duration ttl) {
+        this.reader.setReservations(reservations, reservationId);
+        this.reservations = reservations;
+        this.reservationId = reservationId;
+        this.reservationTtl = ttl;
+        return this;
+    }
+
+    /**
+     * Selects unconsumed {@link FungibleState} instances owned by the specified owner that cover the specified target quantity.
+     * <p>
+     * Only {@link FungibleState} instances that are fungible with the specified template, and whose quantities have the same scale
+     * as the specified target quantity, are selected.
+     *
+     * @param owner    The owner of the {@link FungibleState} instances to select.
+     * @param template The {@link FungibleState} with which the selected {@link FungibleState} instances must be fungible.
+     * @param target   The target quantity to cover, which must have the same scale as the quantities of the {@link FungibleState} instances to select.
+     * @return Returns the selected {@link FungibleState} instances.
+     * @throws IllegalArgumentException if the specified target quantity is not greater than zero.
+     * @throws IllegalStateException    if the available {@link FungibleState} instances do not cover the specified target quantity,
+     *                                  or if a selected state was reserved concurrently by another flow.
+     */
+    @NotNull
+    @Suspendable
+    public TokenSelection<T> select(@NotNull final PublicKey owner, @NotNull final T template, @NotNull final Numeric<?> target) {
+        final BigInteger unscaledTarget = target.getUnscaledValue();
+
+        if (unscaledTarget.signum() <= 0) {
+            throw new IllegalArgumentException("The target quantity must be greater than zero.");
+        }
+
+        final List<StateAndRef<T>> candidates = reader.read(
+                owner,
+                state -> isIssuedByPermittedIssuer(state) && isSelectable(state, template, target.getScale()),
+                (read, sum) -> strategy.isComplete(read, sum, unscaledTarget)
+        );
+
+        final BigInteger candidatesSum = TokenWallet.sum(candidates);
+
+        if (candidatesSum.compareTo(unscaledTarget) < 0) {
+            throw new IllegalStateException(
+                    "Insufficient token balance available to select: Target = " + unscaledTarget + ", Available = " + candidatesSum + ".");
+        }
+
+        final List<StateAndRef<T>> selected = strategy.select(candidates, unscaledTarget);
+
+        if (reservations != null) {
+            reservations.reserve(TokenReader.getStateRefs(selected), reservationId, reservationTtl);
+        }
+
+        return new TokenSelection<>(selected, unscaledTarget);
+    }
+
+    /**
+     * Determines whether the specified state was issued by one of the permitted issuers, or any issuer if no issuers are specified.
+     *
+     * @param state The state to determine was issued by one of the permitted issuers.
+     * @return Returns true if the specified state was issued by one of the permitted issuers; otherwise, false.
+     */
+    private boolean isIssuedByPermittedIssuer(@NotNull final T state) {
+        return issuers.isEmpty() || issuers.contains(state.getIssuer());
+    }
+
+    /**
+     * Determines whether the specified state is fungible with the specified template, and its quantity has the specified scale.
+     *
+     * @param state    The state to determine is selectable.
+     * @param template The {@link FungibleState} with which the state must be fungible.
+     * @param scale    The scale that the state's quantity must have.
+     * @return Returns true if the specified state is fungible with the specified template, and its quantity has the specified scale; otherwise, false.
+     */
+    private static <T extends FungibleState<?>> boolean isSelectable(@NotNull final T state, @NotNull final T template, final int scale) {
+        return state.getQuantity().getScale() == scale && TokenGroups.isFungibleWith(template, state);
+    }
+}
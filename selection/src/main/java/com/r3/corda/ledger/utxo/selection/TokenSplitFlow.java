@@ -0,0 +1,131 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.Numeric;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.application.flows.CordaInject;
+import net.corda.v5.application.flows.SubFlow;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Represents a sub-flow that splits the unconsumed {@link FungibleState} instances owned by a given owner into smaller states,
+ * so that each group contains a number of states, using a {@link TokenSplitter}; for example:
+ * <pre>{@code
+ * flowEngine.subFlow(new TokenSplitFlow<>(owner, Token.class, Token::withQuantity, new TokenContract.Move())
+ *         .setStateCount(32)
+ *         .setMinimumQuantity(new NumericDecimal(BigDecimal.valueOf(10), 2)));
+ * }</pre>
+ * Since every batch is signed by the owner only, this should be called by the owner's node.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to split.
+ */
+public final class TokenSplitFlow<T extends FungibleState<?> & OwnableState> implements SubFlow<List<UtxoSignedTransaction>> {
+
+    @CordaInject
+    private UtxoLedgerService utxoLedgerService;
+
+    @CordaInject
+    private DigestService digestService;
+
+    @NotNull
+    private final PublicKey owner;
+
+    @NotNull
+    private final Class<T> stateType;
+
+    @NotNull
+    private final TokenFactory<T> factory;
+
+    @NotNull
+    private final Command command;
+
+    private int stateCount = TokenSplitter.DEFAULT_STATE_COUNT;
+
+    @Nullable
+    private Numeric<?> minimumQuantity;
+
+    private int maximumBatches = TokenSplitter.DEFAULT_MAXIMUM_BATCHES;
+
+    /**
+     * Initializes a new instance of the {@link TokenSplitFlow} class.
+     *
+     * @param owner     The owner of the {@link FungibleState} instances to split.
+     * @param stateType The type of {@link FungibleState} to split.
+     * @param factory   The {@link TokenFactory} used to create the outputs of each batch.
+     * @param command   The command added to each batch.
+     */
+    public TokenSplitFlow(
+            @NotNull final PublicKey owner,
+            @NotNull final Class<T> stateType,
+            @NotNull final TokenFactory<T> factory,
+            @NotNull final Command command) {
+        this.owner = owner;
+        this.stateType = stateType;
+        this.factory = factory;
+        this.command = command;
+    }
+
+    /**
+     * Sets the number of states per group that the current {@link TokenSplitFlow} maintains.
+     *
+     * @param stateCount The number of states per group that the current {@link TokenSplitFlow} maintains.
+     * @return Returns the current {@link TokenSplitFlow}.
+     */
+    @NotNull
+    public TokenSplitFlow<T> setStateCount(final int stateCount) {
+        this.stateCount = stateCount;
+        return this;
+    }
+
+    /**
+     * Sets the minimum quantity of each state created by the current {@link TokenSplitFlow}.
+     *
+     * @param minimumQuantity The minimum quantity of each state created.
+     * @return Returns the current {@link TokenSplitFlow}.
+     */
+    @NotNull
+    public TokenSplitFlow<T> setMinimumQuantity(@NotNull final Numeric<?> minimumQuantity) {
+        this.minimumQuantity = minimumQuantity;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches recorded by the current {@link TokenSplitFlow}.
+     *
+     * @param maximumBatches The maximum number of batches recorded by the current {@link TokenSplitFlow}.
+     * @return Returns the current {@link TokenSplitFlow}.
+     */
+    @NotNull
+    public TokenSplitFlow<T> setMaximumBatches(final int maximumBatches) {
+        this.maximumBatches = maximumBatches;
+        return this;
+    }
+
+    /**
+     * Splits the groups of unconsumed {@link FungibleState} instances owned by the owner that contain fewer than the state count number of states.
+     *
+     * @return Returns the finalized transactions of the recorded batches, or an empty list if no group needs to be split.
+     * @throws IllegalArgumentException if any of the specified settings are invalid.
+     * @throws IllegalStateException    if a batch fails finalization.
+     */
+    @NotNull
+    @Override
+    @Suspendable
+    public List<UtxoSignedTransaction> call() {
+        final TokenSplitter<T> splitter = new TokenSplitter<>(utxoLedgerService, digestService, stateType, factory, command)
+                .setStateCount(stateCount)
+                .setMaximumBatches(maximumBatches);
+
+        if (minimumQuantity != null) splitter.setMinimumQuantity(minimumQuantity);
+        return splitter.split(owner);
+    }
+}
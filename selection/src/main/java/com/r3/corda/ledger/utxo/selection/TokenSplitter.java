@@ -0,0 +1,197 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleContractUpdateCommand;
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.fungible.Numeric;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Represents a token splitter, which splits the largest unconsumed {@link FungibleState} instances owned by a given owner into smaller states,
+ * so that the owner's balance is spread across a number of states per group, and concurrent selections for the same owner consume disjoint states,
+ * rather than contending for the same few large states.
+ * <p>
+ * States are grouped by notary and by fungibility. For each group that contains fewer than the state count number of states, the group's largest
+ * states are each split into equal parts, created by the specified {@link TokenFactory}, until the group contains the state count number of states.
+ * No part is smaller than the minimum quantity. Splits are recorded as separate transactions, each of which consumes a single state,
+ * until every group has been split, or the maximum number of batches has been recorded.
+ * <p>
+ * The specified command is expected to be a {@link FungibleContractUpdateCommand} of the states' contract, or another command that permits
+ * states to be split by their owner.
+ *
+ * @param <T> The underlying type of {@link FungibleState} to split.
+ */
+public final class TokenSplitter<T extends FungibleState<?> & OwnableState> {
+
+    /**
+     * The default number of states per group.
+     */
+    public static final int DEFAULT_STATE_COUNT = 10;
+
+    /**
+     * The default maximum number of batches recorded per split.
+     */
+    public static final int DEFAULT_MAXIMUM_BATCHES = 10;
+
+    @NotNull
+    private final TokenWallet<T> wallet;
+
+    private int stateCount = DEFAULT_STATE_COUNT;
+
+    @NotNull
+    private BigInteger minimumQuantity = BigInteger.ONE;
+
+    private int maximumBatches = DEFAULT_MAXIMUM_BATCHES;
+
+    /**
+     * Initializes a new instance of the {@link TokenSplitter} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to read states, and with which to record batches.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     * @param stateType         The type of {@link FungibleState} to split.
+     * @param factory           The {@link TokenFactory} used to create the outputs of each batch.
+     * @param command           The command added to each batch.
+     */
+    public TokenSplitter(
+            @NotNull final UtxoLedgerService utxoLedgerService,
+            @NotNull final DigestService digestService,
+            @NotNull final Class<T> stateType,
+            @NotNull final TokenFactory<T> factory,
+            @NotNull final Command command) {
+        this.wallet = new TokenWallet<>(utxoLedgerService, digestService, stateType, factory, command);
+    }
+
+    /**
+     * Sets the number of states per group that the current {@link TokenSplitter} maintains.
+     *
+     * @param stateCount The number of states per group that the current {@link TokenSplitter} maintains.
+     * @return Returns the current {@link TokenSplitter}.
+     * @throws IllegalArgumentException if the specified state count is not greater than one.
+     */
+    @NotNull
+    public TokenSplitter<T> setStateCount(final int stateCount) {
+        if (stateCount <= 1) throw new IllegalArgumentException("The state count must be greater than one.");
+        this.stateCount = stateCount;
+        return this;
+    }
+
+    /**
+     * Sets the minimum quantity of each state created by the current {@link TokenSplitter}.
+     * The default minimum quantity is a single unscaled unit.
+     *
+     * @param minimumQuantity The minimum quantity of each state created, which must have the same scale as the quantities of the states to split.
+     * @return Returns the current {@link TokenSplitter}.
+     * @throws IllegalArgumentException if the specified minimum quantity is not greater than zero.
+     */
+    @NotNull
+    public TokenSplitter<T> setMinimumQuantity(@NotNull final Numeric<?> minimumQuantity) {
+        final BigInteger unscaledMinimumQuantity = minimumQuantity.getUnscaledValue();
+        if (unscaledMinimumQuantity.signum() <= 0) throw new IllegalArgumentException("The minimum quantity must be greater than zero.");
+        this.minimumQuantity = unscaledMinimumQuantity;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of batches recorded per split.
+     *
+     * @param maximumBatches The maximum number of batches recorded per split.
+     * @return Returns the current {@link TokenSplitter}.
+     * @throws IllegalArgumentException if the specified maximum number of batches is not greater than zero.
+     */
+    @NotNull
+    public TokenSplitter<T> setMaximumBatches(final int maximumBatches) {
+        if (maximumBatches <= 0) throw new IllegalArgumentException("The maximum number of batches must be greater than zero.");
+        this.maximumBatches = maximumBatches;
+        return this;
+    }
+
+    /**
+     * Sets the number of states read from the vault per page.
+     *
+     * @param pageSize The number of states read from the vault per page.
+     * @return Returns the current {@link TokenSplitter}.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    @NotNull
+    public TokenSplitter<T> setPageSize(final int pageSize) {
+        wallet.setPageSize(pageSize);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of states read from the vault per split.
+     *
+     * @param maximumCandidates The maximum number of states read from the vault per split.
+     * @return Returns the current {@link TokenSplitter}.
+     * @throws IllegalArgumentException if the specified maximum number of states is not greater than zero.
+     */
+    @NotNull
+    public TokenSplitter<T> setMaximumCandidates(final int maximumCandidates) {
+        wallet.setMaximumCandidates(maximumCandidates);
+        return this;
+    }
+
+    /**
+     * Sets the {@link TokenReservationService} used to skip states reserved by other flows, and to reserve the state split by each batch.
+     *
+     * @param reservations  The {@link TokenReservationService} used to skip and reserve states.
+     * @param reservationId The ID of the reservation that reserves the state split by each batch, which is typically unique per flow.
+     * @param ttl           The time-to-live of the reservation.
+     * @return Returns the current {@link TokenSplitter}.
+     */
+    @NotNull
+    public TokenSplitter<T> setReservations(
+            @NotNull final TokenReservationService reservations,
+            @NotNull final String reservationId,
+            @NotNull final Duration ttl) {
+        wallet.setReservations(reservations, reservationId, ttl);
+        return this;
+    }
+
+    /**
+     * Splits the groups of unconsumed {@link FungibleState} instances owned by the specified owner that contain fewer than the state count number of states.
+     *
+     * @param owner The owner of the {@link FungibleState} instances to split.
+     * @return Returns the finalized transactions of the recorded batches, or an empty list if no group needs to be split.
+     * @throws IllegalStateException if a batch fails finalization.
+     */
+    @NotNull
+    @Suspendable
+    public List<UtxoSignedTransaction> split(@NotNull final PublicKey owner) {
+        final List<UtxoSignedTransaction> result = new ArrayList<>();
+
+        for (final List<StateAndRef<T>> group : TokenGroups.group(wallet.read(owner))) {
+            group.sort(Comparator.comparing(StandardTokenSelectionStrategy::getQuantity, Comparator.reverseOrder()));
+
+            int size = group.size();
+
+            for (int index = 0; index < group.size() && size < stateCount && result.size() < maximumBatches; index++) {
+                final StateAndRef<T> state = group.get(index);
+                final BigInteger quantity = StandardTokenSelectionStrategy.getQuantity(state);
+                final int parts = BigInteger.valueOf(stateCount - size + 1).min(quantity.divide(minimumQuantity)).intValueExact();
+
+                // Since states are sorted in descending order, no later state of the group can be split either.
+                if (parts <= 1) break;
+
+                result.add(wallet.record(owner, Collections.singletonList(state), TokenQuantities.split(quantity, parts)));
+                size += parts - 1;
+            }
+        }
+
+        return result;
+    }
+}
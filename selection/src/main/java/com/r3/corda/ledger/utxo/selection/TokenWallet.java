@@ -0,0 +1,177 @@
+package com.r3.corda.ledger.utxo.selection;
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState;
+import com.r3.corda.ledger.utxo.ownable.OwnableState;
+import net.corda.v5.application.crypto.DigestService;
+import net.corda.v5.base.annotations.Suspendable;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the unconsumed {@link FungibleState} instances of a given type owned by a single owner, which are restructured
+ * by transactions that change the number of states without changing their balance.
+ *
+ * @param <T> The underlying type of {@link FungibleState} in the wallet.
+ */
+final class TokenWallet<T extends FungibleState<?> & OwnableState> {
+
+    /**
+     * The time-to-live of the time window of each transaction.
+     */
+    private static final Duration TIME_WINDOW = Duration.ofMinutes(10);
+
+    @NotNull
+    private final UtxoLedgerService utxoLedgerService;
+
+    @NotNull
+    private final TokenReader<T> reader;
+
+    @NotNull
+    private final TokenFactory<T> factory;
+
+    @NotNull
+    private final Command command;
+
+    @Nullable
+    private TokenReservationService reservations;
+
+    @Nullable
+    private String reservationId;
+
+    @Nullable
+    private Duration reservationTtl;
+
+    /**
+     * Initializes a new instance of the {@link TokenWallet} class.
+     *
+     * @param utxoLedgerService The {@link UtxoLedgerService} from which to read states, and with which to record transactions.
+     * @param digestService     The {@link DigestService} used to hash the owner's public key.
+     * @param stateType         The type of {@link FungibleState} in the wallet.
+     * @param factory           The {@link TokenFactory} used to create the outputs of each transaction.
+     * @param command           The command added to each transaction.
+     */
+    TokenWallet(
+            @NotNull final UtxoLedgerService utxoLedgerService,
+            @NotNull final DigestService digestService,
+            @NotNull final Class<T> stateType,
+            @NotNull final TokenFactory<T> factory,
+            @NotNull final Command command) {
+        this.utxoLedgerService = utxoLedgerService;
+        this.reader = new TokenReader<>(utxoLedgerService, digestService, stateType);
+        this.factory = factory;
+        this.command = command;
+    }
+
+    /**
+     * Sets the number of states read from the vault per page.
+     *
+     * @param pageSize The number of states read from the vault per page.
+     * @throws IllegalArgumentException if the specified page size is not greater than zero.
+     */
+    void setPageSize(final int pageSize) {
+        reader.setPageSize(pageSize);
+    }
+
+    /**
+     * Sets the maximum number of states read from the vault.
+     *
+     * @param maximumCandidates The maximum number of states read from the vault.
+     * @throws IllegalArgumentException if the specified maximum number of states is not greater than zero.
+     */
+    void setMaximumCandidates(final int maximumCandidates) {
+        reader.setMaximumCandidates(maximumCandidates);
+    }
+
+    /**
+     * Sets the {@link TokenReservationService} used to skip states reserved by other flows, and to reserve the inputs of each transaction.
+     *
+     * @param reservations  The {@link TokenReservationService} used to skip and reserve states.
+     * @param reservationId The ID of the reservation that reserves the inputs of each transaction.
+     * @param ttl           The time-to-live of the reservation.
+     */
+    void setReservations(@NotNull final TokenReservationService reservations, @NotNull final String reservationId, @NotNull final Duration ttl) {
+        this.reader.setReservations(reservations, reservationId);
+        this.reservations = reservations;
+        this.reservationId = reservationId;
+        this.reservationTtl = ttl;
+    }
+
+    /**
+     * Reads the unconsumed states owned by the specified owner from the vault, a page at a time, excluding states reserved by other flows,
+     * until the vault is exhausted, or the maximum number of candidates has been read.
+     *
+     * @param owner The owner of the states to read.
+     * @return Returns the unconsumed states owned by the specified owner.
+     */
+    @NotNull
+    @Suspendable
+    List<StateAndRef<T>> read(@NotNull final PublicKey owner) {
+        return reader.read(owner);
+    }
+
+    /**
+     * Records a transaction, signed by the specified owner, that consumes the specified states, and creates states of the specified quantities.
+     *
+     * @param owner      The owner of the specified states.
+     * @param inputs     The states to consume, which are fungible with each other, and share a notary.
+     * @param quantities The unscaled quantities of the states to create, whose sum is the sum of the specified states.
+     * @return Returns the finalized transaction.
+     */
+    @NotNull
+    @Suspendable
+    UtxoSignedTransaction record(@NotNull final PublicKey owner, @NotNull final List<StateAndRef<T>> inputs, @NotNull final List<BigInteger> quantities) {
+        final List<StateRef> inputRefs = TokenReader.getStateRefs(inputs);
+        final T template = inputs.get(0).getState().getContractState();
+        final List<T> outputs = new ArrayList<>(quantities.size());
+
+        for (final BigInteger quantity : quantities) {
+            outputs.add(factory.create(template, quantity));
+        }
+
+        if (reservations != null) {
+            reservations.reserve(inputRefs, reservationId, reservationTtl);
+        }
+
+        final UtxoSignedTransaction transaction = utxoLedgerService
+                .createTransactionBuilder()
+                .addInputStates(inputRefs)
+                .addOutputStates(outputs)
+                .addCommand(command)
+                .addSignatories(owner)
+                .setNotary(inputs.get(0).getState().getNotaryName())
+                .setTimeWindowUntil(Instant.now().plus(TIME_WINDOW))
+                .toSignedTransaction();
+
+        return utxoLedgerService.finalize(transaction, Collections.emptyList()).getTransaction();
+    }
+
+    /**
+     * Gets the sum of the unscaled quantities of the specified states.
+     *
+     * @param states The states to sum.
+     * @return Returns the sum of the unscaled quantities of the specified states.
+     */
+    @NotNull
+    static BigInteger sum(@NotNull final List<? extends StateAndRef<? extends FungibleState<?>>> states) {
+        BigInteger result = BigInteger.ZERO;
+
+        for (final StateAndRef<? extends FungibleState<?>> state : states) {
+            result = result.add(StandardTokenSelectionStrategy.getQuantity(state));
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,15 @@
+package com.r3.corda.ledger.utxo.selection.query;
+
+public class TokenBalanceQueries {
+
+    /**
+     * Gets the balances of the unconsumed fungible states owned by the specified owner, grouped by state type, issuer, fungibility key and scale.
+     * <p>
+     * Parameters: {@code owner} (the SHA-256 hash of the owner's public key).
+     * Each page of results contains the {@code TokenBalance} instances of the states in that page; therefore, balances must be merged across pages.
+     * Requires the {@code OwnableStateVaultJsonFactory} and {@code FungibleStateVaultJsonFactory} to be registered.
+     */
+    public static final String GET_BALANCES_BY_OWNER = "TOKEN_BALANCE_GET_BALANCES_BY_OWNER";
+
+    private TokenBalanceQueries() {}
+}
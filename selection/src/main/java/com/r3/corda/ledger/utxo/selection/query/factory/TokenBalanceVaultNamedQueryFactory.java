@@ -0,0 +1,23 @@
+package com.r3.corda.ledger.utxo.selection.query.factory;
+
+import com.r3.corda.ledger.utxo.selection.TokenBalanceCollector;
+import com.r3.corda.ledger.utxo.selection.query.TokenBalanceQueries;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryFactory;
+import net.corda.v5.ledger.utxo.query.registration.VaultNamedQueryBuilderFactory;
+import org.jetbrains.annotations.NotNull;
+
+public class TokenBalanceVaultNamedQueryFactory implements VaultNamedQueryFactory {
+
+    @Override
+    public void create(@NotNull VaultNamedQueryBuilderFactory vaultNamedQueryBuilderFactory) {
+        vaultNamedQueryBuilderFactory
+                .create(TokenBalanceQueries.GET_BALANCES_BY_OWNER)
+                .whereJson(
+                        "WHERE visible_states.custom_representation -> 'com.r3.corda.ledger.utxo.ownable.OwnableState' ->> 'owner' = :owner " +
+                                "AND visible_states.custom_representation ? 'com.r3.corda.ledger.utxo.fungible.FungibleState' " +
+                                "AND visible_states.consumed IS NULL"
+                )
+                .collect(new TokenBalanceCollector())
+                .register();
+    }
+}
@@ -0,0 +1,73 @@
+package com.r3.corda.ledger.utxo.selection
+
+import net.corda.v5.application.persistence.PagedQuery
+import net.corda.v5.application.persistence.ParameterizedQuery
+import net.corda.v5.application.persistence.PersistenceService
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.eq
+import org.mockito.kotlin.mock
+import java.time.Instant
+
+/**
+ * Creates a mock [PersistenceService] that stores [TokenReservationEntity] instances in the specified map.
+ * Merging or removing an entity whose version differs from the stored entity's version fails, as with optimistic locking.
+ * The specified callback is invoked after each find, so that tests can change the stored entities concurrently.
+ */
+fun inMemoryPersistenceService(
+    entities: MutableMap<String, TokenReservationEntity>,
+    afterFind: () -> Unit = {}
+): PersistenceService {
+
+    fun checkVersion(entity: TokenReservationEntity) {
+        check(entities[entity.stateRef]?.version == entity.version) { "Optimistic lock failure: ${entity.stateRef} has been changed." }
+    }
+
+    fun queryOf(filter: (TokenReservationEntity, Map<String, Any>) -> Boolean): ParameterizedQuery<TokenReservationEntity> {
+        val parameters = mutableMapOf<String, Any>()
+        lateinit var query: ParameterizedQuery<TokenReservationEntity>
+        query = mock {
+            on { setParameter(any(), any()) } doAnswer {
+                parameters[it.getArgument(0)] = it.getArgument(1)
+                query
+            }
+            on { execute() } doAnswer {
+                val results = entities.values.filter { entity -> filter(entity, parameters) }
+                mock<PagedQuery.ResultSet<TokenReservationEntity>> { on { getResults() } doReturn results }
+            }
+        }
+        return query
+    }
+
+    return mock {
+        on { persist(any<List<*>>()) } doAnswer {
+            it.getArgument<List<TokenReservationEntity>>(0).forEach { entity ->
+                val persisted = TokenReservationEntity(entity.stateRef, entity.reservationId, entity.expiresAt, 0)
+                check(entities.putIfAbsent(entity.stateRef, persisted) == null) { "Duplicate primary key: ${entity.stateRef}." }
+            }
+        }
+        on { merge(any<List<TokenReservationEntity>>()) } doAnswer {
+            it.getArgument<List<TokenReservationEntity>>(0).map { entity ->
+                checkVersion(entity)
+                val version = entity.version?.plus(1) ?: 0
+                TokenReservationEntity(entity.stateRef, entity.reservationId, entity.expiresAt, version).also { merged -> entities[entity.stateRef] = merged }
+            }
+        }
+        on { remove(any<List<*>>()) } doAnswer {
+            it.getArgument<List<TokenReservationEntity>>(0).forEach { entity ->
+                checkVersion(entity)
+                entities.remove(entity.stateRef)
+            }
+        }
+        on { find(eq(TokenReservationEntity::class.java), any<List<*>>()) } doAnswer {
+            it.getArgument<List<String>>(1).mapNotNull { id -> entities[id] }.also { afterFind() }
+        }
+        on { query(eq(TokenReservationEntity.FIND_BY_RESERVATION_ID), eq(TokenReservationEntity::class.java)) } doAnswer {
+            queryOf { entity, parameters -> entity.reservationId == parameters["reservationId"] }
+        }
+        on { query(eq(TokenReservationEntity.FIND_EXPIRED), eq(TokenReservationEntity::class.java)) } doAnswer {
+            queryOf { entity, parameters -> !entity.expiresAt.isAfter(parameters["now"] as Instant) }
+        }
+    }
+}
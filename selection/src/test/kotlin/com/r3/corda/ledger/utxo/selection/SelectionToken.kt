@@ -0,0 +1,67 @@
+package com.r3.corda.ledger.utxo.selection
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import com.r3.corda.ledger.utxo.issuable.IssuableState
+import com.r3.corda.ledger.utxo.ownable.OwnableState
+import net.corda.v5.application.marshalling.JsonMarshallingService
+import net.corda.v5.ledger.utxo.BelongsToContract
+import net.corda.v5.ledger.utxo.Command
+import net.corda.v5.ledger.utxo.Contract
+import net.corda.v5.ledger.utxo.query.json.ContractStateVaultJsonFactory
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import java.math.BigInteger
+import java.security.PublicKey
+
+class SelectionTokenContract : Contract {
+    override fun verify(transaction: UtxoLedgerTransaction) = Unit
+
+    class Update : Command
+}
+
+@BelongsToContract(SelectionTokenContract::class)
+data class SelectionToken(
+    private val issuer: PublicKey,
+    private val owner: PublicKey,
+    private val quantity: NumericInteger,
+    private val currency: String = "GBP"
+) : FungibleState<NumericInteger>, OwnableState, IssuableState {
+
+    constructor(issuer: PublicKey, owner: PublicKey, quantity: Long, currency: String = "GBP") :
+        this(issuer, owner, NumericInteger(BigInteger.valueOf(quantity)), currency)
+
+    override fun getIssuer(): PublicKey {
+        return issuer
+    }
+
+    override fun getOwner(): PublicKey {
+        return owner
+    }
+
+    override fun getQuantity(): NumericInteger {
+        return quantity
+    }
+
+    override fun getParticipants(): List<PublicKey> {
+        return listOf(owner)
+    }
+
+    fun withQuantity(quantity: BigInteger): SelectionToken {
+        return copy(quantity = NumericInteger(quantity))
+    }
+
+    override fun isFungibleWith(other: FungibleState<NumericInteger>): Boolean {
+        return other is SelectionToken && other.issuer == issuer && other.currency == currency
+    }
+}
+
+class SelectionTokenVaultJsonFactory : ContractStateVaultJsonFactory<SelectionToken> {
+
+    override fun getStateType(): Class<SelectionToken> {
+        return SelectionToken::class.java
+    }
+
+    override fun create(state: SelectionToken, jsonMarshallingService: JsonMarshallingService): String {
+        return "{}"
+    }
+}
@@ -0,0 +1,25 @@
+package com.r3.corda.ledger.utxo.selection
+
+import net.corda.v5.application.crypto.DigestService
+import net.corda.v5.crypto.SecureHash
+import org.mockito.kotlin.any
+import org.mockito.kotlin.doAnswer
+import org.mockito.kotlin.mock
+import java.security.MessageDigest
+
+/**
+ * Represents a SHA-256 [SecureHash] over the specified bytes.
+ */
+class Sha256SecureHash(private val bytes: ByteArray) : SecureHash {
+    override fun getAlgorithm(): String = "SHA-256"
+    override fun getBytes(): ByteArray = bytes
+    override fun toHexString(): String = bytes.joinToString("") { "%02X".format(it) }
+    override fun toString(): String = "$algorithm:${toHexString()}"
+}
+
+/**
+ * Creates a mock [DigestService] that hashes bytes using SHA-256, regardless of the requested algorithm.
+ */
+fun sha256DigestService(): DigestService = mock {
+    on { hash(any<ByteArray>(), any()) } doAnswer { Sha256SecureHash(MessageDigest.getInstance("SHA-256").digest(it.getArgument(0))) }
+}
@@ -0,0 +1,94 @@
+package com.r3.corda.ledger.utxo.selection
+
+import net.corda.v5.ledger.utxo.StateAndRef
+import net.corda.v5.ledger.utxo.TransactionState
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.math.BigInteger
+import java.security.KeyPairGenerator
+
+class StandardTokenSelectionStrategyTests {
+
+    private val key = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val candidates = listOf(7L, 2L, 10L, 5L, 1L).map(::candidate)
+
+    private fun candidate(quantity: Long): StateAndRef<SelectionToken> {
+        val transactionState = mock<TransactionState<SelectionToken>> {
+            on { contractState } doReturn SelectionToken(key, key, quantity)
+        }
+
+        return mock { on { state } doReturn transactionState }
+    }
+
+    private fun quantities(states: List<StateAndRef<SelectionToken>>): List<Long> {
+        return states.map { it.state.contractState.quantity.value.toLong() }
+    }
+
+    @Test
+    fun `FIRST_AVAILABLE should select candidates in vault order until the target is covered`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.FIRST_AVAILABLE.select(candidates, BigInteger.valueOf(9))
+
+        // Assert
+        assertEquals(listOf(7L, 2L), quantities(actual))
+        assertTrue(StandardTokenSelectionStrategy.FIRST_AVAILABLE.isComplete(candidates.take(2), BigInteger.valueOf(9), BigInteger.valueOf(9)))
+        assertFalse(StandardTokenSelectionStrategy.FIRST_AVAILABLE.isComplete(candidates.take(1), BigInteger.valueOf(7), BigInteger.valueOf(9)))
+    }
+
+    @Test
+    fun `SMALLEST_FIRST should select the smallest candidates until the target is covered`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.SMALLEST_FIRST.select(candidates, BigInteger.valueOf(9))
+
+        // Assert
+        assertEquals(listOf(1L, 2L, 5L, 7L), quantities(actual))
+    }
+
+    @Test
+    fun `LARGEST_FIRST should select the largest candidates until the target is covered`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.LARGEST_FIRST.select(candidates, BigInteger.valueOf(12))
+
+        // Assert
+        assertEquals(listOf(10L, 7L), quantities(actual))
+    }
+
+    @Test
+    fun `EXACT_MATCH should select a single candidate equal to the target`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.EXACT_MATCH.select(candidates, BigInteger.valueOf(5))
+
+        // Assert
+        assertEquals(listOf(5L), quantities(actual))
+        assertTrue(StandardTokenSelectionStrategy.EXACT_MATCH.isComplete(candidates.take(4), BigInteger.valueOf(24), BigInteger.valueOf(5)))
+    }
+
+    @Test
+    fun `EXACT_MATCH should fall back to MINIMUM_INPUT_COUNT when no candidate equals the target`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.EXACT_MATCH.select(candidates, BigInteger.valueOf(12))
+
+        // Assert
+        assertEquals(listOf(10L, 2L), quantities(actual))
+    }
+
+    @Test
+    fun `MINIMUM_INPUT_COUNT should select the fewest candidates and minimize the change`() {
+
+        // Act
+        val actual = StandardTokenSelectionStrategy.MINIMUM_INPUT_COUNT.select(candidates, BigInteger.valueOf(14))
+
+        // Assert
+        assertEquals(listOf(10L, 5L), quantities(actual))
+    }
+}
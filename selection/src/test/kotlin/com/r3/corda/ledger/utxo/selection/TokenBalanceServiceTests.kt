@@ -0,0 +1,155 @@
+package com.r3.corda.ledger.utxo.selection
+
+import com.r3.corda.ledger.utxo.fungible.FungibleState
+import com.r3.corda.ledger.utxo.fungible.NumericDecimal
+import com.r3.corda.ledger.utxo.fungible.query.json.FungibleStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.issuable.IssuableState
+import com.r3.corda.ledger.utxo.ownable.OwnableState
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.selection.query.factory.TokenBalanceVaultNamedQueryFactory
+import com.r3.corda.ledger.utxo.simulator.SimulatedLedger
+import net.corda.v5.ledger.utxo.BelongsToContract
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.security.KeyPairGenerator
+import java.security.PublicKey
+
+class TokenBalanceServiceTests {
+
+    @BelongsToContract(SelectionTokenContract::class)
+    private data class KeyedToken(
+        private val issuer: PublicKey,
+        private val owner: PublicKey,
+        private val quantity: NumericDecimal,
+        private val currency: String
+    ) : FungibleState<NumericDecimal>, OwnableState, IssuableState {
+        override fun getIssuer(): PublicKey = issuer
+        override fun getOwner(): PublicKey = owner
+        override fun getQuantity(): NumericDecimal = quantity
+        override fun getParticipants(): List<PublicKey> = listOf(owner)
+        override fun getFungibilityKey(): Any = currency
+        override fun isFungibleWith(other: FungibleState<NumericDecimal>): Boolean = other is KeyedToken && other.currency == currency
+    }
+
+    private val issuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val otherIssuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val bobKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(FungibleStateVaultJsonFactory())
+        .register(SelectionTokenVaultJsonFactory())
+        .register(TokenBalanceVaultNamedQueryFactory())
+
+    private val digestService = sha256DigestService()
+
+    private val service = TokenBalanceService(ledger.ledgerService, digestService)
+        .setPageSize(2)
+
+    private fun issue(issuer: PublicKey, owner: PublicKey, vararg quantities: Long) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(quantities.map { SelectionToken(issuer, owner, it) })
+            .addSignatories(issuer)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun issue(vararg tokens: KeyedToken) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(tokens.toList())
+            .addSignatories(issuerKey)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    @Test
+    fun `getBalances should group the balances of the owner by issuer across pages`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 3, 1, 4)
+        issue(otherIssuerKey, aliceKey, 1, 5)
+        issue(issuerKey, bobKey, 100)
+
+        // Act
+        val balances = service.getBalances(aliceKey)
+
+        // Assert
+        assertEquals(
+            listOf(
+                TokenBalance(SelectionToken::class.java.name, aliceKey, issuerKey, null, 0, BigInteger.valueOf(8)),
+                TokenBalance(SelectionToken::class.java.name, aliceKey, otherIssuerKey, null, 0, BigInteger.valueOf(6))
+            ),
+            balances
+        )
+        assertEquals(BigInteger.valueOf(8), service.getBalance(aliceKey, issuerKey, SelectionToken::class.java))
+        assertEquals(BigInteger.valueOf(14), service.getBalance(aliceKey, null, SelectionToken::class.java))
+    }
+
+    @Test
+    fun `getBalance should only sum the balances of the specified fungibility key`() {
+
+        // Arrange
+        issue(
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("1.50")), "GBP"),
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("2.25")), "GBP"),
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("4.00")), "USD")
+        )
+
+        // Act
+        val balance = service.getBalance(aliceKey, issuerKey, KeyedToken::class.java, "GBP")
+
+        // Assert
+        assertEquals(BigInteger.valueOf(375), balance)
+        assertEquals(2, service.getBalances(aliceKey).single { it.fungibilityKey == "GBP" }.scale)
+    }
+
+    @Test
+    fun `getBalance should throw an exception when the matching balances have more than one fungibility key or scale`() {
+
+        // Arrange
+        issue(
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("1.50")), "GBP"),
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("1.5")), "GBP"),
+            KeyedToken(issuerKey, aliceKey, NumericDecimal(BigDecimal("4.00")), "USD")
+        )
+
+        // Act
+        val keys = assertThrows<IllegalStateException> { service.getBalance(aliceKey, issuerKey, KeyedToken::class.java) }
+        val scales = assertThrows<IllegalStateException> { service.getBalance(aliceKey, issuerKey, KeyedToken::class.java, "GBP") }
+
+        // Assert
+        assertEquals(keys.message, scales.message)
+        assertEquals(BigInteger.valueOf(400), service.getBalance(aliceKey, issuerKey, KeyedToken::class.java, "USD"))
+    }
+
+    @Test
+    fun `getBalance should return cached balances until the owner is invalidated by a transaction`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 3)
+        service.getBalances(aliceKey)
+        issue(issuerKey, aliceKey, 4)
+        val transaction = mock<UtxoLedgerTransaction> {
+            on { inputContractStates } doReturn listOf(SelectionToken(issuerKey, aliceKey, 3))
+            on { outputContractStates } doReturn emptyList()
+        }
+
+        // Act
+        val cached = service.getBalance(aliceKey, issuerKey, SelectionToken::class.java)
+        service.invalidate(transaction)
+        val refreshed = service.getBalance(aliceKey, issuerKey, SelectionToken::class.java)
+
+        // Assert
+        assertEquals(BigInteger.valueOf(3), cached)
+        assertEquals(BigInteger.valueOf(7), refreshed)
+    }
+}
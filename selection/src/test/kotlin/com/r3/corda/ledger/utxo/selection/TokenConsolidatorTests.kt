@@ -0,0 +1,80 @@
+package com.r3.corda.ledger.utxo.selection
+
+import com.r3.corda.ledger.utxo.ownable.query.factory.OwnableStateVaultNamedQueryFactory
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.simulator.SimulatedLedger
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.security.KeyPairGenerator
+import java.security.PublicKey
+
+class TokenConsolidatorTests {
+
+    private val issuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val otherIssuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(SelectionTokenVaultJsonFactory())
+        .register(OwnableStateVaultNamedQueryFactory())
+
+    private val digestService = sha256DigestService()
+
+    private val consolidator = TokenConsolidator(
+        ledger.ledgerService,
+        digestService,
+        SelectionToken::class.java,
+        SelectionToken::withQuantity,
+        SelectionTokenContract.Update()
+    )
+
+    private fun issue(issuer: PublicKey, owner: PublicKey, vararg quantities: Long) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(quantities.map { SelectionToken(issuer, owner, it) })
+            .addSignatories(issuer)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun quantities(owner: PublicKey): List<Long> {
+        return ledger.ledgerService.findUnconsumedStatesByType(SelectionToken::class.java)
+            .map { it.state.contractState }
+            .filter { it.owner == owner }
+            .map { it.quantity.value.toLong() }
+            .sorted()
+    }
+
+    @Test
+    fun `consolidate should merge the smallest states of each fragmented group in bounded batches`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 1, 2, 3, 4, 5, 6, 7)
+        issue(otherIssuerKey, aliceKey, 10, 20)
+
+        // Act
+        val transactions = consolidator
+            .setFragmentationThreshold(4)
+            .setBatchSize(3)
+            .consolidate(aliceKey)
+
+        // Assert
+        assertEquals(2, transactions.size)
+        assertEquals(listOf(6L, 7L, 10L, 15L, 20L), quantities(aliceKey))
+    }
+
+    @Test
+    fun `consolidate should not record a batch when no group is fragmented`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 1, 2, 3)
+
+        // Act
+        val transactions = consolidator.setFragmentationThreshold(4).consolidate(aliceKey)
+
+        // Assert
+        assertTrue(transactions.isEmpty())
+    }
+}
@@ -0,0 +1,109 @@
+package com.r3.corda.ledger.utxo.selection
+
+import net.corda.v5.crypto.SecureHash
+import net.corda.v5.ledger.utxo.StateRef
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.kotlin.doReturn
+import org.mockito.kotlin.mock
+import java.time.Duration
+import java.time.Instant
+
+class TokenReservationServiceTests {
+
+    private val transactionId = mock<SecureHash> { on { toString() } doReturn "SHA-256:0123" }
+    private val stateRefA = StateRef(transactionId, 0)
+    private val stateRefB = StateRef(transactionId, 1)
+
+    private val entities = mutableMapOf<String, TokenReservationEntity>()
+    private val service = TokenReservationService(inMemoryPersistenceService(entities))
+    private val ttl = Duration.ofMinutes(1)
+
+    @Test
+    fun `reserve should reserve states which are then reported as reserved to other reservations only`() {
+
+        // Act
+        service.reserve(listOf(stateRefA), "flow-1", ttl)
+
+        // Assert
+        assertEquals(setOf(stateRefA), service.getReservedStateRefs(listOf(stateRefA, stateRefB), "flow-2"))
+        assertEquals(emptySet<StateRef>(), service.getReservedStateRefs(listOf(stateRefA, stateRefB), "flow-1"))
+    }
+
+    @Test
+    fun `reserve should throw an exception when a state is reserved by another reservation`() {
+
+        // Arrange
+        service.reserve(listOf(stateRefA), "flow-1", ttl)
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { service.reserve(listOf(stateRefA, stateRefB), "flow-2", ttl) }
+
+        // Assert
+        assertEquals(true, exception.message!!.startsWith("The state $stateRefA is reserved by another reservation"))
+        assertEquals(setOf(stateRefA.toString()), entities.keys)
+    }
+
+    @Test
+    fun `reserve should take over expired reservations`() {
+
+        // Arrange
+        entities[stateRefA.toString()] = TokenReservationEntity(stateRefA.toString(), "flow-1", Instant.now().minusSeconds(1), 0)
+
+        // Act
+        service.reserve(listOf(stateRefA), "flow-2", ttl)
+
+        // Assert
+        assertEquals("flow-2", entities.getValue(stateRefA.toString()).reservationId)
+        assertEquals(setOf(stateRefA), service.getReservedStateRefs(listOf(stateRefA), "flow-3"))
+    }
+
+    @Test
+    fun `reserve should fail when an expired reservation is taken over concurrently`() {
+
+        // Arrange
+        entities[stateRefA.toString()] = TokenReservationEntity(stateRefA.toString(), "flow-1", Instant.now().minusSeconds(1), 0)
+        val otherService = TokenReservationService(inMemoryPersistenceService(entities))
+        var concurrentReservation: (() -> Unit)? = { otherService.reserve(listOf(stateRefA), "flow-3", ttl) }
+        val service = TokenReservationService(inMemoryPersistenceService(entities) {
+            concurrentReservation?.also { concurrentReservation = null }?.invoke()
+        })
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { service.reserve(listOf(stateRefA), "flow-2", ttl) }
+
+        // Assert
+        assertEquals(true, exception.message!!.startsWith("Optimistic lock failure"))
+        assertEquals("flow-3", entities.getValue(stateRefA.toString()).reservationId)
+    }
+
+    @Test
+    fun `release should release every state of the reservation`() {
+
+        // Arrange
+        service.reserve(listOf(stateRefA), "flow-1", ttl)
+        service.reserve(listOf(stateRefB), "flow-2", ttl)
+
+        // Act
+        service.release("flow-1")
+
+        // Assert
+        assertEquals(setOf(stateRefB.toString()), entities.keys)
+    }
+
+    @Test
+    fun `releaseExpired should release expired reservations only`() {
+
+        // Arrange
+        entities[stateRefA.toString()] = TokenReservationEntity(stateRefA.toString(), "flow-1", Instant.now().minusSeconds(1), 0)
+        service.reserve(listOf(stateRefB), "flow-2", ttl)
+
+        // Act
+        val released = service.releaseExpired()
+
+        // Assert
+        assertEquals(1, released)
+        assertEquals(setOf(stateRefB.toString()), entities.keys)
+    }
+}
@@ -0,0 +1,163 @@
+package com.r3.corda.ledger.utxo.selection
+
+import com.r3.corda.ledger.utxo.fungible.NumericDecimal
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import com.r3.corda.ledger.utxo.ownable.query.factory.OwnableStateVaultNamedQueryFactory
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.simulator.SimulatedLedger
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.math.BigDecimal
+import java.math.BigInteger
+import java.security.KeyPairGenerator
+import java.security.PublicKey
+import java.time.Duration
+
+class TokenSelectorTests {
+
+    private val issuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val otherIssuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val bobKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(SelectionTokenVaultJsonFactory())
+        .register(OwnableStateVaultNamedQueryFactory())
+
+    private val digestService = sha256DigestService()
+
+    private val selector = TokenSelector(ledger.ledgerService, digestService, SelectionToken::class.java)
+        .setPageSize(2)
+
+    private val template = SelectionToken(issuerKey, aliceKey, 0)
+
+    private fun issue(issuer: PublicKey, owner: PublicKey, vararg quantities: Long) {
+        issue(issuer, owner, "GBP", *quantities)
+    }
+
+    private fun issue(issuer: PublicKey, owner: PublicKey, currency: String, vararg quantities: Long) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(quantities.map { SelectionToken(issuer, owner, it, currency) })
+            .addSignatories(issuer)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun quantity(value: Long) = NumericInteger(BigInteger.valueOf(value))
+
+    @Test
+    fun `select should page through the vault and select the fewest tokens of the owner`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 3, 1, 4, 1, 5, 9, 2)
+        issue(issuerKey, bobKey, 100)
+
+        // Act
+        val selection = selector.select(aliceKey, template, quantity(12))
+
+        // Assert
+        assertEquals(listOf(9L, 3L), selection.states.map { it.state.contractState.quantity.value.toLong() })
+        assertEquals(BigInteger.ZERO, selection.change)
+    }
+
+    @Test
+    fun `select should stop reading the vault once the strategy is complete`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 3, 1, 4, 1, 5, 9, 2)
+
+        // Act
+        val selection = selector.setStrategy(StandardTokenSelectionStrategy.FIRST_AVAILABLE).select(aliceKey, template, quantity(7))
+
+        // Assert
+        assertEquals(listOf(3L, 1L, 4L), selection.states.map { it.state.contractState.quantity.value.toLong() })
+        assertEquals(BigInteger.ONE, selection.change)
+    }
+
+    @Test
+    fun `select should only select tokens of the specified issuers`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 5)
+        issue(otherIssuerKey, aliceKey, 50)
+
+        // Act
+        val selection = selector.setIssuers(listOf(issuerKey)).select(aliceKey, template, quantity(5))
+
+        // Assert
+        assertEquals(listOf(5L), selection.states.map { it.state.contractState.quantity.value.toLong() })
+    }
+
+    @Test
+    fun `select should only select tokens that are fungible with the template`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, "GBP", 5)
+        issue(issuerKey, aliceKey, "USD", 50)
+
+        // Act
+        val selection = selector.select(aliceKey, template, quantity(5))
+        val exception = assertThrows<IllegalStateException> { selector.select(aliceKey, template, quantity(6)) }
+
+        // Assert
+        assertEquals(listOf(5L), selection.states.map { it.state.contractState.quantity.value.toLong() })
+        assertEquals("Insufficient token balance available to select: Target = 6, Available = 5.", exception.message)
+    }
+
+    @Test
+    fun `select should not select tokens whose scale differs from the scale of the target`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 5, 5)
+
+        // Act
+        val exception = assertThrows<IllegalStateException> {
+            selector.select(aliceKey, template, NumericDecimal(BigDecimal("5.00")))
+        }
+
+        // Assert
+        assertEquals("Insufficient token balance available to select: Target = 500, Available = 0.", exception.message)
+    }
+
+    @Test
+    fun `select should throw an exception when the balance is insufficient`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 1, 2)
+
+        // Act
+        val exception = assertThrows<IllegalStateException> { selector.select(aliceKey, template, quantity(4)) }
+
+        // Assert
+        assertEquals("Insufficient token balance available to select: Target = 4, Available = 3.", exception.message)
+    }
+
+    @Test
+    fun `select should skip tokens reserved by other flows and reserve the selected tokens`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 5, 5, 5)
+        val reservations = TokenReservationService(inMemoryPersistenceService(mutableMapOf()))
+        val first = TokenSelector(ledger.ledgerService, digestService, SelectionToken::class.java)
+            .setReservations(reservations, "flow-1", Duration.ofMinutes(1))
+        val second = TokenSelector(ledger.ledgerService, digestService, SelectionToken::class.java)
+            .setReservations(reservations, "flow-2", Duration.ofMinutes(1))
+
+        // Act
+        val firstSelection = first.select(aliceKey, template, quantity(10))
+        val secondSelection = second.select(aliceKey, template, quantity(5))
+
+        // Assert
+        assertEquals(2, firstSelection.states.size)
+        assertEquals(1, secondSelection.states.size)
+        assertEquals(false, firstSelection.states.any { it.ref == secondSelection.states.single().ref })
+        assertThrows<IllegalStateException> {
+            TokenSelector(ledger.ledgerService, digestService, SelectionToken::class.java)
+                .setReservations(reservations, "flow-3", Duration.ofMinutes(1))
+                .select(aliceKey, template, quantity(5))
+        }
+    }
+}
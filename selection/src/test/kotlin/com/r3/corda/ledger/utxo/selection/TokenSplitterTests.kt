@@ -0,0 +1,80 @@
+package com.r3.corda.ledger.utxo.selection
+
+import com.r3.corda.ledger.utxo.fungible.NumericInteger
+import com.r3.corda.ledger.utxo.ownable.query.factory.OwnableStateVaultNamedQueryFactory
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import com.r3.corda.ledger.utxo.simulator.SimulatedLedger
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import java.math.BigInteger
+import java.security.KeyPairGenerator
+import java.security.PublicKey
+
+class TokenSplitterTests {
+
+    private val issuerKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(SelectionTokenVaultJsonFactory())
+        .register(OwnableStateVaultNamedQueryFactory())
+
+    private val digestService = sha256DigestService()
+
+    private val splitter = TokenSplitter(
+        ledger.ledgerService,
+        digestService,
+        SelectionToken::class.java,
+        SelectionToken::withQuantity,
+        SelectionTokenContract.Update()
+    )
+
+    private fun issue(issuer: PublicKey, owner: PublicKey, vararg quantities: Long) {
+        val transaction = ledger.ledgerService.createTransactionBuilder()
+            .addOutputStates(quantities.map { SelectionToken(issuer, owner, it) })
+            .addSignatories(issuer)
+            .toSignedTransaction()
+
+        ledger.ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun quantities(owner: PublicKey): List<Long> {
+        return ledger.ledgerService.findUnconsumedStatesByType(SelectionToken::class.java)
+            .map { it.state.contractState }
+            .filter { it.owner == owner }
+            .map { it.quantity.value.toLong() }
+            .sorted()
+    }
+
+    @Test
+    fun `split should split the largest states of a group until the group contains the state count`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 7, 100)
+
+        // Act
+        val transactions = splitter.setStateCount(4).split(aliceKey)
+
+        // Assert
+        assertEquals(1, transactions.size)
+        assertEquals(listOf(7L, 33L, 33L, 34L), quantities(aliceKey))
+    }
+
+    @Test
+    fun `split should not create states smaller than the minimum quantity`() {
+
+        // Arrange
+        issue(issuerKey, aliceKey, 7, 100)
+
+        // Act
+        val transactions = splitter
+            .setStateCount(4)
+            .setMinimumQuantity(NumericInteger(BigInteger.valueOf(40)))
+            .split(aliceKey)
+
+        // Assert
+        assertEquals(1, transactions.size)
+        assertEquals(listOf(7L, 50L, 50L), quantities(aliceKey))
+    }
+}
@@ -0,0 +1,412 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.corda.v5.application.marshalling.JsonMarshallingService;
+import net.corda.v5.base.types.MemberX500Name;
+import net.corda.v5.crypto.SecureHash;
+import net.corda.v5.ledger.utxo.BelongsToContract;
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.UtxoLedgerService;
+import net.corda.v5.ledger.utxo.FinalizationResult;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryFactory;
+import net.corda.v5.ledger.utxo.query.json.ContractStateVaultJsonFactory;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents an in-memory UTXO ledger, which provides a simulated {@link UtxoLedgerService} for high-volume flow and contract testing.
+ * <p>
+ * Transactions built by the simulated {@link UtxoLedgerService} are verified against the contracts of their input and output states,
+ * notarized by a stub notary that rejects double spends, and recorded in a single shared vault. Vault named queries registered
+ * with the ledger are evaluated against the custom JSON representations created by registered {@link ContractStateVaultJsonFactory} instances.
+ * <p>
+ * The simulated ledger does not model multiple parties, signatures, time windows or encumbrances;
+ * all recorded states are visible to all callers.
+ */
+public final class SimulatedLedger {
+
+    /**
+     * The name of the default notary of the simulated ledger.
+     */
+    private static final MemberX500Name DEFAULT_NOTARY_NAME = MemberX500Name.parse("O=Notary, L=London, C=GB");
+
+    /**
+     * The contract types of contract states, obtained from their {@link BelongsToContract} annotations.
+     */
+    private static final ClassValue<Class<? extends Contract>> CONTRACT_TYPES = new ClassValue<Class<? extends Contract>>() {
+        @Override
+        protected Class<? extends Contract> computeValue(@NotNull final Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                final BelongsToContract annotation = current.getAnnotation(BelongsToContract.class);
+                if (annotation != null) return annotation.value();
+            }
+
+            throw new IllegalArgumentException("Contract state type " + type.getName() + " is not annotated with @BelongsToContract.");
+        }
+    };
+
+    /**
+     * The no-argument constructors of contracts.
+     */
+    private static final ClassValue<Constructor<? extends Contract>> CONTRACT_CONSTRUCTORS = new ClassValue<Constructor<? extends Contract>>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Constructor<? extends Contract> computeValue(@NotNull final Class<?> type) {
+            try {
+                final Constructor<? extends Contract> constructor = (Constructor<? extends Contract>) type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException exception) {
+                throw new IllegalArgumentException("Contract type " + type.getName() + " does not declare a no-argument constructor.", exception);
+            }
+        }
+    };
+
+    /**
+     * The name of the notary of the simulated ledger.
+     */
+    @NotNull
+    private final MemberX500Name notaryName;
+
+    /**
+     * The {@link ObjectMapper} used to format and parse JSON.
+     */
+    @NotNull
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * The simulated {@link JsonMarshallingService}, which formats and parses JSON using the current {@link ObjectMapper}.
+     */
+    @NotNull
+    private final JsonMarshallingService jsonMarshallingService;
+
+    /**
+     * The simulated vault, which stores recorded states and evaluates vault named queries.
+     */
+    @NotNull
+    private final SimulatedVault vault;
+
+    /**
+     * The stub notary, which checks the uniqueness of input and reference states.
+     */
+    @NotNull
+    private final StubNotary notary = new StubNotary();
+
+    /**
+     * The sequence from which the ID of each transaction is derived.
+     */
+    @NotNull
+    private final AtomicLong transactionSequence = new AtomicLong();
+
+    /**
+     * The recorded transactions, keyed by transaction ID.
+     */
+    @NotNull
+    private final Map<SecureHash, SimulatedTransaction> transactions = new ConcurrentHashMap<>();
+
+    /**
+     * Every recorded output state, keyed by state reference.
+     */
+    @NotNull
+    private final Map<StateRef, StateAndRef<?>> states = new ConcurrentHashMap<>();
+
+    /**
+     * The simulated {@link UtxoLedgerService}.
+     */
+    @NotNull
+    private final UtxoLedgerService ledgerService;
+
+    /**
+     * Initializes a new instance of the {@link SimulatedLedger} class with a default notary.
+     */
+    public SimulatedLedger() {
+        this(DEFAULT_NOTARY_NAME);
+    }
+
+    /**
+     * Initializes a new instance of the {@link SimulatedLedger} class.
+     *
+     * @param notaryName The name of the notary of the simulated ledger.
+     */
+    public SimulatedLedger(@NotNull final MemberX500Name notaryName) {
+        this.notaryName = notaryName;
+        this.jsonMarshallingService = (JsonMarshallingService) Proxy.newProxyInstance(
+                JsonMarshallingService.class.getClassLoader(),
+                new Class<?>[]{JsonMarshallingService.class},
+                (proxy, method, args) -> invokeJsonMarshallingService(proxy, method, args)
+        );
+        this.vault = new SimulatedVault(mapper, jsonMarshallingService);
+        this.ledgerService = (UtxoLedgerService) Proxy.newProxyInstance(
+                UtxoLedgerService.class.getClassLoader(),
+                new Class<?>[]{UtxoLedgerService.class},
+                (proxy, method, args) -> invokeLedgerService(proxy, method, args)
+        );
+    }
+
+    /**
+     * Gets the name of the notary of the simulated ledger.
+     *
+     * @return Returns the name of the notary of the simulated ledger.
+     */
+    @NotNull
+    public MemberX500Name getNotaryName() {
+        return notaryName;
+    }
+
+    /**
+     * Gets the simulated {@link UtxoLedgerService}, which can be injected into flows under test.
+     *
+     * @return Returns the simulated {@link UtxoLedgerService}.
+     */
+    @NotNull
+    public UtxoLedgerService getLedgerService() {
+        return ledgerService;
+    }
+
+    /**
+     * Gets the {@link JsonMarshallingService} used to create the custom JSON representations of states.
+     *
+     * @return Returns the {@link JsonMarshallingService} used to create the custom JSON representations of states.
+     */
+    @NotNull
+    public JsonMarshallingService getJsonMarshallingService() {
+        return jsonMarshallingService;
+    }
+
+    /**
+     * Registers the vault named queries created by the specified {@link VaultNamedQueryFactory}.
+     *
+     * @param factory The {@link VaultNamedQueryFactory} from which to register vault named queries.
+     * @return Returns the current {@link SimulatedLedger}.
+     */
+    @NotNull
+    public SimulatedLedger register(@NotNull final VaultNamedQueryFactory factory) {
+        factory.create(vault.getBuilderFactory());
+        return this;
+    }
+
+    /**
+     * Registers the specified {@link ContractStateVaultJsonFactory}, which applies to states recorded after this call.
+     *
+     * @param factory The {@link ContractStateVaultJsonFactory} to register.
+     * @return Returns the current {@link SimulatedLedger}.
+     */
+    @NotNull
+    public SimulatedLedger register(@NotNull final ContractStateVaultJsonFactory<?> factory) {
+        vault.addJsonFactory(factory);
+        return this;
+    }
+
+    /**
+     * Builds a transaction from the specified {@link SimulatedTransactionBuilder}.
+     *
+     * @param builder The {@link SimulatedTransactionBuilder} from which to build a transaction.
+     * @return Returns a transaction built from the specified {@link SimulatedTransactionBuilder}.
+     * @throws IllegalArgumentException if any of the input or reference states are unknown to the simulated ledger.
+     */
+    @NotNull
+    SimulatedTransaction build(@NotNull final SimulatedTransactionBuilder builder) {
+        final MemberX500Name transactionNotaryName = builder.notaryName != null ? builder.notaryName : notaryName;
+        final SecureHash id = SimulatedSecureHash.of(transactionSequence.incrementAndGet());
+        final List<StateAndRef<?>> outputs = new ArrayList<>(builder.outputs.size());
+
+        for (int index = 0; index < builder.outputs.size(); index++) {
+            final ContractState state = builder.outputs.get(index);
+            final StateRef ref = new StateRef(id, index);
+            outputs.add(SimulatedStateAndRef.create(state, ref, CONTRACT_TYPES.get(state.getClass()), transactionNotaryName));
+        }
+
+        return new SimulatedTransaction(
+                id,
+                transactionNotaryName,
+                resolveAll(builder.inputs),
+                resolveAll(builder.references),
+                outputs,
+                builder.commands,
+                builder.signatories
+        );
+    }
+
+    /**
+     * Verifies, notarizes and records the specified transaction.
+     *
+     * @param transaction The transaction to finalize.
+     * @throws IllegalStateException if contract verification or notarization fails.
+     */
+    private void commit(@NotNull final SimulatedTransaction transaction) {
+        verify(transaction);
+
+        synchronized (notary) {
+            notary.notarize(transaction);
+            transactions.put(transaction.getId(), transaction);
+            for (final StateAndRef<?> output : transaction.getOutputs()) states.put(output.getRef(), output);
+            vault.record(transaction, Instant.now());
+        }
+    }
+
+    /**
+     * Verifies the specified transaction against each distinct contract of its input and output states.
+     *
+     * @param transaction The transaction to verify.
+     */
+    private static void verify(@NotNull final SimulatedTransaction transaction) {
+        final Set<Class<? extends Contract>> contractTypes = new LinkedHashSet<>();
+
+        for (final StateAndRef<?> input : transaction.getInputs()) contractTypes.add(input.getState().getContractType());
+        for (final StateAndRef<?> output : transaction.getOutputs()) contractTypes.add(output.getState().getContractType());
+
+        for (final Class<? extends Contract> contractType : contractTypes) {
+            final Contract contract;
+
+            try {
+                contract = CONTRACT_CONSTRUCTORS.get(contractType).newInstance();
+            } catch (ReflectiveOperationException exception) {
+                throw new IllegalStateException("Failed to instantiate contract " + contractType.getName(), exception);
+            }
+
+            contract.verify(transaction.getLedgerTransaction());
+        }
+    }
+
+    /**
+     * Resolves the specified {@link StateRef}.
+     *
+     * @param ref The {@link StateRef} to resolve.
+     * @return Returns the resolved {@link StateAndRef}.
+     * @throws IllegalArgumentException if the specified {@link StateRef} is unknown to the simulated ledger.
+     */
+    @NotNull
+    private StateAndRef<?> resolve(@NotNull final StateRef ref) {
+        final StateAndRef<?> result = states.get(ref);
+        if (result == null) throw new IllegalArgumentException("Failed to resolve state " + ref + "; the state is unknown to the simulated ledger.");
+        return result;
+    }
+
+    /**
+     * Resolves each of the specified {@link StateRef} instances.
+     *
+     * @param refs The {@link StateRef} instances to resolve.
+     * @return Returns the resolved {@link StateAndRef} instances, in the order that they were specified.
+     * @throws IllegalArgumentException if any of the specified {@link StateRef} instances are unknown to the simulated ledger.
+     */
+    @NotNull
+    private List<StateAndRef<?>> resolveAll(@NotNull final Iterable<?> refs) {
+        final List<StateAndRef<?>> result = new ArrayList<>();
+        for (final Object ref : refs) result.add(resolve((StateRef) ref));
+        return result;
+    }
+
+    /**
+     * Handles invocations of {@link UtxoLedgerService} methods.
+     *
+     * @param proxy  The proxy on which the method was invoked.
+     * @param method The invoked method.
+     * @param args   The arguments of the invoked method.
+     * @return Returns the result of the invoked method.
+     */
+    private Object invokeLedgerService(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "createTransactionBuilder":
+                return SimulatedTransactionBuilder.create(this);
+            case "resolve":
+                return args[0] instanceof StateRef ? resolve((StateRef) args[0]) : resolveAll((Iterable<?>) args[0]);
+            case "findSignedTransaction": {
+                final SimulatedTransaction transaction = transactions.get((SecureHash) args[0]);
+                return transaction == null ? null : transaction.getSignedTransaction();
+            }
+            case "findLedgerTransaction": {
+                final SimulatedTransaction transaction = transactions.get((SecureHash) args[0]);
+                return transaction == null ? null : transaction.getLedgerTransaction();
+            }
+            case "findUnconsumedStatesByType":
+                return vault.getUnconsumedStates(((Class<?>) args[0]).asSubclass(ContractState.class));
+            case "finalize": {
+                final SimulatedTransaction transaction = SimulatedTransaction.of(args[0]);
+                commit(transaction);
+                return createFinalizationResult(transaction);
+            }
+            case "query":
+                return vault.createQuery((String) args[0], (Class<?>) args[1]);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SimulatedLedgerService(notary = " + notaryName + ")";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support UtxoLedgerService." + method.getName());
+        }
+    }
+
+    /**
+     * Handles invocations of {@link JsonMarshallingService} methods.
+     *
+     * @param proxy  The proxy on which the method was invoked.
+     * @param method The invoked method.
+     * @param args   The arguments of the invoked method.
+     * @return Returns the result of the invoked method.
+     */
+    private Object invokeJsonMarshallingService(final Object proxy, final Method method, final Object[] args) throws JsonProcessingException {
+        switch (method.getName()) {
+            case "format":
+                return mapper.writeValueAsString(args[0]);
+            case "parse":
+                return mapper.readValue((String) args[0], (Class<?>) args[1]);
+            case "parseList":
+                return mapper.readValue((String) args[0], mapper.getTypeFactory().constructCollectionType(List.class, (Class<?>) args[1]));
+            case "parseMap":
+                return mapper.readValue((String) args[0], mapper.getTypeFactory().constructMapType(Map.class, (Class<?>) args[1], (Class<?>) args[2]));
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SimulatedJsonMarshallingService";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support JsonMarshallingService." + method.getName());
+        }
+    }
+
+    /**
+     * Creates a {@link FinalizationResult} for the specified transaction.
+     *
+     * @param transaction The finalized transaction.
+     * @return Returns a {@link FinalizationResult} for the specified transaction.
+     */
+    @NotNull
+    private static FinalizationResult createFinalizationResult(@NotNull final SimulatedTransaction transaction) {
+        return (FinalizationResult) Proxy.newProxyInstance(
+                FinalizationResult.class.getClassLoader(),
+                new Class<?>[]{FinalizationResult.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTransaction":
+                            return transaction.getSignedTransaction();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "FinalizationResult(transaction = " + transaction.getId() + ")";
+                        default:
+                            throw new UnsupportedOperationException("The simulator does not support FinalizationResult." + method.getName());
+                    }
+                }
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import net.corda.v5.crypto.SecureHash;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Represents a SHA-256 {@link SecureHash} used to identify simulated transactions.
+ */
+final class SimulatedSecureHash implements SecureHash {
+
+    /**
+     * The name of the hash algorithm.
+     */
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * The uppercase hexadecimal digits.
+     */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * The bytes of the current {@link SimulatedSecureHash}.
+     */
+    @NotNull
+    private final byte[] bytes;
+
+    /**
+     * Initializes a new instance of the {@link SimulatedSecureHash} class.
+     *
+     * @param bytes The bytes of the hash.
+     */
+    private SimulatedSecureHash(@NotNull final byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a {@link SimulatedSecureHash} from the specified sequence number.
+     *
+     * @param sequence The sequence number from which to derive the hash.
+     * @return Returns a {@link SimulatedSecureHash} from the specified sequence number.
+     */
+    @NotNull
+    static SimulatedSecureHash of(final long sequence) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return new SimulatedSecureHash(digest.digest(ByteBuffer.allocate(Long.BYTES).putLong(sequence).array()));
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    /**
+     * Gets the name of the hash algorithm.
+     *
+     * @return Returns the name of the hash algorithm.
+     */
+    @NotNull
+    @Override
+    public String getAlgorithm() {
+        return ALGORITHM;
+    }
+
+    /**
+     * Gets a copy of the bytes of the current {@link SimulatedSecureHash}.
+     *
+     * @return Returns a copy of the bytes of the current {@link SimulatedSecureHash}.
+     */
+    @NotNull
+    @Override
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Gets the hexadecimal representation of the current {@link SimulatedSecureHash}.
+     *
+     * @return Returns the hexadecimal representation of the current {@link SimulatedSecureHash}.
+     */
+    @NotNull
+    @Override
+    public String toHexString() {
+        final char[] result = new char[bytes.length * 2];
+
+        for (int index = 0; index < bytes.length; index++) {
+            result[index * 2] = HEX_DIGITS[(bytes[index] >> 4) & 0xF];
+            result[index * 2 + 1] = HEX_DIGITS[bytes[index] & 0xF];
+        }
+
+        return new String(result);
+    }
+
+    /**
+     * Determines whether the specified object is equal to the current object.
+     *
+     * @param obj The object to compare with the current object.
+     * @return Returns true if the specified object is equal to the current object; otherwise, false.
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj || obj instanceof SimulatedSecureHash && Arrays.equals(bytes, ((SimulatedSecureHash) obj).bytes);
+    }
+
+    /**
+     * Serves as the default hash function.
+     *
+     * @return Returns a hash code for the current object.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Returns a string that represents the current object.
+     *
+     * @return Returns a string that represents the current object.
+     */
+    @Override
+    public String toString() {
+        return ALGORITHM + ":" + toHexString();
+    }
+}
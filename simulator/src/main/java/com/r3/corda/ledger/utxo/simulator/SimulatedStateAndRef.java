@@ -0,0 +1,155 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import net.corda.v5.base.types.MemberX500Name;
+import net.corda.v5.ledger.utxo.Contract;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.TransactionState;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+/**
+ * Represents a simulated {@link StateAndRef} and its {@link TransactionState}.
+ */
+final class SimulatedStateAndRef implements InvocationHandler {
+
+    /**
+     * The contract state of the current {@link SimulatedStateAndRef}.
+     */
+    @NotNull
+    private final ContractState state;
+
+    /**
+     * The {@link StateRef} of the current {@link SimulatedStateAndRef}.
+     */
+    @NotNull
+    private final StateRef ref;
+
+    /**
+     * The type of the contract that governs the contract state.
+     */
+    @NotNull
+    private final Class<? extends Contract> contractType;
+
+    /**
+     * The name of the notary of the contract state.
+     */
+    @NotNull
+    private final MemberX500Name notaryName;
+
+    /**
+     * The {@link TransactionState} proxy of the current {@link SimulatedStateAndRef}.
+     */
+    @NotNull
+    private final TransactionState<?> transactionState;
+
+    /**
+     * Initializes a new instance of the {@link SimulatedStateAndRef} class.
+     *
+     * @param state        The contract state.
+     * @param ref          The {@link StateRef} of the contract state.
+     * @param contractType The type of the contract that governs the contract state.
+     * @param notaryName   The name of the notary of the contract state.
+     */
+    private SimulatedStateAndRef(
+            @NotNull final ContractState state,
+            @NotNull final StateRef ref,
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final MemberX500Name notaryName) {
+        this.state = state;
+        this.ref = ref;
+        this.contractType = contractType;
+        this.notaryName = notaryName;
+        this.transactionState = (TransactionState<?>) Proxy.newProxyInstance(
+                TransactionState.class.getClassLoader(),
+                new Class<?>[]{TransactionState.class},
+                this::invokeTransactionState
+        );
+    }
+
+    /**
+     * Creates a simulated {@link StateAndRef}.
+     *
+     * @param state        The contract state.
+     * @param ref          The {@link StateRef} of the contract state.
+     * @param contractType The type of the contract that governs the contract state.
+     * @param notaryName   The name of the notary of the contract state.
+     * @return Returns a simulated {@link StateAndRef}.
+     */
+    @NotNull
+    static StateAndRef<?> create(
+            @NotNull final ContractState state,
+            @NotNull final StateRef ref,
+            @NotNull final Class<? extends Contract> contractType,
+            @NotNull final MemberX500Name notaryName) {
+        return (StateAndRef<?>) Proxy.newProxyInstance(
+                StateAndRef.class.getClassLoader(),
+                new Class<?>[]{StateAndRef.class},
+                new SimulatedStateAndRef(state, ref, contractType, notaryName)
+        );
+    }
+
+    /**
+     * Handles invocations of {@link StateAndRef} methods.
+     */
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "getState":
+                return transactionState;
+            case "getRef":
+                return ref;
+            case "equals":
+                return args[0] instanceof StateAndRef<?> && Proxy.isProxyClass(args[0].getClass())
+                        && Proxy.getInvocationHandler(args[0]) instanceof SimulatedStateAndRef
+                        && isEqual((SimulatedStateAndRef) Proxy.getInvocationHandler(args[0]));
+            case "hashCode":
+                return Objects.hash(state, ref);
+            case "toString":
+                return "StateAndRef(state = " + state + ", ref = " + ref + ")";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support StateAndRef." + method.getName());
+        }
+    }
+
+    /**
+     * Handles invocations of {@link TransactionState} methods.
+     */
+    private Object invokeTransactionState(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "getContractState":
+                return state;
+            case "getContractStateType":
+                return state.getClass();
+            case "getContractType":
+                return contractType;
+            case "getNotaryName":
+                return notaryName;
+            case "getEncumbranceGroup":
+                return null;
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return state.hashCode();
+            case "toString":
+                return "TransactionState(contractState = " + state + ", contractType = " + contractType.getName() + ")";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support TransactionState." + method.getName());
+        }
+    }
+
+    /**
+     * Determines whether the specified {@link SimulatedStateAndRef} represents the same state and ref as the current one.
+     *
+     * @param other The other {@link SimulatedStateAndRef} to compare.
+     * @return Returns true if the specified {@link SimulatedStateAndRef} represents the same state and ref; otherwise, false.
+     */
+    private boolean isEqual(@NotNull final SimulatedStateAndRef other) {
+        return Objects.equals(state, other.state) && Objects.equals(ref, other.ref);
+    }
+}
@@ -0,0 +1,261 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import net.corda.v5.base.types.MemberX500Name;
+import net.corda.v5.crypto.SecureHash;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.TransactionState;
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction;
+import net.corda.v5.ledger.utxo.transaction.UtxoSignedTransaction;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a simulated transaction, which answers both {@link UtxoLedgerTransaction} and {@link UtxoSignedTransaction} methods.
+ * <p>
+ * All state lists are computed once on construction, so that contract verification and flows observe
+ * the same costs as they would against an already deserialized transaction.
+ */
+final class SimulatedTransaction implements InvocationHandler {
+
+    @NotNull
+    private final SecureHash id;
+
+    @NotNull
+    private final MemberX500Name notaryName;
+
+    @NotNull
+    private final List<StateAndRef<?>> inputs;
+
+    @NotNull
+    private final List<StateAndRef<?>> references;
+
+    @NotNull
+    private final List<StateAndRef<?>> outputs;
+
+    @NotNull
+    private final List<Command> commands;
+
+    @NotNull
+    private final List<PublicKey> signatories;
+
+    @NotNull
+    private final List<StateRef> inputRefs;
+
+    @NotNull
+    private final List<StateRef> referenceRefs;
+
+    @NotNull
+    private final UtxoLedgerTransaction ledgerTransaction;
+
+    @NotNull
+    private final UtxoSignedTransaction signedTransaction;
+
+    /**
+     * Initializes a new instance of the {@link SimulatedTransaction} class.
+     *
+     * @param id          The transaction id.
+     * @param notaryName  The name of the notary of the transaction.
+     * @param inputs      The resolved input states of the transaction.
+     * @param references  The resolved reference states of the transaction.
+     * @param outputs     The output states of the transaction.
+     * @param commands    The commands of the transaction.
+     * @param signatories The signatories of the transaction.
+     */
+    SimulatedTransaction(
+            @NotNull final SecureHash id,
+            @NotNull final MemberX500Name notaryName,
+            @NotNull final List<StateAndRef<?>> inputs,
+            @NotNull final List<StateAndRef<?>> references,
+            @NotNull final List<StateAndRef<?>> outputs,
+            @NotNull final List<Command> commands,
+            @NotNull final List<PublicKey> signatories) {
+        this.id = id;
+        this.notaryName = notaryName;
+        this.inputs = Collections.unmodifiableList(new ArrayList<>(inputs));
+        this.references = Collections.unmodifiableList(new ArrayList<>(references));
+        this.outputs = Collections.unmodifiableList(new ArrayList<>(outputs));
+        this.commands = Collections.unmodifiableList(new ArrayList<>(commands));
+        this.signatories = Collections.unmodifiableList(new ArrayList<>(signatories));
+        this.inputRefs = getRefs(this.inputs);
+        this.referenceRefs = getRefs(this.references);
+        this.ledgerTransaction = (UtxoLedgerTransaction) Proxy.newProxyInstance(
+                UtxoLedgerTransaction.class.getClassLoader(),
+                new Class<?>[]{UtxoLedgerTransaction.class},
+                this
+        );
+        this.signedTransaction = (UtxoSignedTransaction) Proxy.newProxyInstance(
+                UtxoSignedTransaction.class.getClassLoader(),
+                new Class<?>[]{UtxoSignedTransaction.class},
+                this
+        );
+    }
+
+    /**
+     * Obtains the {@link SimulatedTransaction} behind the specified ledger or signed transaction.
+     *
+     * @param transaction The ledger or signed transaction from which to obtain the {@link SimulatedTransaction}.
+     * @return Returns the {@link SimulatedTransaction} behind the specified ledger or signed transaction.
+     * @throws IllegalArgumentException if the specified transaction was not created by the simulator.
+     */
+    @NotNull
+    static SimulatedTransaction of(@NotNull final Object transaction) {
+        if (Proxy.isProxyClass(transaction.getClass()) && Proxy.getInvocationHandler(transaction) instanceof SimulatedTransaction) {
+            return (SimulatedTransaction) Proxy.getInvocationHandler(transaction);
+        }
+
+        throw new IllegalArgumentException("The specified transaction was not created by the simulator: " + transaction);
+    }
+
+    @NotNull
+    SecureHash getId() {
+        return id;
+    }
+
+    @NotNull
+    List<StateAndRef<?>> getInputs() {
+        return inputs;
+    }
+
+    @NotNull
+    List<StateRef> getInputRefs() {
+        return inputRefs;
+    }
+
+    @NotNull
+    List<StateRef> getReferenceRefs() {
+        return referenceRefs;
+    }
+
+    @NotNull
+    List<StateAndRef<?>> getOutputs() {
+        return outputs;
+    }
+
+    @NotNull
+    UtxoLedgerTransaction getLedgerTransaction() {
+        return ledgerTransaction;
+    }
+
+    @NotNull
+    UtxoSignedTransaction getSignedTransaction() {
+        return signedTransaction;
+    }
+
+    /**
+     * Handles invocations of {@link UtxoLedgerTransaction} and {@link UtxoSignedTransaction} methods.
+     */
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        final Class<?> type = args != null && args.length == 1 && args[0] instanceof Class<?> ? (Class<?>) args[0] : null;
+
+        switch (method.getName()) {
+            case "getId":
+                return id;
+            case "getNotaryName":
+                return notaryName;
+            case "getSignatories":
+                return signatories;
+            case "getTimeWindow":
+            case "getMetadata":
+                return null;
+            case "toLedgerTransaction":
+                return ledgerTransaction;
+            case "getCommands":
+                return type == null ? commands : filter(commands, type);
+            case "getInputStateRefs":
+                return inputRefs;
+            case "getInputStateAndRefs":
+                return type == null ? inputs : filterStateAndRefs(inputs, type);
+            case "getInputTransactionStates":
+                return getTransactionStates(inputs);
+            case "getInputContractStates":
+                return getContractStates(inputs, ContractState.class);
+            case "getInputStates":
+                return getContractStates(inputs, type);
+            case "getReferenceStateRefs":
+                return referenceRefs;
+            case "getReferenceStateAndRefs":
+                return type == null ? references : filterStateAndRefs(references, type);
+            case "getReferenceTransactionStates":
+                return getTransactionStates(references);
+            case "getReferenceContractStates":
+                return getContractStates(references, ContractState.class);
+            case "getReferenceStates":
+                return getContractStates(references, type);
+            case "getOutputStateAndRefs":
+                return type == null ? outputs : filterStateAndRefs(outputs, type);
+            case "getOutputTransactionStates":
+                return getTransactionStates(outputs);
+            case "getOutputContractStates":
+                return getContractStates(outputs, ContractState.class);
+            case "getOutputStates":
+                return getContractStates(outputs, type);
+            case "equals":
+                return args[0] != null && Proxy.isProxyClass(args[0].getClass()) && Proxy.getInvocationHandler(args[0]) == this;
+            case "hashCode":
+                return id.hashCode();
+            case "toString":
+                return "SimulatedTransaction(id = " + id + ")";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support " + method.getDeclaringClass().getSimpleName() + "." + method.getName());
+        }
+    }
+
+    @NotNull
+    private static List<StateRef> getRefs(@NotNull final List<StateAndRef<?>> stateAndRefs) {
+        final List<StateRef> result = new ArrayList<>(stateAndRefs.size());
+        for (final StateAndRef<?> stateAndRef : stateAndRefs) result.add(stateAndRef.getRef());
+        return Collections.unmodifiableList(result);
+    }
+
+    @NotNull
+    private static List<TransactionState<?>> getTransactionStates(@NotNull final List<StateAndRef<?>> stateAndRefs) {
+        final List<TransactionState<?>> result = new ArrayList<>(stateAndRefs.size());
+        for (final StateAndRef<?> stateAndRef : stateAndRefs) result.add(stateAndRef.getState());
+        return result;
+    }
+
+    @NotNull
+    private static List<Object> getContractStates(@NotNull final List<StateAndRef<?>> stateAndRefs, @NotNull final Class<?> type) {
+        final List<Object> result = new ArrayList<>();
+
+        for (final StateAndRef<?> stateAndRef : stateAndRefs) {
+            final ContractState state = stateAndRef.getState().getContractState();
+            if (type.isInstance(state)) result.add(state);
+        }
+
+        return result;
+    }
+
+    @NotNull
+    private static List<StateAndRef<?>> filterStateAndRefs(@NotNull final List<StateAndRef<?>> stateAndRefs, @NotNull final Class<?> type) {
+        final List<StateAndRef<?>> result = new ArrayList<>();
+
+        for (final StateAndRef<?> stateAndRef : stateAndRefs) {
+            if (type.isInstance(stateAndRef.getState().getContractState())) result.add(stateAndRef);
+        }
+
+        return result;
+    }
+
+    @NotNull
+    private static List<Object> filter(@NotNull final List<?> values, @NotNull final Class<?> type) {
+        final List<Object> result = new ArrayList<>();
+
+        for (final Object value : values) {
+            if (type.isInstance(value)) result.add(value);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,137 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import net.corda.v5.base.types.MemberX500Name;
+import net.corda.v5.ledger.utxo.Command;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.transaction.UtxoTransactionBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a simulated {@link UtxoTransactionBuilder}, which collects the components of a transaction
+ * until {@link UtxoTransactionBuilder#toSignedTransaction()} is called.
+ * <p>
+ * Time windows and encumbrances are accepted but not simulated.
+ */
+final class SimulatedTransactionBuilder implements InvocationHandler {
+
+    @NotNull
+    private final SimulatedLedger ledger;
+
+    @NotNull
+    final List<StateRef> inputs = new ArrayList<>();
+
+    @NotNull
+    final List<StateRef> references = new ArrayList<>();
+
+    @NotNull
+    final List<ContractState> outputs = new ArrayList<>();
+
+    @NotNull
+    final List<Command> commands = new ArrayList<>();
+
+    @NotNull
+    final List<PublicKey> signatories = new ArrayList<>();
+
+    MemberX500Name notaryName;
+
+    /**
+     * Initializes a new instance of the {@link SimulatedTransactionBuilder} class.
+     *
+     * @param ledger The ledger that will build the transaction.
+     */
+    private SimulatedTransactionBuilder(@NotNull final SimulatedLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Creates a simulated {@link UtxoTransactionBuilder}.
+     *
+     * @param ledger The ledger that will build the transaction.
+     * @return Returns a simulated {@link UtxoTransactionBuilder}.
+     */
+    @NotNull
+    static UtxoTransactionBuilder create(@NotNull final SimulatedLedger ledger) {
+        return (UtxoTransactionBuilder) Proxy.newProxyInstance(
+                UtxoTransactionBuilder.class.getClassLoader(),
+                new Class<?>[]{UtxoTransactionBuilder.class},
+                new SimulatedTransactionBuilder(ledger)
+        );
+    }
+
+    /**
+     * Handles invocations of {@link UtxoTransactionBuilder} methods.
+     */
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) {
+        switch (method.getName()) {
+            case "addCommand":
+                commands.add((Command) args[0]);
+                return proxy;
+            case "addSignatories":
+                addAll(signatories, args[0]);
+                return proxy;
+            case "addInputState":
+                inputs.add((StateRef) args[0]);
+                return proxy;
+            case "addInputStates":
+                addAll(inputs, args[0]);
+                return proxy;
+            case "addReferenceState":
+                references.add((StateRef) args[0]);
+                return proxy;
+            case "addReferenceStates":
+                addAll(references, args[0]);
+                return proxy;
+            case "addOutputState":
+                outputs.add((ContractState) args[0]);
+                return proxy;
+            case "addOutputStates":
+            case "addEncumberedOutputStates":
+                addAll(outputs, args[args.length - 1]);
+                return proxy;
+            case "setNotary":
+                notaryName = (MemberX500Name) args[0];
+                return proxy;
+            case "setTimeWindowUntil":
+            case "setTimeWindowBetween":
+                return proxy;
+            case "getNotaryName":
+                return notaryName;
+            case "toSignedTransaction":
+                return ledger.build(this).getSignedTransaction();
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "SimulatedTransactionBuilder";
+            default:
+                throw new UnsupportedOperationException("The simulator does not support UtxoTransactionBuilder." + method.getName());
+        }
+    }
+
+    /**
+     * Adds the elements of the specified array or iterable to the specified list.
+     *
+     * @param list   The list to which elements will be added.
+     * @param values The array or iterable of elements to add.
+     * @param <T>    The underlying type of the elements.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void addAll(@NotNull final List<T> list, @NotNull final Object values) {
+        if (values instanceof Object[]) {
+            Collections.addAll(list, (T[]) values);
+        } else {
+            for (final Object value : (Iterable<?>) values) list.add((T) value);
+        }
+    }
+}
@@ -0,0 +1,595 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import net.corda.v5.application.marshalling.JsonMarshallingService;
+import net.corda.v5.ledger.utxo.ContractState;
+import net.corda.v5.ledger.utxo.StateAndRef;
+import net.corda.v5.ledger.utxo.StateRef;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryCollector;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryStateAndRefFilter;
+import net.corda.v5.ledger.utxo.query.VaultNamedQueryStateAndRefTransformer;
+import net.corda.v5.ledger.utxo.query.json.ContractStateVaultJsonFactory;
+import net.corda.v5.ledger.utxo.query.registration.VaultNamedQueryBuilderFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Represents a simulated vault, which stores the custom JSON representation of every recorded state
+ * and evaluates registered vault named queries against them.
+ * <p>
+ * The custom JSON representation of each state is built in the same shape as the Corda vault:
+ * a JSON object keyed by the state type of every applicable {@link ContractStateVaultJsonFactory},
+ * plus a 'net.corda.v5.ledger.utxo.ContractState' entry containing the 'stateRef' of the state.
+ * Every recorded state is considered visible.
+ */
+final class SimulatedVault {
+
+    /**
+     * The key of the custom JSON representation entry that is present for all states.
+     */
+    private static final String CONTRACT_STATE_KEY = ContractState.class.getName();
+
+    /**
+     * The {@link ObjectMapper} used to parse custom JSON representations.
+     */
+    @NotNull
+    private final ObjectMapper mapper;
+
+    /**
+     * The {@link JsonMarshallingService} passed to {@link ContractStateVaultJsonFactory} instances.
+     */
+    @NotNull
+    private final JsonMarshallingService jsonMarshallingService;
+
+    /**
+     * The {@link ContractStateVaultJsonFactory} instances used to create the custom JSON representation of each recorded state.
+     */
+    @NotNull
+    private final List<ContractStateVaultJsonFactory<?>> jsonFactories = new CopyOnWriteArrayList<>();
+
+    /**
+     * The registered vault named queries, keyed by name.
+     */
+    @NotNull
+    private final Map<String, NamedQuery> queries = new ConcurrentHashMap<>();
+
+    /**
+     * All recorded rows, in the order that they were recorded.
+     */
+    @NotNull
+    private final Map<StateRef, Row> rows = new LinkedHashMap<>();
+
+    /**
+     * The unconsumed rows, in the order that they were recorded.
+     */
+    @NotNull
+    private final Map<StateRef, Row> unconsumedRows = new LinkedHashMap<>();
+
+    /**
+     * Initializes a new instance of the {@link SimulatedVault} class.
+     *
+     * @param mapper                 The {@link ObjectMapper} used to parse custom JSON representations.
+     * @param jsonMarshallingService The {@link JsonMarshallingService} passed to {@link ContractStateVaultJsonFactory} instances.
+     */
+    SimulatedVault(@NotNull final ObjectMapper mapper, @NotNull final JsonMarshallingService jsonMarshallingService) {
+        this.mapper = mapper;
+        this.jsonMarshallingService = jsonMarshallingService;
+    }
+
+    /**
+     * Adds the specified {@link ContractStateVaultJsonFactory}, which applies to states recorded after this call.
+     *
+     * @param factory The {@link ContractStateVaultJsonFactory} to add.
+     */
+    void addJsonFactory(@NotNull final ContractStateVaultJsonFactory<?> factory) {
+        jsonFactories.add(factory);
+    }
+
+    /**
+     * Gets a {@link VaultNamedQueryBuilderFactory} which registers vault named queries with the current {@link SimulatedVault}.
+     *
+     * @return Returns a {@link VaultNamedQueryBuilderFactory} which registers vault named queries with the current {@link SimulatedVault}.
+     */
+    @NotNull
+    VaultNamedQueryBuilderFactory getBuilderFactory() {
+        return (VaultNamedQueryBuilderFactory) Proxy.newProxyInstance(
+                VaultNamedQueryBuilderFactory.class.getClassLoader(),
+                new Class<?>[]{VaultNamedQueryBuilderFactory.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("create")) return new NamedQuery((String) args[0]).builder;
+                    throw new UnsupportedOperationException("The simulator does not support VaultNamedQueryBuilderFactory." + method.getName());
+                }
+        );
+    }
+
+    /**
+     * Records the specified transaction, consuming its input states and adding its output states.
+     *
+     * @param transaction The transaction to record.
+     * @param timestamp   The time at which the transaction was recorded.
+     */
+    void record(@NotNull final SimulatedTransaction transaction, @NotNull final Instant timestamp) {
+        final List<Row> created = new ArrayList<>(transaction.getOutputs().size());
+
+        for (final StateAndRef<?> output : transaction.getOutputs()) {
+            created.add(new Row(output, createRepresentation(output), timestamp));
+        }
+
+        synchronized (rows) {
+            for (final StateRef input : transaction.getInputRefs()) {
+                final Row row = unconsumedRows.remove(input);
+                if (row != null) row.consumed = true;
+            }
+
+            for (final Row row : created) {
+                rows.put(row.stateAndRef.getRef(), row);
+                unconsumedRows.put(row.stateAndRef.getRef(), row);
+            }
+        }
+    }
+
+    /**
+     * Gets the unconsumed states of the specified type, in the order that they were recorded.
+     *
+     * @param type The type of state to obtain.
+     * @param <T>  The underlying type of state to obtain.
+     * @return Returns the unconsumed states of the specified type.
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    <T extends ContractState> List<StateAndRef<T>> getUnconsumedStates(@NotNull final Class<T> type) {
+        final List<StateAndRef<T>> result = new ArrayList<>();
+
+        for (final Row row : snapshot(true)) {
+            if (type.isInstance(row.stateAndRef.getState().getContractState())) result.add((StateAndRef<T>) row.stateAndRef);
+        }
+
+        return result;
+    }
+
+    /**
+     * Creates a query for the specified registered vault named query.
+     *
+     * @param name        The name of the vault named query.
+     * @param resultClass The type of the query results.
+     * @return Returns a query for the specified registered vault named query.
+     * @throws IllegalArgumentException if no vault named query with the specified name has been registered.
+     */
+    @NotNull
+    Object createQuery(@NotNull final String name, @NotNull final Class<?> resultClass) {
+        final NamedQuery query = queries.get(name);
+
+        if (query == null) {
+            throw new IllegalArgumentException("A vault named query with the name '" + name + "' has not been registered.");
+        }
+
+        return query.createExecution();
+    }
+
+    /**
+     * Creates the custom JSON representation of the specified state.
+     *
+     * @param stateAndRef The state from which to create the custom JSON representation.
+     * @return Returns the custom JSON representation of the specified state.
+     */
+    @NotNull
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private JsonNode createRepresentation(@NotNull final StateAndRef<?> stateAndRef) {
+        final ContractState state = stateAndRef.getState().getContractState();
+        final ObjectNode result = mapper.createObjectNode();
+
+        result.set(CONTRACT_STATE_KEY, mapper.createObjectNode().put("stateRef", stateAndRef.getRef().toString()));
+
+        for (final ContractStateVaultJsonFactory factory : jsonFactories) {
+            if (!factory.getStateType().isInstance(state)) continue;
+
+            try {
+                result.set(factory.getStateType().getName(), mapper.readTree(factory.create(state, jsonMarshallingService)));
+            } catch (IOException exception) {
+                throw new IllegalStateException("Failed to parse the JSON created by " + factory.getClass().getName(), exception);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Takes a snapshot of the rows of the current {@link SimulatedVault}.
+     *
+     * @param unconsumedOnly Determines whether only unconsumed rows should be included.
+     * @return Returns a snapshot of the rows of the current {@link SimulatedVault}.
+     */
+    @NotNull
+    private List<Row> snapshot(final boolean unconsumedOnly) {
+        synchronized (rows) {
+            return new ArrayList<>(unconsumedOnly ? unconsumedRows.values() : rows.values());
+        }
+    }
+
+    /**
+     * Represents a row of the simulated vault.
+     */
+    private static final class Row {
+
+        /**
+         * The recorded state.
+         */
+        @NotNull
+        private final StateAndRef<?> stateAndRef;
+
+        /**
+         * The custom JSON representation of the recorded state.
+         */
+        @NotNull
+        private final JsonNode representation;
+
+        /**
+         * The time at which the state was recorded.
+         */
+        @NotNull
+        private final Instant created;
+
+        /**
+         * Determines whether the recorded state has been consumed.
+         */
+        private volatile boolean consumed;
+
+        /**
+         * Initializes a new instance of the {@link Row} class.
+         *
+         * @param stateAndRef    The recorded state.
+         * @param representation The custom JSON representation of the recorded state.
+         * @param created        The time at which the state was recorded.
+         */
+        private Row(@NotNull final StateAndRef<?> stateAndRef, @NotNull final JsonNode representation, @NotNull final Instant created) {
+            this.stateAndRef = stateAndRef;
+            this.representation = representation;
+            this.created = created;
+        }
+    }
+
+    /**
+     * Represents a registered, or registering vault named query.
+     */
+    private final class NamedQuery implements InvocationHandler {
+
+        /**
+         * The name of the vault named query.
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * The proxy that implements the vault named query builder interfaces.
+         */
+        @NotNull
+        private final Object builder;
+
+        /**
+         * The parsed 'whereJson' clause of the vault named query, or null if it has not been specified.
+         */
+        private WhereJsonExpression where;
+
+        /**
+         * The filter applied to matching states, or null if no filter has been specified.
+         */
+        private VaultNamedQueryStateAndRefFilter<ContractState> filter;
+
+        /**
+         * The transformer applied to filtered states, or null if no transformer has been specified.
+         */
+        private VaultNamedQueryStateAndRefTransformer<ContractState, Object> transformer;
+
+        /**
+         * The collector applied to each page of results, or null if no collector has been specified.
+         */
+        private VaultNamedQueryCollector<Object, Object> collector;
+
+        /**
+         * Initializes a new instance of the {@link NamedQuery} class.
+         *
+         * @param name The name of the vault named query.
+         */
+        private NamedQuery(@NotNull final String name) {
+            this.name = name;
+            this.builder = Proxy.newProxyInstance(
+                    VaultNamedQueryBuilderFactory.class.getClassLoader(),
+                    new Class<?>[]{
+                            net.corda.v5.ledger.utxo.query.registration.VaultNamedQueryBuilder.class,
+                            net.corda.v5.ledger.utxo.query.registration.VaultNamedQueryBuilderCollected.class
+                    },
+                    this
+            );
+        }
+
+        /**
+         * Handles invocations of the vault named query builder methods.
+         *
+         * @param proxy  The proxy on which the method was invoked.
+         * @param method The invoked method.
+         * @param args   The arguments of the invoked method.
+         * @return Returns the result of the invoked method.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "whereJson":
+                    where = WhereJsonExpression.parse((String) args[0]);
+                    return proxy;
+                case "filter":
+                    filter = (VaultNamedQueryStateAndRefFilter<ContractState>) args[0];
+                    return proxy;
+                case "map":
+                    transformer = (VaultNamedQueryStateAndRefTransformer<ContractState, Object>) args[0];
+                    return proxy;
+                case "collect":
+                    collector = (VaultNamedQueryCollector<Object, Object>) args[0];
+                    return proxy;
+                case "register":
+                    if (where == null) throw new IllegalStateException("The vault named query '" + name + "' has no whereJson clause.");
+                    queries.put(name, this);
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "VaultNamedQueryBuilder(name = " + name + ")";
+                default:
+                    throw new UnsupportedOperationException("The simulator does not support VaultNamedQueryBuilder." + method.getName());
+            }
+        }
+
+        /**
+         * Creates a new execution of the current vault named query.
+         *
+         * @return Returns a new execution of the current vault named query.
+         */
+        @NotNull
+        private Object createExecution() {
+            return Proxy.newProxyInstance(
+                    net.corda.v5.ledger.utxo.VaultNamedParameterizedQuery.class.getClassLoader(),
+                    new Class<?>[]{net.corda.v5.ledger.utxo.VaultNamedParameterizedQuery.class},
+                    new Execution(this)
+            );
+        }
+
+        /**
+         * Executes a single page of the current vault named query.
+         *
+         * @param parameters       The named parameters of the query.
+         * @param offset           The number of matching rows to skip.
+         * @param limit            The maximum number of matching rows to return.
+         * @param timestampLimit   The latest creation time of rows to include, or null to include all rows.
+         * @return Returns a single page of the current vault named query.
+         */
+        @NotNull
+        private Page execute(
+                @NotNull final Map<String, Object> parameters,
+                final int offset,
+                final int limit,
+                @Nullable final Instant timestampLimit) {
+            final List<StateAndRef<ContractState>> matches = new ArrayList<>();
+            int skipped = 0;
+            boolean hasNext = false;
+
+            for (final Row row : snapshot(where.isUnconsumedOnly())) {
+                if (timestampLimit != null && row.created.isAfter(timestampLimit)) continue;
+                if (!where.matches(row.representation, row.consumed, parameters)) continue;
+
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+
+                if (matches.size() == limit) {
+                    hasNext = true;
+                    break;
+                }
+
+                matches.add(cast(row.stateAndRef));
+            }
+
+            final List<Object> results = new ArrayList<>(matches.size());
+
+            for (final StateAndRef<ContractState> match : matches) {
+                if (filter != null && !Boolean.TRUE.equals(filter.filter(match, parameters))) continue;
+                results.add(transformer != null ? transformer.transform(match, parameters) : match);
+            }
+
+            if (collector != null) {
+                final VaultNamedQueryCollector.Result<Object> collected = collector.collect(results, parameters);
+                return new Page(collected.getResults(), matches.size(), hasNext && !collected.isDone());
+            }
+
+            return new Page(results, matches.size(), hasNext);
+        }
+
+        /**
+         * Casts the specified state to a {@link StateAndRef} of {@link ContractState}.
+         *
+         * @param stateAndRef The state to cast.
+         * @return Returns the specified state as a {@link StateAndRef} of {@link ContractState}.
+         */
+        @NotNull
+        @SuppressWarnings("unchecked")
+        private StateAndRef<ContractState> cast(@NotNull final StateAndRef<?> stateAndRef) {
+            return (StateAndRef<ContractState>) stateAndRef;
+        }
+    }
+
+    /**
+     * Represents a single page of query results.
+     */
+    private static final class Page {
+
+        /**
+         * The results of the page.
+         */
+        @NotNull
+        private final List<Object> results;
+
+        /**
+         * The number of rows that matched the query before filtering, transforming and collecting.
+         */
+        private final int numberOfRowsFromQuery;
+
+        /**
+         * Determines whether the query has more results after the page.
+         */
+        private final boolean hasNext;
+
+        /**
+         * Initializes a new instance of the {@link Page} class.
+         *
+         * @param results               The results of the page.
+         * @param numberOfRowsFromQuery The number of rows that matched the query before filtering, transforming and collecting.
+         * @param hasNext               Determines whether the query has more results after the page.
+         */
+        private Page(@NotNull final List<Object> results, final int numberOfRowsFromQuery, final boolean hasNext) {
+            this.results = Collections.unmodifiableList(results);
+            this.numberOfRowsFromQuery = numberOfRowsFromQuery;
+            this.hasNext = hasNext;
+        }
+    }
+
+    /**
+     * Represents the parameters and paging state of an execution of a vault named query,
+     * answering both the parameterized query and result set methods.
+     */
+    private static final class Execution implements InvocationHandler {
+
+        /**
+         * The vault named query being executed.
+         */
+        @NotNull
+        private final NamedQuery query;
+
+        /**
+         * The named parameters of the execution.
+         */
+        @NotNull
+        private final Map<String, Object> parameters = new HashMap<>();
+
+        /**
+         * The number of matching rows to skip.
+         */
+        private int offset;
+
+        /**
+         * The maximum number of matching rows per page.
+         */
+        private int limit = Integer.MAX_VALUE;
+
+        /**
+         * The latest creation time of rows to include, or null to include all rows.
+         */
+        private Instant timestampLimit;
+
+        /**
+         * The most recently executed page, or null if the execution has not been executed.
+         */
+        private Page page;
+
+        /**
+         * Initializes a new instance of the {@link Execution} class.
+         *
+         * @param query The vault named query being executed.
+         */
+        private Execution(@NotNull final NamedQuery query) {
+            this.query = query;
+        }
+
+        /**
+         * Handles invocations of the parameterized query and result set methods.
+         *
+         * @param proxy  The proxy on which the method was invoked.
+         * @param method The invoked method.
+         * @param args   The arguments of the invoked method.
+         * @return Returns the result of the invoked method.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "setLimit":
+                    limit = (Integer) args[0];
+                    return proxy;
+                case "setOffset":
+                    offset = (Integer) args[0];
+                    return proxy;
+                case "setParameter":
+                    parameters.put((String) args[0], args[1]);
+                    return proxy;
+                case "setParameters":
+                    parameters.putAll((Map<String, Object>) args[0]);
+                    return proxy;
+                case "setCreatedTimestampLimit":
+                    timestampLimit = (Instant) args[0];
+                    return proxy;
+                case "execute":
+                    page = query.execute(parameters, offset, limit, timestampLimit);
+                    return Proxy.newProxyInstance(
+                            net.corda.v5.application.persistence.PagedQuery.ResultSet.class.getClassLoader(),
+                            new Class<?>[]{net.corda.v5.application.persistence.PagedQuery.ResultSet.class},
+                            this::invokeResultSet
+                    );
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "VaultNamedParameterizedQuery(name = " + query.name + ")";
+                default:
+                    throw new UnsupportedOperationException("The simulator does not support VaultNamedParameterizedQuery." + method.getName());
+            }
+        }
+
+        /**
+         * Handles invocations of the result set methods.
+         *
+         * @param proxy  The proxy on which the method was invoked.
+         * @param method The invoked method.
+         * @param args   The arguments of the invoked method.
+         * @return Returns the result of the invoked method.
+         */
+        private Object invokeResultSet(final Object proxy, final Method method, final Object[] args) {
+            switch (method.getName()) {
+                case "getResults":
+                    return page.results;
+                case "getNumberOfRowsFromQuery":
+                    return page.numberOfRowsFromQuery;
+                case "hasNext":
+                    return page.hasNext;
+                case "next":
+                    if (!page.hasNext) throw new java.util.NoSuchElementException("The query has no more results.");
+                    offset += limit;
+                    page = query.execute(parameters, offset, limit, timestampLimit);
+                    return page.results;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    throw new UnsupportedOperationException("The simulator does not support ResultSet." + method.getName());
+            }
+        }
+    }
+}
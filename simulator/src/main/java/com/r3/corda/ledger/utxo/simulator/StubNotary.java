@@ -0,0 +1,59 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import net.corda.v5.ledger.utxo.StateRef;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Represents a stub notary, which provides uniqueness checking of input and reference states.
+ * <p>
+ * The stub notary does not check time windows, or notary signatures, and is not thread-safe; callers must synchronize.
+ */
+final class StubNotary {
+
+    /**
+     * The exception message when an input state has already been consumed.
+     */
+    static final String INPUT_STATE_CONSUMED = "Failed to notarize transaction {0}; input state {1} has already been consumed.";
+
+    /**
+     * The exception message when a reference state has already been consumed.
+     */
+    static final String REFERENCE_STATE_CONSUMED = "Failed to notarize transaction {0}; reference state {1} has already been consumed.";
+
+    /**
+     * The exception message when an input state is spent more than once by the same transaction.
+     */
+    static final String INPUT_STATE_DUPLICATED = "Failed to notarize transaction {0}; input state {1} is spent more than once.";
+
+    @NotNull
+    private final Set<StateRef> consumed = new HashSet<>();
+
+    /**
+     * Notarizes the specified transaction, consuming its input states.
+     *
+     * @param transaction The transaction to notarize.
+     * @throws IllegalStateException if any of the input or reference states have already been consumed,
+     *                               or if any of the input states are spent more than once by the transaction.
+     */
+    void notarize(@NotNull final SimulatedTransaction transaction) {
+        final Set<StateRef> inputs = new HashSet<>();
+
+        for (final StateRef input : transaction.getInputRefs()) {
+            if (consumed.contains(input)) fail(INPUT_STATE_CONSUMED, transaction, input);
+            if (!inputs.add(input)) fail(INPUT_STATE_DUPLICATED, transaction, input);
+        }
+
+        for (final StateRef reference : transaction.getReferenceRefs()) {
+            if (consumed.contains(reference)) fail(REFERENCE_STATE_CONSUMED, transaction, reference);
+        }
+
+        consumed.addAll(inputs);
+    }
+
+    private static void fail(@NotNull final String pattern, @NotNull final SimulatedTransaction transaction, @NotNull final StateRef ref) {
+        throw new IllegalStateException(java.text.MessageFormat.format(pattern, transaction.getId(), ref));
+    }
+}
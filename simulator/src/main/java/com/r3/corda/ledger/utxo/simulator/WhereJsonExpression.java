@@ -0,0 +1,1022 @@
+package com.r3.corda.ledger.utxo.simulator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents a parsed vault named query whereJson clause, which can be evaluated against simulated vault rows.
+ * <p>
+ * The supported dialect is the subset of PostgreSQL used by vault named queries:
+ * <ul>
+ *     <li>Boolean operators AND, OR and NOT, and parentheses.</li>
+ *     <li>Comparison operators =, &lt;&gt;, !=, &lt;, &lt;=, &gt; and &gt;=, as well as IN, IS [NOT] NULL and the JSON key existence operator ?.</li>
+ *     <li>The JSON operators -&gt; and -&gt;&gt; applied to visible_states.custom_representation.</li>
+ *     <li>The column visible_states.consumed, named parameters, string and numeric literals, and ::numeric and ::text casts.</li>
+ * </ul>
+ */
+final class WhereJsonExpression {
+
+    /**
+     * The name of the column which contains the custom JSON representation of a state.
+     */
+    private static final String CUSTOM_REPRESENTATION = "visible_states.custom_representation";
+    /**
+     * The name of the column which contains the consumed timestamp of a state.
+     */
+    private static final String CONSUMED = "visible_states.consumed";
+
+    /**
+     * The root boolean node of the parsed expression.
+     */
+    @NotNull
+    private final Node root;
+
+    /**
+     * Determines whether the expression can only match unconsumed states.
+     */
+    private final boolean unconsumedOnly;
+
+    /**
+     * Initializes a new instance of the {@link WhereJsonExpression} class.
+     *
+     * @param root           The root boolean node of the parsed expression.
+     * @param unconsumedOnly Determines whether the expression can only match unconsumed states.
+     */
+    private WhereJsonExpression(@NotNull final Node root, final boolean unconsumedOnly) {
+        this.root = root;
+        this.unconsumedOnly = unconsumedOnly;
+    }
+
+    /**
+     * Parses the specified whereJson clause.
+     *
+     * @param query The whereJson clause to parse.
+     * @return Returns the parsed {@link WhereJsonExpression}.
+     * @throws IllegalArgumentException if the specified clause uses syntax which is not supported by the simulator.
+     */
+    @NotNull
+    static WhereJsonExpression parse(@NotNull final String query) {
+        final Parser parser = new Parser(tokenize(query));
+        parser.acceptKeyword("WHERE");
+
+        final Node root = parser.parseOr();
+        parser.expectEnd();
+
+        return new WhereJsonExpression(root, isUnconsumedOnly(root));
+    }
+
+    /**
+     * Determines whether the expression can only match unconsumed states;
+     * that is, whether it is a conjunction that includes visible_states.consumed IS NULL.
+     *
+     * @return Returns true if the expression can only match unconsumed states; otherwise, false.
+     */
+    boolean isUnconsumedOnly() {
+        return unconsumedOnly;
+    }
+
+    /**
+     * Evaluates the current expression against the specified row.
+     *
+     * @param representation The custom JSON representation of the row.
+     * @param consumed       Determines whether the row has been consumed.
+     * @param parameters     The named parameters of the query.
+     * @return Returns true if the row matches the current expression; otherwise, false.
+     */
+    boolean matches(@NotNull final JsonNode representation, final boolean consumed, @NotNull final Map<String, Object> parameters) {
+        return root.test(new Row(representation, consumed, parameters));
+    }
+
+    /**
+     * Determines whether the specified node is a conjunction that includes visible_states.consumed IS NULL.
+     *
+     * @param node The node to inspect.
+     * @return Returns true if the specified node is a conjunction that includes visible_states.consumed IS NULL; otherwise, false.
+     */
+    private static boolean isUnconsumedOnly(@NotNull final Node node) {
+        if (node instanceof And) {
+            return isUnconsumedOnly(((And) node).left) || isUnconsumedOnly(((And) node).right);
+        }
+
+        return node instanceof IsNull && !((IsNull) node).negated && ((IsNull) node).value instanceof Consumed;
+    }
+
+    /**
+     * Splits the specified clause into tokens.
+     *
+     * @param query The clause to split into tokens.
+     * @return Returns the tokens of the specified clause.
+     */
+    @NotNull
+    private static List<String> tokenize(@NotNull final String query) {
+        final List<String> result = new ArrayList<>();
+        int index = 0;
+
+        while (index < query.length()) {
+            final char current = query.charAt(index);
+
+            if (Character.isWhitespace(current)) {
+                index++;
+            } else if (current == '\'') {
+                final StringBuilder builder = new StringBuilder("'");
+                index++;
+
+                while (true) {
+                    if (index >= query.length()) throw new IllegalArgumentException("Unterminated string literal in query: " + query);
+                    if (query.charAt(index) == '\'') {
+                        if (index + 1 < query.length() && query.charAt(index + 1) == '\'') {
+                            builder.append('\'');
+                            index += 2;
+                            continue;
+                        }
+                        index++;
+                        break;
+                    }
+                    builder.append(query.charAt(index++));
+                }
+
+                result.add(builder.toString());
+            } else if (Character.isLetter(current) || current == '_' || current == ':' && index + 1 < query.length() && Character.isLetter(query.charAt(index + 1))) {
+                final int start = index++;
+                while (index < query.length() && (Character.isLetterOrDigit(query.charAt(index)) || query.charAt(index) == '_' || query.charAt(index) == '.')) {
+                    index++;
+                }
+                result.add(query.substring(start, index));
+            } else if (Character.isDigit(current)) {
+                final int start = index++;
+                while (index < query.length() && (Character.isDigit(query.charAt(index)) || query.charAt(index) == '.')) {
+                    index++;
+                }
+                result.add(query.substring(start, index));
+            } else {
+                final String operator = readOperator(query, index);
+                result.add(operator);
+                index += operator.length();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the operator at the specified index of the specified clause.
+     *
+     * @param query The clause from which to read the operator.
+     * @param index The index of the operator.
+     * @return Returns the operator at the specified index of the specified clause.
+     */
+    @NotNull
+    private static String readOperator(@NotNull final String query, final int index) {
+        for (final String operator : new String[]{"->>", "->", "::", "<=", ">=", "<>", "!=", "=", "<", ">", "?", "(", ")", ","}) {
+            if (query.startsWith(operator, index)) return operator;
+        }
+
+        throw new IllegalArgumentException(MessageFormat.format("Unsupported character ''{0}'' at position {1} in query: {2}", query.charAt(index), index, query));
+    }
+
+    /**
+     * Converts the specified value into a form that can be compared; JSON nodes become text, numbers or null.
+     *
+     * @param value The value to normalize.
+     * @return Returns the normalized value.
+     */
+    @Nullable
+    private static Object normalize(@Nullable final Object value) {
+        if (value instanceof JsonNode) {
+            final JsonNode node = (JsonNode) value;
+            if (node.isNull() || node.isMissingNode()) return null;
+            if (node.isNumber()) return node.decimalValue();
+            if (node.isValueNode()) return node.asText();
+            return node.toString();
+        }
+
+        if (value instanceof Number && !(value instanceof BigDecimal)) {
+            return new BigDecimal(value.toString());
+        }
+
+        return value;
+    }
+
+    /**
+     * Converts the specified value to a {@link BigDecimal}.
+     *
+     * @param value The value to convert.
+     * @return Returns the {@link BigDecimal} equivalent of the specified value, or null if the value is null.
+     */
+    @Nullable
+    private static BigDecimal toDecimal(@Nullable final Object value) {
+        final Object normalized = normalize(value);
+        if (normalized == null) return null;
+        if (normalized instanceof BigDecimal) return (BigDecimal) normalized;
+        return new BigDecimal(normalized.toString());
+    }
+
+    /**
+     * Compares the specified values, numerically if either value is numeric, otherwise by their string representation.
+     *
+     * @param left  The left-hand value to compare.
+     * @param right The right-hand value to compare.
+     * @return Returns the comparison result, or null if either value is null.
+     */
+    @Nullable
+    private static Integer compare(@Nullable final Object left, @Nullable final Object right) {
+        final Object normalizedLeft = normalize(left);
+        final Object normalizedRight = normalize(right);
+
+        if (normalizedLeft == null || normalizedRight == null) return null;
+
+        if (normalizedLeft instanceof BigDecimal || normalizedRight instanceof BigDecimal) {
+            return Objects.requireNonNull(toDecimal(normalizedLeft)).compareTo(toDecimal(normalizedRight));
+        }
+
+        return normalizedLeft.toString().compareTo(normalizedRight.toString());
+    }
+
+    /**
+     * Represents a row being evaluated.
+     */
+    private static final class Row {
+
+        /**
+         * The custom JSON representation of the state being evaluated.
+         */
+        @NotNull
+        private final JsonNode representation;
+
+        /**
+         * Determines whether the state being evaluated has been consumed.
+         */
+        private final boolean consumed;
+
+        /**
+         * The query parameters against which the expression is evaluated.
+         */
+        @NotNull
+        private final Map<String, Object> parameters;
+
+        /**
+         * Initializes a new instance of the {@link Row} class.
+         *
+         * @param representation The custom JSON representation of the state being evaluated.
+         * @param consumed       Determines whether the state being evaluated has been consumed.
+         * @param parameters     The query parameters against which the expression is evaluated.
+         */
+        private Row(@NotNull final JsonNode representation, final boolean consumed, @NotNull final Map<String, Object> parameters) {
+            this.representation = representation;
+            this.consumed = consumed;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Represents a boolean node of an expression.
+     */
+    private interface Node {
+        /**
+         * Determines whether the specified row matches the current node.
+         *
+         * @param row The row to evaluate.
+         * @return Returns true if the specified row matches the current node; otherwise, false.
+         */
+        boolean test(@NotNull Row row);
+    }
+
+    /**
+     * Represents a value node of an expression.
+     */
+    private interface Value {
+        /**
+         * Evaluates the current node against the specified row.
+         *
+         * @param row The row to evaluate.
+         * @return Returns the value of the current node for the specified row, or null if the value is SQL NULL.
+         */
+        @Nullable
+        Object evaluate(@NotNull Row row);
+    }
+
+    /**
+     * Represents a boolean node which matches when both of its operands match.
+     */
+    private static final class And implements Node {
+
+        /**
+         * The left-hand operand of the current node.
+         */
+        @NotNull
+        private final Node left;
+
+        /**
+         * The right-hand operand of the current node.
+         */
+        @NotNull
+        private final Node right;
+
+        /**
+         * Initializes a new instance of the {@link And} class.
+         *
+         * @param left  The left-hand operand of the node.
+         * @param right The right-hand operand of the node.
+         */
+        private And(@NotNull final Node left, @NotNull final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            return left.test(row) && right.test(row);
+        }
+    }
+
+    /**
+     * Represents a boolean node which matches when either of its operands match.
+     */
+    private static final class Or implements Node {
+
+        /**
+         * The left-hand operand of the current node.
+         */
+        @NotNull
+        private final Node left;
+
+        /**
+         * The right-hand operand of the current node.
+         */
+        @NotNull
+        private final Node right;
+
+        /**
+         * Initializes a new instance of the {@link Or} class.
+         *
+         * @param left  The left-hand operand of the node.
+         * @param right The right-hand operand of the node.
+         */
+        private Or(@NotNull final Node left, @NotNull final Node right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            return left.test(row) || right.test(row);
+        }
+    }
+
+    /**
+     * Represents a boolean node which negates its operand.
+     */
+    private static final class Not implements Node {
+
+        /**
+         * The operand to negate.
+         */
+        @NotNull
+        private final Node node;
+
+        /**
+         * Initializes a new instance of the {@link Not} class.
+         *
+         * @param node The operand to negate.
+         */
+        private Not(@NotNull final Node node) {
+            this.node = node;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            return !node.test(row);
+        }
+    }
+
+    /**
+     * Represents a boolean node which compares two values using a comparison operator; comparisons with SQL NULL never match.
+     */
+    private static final class Comparison implements Node {
+
+        /**
+         * The left-hand value to compare.
+         */
+        @NotNull
+        private final Value left;
+
+        /**
+         * The comparison operator.
+         */
+        @NotNull
+        private final String operator;
+
+        /**
+         * The right-hand value to compare.
+         */
+        @NotNull
+        private final Value right;
+
+        /**
+         * Initializes a new instance of the {@link Comparison} class.
+         *
+         * @param left     The left-hand value to compare.
+         * @param operator The comparison operator.
+         * @param right    The right-hand value to compare.
+         */
+        private Comparison(@NotNull final Value left, @NotNull final String operator, @NotNull final Value right) {
+            this.left = left;
+            this.operator = operator;
+            this.right = right;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            final Integer result = compare(left.evaluate(row), right.evaluate(row));
+
+            if (result == null) return false;
+
+            switch (operator) {
+                case "=":
+                    return result == 0;
+                case "<>":
+                case "!=":
+                    return result != 0;
+                case "<":
+                    return result < 0;
+                case "<=":
+                    return result <= 0;
+                case ">":
+                    return result > 0;
+                case ">=":
+                    return result >= 0;
+                default:
+                    throw new IllegalStateException("Unsupported comparison operator: " + operator);
+            }
+        }
+    }
+
+    /**
+     * Represents a boolean node which matches when a value is equal to any of a list of candidates; collection parameters are expanded.
+     */
+    private static final class In implements Node {
+
+        /**
+         * The value to find among the candidates.
+         */
+        @NotNull
+        private final Value value;
+
+        /**
+         * The candidates against which to compare the value.
+         */
+        @NotNull
+        private final List<Value> candidates;
+
+        /**
+         * Initializes a new instance of the {@link In} class.
+         *
+         * @param value      The value to find among the candidates.
+         * @param candidates The candidates against which to compare the value.
+         */
+        private In(@NotNull final Value value, @NotNull final List<Value> candidates) {
+            this.value = value;
+            this.candidates = candidates;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            final Object actual = value.evaluate(row);
+
+            for (final Value candidate : candidates) {
+                final Object expected = candidate.evaluate(row);
+                final Iterable<?> values = expected instanceof Collection<?> ? (Collection<?>) expected : Collections.singletonList(expected);
+
+                for (final Object element : values) {
+                    final Integer result = compare(actual, element);
+                    if (result != null && result == 0) return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * Represents a boolean node which matches when a value is, or is not, SQL NULL.
+     */
+    private static final class IsNull implements Node {
+
+        /**
+         * The value to check.
+         */
+        @NotNull
+        private final Value value;
+
+        /**
+         * Determines whether the node matches non-null values, rather than null values.
+         */
+        private final boolean negated;
+
+        /**
+         * Initializes a new instance of the {@link IsNull} class.
+         *
+         * @param value   The value to check.
+         * @param negated Determines whether the node matches non-null values, rather than null values.
+         */
+        private IsNull(@NotNull final Value value, final boolean negated) {
+            this.value = value;
+            this.negated = negated;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            return (normalize(value.evaluate(row)) == null) != negated;
+        }
+    }
+
+    /**
+     * Represents a boolean node which matches when a JSON object contains a given key.
+     */
+    private static final class HasKey implements Node {
+
+        /**
+         * The JSON object in which to find the key.
+         */
+        @NotNull
+        private final Value value;
+
+        /**
+         * The key to find.
+         */
+        @NotNull
+        private final Value key;
+
+        /**
+         * Initializes a new instance of the {@link HasKey} class.
+         *
+         * @param value The JSON object in which to find the key.
+         * @param key   The key to find.
+         */
+        private HasKey(@NotNull final Value value, @NotNull final Value key) {
+            this.value = value;
+            this.key = key;
+        }
+
+        @Override
+        public boolean test(@NotNull final Row row) {
+            final Object node = value.evaluate(row);
+            final Object name = normalize(key.evaluate(row));
+            return node instanceof JsonNode && name != null && ((JsonNode) node).has(name.toString());
+        }
+    }
+
+    /**
+     * Represents a value node which evaluates to the custom JSON representation of the row.
+     */
+    private static final class CustomRepresentation implements Value {
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            return row.representation;
+        }
+    }
+
+    /**
+     * Represents a value node which evaluates to a non-null value if the row has been consumed, or SQL NULL otherwise.
+     */
+    private static final class Consumed implements Value {
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            return row.consumed ? Boolean.TRUE : null;
+        }
+    }
+
+    /**
+     * Represents a value node which evaluates to a named query parameter.
+     */
+    private static final class Parameter implements Value {
+
+        /**
+         * The name of the query parameter.
+         */
+        @NotNull
+        private final String name;
+
+        /**
+         * Initializes a new instance of the {@link Parameter} class.
+         *
+         * @param name The name of the query parameter.
+         */
+        private Parameter(@NotNull final String name) {
+            this.name = name;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IllegalArgumentException if the query parameter has not been set.
+         */
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            if (!row.parameters.containsKey(name)) {
+                throw new IllegalArgumentException("The query parameter '" + name + "' has not been set.");
+            }
+
+            return row.parameters.get(name);
+        }
+    }
+
+    /**
+     * Represents a value node which evaluates to a string or numeric literal, or SQL NULL.
+     */
+    private static final class Literal implements Value {
+
+        /**
+         * The value of the literal.
+         */
+        @Nullable
+        private final Object value;
+
+        /**
+         * Initializes a new instance of the {@link Literal} class.
+         *
+         * @param value The value of the literal.
+         */
+        private Literal(@Nullable final Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            return value;
+        }
+    }
+
+    /**
+     * Represents a value node which evaluates to a field of a JSON object, using the -&gt; or -&gt;&gt; operator.
+     */
+    private static final class JsonField implements Value {
+
+        /**
+         * The JSON object from which to get the field.
+         */
+        @NotNull
+        private final Value value;
+
+        /**
+         * The name of the field to get.
+         */
+        @NotNull
+        private final Value key;
+
+        /**
+         * Determines whether the field is returned as text (-&gt;&gt;), rather than as JSON (-&gt;).
+         */
+        private final boolean asText;
+
+        /**
+         * Initializes a new instance of the {@link JsonField} class.
+         *
+         * @param value  The JSON object from which to get the field.
+         * @param key    The name of the field to get.
+         * @param asText Determines whether the field is returned as text, rather than as JSON.
+         */
+        private JsonField(@NotNull final Value value, @NotNull final Value key, final boolean asText) {
+            this.value = value;
+            this.key = key;
+            this.asText = asText;
+        }
+
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            final Object node = value.evaluate(row);
+            final Object name = normalize(key.evaluate(row));
+
+            if (!(node instanceof JsonNode) || name == null) return null;
+
+            final JsonNode result = ((JsonNode) node).get(name.toString());
+
+            if (result == null || result.isNull()) return null;
+
+            return asText ? (result.isValueNode() ? result.asText() : result.toString()) : result;
+        }
+    }
+
+    /**
+     * Represents a value node which casts a value to numeric or text.
+     */
+    private static final class Cast implements Value {
+
+        /**
+         * The value to cast.
+         */
+        @NotNull
+        private final Value value;
+
+        /**
+         * Determines whether the value is cast to numeric, rather than to text.
+         */
+        private final boolean numeric;
+
+        /**
+         * Initializes a new instance of the {@link Cast} class.
+         *
+         * @param value   The value to cast.
+         * @param numeric Determines whether the value is cast to numeric, rather than to text.
+         */
+        private Cast(@NotNull final Value value, final boolean numeric) {
+            this.value = value;
+            this.numeric = numeric;
+        }
+
+        @Override
+        public Object evaluate(@NotNull final Row row) {
+            final Object result = value.evaluate(row);
+            if (numeric) return toDecimal(result);
+            final Object normalized = normalize(result);
+            return normalized == null ? null : normalized.toString();
+        }
+    }
+
+    /**
+     * Represents a recursive descent parser over the tokens of a whereJson clause.
+     */
+    private static final class Parser {
+
+        /**
+         * The tokens of the whereJson clause being parsed.
+         */
+        @NotNull
+        private final List<String> tokens;
+
+        /**
+         * The position of the next token to parse.
+         */
+        private int position;
+
+        /**
+         * Initializes a new instance of the {@link Parser} class.
+         *
+         * @param tokens The tokens of the whereJson clause to parse.
+         */
+        private Parser(@NotNull final List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        /**
+         * Parses a disjunction of one or more conjunctions.
+         *
+         * @return Returns the parsed boolean node.
+         */
+        @NotNull
+        private Node parseOr() {
+            Node result = parseAnd();
+            while (acceptKeyword("OR")) result = new Or(result, parseAnd());
+            return result;
+        }
+
+        /**
+         * Parses a conjunction of one or more negations.
+         *
+         * @return Returns the parsed boolean node.
+         */
+        @NotNull
+        private Node parseAnd() {
+            Node result = parseNot();
+            while (acceptKeyword("AND")) result = new And(result, parseNot());
+            return result;
+        }
+
+        /**
+         * Parses an optionally negated predicate or parenthesized boolean expression.
+         * <p>
+         * A parenthesis may also open a value, such as (visible_states.custom_representation -&gt;&gt; 'quantity')::numeric,
+         * in which case the parser backtracks and parses a predicate instead.
+         *
+         * @return Returns the parsed boolean node.
+         */
+        @NotNull
+        private Node parseNot() {
+            if (acceptKeyword("NOT")) return new Not(parseNot());
+
+            if ("(".equals(peek())) {
+                final int start = position;
+                position++;
+
+                try {
+                    final Node result = parseOr();
+                    if (accept(")") && !isComparisonAhead()) return result;
+                } catch (IllegalArgumentException ignored) {
+                    // The parenthesis encloses a value rather than a boolean expression.
+                }
+
+                position = start;
+            }
+
+            return parsePredicate();
+        }
+
+        /**
+         * Parses a predicate, which is a value followed by a comparison, key existence, IN or IS [NOT] NULL operator.
+         *
+         * @return Returns the parsed boolean node.
+         * @throws IllegalArgumentException if the operator is not supported.
+         */
+        @NotNull
+        private Node parsePredicate() {
+            final Value value = parseValue();
+            final String operator = next();
+
+            switch (operator.toUpperCase(Locale.ROOT)) {
+                case "=":
+                case "<>":
+                case "!=":
+                case "<":
+                case "<=":
+                case ">":
+                case ">=":
+                    return new Comparison(value, operator, parseValue());
+                case "?":
+                    return new HasKey(value, parseValue());
+                case "IN":
+                    return new In(value, parseValueList());
+                case "IS":
+                    final boolean negated = acceptKeyword("NOT");
+                    expectKeyword("NULL");
+                    return new IsNull(value, negated);
+                default:
+                    throw new IllegalArgumentException("Unsupported operator in query: " + operator);
+            }
+        }
+
+        /**
+         * Parses either a parenthesized, comma separated list of values, or a single value.
+         *
+         * @return Returns the parsed value nodes.
+         */
+        @NotNull
+        private List<Value> parseValueList() {
+            final List<Value> result = new ArrayList<>();
+
+            if (accept("(")) {
+                do {
+                    result.add(parseValue());
+                } while (accept(","));
+
+                expect(")");
+            } else {
+                result.add(parseValue());
+            }
+
+            return result;
+        }
+
+        /**
+         * Parses a primary value followed by any number of JSON field operators and casts.
+         *
+         * @return Returns the parsed value node.
+         */
+        @NotNull
+        private Value parseValue() {
+            Value result = parsePrimary();
+
+            while (true) {
+                if (accept("->")) {
+                    result = new JsonField(result, parsePrimary(), false);
+                } else if (accept("->>")) {
+                    result = new JsonField(result, parsePrimary(), true);
+                } else if (accept("::")) {
+                    final String type = next().toLowerCase(Locale.ROOT);
+                    result = new Cast(result, !type.equals("text") && !type.equals("varchar"));
+                } else {
+                    return result;
+                }
+            }
+        }
+
+        /**
+         * Parses a parenthesized value, literal, named parameter or supported column.
+         *
+         * @return Returns the parsed value node.
+         * @throws IllegalArgumentException if the value is not supported.
+         */
+        @NotNull
+        private Value parsePrimary() {
+            final String token = next();
+
+            if (token.equals("(")) {
+                final Value result = parseValue();
+                expect(")");
+                return result;
+            }
+
+            if (token.startsWith("'")) return new Literal(token.substring(1));
+            if (token.startsWith(":")) return new Parameter(token.substring(1));
+            if (Character.isDigit(token.charAt(0))) return new Literal(new BigDecimal(token));
+            if (token.equalsIgnoreCase(CUSTOM_REPRESENTATION)) return new CustomRepresentation();
+            if (token.equalsIgnoreCase(CONSUMED)) return new Consumed();
+            if (token.equalsIgnoreCase("NULL")) return new Literal(null);
+
+            throw new IllegalArgumentException("Unsupported value in query: " + token);
+        }
+
+        /**
+         * Determines whether the next token continues a value, or begins a predicate operator.
+         *
+         * @return Returns true if the next token continues a value, or begins a predicate operator; otherwise, false.
+         */
+        private boolean isComparisonAhead() {
+            final String token = peek();
+            return token != null && (token.equals("::") || token.equals("->") || token.equals("->>") || token.equals("=")
+                    || token.equals("<>") || token.equals("!=") || token.equals("<") || token.equals("<=")
+                    || token.equals(">") || token.equals(">=") || token.equals("?")
+                    || token.equalsIgnoreCase("IN") || token.equalsIgnoreCase("IS"));
+        }
+
+        /**
+         * Gets the next token without consuming it.
+         *
+         * @return Returns the next token, or null if all tokens have been consumed.
+         */
+        @Nullable
+        private String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        /**
+         * Consumes the next token.
+         *
+         * @return Returns the next token.
+         * @throws IllegalArgumentException if all tokens have been consumed.
+         */
+        @NotNull
+        private String next() {
+            if (position >= tokens.size()) throw new IllegalArgumentException("Unexpected end of query.");
+            return tokens.get(position++);
+        }
+
+        /**
+         * Consumes the next token if it is equal to the specified token.
+         *
+         * @param token The token to accept.
+         * @return Returns true if the next token was consumed; otherwise, false.
+         */
+        private boolean accept(@NotNull final String token) {
+            if (token.equals(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes the next token if it is equal to the specified keyword, ignoring case.
+         *
+         * @param keyword The keyword to accept.
+         * @return Returns true if the next token was consumed; otherwise, false.
+         */
+        private boolean acceptKeyword(@NotNull final String keyword) {
+            final String token = peek();
+            if (token != null && token.equalsIgnoreCase(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consumes the next token, which must be equal to the specified token.
+         *
+         * @param token The token to expect.
+         * @throws IllegalArgumentException if the next token is not equal to the specified token.
+         */
+        private void expect(@NotNull final String token) {
+            if (!accept(token)) throw new IllegalArgumentException("Expected '" + token + "' but found '" + peek() + "'.");
+        }
+
+        /**
+         * Consumes the next token, which must be equal to the specified keyword, ignoring case.
+         *
+         * @param keyword The keyword to expect.
+         * @throws IllegalArgumentException if the next token is not equal to the specified keyword.
+         */
+        private void expectKeyword(@NotNull final String keyword) {
+            if (!acceptKeyword(keyword)) throw new IllegalArgumentException("Expected '" + keyword + "' but found '" + peek() + "'.");
+        }
+
+        /**
+         * Ensures that all tokens have been consumed.
+         *
+         * @throws IllegalArgumentException if any tokens have not been consumed.
+         */
+        private void expectEnd() {
+            if (position < tokens.size()) throw new IllegalArgumentException("Unexpected token in query: " + peek());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.r3.corda.ledger.utxo.simulator
+
+import com.r3.corda.ledger.utxo.ownable.query.OwnableStateQueries
+import com.r3.corda.ledger.utxo.ownable.query.factory.OwnableStateVaultNamedQueryFactory
+import com.r3.corda.ledger.utxo.ownable.query.json.OwnableStateVaultJsonFactory
+import net.corda.v5.ledger.utxo.StateAndRef
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotNull
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.security.KeyPairGenerator
+import java.security.MessageDigest
+import java.security.PublicKey
+
+class SimulatedLedgerTests {
+
+    private val aliceKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+    private val bobKey = KeyPairGenerator.getInstance("EC").generateKeyPair().public
+
+    private val ledger = SimulatedLedger()
+        .register(OwnableStateVaultJsonFactory())
+        .register(OwnableStateVaultNamedQueryFactory())
+
+    private val ledgerService = ledger.ledgerService
+
+    @Test
+    fun `finalize records output states which can be resolved and found by type`() {
+        val issued = issue(aliceKey, 3)
+
+        assertEquals(3, issued.size)
+        assertEquals(issued, ledgerService.findUnconsumedStatesByType(SimulatedOwnableState::class.java))
+        assertEquals(issued.first(), ledgerService.resolve<SimulatedOwnableState>(issued.first().ref))
+        assertNotNull(ledgerService.findLedgerTransaction(issued.first().ref.transactionId))
+    }
+
+    @Test
+    fun `query returns unconsumed states matching the registered vault named query`() {
+        val alice = issue(aliceKey, 2)
+        issue(bobKey, 1)
+        transfer(alice.first(), bobKey)
+
+        val results = ledgerService.query(OwnableStateQueries.GET_BY_OWNER, StateAndRef::class.java)
+            .setParameter("owner", getPublicKeyId(aliceKey))
+            .setParameter("stateType", "com.r3.corda.ledger.utxo.ownable.OwnableState")
+            .execute()
+            .results
+
+        assertEquals(listOf(alice[1]), results)
+    }
+
+    @Test
+    fun `query pages results using the specified limit`() {
+        issue(aliceKey, 5)
+
+        val resultSet = ledgerService.query(OwnableStateQueries.GET_BY_OWNER, StateAndRef::class.java)
+            .setParameter("owner", getPublicKeyId(aliceKey))
+            .setParameter("stateType", "com.r3.corda.ledger.utxo.ownable.OwnableState")
+            .setLimit(2)
+            .execute()
+
+        assertEquals(2, resultSet.results.size)
+        assertEquals(true, resultSet.hasNext())
+        assertEquals(2, resultSet.next().size)
+        assertEquals(1, resultSet.next().size)
+        assertEquals(false, resultSet.hasNext())
+    }
+
+    @Test
+    fun `finalize rejects a transaction which spends an already consumed state`() {
+        val input = issue(aliceKey, 1).single()
+        transfer(input, bobKey)
+
+        val exception = assertThrows<IllegalStateException> { transfer(input, bobKey) }
+        assertEquals(true, exception.message!!.contains("has already been consumed"))
+    }
+
+    @Test
+    fun `finalize rejects a transaction which fails contract verification`() {
+        val input = issue(aliceKey, 1).single()
+
+        val transaction = ledgerService.createTransactionBuilder()
+            .addInputState(input.ref)
+            .addOutputState(SimulatedOwnableState(bobKey))
+            .addCommand(SimulatedOwnableContract.Transfer)
+            .addSignatories(bobKey)
+            .toSignedTransaction()
+
+        assertThrows<IllegalStateException> { ledgerService.finalize(transaction, emptyList()) }
+        assertEquals(listOf(input), ledgerService.findUnconsumedStatesByType(SimulatedOwnableState::class.java))
+    }
+
+    private fun issue(owner: PublicKey, count: Int): List<StateAndRef<SimulatedOwnableState>> {
+        val transaction = ledgerService.createTransactionBuilder()
+            .addOutputStates((1..count).map { SimulatedOwnableState(owner) })
+            .addCommand(SimulatedOwnableContract.Create)
+            .addSignatories(owner)
+            .toSignedTransaction()
+
+        return ledgerService.finalize(transaction, emptyList()).transaction.outputStateAndRefs.map {
+            ledgerService.resolve(it.ref)
+        }
+    }
+
+    private fun transfer(input: StateAndRef<SimulatedOwnableState>, owner: PublicKey) {
+        val transaction = ledgerService.createTransactionBuilder()
+            .addInputState(input.ref)
+            .addOutputState(SimulatedOwnableState(owner))
+            .addCommand(SimulatedOwnableContract.Transfer)
+            .addSignatories(input.state.contractState.owner)
+            .toSignedTransaction()
+
+        ledgerService.finalize(transaction, emptyList())
+    }
+
+    private fun getPublicKeyId(publicKey: PublicKey): String {
+        val bytes = MessageDigest.getInstance("SHA-256").digest(publicKey.encoded)
+        return "SHA-256:" + bytes.joinToString("") { "%02X".format(it) }
+    }
+}
@@ -0,0 +1,51 @@
+package com.r3.corda.ledger.utxo.simulator
+
+import com.r3.corda.ledger.utxo.base.ContractStateType
+import com.r3.corda.ledger.utxo.base.DelegatedContract
+import com.r3.corda.ledger.utxo.base.VerifiableCommand
+import com.r3.corda.ledger.utxo.ownable.OwnableConstraints
+import com.r3.corda.ledger.utxo.ownable.OwnableState
+import net.corda.v5.ledger.utxo.BelongsToContract
+import net.corda.v5.ledger.utxo.transaction.UtxoLedgerTransaction
+import java.security.PublicKey
+
+class SimulatedOwnableContract : DelegatedContract<SimulatedOwnableContract.SimulatedOwnableContractCommand>() {
+
+    override fun getPermittedCommandTypes(): List<Class<out SimulatedOwnableContractCommand>> {
+        return listOf(Create::class.java, Transfer::class.java)
+    }
+
+    sealed interface SimulatedOwnableContractCommand : VerifiableCommand, ContractStateType<SimulatedOwnableState>
+
+    object Create : SimulatedOwnableContractCommand {
+
+        override fun getContractStateType(): Class<SimulatedOwnableState> {
+            return SimulatedOwnableState::class.java
+        }
+
+        override fun verify(transaction: UtxoLedgerTransaction) = Unit
+    }
+
+    object Transfer : SimulatedOwnableContractCommand {
+
+        override fun getContractStateType(): Class<SimulatedOwnableState> {
+            return SimulatedOwnableState::class.java
+        }
+
+        override fun verify(transaction: UtxoLedgerTransaction) {
+            OwnableConstraints.verifyUpdate(transaction, contractStateType)
+        }
+    }
+}
+
+@BelongsToContract(SimulatedOwnableContract::class)
+data class SimulatedOwnableState(private val owner: PublicKey) : OwnableState {
+
+    override fun getOwner(): PublicKey {
+        return owner
+    }
+
+    override fun getParticipants(): List<PublicKey> {
+        return listOf(getOwner())
+    }
+}